@@ -21,7 +21,7 @@ public class ApigatewayserviceApplication {
 	public void onApplicationReady() {
 		logger.info("API Gateway Service started successfully and is ready to route requests");
 		logger.info("Gateway is listening on port 9000");
-		logger.info("Configured routes: userservice, bookservice, reviewservice");
+		logger.info("Configured routes: userservice, bookservice, reviewservice, bookpages");
 	}
 
 }
@@ -0,0 +1,107 @@
+package com.bookreviewplatform.apigatewayservice.accesslog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes one access log line for a sample of the requests through the
+ * gateway, to the {@value #LOGGER_NAME} logger:
+ * <pre>
+ * GET /api/v1/books/42 200 12ms route=bookservice client=203.0.113.7 reason=sample
+ * </pre>
+ *
+ * <p>A request is sampled with probability
+ * {@code gateway.access-log.sample-rate}, decided when it arrives. Requests
+ * that fail with a {@code 5xx} or an error, or take at least
+ * {@code gateway.access-log.slow-threshold}, are always logged; the
+ * {@code reason} field tells them apart, so counts can still be extrapolated
+ * from the {@code sample} lines. Only the path is logged, never the query
+ * string.</p>
+ *
+ * <p>The line is built only when it is written, and the logger goes to its
+ * own asynchronous appender (see {@code logback-spring.xml}), so an unlogged
+ * request costs a random number and a clock read. Turn it off with
+ * {@code gateway.access-log.enabled=false}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter implements WebFilter, Ordered {
+
+    public static final String LOGGER_NAME = "gateway.access";
+
+    private final Logger logger = Logger.getLogger(LOGGER_NAME);
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(@Value("${gateway.access-log.sample-rate:0.01}") double sampleRate,
+                           @Value("${gateway.access-log.slow-threshold:1s}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Runs first, so the duration covers every other filter.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!logger.isLoggable(Level.INFO)) {
+            return chain.filter(exchange);
+        }
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            long elapsed = System.nanoTime() - start;
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            String reason;
+            if (signal == SignalType.ON_ERROR || status != null && status.is5xxServerError()) {
+                reason = "error";
+            } else if (elapsed >= slowThresholdNanos) {
+                reason = "slow";
+            } else if (sampled) {
+                reason = "sample";
+            } else {
+                return;
+            }
+            logger.info(() -> line(exchange, status, signal, elapsed, reason));
+        });
+    }
+
+    private static String line(ServerWebExchange exchange, HttpStatusCode status, SignalType signal, long elapsed,
+                               String reason) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String outcome = status != null ? String.valueOf(status.value())
+                : signal == SignalType.CANCEL ? "cancelled" : "-";
+        return exchange.getRequest().getMethod() + " " + exchange.getRequest().getPath().value()
+                + " " + outcome
+                + " " + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms"
+                + " route=" + (route != null ? route.getId() : "-")
+                + " client=" + (remoteAddress != null ? remoteAddress.getHostString() : "-")
+                + " reason=" + reason;
+    }
+}
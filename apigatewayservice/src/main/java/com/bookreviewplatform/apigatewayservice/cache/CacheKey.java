@@ -0,0 +1,17 @@
+package com.bookreviewplatform.apigatewayservice.cache;
+
+import java.util.List;
+
+/**
+ * Identifies a cached GET response: the route it came through, the request
+ * path and raw query, and the values of the configured varying request headers.
+ *
+ * @param routeId     the gateway route id
+ * @param path        the request path
+ * @param query       the raw query string, or {@code null}
+ * @param varyValues  values of the varying headers, in configuration order
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record CacheKey(String routeId, String path, String query, List<String> varyValues) {
+}
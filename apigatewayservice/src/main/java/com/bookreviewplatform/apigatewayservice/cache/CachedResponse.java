@@ -0,0 +1,42 @@
+package com.bookreviewplatform.apigatewayservice.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A downstream response held by {@link ResponseCache}.
+ *
+ * @param status    the response status (always 200 today)
+ * @param headers   the end-to-end response headers, read-only
+ * @param body      the full response body
+ * @param storedAt  when the response was received, for the {@code Age} header
+ * @param expiresAt when the entry stops being served
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body,
+                             Instant storedAt, Instant expiresAt) {
+
+    /**
+     * Fixed per-entry overhead: key, record, header map and Caffeine node.
+     */
+    private static final int OVERHEAD_BYTES = 256;
+
+    /**
+     * @return approximate heap footprint, used as the entry's cache weight
+     */
+    public int weight() {
+        int headerBytes = 0;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            headerBytes += header.getKey().length();
+            for (String value : header.getValue()) {
+                headerBytes += value.length();
+            }
+        }
+        return OVERHEAD_BYTES + body.length + 2 * headerBytes;
+    }
+}
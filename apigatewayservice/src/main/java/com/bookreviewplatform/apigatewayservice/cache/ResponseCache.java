@@ -0,0 +1,142 @@
+package com.bookreviewplatform.apigatewayservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory store of downstream GET responses, shared by every route that has
+ * the {@code ResponseCache} filter.
+ *
+ * <p>Bounded by total bytes ({@code gateway.response-cache.maximum-size}),
+ * weighing each entry by body plus headers. Caffeine's W-TinyLFU eviction keeps
+ * frequently read responses over one-off ones. Each entry expires at its own
+ * time, derived from the response's {@code Cache-Control}.</p>
+ *
+ * <p>Per-route metrics:</p>
+ * <ul>
+ *   <li>{@code gateway.response.cache.requests{route, result=hit|miss|bypass}}</li>
+ *   <li>{@code gateway.response.cache.bytes{route}}: bytes currently cached</li>
+ *   <li>{@code gateway.response.cache.invalidations{route}}</li>
+ * </ul>
+ * <p>Overall size, evictions and hit ratio are also reported as Caffeine cache
+ * metrics under {@code cache=gateway.responses}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<CacheKey, CachedResponse> entries;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> bytesByRoute = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.response-cache.maximum-size:64MB}") DataSize maximumSize) {
+        this.meterRegistry = meterRegistry;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((CacheKey key, CachedResponse response) -> response.weight())
+                .expireAfter(new Expiry<CacheKey, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(CacheKey key, CachedResponse response, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), response.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CacheKey key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, response, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(CacheKey key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((CacheKey key, CachedResponse response, RemovalCause cause) -> {
+                    if (key != null && response != null) {
+                        bytes(key.routeId()).addAndGet(-response.weight());
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.responses");
+    }
+
+    /**
+     * @param key the request's cache key
+     * @return the cached response, or {@code null}
+     */
+    public CachedResponse get(CacheKey key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * @param key      the request's cache key
+     * @param response the response to serve until {@link CachedResponse#expiresAt()}
+     */
+    public void put(CacheKey key, CachedResponse response) {
+        bytes(key.routeId()).addAndGet(response.weight());
+        entries.put(key, response);
+    }
+
+    /**
+     * Drops every response cached for a route, after a write through it.
+     *
+     * @param routeId the gateway route id
+     */
+    public void invalidateRoute(String routeId) {
+        entries.asMap().keySet().removeIf(key -> key.routeId().equals(routeId));
+        counter("gateway.response.cache.invalidations", routeId, null).increment();
+    }
+
+    /**
+     * Counts a cacheable request by outcome.
+     *
+     * @param routeId the gateway route id
+     * @param result  {@code hit}, {@code miss} or {@code bypass}
+     */
+    public void record(String routeId, String result) {
+        counter("gateway.response.cache.requests", routeId, result).increment();
+    }
+
+    private Counter counter(String name, String routeId, String result) {
+        return counters.computeIfAbsent(name + '|' + routeId + '|' + result, ignored -> {
+            Counter.Builder builder = Counter.builder(name).tag("route", routeId);
+            if (result != null) {
+                builder.tag("result", result);
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
+    private AtomicLong bytes(String routeId) {
+        return bytesByRoute.computeIfAbsent(routeId, route -> {
+            AtomicLong bytes = new AtomicLong();
+            Gauge.builder("gateway.response.cache.bytes", bytes, AtomicLong::get)
+                    .description("Bytes of responses currently cached for the route")
+                    .tag("route", route)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            return bytes;
+        });
+    }
+}
@@ -0,0 +1,307 @@
+package com.bookreviewplatform.apigatewayservice.cache;
+
+import com.bookreviewplatform.apigatewayservice.support.BodyCollector;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Route filter that serves repeated GETs from {@link ResponseCache} without
+ * calling the downstream service.
+ *
+ * <p>Enable it per route, with the time-to-live used when the downstream sends
+ * no {@code max-age}:</p>
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[1].filters[0]=ResponseCache=30s
+ * </pre>
+ *
+ * <p>Caching rules:</p>
+ * <ul>
+ *   <li>Only GETs without {@code Authorization} are cached. Keys are route,
+ *   path, raw query and the request headers in {@code gateway.response-cache.vary-headers}.</li>
+ *   <li>Request {@code Cache-Control: no-cache} (or {@code max-age=0}) skips the
+ *   lookup; {@code no-store} skips the cache entirely.</li>
+ *   <li>Only 200 responses are stored, and only if they are at most
+ *   {@code gateway.response-cache.max-entry-size} (no more than that is held
+ *   in memory, even for chunked responses), set no cookie, are not
+ *   {@code no-store}, {@code no-cache} or {@code private}, and vary on nothing
+ *   beyond the configured headers. {@code s-maxage}, then {@code max-age},
+ *   overrides the route's time-to-live.</li>
+ *   <li>A hit answers {@code If-None-Match} with 304, adds {@code Age} and
+ *   {@code X-Cache: HIT}.</li>
+ *   <li>A successful POST, PUT, PATCH or DELETE through the route drops all of
+ *   the route's entries. One catalog write can change single-book reads, lists,
+ *   search results and author pages alike, so finer-grained invalidation
+ *   could serve stale pages.</li>
+ * </ul>
+ *
+ * <p>Writes that bypass this gateway instance (other gateway instances,
+ * service-to-service calls, background rating updates) are not seen. Their
+ * staleness is bounded by the time-to-live, so keep it short for data that
+ * changes that way.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    /**
+     * Must wrap the response before {@link NettyWriteResponseFilter} writes the downstream body.
+     */
+    private static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    private static final String X_CACHE = "X-Cache";
+    private static final Set<HttpMethod> WRITE_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final Set<String> UNSTORED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length", "date", "age", "vary",
+            "x-cache");
+
+    private final Logger logger = Logger.getLogger(ResponseCacheGatewayFilterFactory.class.getName());
+    private final ResponseCache responseCache;
+    private final long maxEntryBytes;
+    private final List<String> varyHeaders;
+
+    public ResponseCacheGatewayFilterFactory(
+            ResponseCache responseCache,
+            @Value("${gateway.response-cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Value("${gateway.response-cache.vary-headers:Accept,Accept-Encoding,Accept-Language}") List<String> varyHeaders) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.varyHeaders = varyHeaders.stream().map(String::trim).toList();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        String routeId = routeId(exchange);
+        HttpMethod method = request.getMethod();
+
+        if (WRITE_METHODS.contains(method)) {
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    responseCache.invalidateRoute(routeId);
+                    logger.fine(() -> "Invalidated cached responses of route " + routeId + " after " + method);
+                }
+            }));
+        }
+        if (method != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return chain.filter(exchange);
+        }
+
+        Directives requestDirectives = Directives.parse(request.getHeaders().getCacheControl());
+        if (requestDirectives.noStore()) {
+            responseCache.record(routeId, "bypass");
+            return chain.filter(exchange);
+        }
+        CacheKey key = key(routeId, request);
+        if (!requestDirectives.noCache()) {
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                responseCache.record(routeId, "hit");
+                return writeCached(exchange, cached);
+            }
+            responseCache.record(routeId, "miss");
+        } else {
+            responseCache.record(routeId, "bypass");
+        }
+
+        exchange.getResponse().getHeaders().set(X_CACHE, "MISS");
+        ServerHttpResponse capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                Duration timeToLive = storableFor(getStatusCode(), getHeaders(), config.getTimeToLive());
+                if (timeToLive == null) {
+                    return super.writeWith(body);
+                }
+                return super.writeWith(BodyCollector.collect(body, maxEntryBytes,
+                        copy -> store(key, getStatusCode(), getHeaders(), copy, timeToLive),
+                        () -> logger.fine(() -> "Not caching response of " + key.path() + ": over "
+                                + maxEntryBytes + " bytes")));
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    /**
+     * Answers from the cache: 304 if the client already has this version, else the full response.
+     */
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        headers.set(HttpHeaders.AGE, Long.toString(Duration.between(cached.storedAt(), Instant.now()).toSeconds()));
+        headers.set(X_CACHE, "HIT");
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        String eTag = cached.headers().getETag();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (eTag != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.contains("*"))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * @return how long the response may be cached, or {@code null} if it must not be
+     */
+    private Duration storableFor(HttpStatusCode status, HttpHeaders headers, Duration defaultTimeToLive) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength > maxEntryBytes) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            String name = vary.trim();
+            if (name.equals("*")) {
+                return null;
+            }
+            // Origin and the CORS preflight headers are added by the gateway's own CORS handling.
+            boolean gatewayAdded = name.equalsIgnoreCase(HttpHeaders.ORIGIN)
+                    || name.regionMatches(true, 0, "Access-Control-", 0, "Access-Control-".length());
+            if (!gatewayAdded && varyHeaders.stream().noneMatch(name::equalsIgnoreCase)) {
+                return null;
+            }
+        }
+        Directives directives = Directives.parse(headers.getCacheControl());
+        if (directives.noStore() || directives.noCache() || directives.isPrivate()) {
+            return null;
+        }
+        Duration timeToLive = directives.maxAge() != null ? directives.maxAge() : defaultTimeToLive;
+        return timeToLive.isNegative() || timeToLive.isZero() ? null : timeToLive;
+    }
+
+    private void store(CacheKey key, HttpStatusCode status, HttpHeaders headers, byte[] body, Duration timeToLive) {
+        HttpHeaders stored = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!UNSTORED_HEADERS.contains(name) && !name.startsWith("access-control-")) {
+                stored.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+        }
+        Instant now = Instant.now();
+        responseCache.put(key, new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(stored), body,
+                now, now.plus(timeToLive)));
+    }
+
+    private CacheKey key(String routeId, ServerHttpRequest request) {
+        List<String> varyValues = new ArrayList<>(varyHeaders.size());
+        for (String name : varyHeaders) {
+            varyValues.add(String.join(",", request.getHeaders().getOrEmpty(name)));
+        }
+        return new CacheKey(routeId, request.getPath().value(), request.getURI().getRawQuery(), varyValues);
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    /**
+     * The {@code Cache-Control} directives this filter acts on.
+     *
+     * @param maxAge {@code s-maxage}, else {@code max-age}, or {@code null} if neither is present
+     */
+    private record Directives(boolean noStore, boolean noCache, boolean isPrivate, Duration maxAge) {
+
+        static Directives parse(String cacheControl) {
+            if (cacheControl == null || cacheControl.isBlank()) {
+                return new Directives(false, false, false, null);
+            }
+            boolean noStore = false;
+            boolean noCache = false;
+            boolean isPrivate = false;
+            Duration maxAge = null;
+            Duration sharedMaxAge = null;
+            for (String part : cacheControl.split(",")) {
+                String directive = part.trim().toLowerCase(Locale.ROOT);
+                if (directive.equals("no-store")) {
+                    noStore = true;
+                } else if (directive.startsWith("no-cache")) {
+                    noCache = true;
+                } else if (directive.startsWith("private")) {
+                    isPrivate = true;
+                } else if (directive.startsWith("max-age=")) {
+                    maxAge = seconds(directive.substring("max-age=".length()));
+                } else if (directive.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(directive.substring("s-maxage=".length()));
+                }
+            }
+            Duration effectiveMaxAge = sharedMaxAge != null ? sharedMaxAge : maxAge;
+            // A client asking for max-age=0 wants a fresh response, like no-cache.
+            return new Directives(noStore, noCache || Duration.ZERO.equals(effectiveMaxAge), isPrivate, effectiveMaxAge);
+        }
+
+        private static Duration seconds(String value) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(value.replace("\"", "").trim()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config {
+
+        /**
+         * How long to keep a response whose {@code Cache-Control} sets no {@code max-age}.
+         */
+        private Duration timeToLive = Duration.ofSeconds(30);
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.bookreviewplatform.apigatewayservice.coalesce;
+
+import com.bookreviewplatform.apigatewayservice.support.BodyCollector;
+import com.bookreviewplatform.common.concurrency.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Route filter that collapses identical GETs in flight at the same time into
+ * one downstream call, and answers every waiting request with a copy of its
+ * response:
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[1].filters[2]=Coalesce=256KB
+ * </pre>
+ * <p>(largest response body shared).</p>
+ *
+ * <p>The first request for a key is sent downstream as usual. Requests with
+ * the same key that arrive before its response does wait for it instead of
+ * being sent themselves. The key is the route, path, raw query, and the
+ * values of {@code Authorization}, {@code Cookie}, {@code If-None-Match},
+ * {@code If-Modified-Since}, {@value Priority#HEADER} and the headers in
+ * {@code gateway.coalesce.vary-headers}. Requests with different credentials
+ * therefore never share a response. Requests with a {@code Range} header are
+ * never coalesced.</p>
+ *
+ * <p>A response is shared only if it sets no cookie, is not
+ * {@code Cache-Control: private} or {@code no-store}, varies on nothing
+ * outside the key, and its body is within the configured size. Otherwise, or
+ * if the first request fails or is cancelled, the waiting requests are sent
+ * downstream themselves. Once the response arrives the key is free again: a
+ * response is only shared with requests that arrived while it was on its way.
+ * The first request's body is held back only up to the configured size; a
+ * larger one, even without a {@code Content-Length}, releases the waiting
+ * requests and is streamed on as it comes.</p>
+ *
+ * <p>Place it after {@code ResponseCache}, so cache hits never wait, and
+ * before {@code ConcurrencyLimit} and {@code BudgetedRetry}: only the call
+ * that goes downstream takes a permit and is retried.</p>
+ *
+ * <p>Metric: counter {@code gateway.coalesce.requests}, tagged {@code route}
+ * and {@code result=leader|follower|fallback}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class CoalesceGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalesceGatewayFilterFactory.Config> {
+
+    /**
+     * Must wrap the response before {@link NettyWriteResponseFilter} writes the downstream body.
+     */
+    private static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    private static final List<String> KEY_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE,
+            HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, Priority.HEADER);
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization", "content-length", "date", "vary", "x-cache");
+
+    private final Logger logger = Logger.getLogger(CoalesceGatewayFilterFactory.class.getName());
+    private final MeterRegistry meterRegistry;
+    private final List<String> varyHeaders;
+    private final Map<RequestKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CoalesceGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.coalesce.vary-headers:Accept,Accept-Encoding,Accept-Language}") List<String> varyHeaders) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.varyHeaders = varyHeaders.stream().map(String::trim).toList();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxBodySize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.RANGE)) {
+            return chain.filter(exchange);
+        }
+        String routeId = routeId(exchange);
+        RequestKey key = key(routeId, request);
+
+        Flight flight = new Flight();
+        Flight leading = flights.putIfAbsent(key, flight);
+        if (leading == null) {
+            count(routeId, "leader");
+            return lead(exchange, chain, config, key, flight);
+        }
+        if (!leading.join()) {
+            // The leader's response has just arrived; start over with the key free again.
+            return filter(exchange, chain, config);
+        }
+        count(routeId, "follower");
+        return leading.response.asMono()
+                .flatMap(shared -> write(exchange, shared).thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> {
+                    count(routeId, "fallback");
+                    return chain.filter(exchange).thenReturn(false);
+                }))
+                .then();
+    }
+
+    /**
+     * Sends the request downstream and, if anyone is waiting and the response
+     * may be shared, hands them a copy of it.
+     */
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, Config config, RequestKey key,
+                            Flight flight) {
+        long maxBodyBytes = config.getMaxBodySize().toBytes();
+        ServerHttpResponse sharing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                flights.remove(key, flight);
+                int followers = flight.close();
+                if (followers == 0 || !shareable(getHeaders(), maxBodyBytes)) {
+                    flight.response.tryEmitEmpty();
+                    return super.writeWith(body);
+                }
+                // Hold the body back while it is within the limit; past it, let the followers go and stream it.
+                return super.writeWith(BodyCollector.collect(body, maxBodyBytes,
+                        copy -> {
+                            flight.response.tryEmitValue(share(getStatusCode(), getHeaders(), copy));
+                            logger.fine(() -> "Shared response of " + key.path() + " with " + followers
+                                    + " waiting requests");
+                        },
+                        () -> {
+                            flight.response.tryEmitEmpty();
+                            logger.fine(() -> "Response of " + key.path() + " is over " + maxBodyBytes
+                                    + " bytes; not sharing it");
+                        }));
+            }
+        };
+        return chain.filter(exchange.mutate().response(sharing).build())
+                .doFinally(signal -> {
+                    // No body was written (error, cancellation, empty response): waiting requests go downstream.
+                    flights.remove(key, flight);
+                    flight.close();
+                    flight.response.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Copies a shared response to a waiting request's exchange.
+     */
+    private static Mono<Void> write(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach(headers::put);
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        response.setStatusCode(shared.status());
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private boolean shareable(HttpHeaders headers, long maxBodyBytes) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getContentLength() > maxBodyBytes) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String part : cacheControl.split(",")) {
+                String directive = part.trim().toLowerCase(Locale.ROOT);
+                if (directive.startsWith("private") || directive.equals("no-store")) {
+                    return false;
+                }
+            }
+        }
+        for (String vary : headers.getVary()) {
+            String name = vary.trim();
+            // Origin and the CORS preflight headers are added by the gateway's own CORS handling.
+            boolean gatewayAdded = name.equalsIgnoreCase(HttpHeaders.ORIGIN)
+                    || name.regionMatches(true, 0, "Access-Control-", 0, "Access-Control-".length());
+            if (!gatewayAdded && KEY_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                    && varyHeaders.stream().noneMatch(name::equalsIgnoreCase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a copy of the response
+     */
+    private static SharedResponse share(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        HttpHeaders copied = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!UNSHARED_HEADERS.contains(name) && !name.startsWith("access-control-")) {
+                copied.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+        }
+        return new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(copied), body);
+    }
+
+    private RequestKey key(String routeId, ServerHttpRequest request) {
+        List<String> headerValues = new ArrayList<>(KEY_HEADERS.size() + varyHeaders.size());
+        for (String name : KEY_HEADERS) {
+            headerValues.add(String.join(",", request.getHeaders().getOrEmpty(name)));
+        }
+        for (String name : varyHeaders) {
+            headerValues.add(String.join(",", request.getHeaders().getOrEmpty(name)));
+        }
+        return new RequestKey(routeId, request.getPath().value(), request.getURI().getRawQuery(), headerValues);
+    }
+
+    private void count(String routeId, String result) {
+        counters.computeIfAbsent(routeId + '|' + result, ignored -> Counter.builder("gateway.coalesce.requests")
+                        .description("GETs through routes with the Coalesce filter, by how they were answered")
+                        .tag("route", routeId)
+                        .tag("result", result)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    /**
+     * Identifies requests that may share one downstream call.
+     *
+     * @param headerValues values of the key headers, then of the vary headers, in order
+     */
+    private record RequestKey(String routeId, String path, String query, List<String> headerValues) {
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * One downstream call and the requests waiting for it.
+     */
+    private static final class Flight {
+
+        final Sinks.One<SharedResponse> response = Sinks.one();
+
+        // Number of waiting requests, or -1 once the response has arrived and no more may join.
+        private final AtomicInteger followers = new AtomicInteger();
+
+        /**
+         * @return {@code false} if the response has already arrived
+         */
+        boolean join() {
+            int current;
+            do {
+                current = followers.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!followers.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * Stops new requests from joining.
+         *
+         * @return how many joined
+         */
+        int close() {
+            return Math.max(followers.getAndSet(-1), 0);
+        }
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config {
+
+        /**
+         * Responses with a larger body are not shared; the waiting requests go downstream themselves.
+         */
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+}
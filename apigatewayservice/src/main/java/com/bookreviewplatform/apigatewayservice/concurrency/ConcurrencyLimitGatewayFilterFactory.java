@@ -0,0 +1,148 @@
+package com.bookreviewplatform.apigatewayservice.concurrency;
+
+import com.bookreviewplatform.common.concurrency.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Route filter that bounds the requests in flight to the route's downstream
+ * service with an {@link AdaptiveConcurrencyLimiter}, one per route:
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[1].filters[3]=ConcurrencyLimit=20,200
+ * </pre>
+ * <p>(initial limit, maximum limit). A request over the limit is answered at
+ * once with {@code 503 Service Unavailable} and {@code Retry-After: 1}.</p>
+ *
+ * <p>Place it after {@code ResponseCache} and {@code Coalesce}: cache hits and
+ * coalesced requests never reach the downstream and should not take a permit.
+ * A permit is held until the downstream's response headers arrive, which for
+ * these services is the time they spend on the request. Downstream 503 and 504 responses, and errors such
+ * as connect or response timeouts, count as dropped.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final Logger logger = Logger.getLogger(ConcurrencyLimitGatewayFilterFactory.class.getName());
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Value("${gateway.concurrency-limit.min-limit:4}")
+    private int minLimit;
+
+    @Value("${gateway.concurrency-limit.buffer:0.25}")
+    private double buffer;
+
+    @Value("${gateway.concurrency-limit.min-rtt-samples:25}")
+    private int minRttSamples;
+
+    @Value("${gateway.concurrency-limit.min-rtt-interval:60s}")
+    private Duration minRttInterval;
+
+    @Value("${gateway.concurrency-limit.window:1s}")
+    private Duration window;
+
+    public ConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("initialLimit", "maxLimit");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Route refreshes re-apply filters; keep the learned limit and the registered gauges.
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(config.getRouteId(),
+                routeId -> new AdaptiveConcurrencyLimiter(routeId,
+                        new AdaptiveConcurrencyLimiter.Settings(config.getInitialLimit(), minLimit,
+                                config.getMaxLimit(), buffer, minRttSamples, minRttInterval, window),
+                        meterRegistry));
+        return (exchange, chain) -> filter(exchange, chain, limiter, config.getRouteId());
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain,
+                              AdaptiveConcurrencyLimiter limiter, String routeId) {
+        if (!limiter.tryAcquire()) {
+            logger.fine(() -> "Shed request to route " + routeId + " at concurrency limit " + limiter.getLimit());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean overloaded = status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+            limiter.release(start, signal == SignalType.ON_ERROR || overloaded);
+        });
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config implements HasRouteId {
+
+        /**
+         * Limit before any latency has been observed.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * The limit never grows beyond this.
+         */
+        private int maxLimit = 200;
+
+        private String routeId;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookreviewplatform.apigatewayservice.config;
+
+import com.bookreviewplatform.common.loadbalancer.LoadBalancerStats;
+import com.bookreviewplatform.common.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Balances every {@code lb://} route and load-balanced {@link org.springframework.web.reactive.function.client.WebClient}
+ * with the latency-aware {@code PeakEwmaLoadBalancer} instead of round-robin.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Per-instance latency and failure stats shared by every service's balancer,
+     * configured from {@code gateway.load-balancer.*}.
+     *
+     * @param meterRegistry registry for the ejection counter
+     * @param environment   source of the balancer settings
+     * @return the stats collector
+     */
+    @Bean
+    public LoadBalancerStats loadBalancerStats(MeterRegistry meterRegistry, Environment environment) {
+        return new LoadBalancerStats(meterRegistry,
+                LoadBalancerStats.Settings.from(environment, "gateway.load-balancer"));
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookreviewplatform.apigatewayservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} support for the API Gateway's
+ * background jobs (e.g., sharing rate-limit usage with peer instances).
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,67 @@
+package com.bookreviewplatform.apigatewayservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * {@link WebClient} instances the gateway uses to call services itself, rather
+ * than proxying a client's request through a route (e.g., to assemble book pages).
+ *
+ * <p>Service names such as {@code http://bookservice} are resolved through the
+ * service registry by Spring Cloud LoadBalancer, like the {@code lb://} routes.
+ * The load-balancing filter is added per client rather than by declaring a
+ * {@code @LoadBalanced} builder bean, which would replace Boot's builder and
+ * break calls addressed to concrete instances (e.g., rate-limit sync with peers).</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * Creates a load-balanced {@link WebClient} for the <strong>Book Service</strong>.
+     *
+     * <p>Base URL: {@code http://bookservice/api/v1/books}</p>
+     *
+     * @param webClientBuilder     a fresh builder from Boot's auto-configuration
+     * @param loadBalancerFunction resolves service names to instances
+     * @param maxInMemorySize      the largest response body the client will buffer
+     * @return configured {@link WebClient} for Book Service
+     */
+    @Bean
+    public WebClient bookWebClient(WebClient.Builder webClientBuilder,
+                                   ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                   @Value("${gateway.pages.max-in-memory-size:2MB}") DataSize maxInMemorySize) {
+        return webClientBuilder
+                .baseUrl("http://bookservice/api/v1/books")
+                .filter(loadBalancerFunction)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+    }
+
+    /**
+     * Creates a load-balanced {@link WebClient} for the <strong>Review Service</strong>.
+     *
+     * <p>Base URL: {@code http://reviewservice/api/v1/reviews}</p>
+     *
+     * @param webClientBuilder     a fresh builder from Boot's auto-configuration
+     * @param loadBalancerFunction resolves service names to instances
+     * @param maxInMemorySize      the largest response body the client will buffer
+     * @return configured {@link WebClient} for Review Service
+     */
+    @Bean
+    public WebClient reviewWebClient(WebClient.Builder webClientBuilder,
+                                     ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                     @Value("${gateway.pages.max-in-memory-size:2MB}") DataSize maxInMemorySize) {
+        return webClientBuilder
+                .baseUrl("http://reviewservice/api/v1/reviews")
+                .filter(loadBalancerFunction)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookreviewplatform.apigatewayservice.controller;
+
+import com.bookreviewplatform.apigatewayservice.ratelimit.BucketDelta;
+import com.bookreviewplatform.apigatewayservice.ratelimit.ClientRateLimiter;
+import com.bookreviewplatform.apigatewayservice.ratelimit.RateLimitSync;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Receives rate-limit token deltas sent by other gateway instances.
+ *
+ * <p>No route matches {@code /internal}, so requests here are handled by this
+ * controller and never forwarded downstream. Callers must present the shared
+ * sync secret.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@RestController
+public class InternalRateLimitController {
+
+    private static final Logger logger = Logger.getLogger(InternalRateLimitController.class.getName());
+
+    private final ClientRateLimiter rateLimiter;
+    private final RateLimitSync rateLimitSync;
+
+    public InternalRateLimitController(ClientRateLimiter rateLimiter, RateLimitSync rateLimitSync) {
+        this.rateLimiter = rateLimiter;
+        this.rateLimitSync = rateLimitSync;
+    }
+
+    /**
+     * Debits tokens spent on a peer from this instance's buckets.
+     *
+     * @param secret the shared sync secret
+     * @param deltas tokens spent per route and client
+     * @return HTTP 204 No Content, or 403 Forbidden if sync is off or the secret is wrong
+     */
+    @PostMapping(RateLimitSync.DELTAS_PATH)
+    public ResponseEntity<Void> receive(@RequestHeader(name = RateLimitSync.SECRET_HEADER, required = false) String secret,
+                                        @RequestBody List<BucketDelta> deltas) {
+        if (!rateLimitSync.accepts(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        logger.fine(() -> "Received rate-limit deltas for " + deltas.size() + " buckets");
+        rateLimiter.applyPeerDeltas(deltas);
+        return ResponseEntity.noContent().build();
+    }
+}
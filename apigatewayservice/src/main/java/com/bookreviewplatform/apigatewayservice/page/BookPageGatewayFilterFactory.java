@@ -0,0 +1,317 @@
+package com.bookreviewplatform.apigatewayservice.page;
+
+import com.bookreviewplatform.apigatewayservice.priority.PriorityGatewayFilterFactory;
+import com.bookreviewplatform.common.concurrency.Priority;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Route filter that answers {@code GET /api/v1/pages/book/{id}} itself with
+ * everything a book page needs, in one round trip instead of three.
+ *
+ * <p>The book (from bookservice) and its reviews (from reviewservice) are
+ * requested in parallel, so the page takes as long as the slower call rather
+ * than the sum. Each call has its own timeout:</p>
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[3].filters[1]=BookPage=800ms,1s
+ * </pre>
+ *
+ * <p>The response is a {@code StandardResponse}-shaped JSON document whose
+ * {@code data} holds {@code book}, {@code reviews}, {@code rating} and
+ * {@code unavailable}. It is streamed: the opening and the book section are
+ * flushed as soon as the book call settles, and the rest follows when the
+ * reviews call does. The rating is taken from the book's denormalised
+ * {@code reviewCount}/{@code avgRating}, or computed from the reviews when the
+ * book call failed.</p>
+ *
+ * <p>A section whose call fails, times out or answers {@code success:false}
+ * without data is {@code null} and listed in {@code unavailable}; the page is
+ * still 200. Only a 404 for the book itself fails the page, passing
+ * bookservice's error body through.</p>
+ *
+ * <p>Both calls carry the page request's {@link Priority}, or {@code normal}
+ * if the route assigns none.</p>
+ *
+ * <p>Per-section outcomes are counted in
+ * {@code gateway.page.sections{section, result=ok|not_found|timeout|error}}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class BookPageGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BookPageGatewayFilterFactory.Config> {
+
+    private static final String BOOK = "book";
+    private static final String REVIEWS = "reviews";
+
+    private final Logger logger = Logger.getLogger(BookPageGatewayFilterFactory.class.getName());
+    private final WebClient bookWebClient;
+    private final WebClient reviewWebClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public BookPageGatewayFilterFactory(@Qualifier("bookWebClient") WebClient bookWebClient,
+                                        @Qualifier("reviewWebClient") WebClient reviewWebClient,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.bookWebClient = bookWebClient;
+        this.reviewWebClient = reviewWebClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("bookTimeout", "reviewsTimeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> filter(exchange, chain, config);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        String rawId = ServerWebExchangeUtils.getUriTemplateVariables(exchange).get("id");
+        UUID bookId;
+        try {
+            bookId = UUID.fromString(rawId);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return write(response, Flux.just(error("Invalid book id: " + rawId)));
+        }
+
+        Priority priority = exchange.getAttributeOrDefault(PriorityGatewayFilterFactory.PRIORITY_ATTRIBUTE,
+                Priority.NORMAL);
+        Mono<Section> book = fetch(BOOK, bookWebClient, "/{id}", bookId, priority, config.getBookTimeout());
+        Mono<Section> reviews = fetch(REVIEWS, reviewWebClient, "/book/{id}", bookId, priority,
+                config.getReviewsTimeout());
+        Page page = new Page(bookId, response);
+
+        // mergeSequential subscribes to both calls at once but emits the book first.
+        Flux<byte[]> body = Flux.mergeSequential(book, reviews)
+                .map(page::render)
+                .takeUntil(chunk -> page.finished)
+                .concatWith(Mono.fromSupplier(page::close).filter(chunk -> chunk.length > 0));
+        return write(response, body);
+    }
+
+    private Mono<Section> fetch(String name, WebClient client, String uri, UUID bookId, Priority priority,
+                                Duration timeout) {
+        return client.get()
+                .uri(uri, bookId)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(Priority.HEADER, priority.headerValue())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(body -> {
+                    JsonNode data = body.path("data");
+                    if (!body.path("success").asBoolean(false) || data.isNull() || data.isMissingNode()) {
+                        // The services answer some failures with 200 and success=false.
+                        record(name, "error");
+                        logger.warning(() -> "Book page section " + name + " unavailable for book " + bookId
+                                + ": " + body.path("error").asText("no data"));
+                        return new Section(name, null, null);
+                    }
+                    record(name, "ok");
+                    return new Section(name, data, null);
+                })
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    record(name, "not_found");
+                    return Mono.just(new Section(name, null, e.getResponseBodyAsByteArray()));
+                })
+                .onErrorResume(e -> {
+                    boolean timedOut = e instanceof TimeoutException;
+                    record(name, timedOut ? "timeout" : "error");
+                    logger.warning(() -> "Book page section " + name + " unavailable for book " + bookId + ": "
+                            + (timedOut ? "timed out after " + timeout.toMillis() + " ms" : e.getMessage()));
+                    return Mono.just(new Section(name, null, null));
+                });
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, Flux<byte[]> chunks) {
+        return response.writeAndFlushWith(chunks.map(chunk -> Mono.just(response.bufferFactory().wrap(chunk))));
+    }
+
+    private byte[] error(String message) {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.put("success", false);
+        error.put("error", message);
+        error.put("timestamp", LocalDateTime.now().toString());
+        return json(error);
+    }
+
+    private byte[] json(Object value) {
+        return text(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String text(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void record(String section, String result) {
+        meterRegistry.counter("gateway.page.sections", "section", section, "result", result).increment();
+    }
+
+    /**
+     * One downstream call's outcome.
+     *
+     * @param data         the non-null {@code data} of a successful downstream response, or {@code null} if unavailable
+     * @param notFoundBody the downstream 404 body, or {@code null}
+     */
+    private record Section(String name, JsonNode data, byte[] notFoundBody) {
+    }
+
+    /**
+     * Renders sections as they arrive, book first, into one JSON document.
+     */
+    private final class Page {
+
+        private final UUID bookId;
+        private final ServerHttpResponse response;
+        private final List<String> unavailable = new ArrayList<>();
+        private JsonNode book;
+        private JsonNode reviews;
+        private boolean finished;
+
+        Page(UUID bookId, ServerHttpResponse response) {
+            this.bookId = bookId;
+            this.response = response;
+        }
+
+        byte[] render(Section section) {
+            if (section.notFoundBody() != null && BOOK.equals(section.name())) {
+                // Nothing has been written yet, so the status can still change.
+                finished = true;
+                response.setStatusCode(HttpStatus.NOT_FOUND);
+                return section.notFoundBody().length > 0
+                        ? section.notFoundBody()
+                        : error("Book not found with id: " + bookId);
+            }
+            JsonNode data = section.data();
+            if (data == null) {
+                unavailable.add(section.name());
+            } else if (BOOK.equals(section.name())) {
+                book = data;
+            } else {
+                reviews = data;
+            }
+
+            StringBuilder chunk = new StringBuilder();
+            if (BOOK.equals(section.name())) {
+                chunk.append("{\"success\":true,\"data\":{\"bookId\":\"").append(bookId).append('"');
+            }
+            chunk.append(",\"").append(section.name()).append("\":").append(text(data));
+            return chunk.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        byte[] close() {
+            if (finished) {
+                return new byte[0];
+            }
+            finished = true;
+            JsonNode rating = rating();
+            return (",\"rating\":" + text(rating)
+                    + ",\"unavailable\":" + text(unavailable)
+                    + "},\"timestamp\":" + text(LocalDateTime.now().toString()) + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+
+        private JsonNode rating() {
+            ObjectNode rating = objectMapper.createObjectNode();
+            if (book != null && book.hasNonNull("reviewCount")) {
+                rating.set("reviewCount", book.get("reviewCount"));
+                rating.set("avgRating", book.get("avgRating"));
+                return rating;
+            }
+            if (reviews != null && reviews.isArray()) {
+                long count = 0;
+                long sum = 0;
+                for (JsonNode review : reviews) {
+                    if (review.hasNonNull("rating")) {
+                        count++;
+                        sum += review.get("rating").asLong();
+                    }
+                }
+                rating.put("reviewCount", count);
+                if (count > 0) {
+                    rating.put("avgRating", (double) sum / count);
+                } else {
+                    rating.putNull("avgRating");
+                }
+                return rating;
+            }
+            unavailable.add("rating");
+            return null;
+        }
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config {
+
+        /**
+         * How long to wait for the book before rendering the page without it.
+         */
+        private Duration bookTimeout = Duration.ofMillis(800);
+
+        /**
+         * How long to wait for the reviews before rendering the page without them.
+         */
+        private Duration reviewsTimeout = Duration.ofSeconds(1);
+
+        public Duration getBookTimeout() {
+            return bookTimeout;
+        }
+
+        public void setBookTimeout(Duration bookTimeout) {
+            this.bookTimeout = bookTimeout;
+        }
+
+        public Duration getReviewsTimeout() {
+            return reviewsTimeout;
+        }
+
+        public void setReviewsTimeout(Duration reviewsTimeout) {
+            this.reviewsTimeout = reviewsTimeout;
+        }
+    }
+}
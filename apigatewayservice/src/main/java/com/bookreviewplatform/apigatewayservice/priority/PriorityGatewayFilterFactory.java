@@ -0,0 +1,170 @@
+package com.bookreviewplatform.apigatewayservice.priority;
+
+import com.bookreviewplatform.common.concurrency.Priority;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Route filter that assigns each request a {@link Priority} and passes it to
+ * the downstream service in the {@value Priority#HEADER} header.
+ *
+ * <p>The arguments are rules, tried in order; the first that matches decides.
+ * A rule is a class name followed by any of a method, a path pattern and a
+ * {@code Header=regex} condition, all of which must hold:</p>
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[2].filters[3]=Priority=batch GET /api/v1/reviews, interactive
+ * </pre>
+ * <p>A rule with no conditions matches everything, so it ends the list as the
+ * route's default. A request no rule matches is {@code normal}.</p>
+ *
+ * <p>A {@value Priority#HEADER} sent by the client is honoured only if it is
+ * lower than the class the rules assign: a client may mark its own export as
+ * batch, but may not promote itself. Every route should have this filter, or
+ * the client's header reaches the service unchecked.</p>
+ *
+ * <p>The class is also stored in the {@link #PRIORITY_ATTRIBUTE} exchange
+ * attribute for filters that call services themselves.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class PriorityGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<PriorityGatewayFilterFactory.Config> {
+
+    public static final String PRIORITY_ATTRIBUTE = PriorityGatewayFilterFactory.class.getName() + ".priority";
+
+    /**
+     * Runs first, so every later filter sees the final header.
+     */
+    private static final int ORDER = -20;
+
+    public PriorityGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("rules");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<Rule> rules = config.getRules().stream().map(Rule::parse).toList();
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, rules), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, List<Rule> rules) {
+        ServerHttpRequest request = exchange.getRequest();
+        Priority priority = classify(request, rules);
+        Priority requested = Priority.fromHeader(request.getHeaders().getFirst(Priority.HEADER));
+        if (requested != null && requested.compareTo(priority) > 0) {
+            priority = requested;
+        }
+
+        exchange.getAttributes().put(PRIORITY_ATTRIBUTE, priority);
+        String headerValue = priority.headerValue();
+        ServerHttpRequest classified = request.mutate()
+                .headers(headers -> headers.set(Priority.HEADER, headerValue))
+                .build();
+        return chain.filter(exchange.mutate().request(classified).build());
+    }
+
+    private static Priority classify(ServerHttpRequest request, List<Rule> rules) {
+        for (Rule rule : rules) {
+            if (rule.matches(request)) {
+                return rule.priority();
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    /**
+     * One classification rule; {@code null} conditions always hold.
+     */
+    private record Rule(Priority priority, HttpMethod method, PathPattern path, String header, Pattern headerValue) {
+
+        static Rule parse(String rule) {
+            String[] tokens = rule.trim().split("\\s+");
+            Priority priority;
+            try {
+                priority = Priority.valueOf(tokens[0].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown priority class in rule '" + rule + "'", e);
+            }
+
+            HttpMethod method = null;
+            PathPattern path = null;
+            String header = null;
+            Pattern headerValue = null;
+            for (int i = 1; i < tokens.length; i++) {
+                String token = tokens[i];
+                int equals = token.indexOf('=');
+                if (token.startsWith("/")) {
+                    path = PathPatternParser.defaultInstance.parse(token);
+                } else if (equals > 0) {
+                    header = token.substring(0, equals);
+                    headerValue = Pattern.compile(token.substring(equals + 1));
+                } else if (token.chars().allMatch(Character::isUpperCase)) {
+                    method = HttpMethod.valueOf(token);
+                } else {
+                    throw new IllegalArgumentException("Cannot parse '" + token + "' in priority rule '" + rule
+                            + "'; expected a method, a path or Header=regex");
+                }
+            }
+            return new Rule(priority, method, path, header, headerValue);
+        }
+
+        boolean matches(ServerHttpRequest request) {
+            if (method != null && !method.equals(request.getMethod())) {
+                return false;
+            }
+            if (path != null && !path.matches(request.getPath().pathWithinApplication())) {
+                return false;
+            }
+            if (header != null) {
+                List<String> values = request.getHeaders().getOrEmpty(header);
+                return values.stream().anyMatch(value -> headerValue.matcher(value).matches());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config {
+
+        /**
+         * Classification rules, first match wins.
+         */
+        private List<String> rules = new ArrayList<>();
+
+        public List<String> getRules() {
+            return rules;
+        }
+
+        public void setRules(List<String> rules) {
+            this.rules = rules;
+        }
+    }
+}
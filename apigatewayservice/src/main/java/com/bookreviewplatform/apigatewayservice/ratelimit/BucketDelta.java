@@ -0,0 +1,14 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+/**
+ * Tokens one client spent on one route at a gateway instance since the last
+ * sync, sent to the other instances. Internal only; never routed downstream.
+ *
+ * @param routeId  the gateway route id
+ * @param clientId the client's address key
+ * @param tokens   tokens consumed
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record BucketDelta(String routeId, String clientId, long tokens) {
+}
@@ -0,0 +1,149 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway-local token buckets, one per client and route, used by the
+ * {@code RateLimit} filter.
+ *
+ * <p>Buckets live in a Caffeine cache, which is internally striped, so
+ * requests from different clients never contend. A bucket untouched for
+ * {@code gateway.rate-limit.idle-timeout} is evicted; it would be full again by
+ * then, provided the timeout is longer than {@code burstCapacity / replenishRate}.
+ * {@code gateway.rate-limit.max-buckets} caps memory when many addresses appear
+ * at once. Evicting a busy bucket early only hands its client a fresh burst.</p>
+ *
+ * <p>Without sharing the limits hold per gateway instance. With
+ * {@code gateway.rate-limit.sync.enabled}, {@link RateLimitSync} sends every
+ * instance's consumed tokens to its peers, which debit them from their own
+ * buckets. A client then gets roughly the configured rate across the whole
+ * cluster, with a lag of one sync interval.</p>
+ *
+ * <p>Metrics: {@code gateway.rate.limit.requests{route, result=allowed|limited}},
+ * plus Caffeine cache metrics under {@code cache=gateway.rateLimitBuckets}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Map<String, Limits> limitsByRoute = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean trackUsage;
+
+    public ClientRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+                             @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                             @Value("${gateway.rate-limit.sync.enabled:false}") boolean syncEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.trackUsage = syncEnabled;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway.rateLimitBuckets");
+    }
+
+    /**
+     * Records a route's limits, so deltas from peers can create its buckets.
+     *
+     * @param routeId the gateway route id
+     * @param limits  the route's per-client limits
+     */
+    public void register(String routeId, Limits limits) {
+        limitsByRoute.put(routeId, limits);
+    }
+
+    /**
+     * Takes one token from the client's bucket for the route.
+     *
+     * @param routeId  the gateway route id
+     * @param clientId the client's address key
+     * @param limits   the route's per-client limits
+     * @return {@code 0} if the request may proceed, else nanoseconds until it could
+     */
+    public long tryAcquire(String routeId, String clientId, Limits limits) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new BucketKey(routeId, clientId), key -> new TokenBucket(limits, now));
+        long waitNanos = bucket.tryConsume(now, trackUsage);
+        counter(routeId, waitNanos == 0 ? "allowed" : "limited").increment();
+        return waitNanos;
+    }
+
+    /**
+     * Collects and resets the tokens taken locally since the previous call.
+     *
+     * @return non-zero deltas, one per bucket
+     */
+    public List<BucketDelta> drainDeltas() {
+        List<BucketDelta> deltas = new ArrayList<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            long tokens = bucket.drainUnshared();
+            if (tokens > 0) {
+                deltas.add(new BucketDelta(key.routeId(), key.clientId(), tokens));
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Debits tokens that clients spent on other gateway instances.
+     *
+     * @param deltas deltas sent by a peer; those for routes without a
+     *               {@code RateLimit} filter here are ignored
+     */
+    public void applyPeerDeltas(Collection<BucketDelta> deltas) {
+        long now = System.nanoTime();
+        for (BucketDelta delta : deltas) {
+            Limits limits = limitsByRoute.get(delta.routeId());
+            if (limits == null || delta.clientId() == null || delta.tokens() <= 0) {
+                continue;
+            }
+            buckets.get(new BucketKey(delta.routeId(), delta.clientId()), key -> new TokenBucket(limits, now))
+                    .debit(delta.tokens(), now);
+        }
+    }
+
+    private Counter counter(String routeId, String result) {
+        return counters.computeIfAbsent(routeId + '|' + result, ignored -> Counter.builder("gateway.rate.limit.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    /**
+     * A route's per-client limits.
+     *
+     * @param replenishRate tokens added per second
+     * @param burstCapacity most tokens a bucket holds
+     */
+    public record Limits(double replenishRate, long burstCapacity) {
+
+        public Limits {
+            if (replenishRate <= 0 || burstCapacity < 1) {
+                throw new IllegalArgumentException("Rate limit needs replenishRate > 0 and burstCapacity >= 1, got "
+                        + replenishRate + " and " + burstCapacity);
+            }
+        }
+    }
+
+    private record BucketKey(String routeId, String clientId) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Route filter that limits how fast each client may call the route, using
+ * the token buckets of {@link ClientRateLimiter}.
+ *
+ * <p>Enable it per route with the sustained rate (requests per second) and the
+ * burst a client may spend at once:</p>
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[1].filters[0]=RateLimit=20,40
+ * </pre>
+ *
+ * <p>A request with no token left gets {@code 429 Too Many Requests} with
+ * {@code Retry-After} set to the seconds until the next token, and never
+ * reaches the response cache or the downstream service.</p>
+ *
+ * <p>Clients are told apart by remote address. IPv6 addresses are grouped by
+ * their /64 prefix, since a single host commonly owns a whole /64. Behind a
+ * load balancer, set {@code server.forward-headers-strategy} so the remote
+ * address is the real client's rather than the balancer's.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class RateLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+
+    /**
+     * Runs ahead of the response cache, so cache hits are limited too.
+     */
+    private static final int ORDER = -10;
+
+    private final Logger logger = Logger.getLogger(RateLimitGatewayFilterFactory.class.getName());
+    private final ClientRateLimiter rateLimiter;
+
+    public RateLimitGatewayFilterFactory(ClientRateLimiter rateLimiter) {
+        super(Config.class);
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        ClientRateLimiter.Limits limits = new ClientRateLimiter.Limits(config.getReplenishRate(), config.getBurstCapacity());
+        String routeId = config.getRouteId();
+        rateLimiter.register(routeId, limits);
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, routeId, limits), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, String routeId,
+                              ClientRateLimiter.Limits limits) {
+        String clientId = clientId(exchange);
+        long waitNanos = rateLimiter.tryAcquire(routeId, clientId, limits);
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        logger.fine(() -> "Rate limited " + clientId + " on route " + routeId + " for " + retryAfterSeconds + " s");
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private static String clientId(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        InetAddress address = remoteAddress.getAddress();
+        if (address == null) {
+            return remoteAddress.getHostString();
+        }
+        if (address instanceof Inet6Address) {
+            byte[] prefix = Arrays.copyOf(address.getAddress(), 16);
+            Arrays.fill(prefix, 8, 16, (byte) 0);
+            try {
+                return InetAddress.getByAddress(prefix).getHostAddress() + "/64";
+            } catch (UnknownHostException e) {
+                return address.getHostAddress();
+            }
+        }
+        return address.getHostAddress();
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config implements HasRouteId {
+
+        /**
+         * Requests per second a client may sustain.
+         */
+        private double replenishRate = 10;
+
+        /**
+         * Requests a client may send at once after being idle.
+         */
+        private long burstCapacity = 20;
+
+        private String routeId;
+
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public long getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(long burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
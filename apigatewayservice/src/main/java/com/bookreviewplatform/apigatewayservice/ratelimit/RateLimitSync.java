@@ -0,0 +1,113 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Shares consumed rate-limit tokens between gateway instances, making the
+ * {@code RateLimit} filter's limits approximately cluster-wide. Off unless
+ * {@code gateway.rate-limit.sync.enabled=true} and a
+ * {@code gateway.rate-limit.sync.secret} is set.
+ *
+ * <p>Every {@code gateway.rate-limit.sync.interval-ms}, the tokens taken here
+ * since the previous round are sent to every other instance registered under
+ * this application's name. Each peer receives a {@code POST} to
+ * {@value #DELTAS_PATH} and debits them from its own buckets. Sends are
+ * fire-and-forget: a lost round lets a client exceed the limit by at most
+ * what it spent in that interval, never blocks requests.</p>
+ *
+ * <p>Unlike the services' {@code /internal} paths, the gateway's port is
+ * public, so peers must present the shared secret in {@value #SECRET_HEADER}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class RateLimitSync {
+
+    public static final String DELTAS_PATH = "/internal/rate-limit/deltas";
+    public static final String SECRET_HEADER = "X-Rate-Limit-Sync-Secret";
+
+    private final Logger logger = Logger.getLogger(RateLimitSync.class.getName());
+    private final ClientRateLimiter rateLimiter;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final WebClient webClient;
+    private final String serviceName;
+    private final boolean enabled;
+    private final byte[] secret;
+    private final Duration timeout;
+
+    public RateLimitSync(ClientRateLimiter rateLimiter,
+                         DiscoveryClient discoveryClient,
+                         ObjectProvider<Registration> registration,
+                         WebClient.Builder webClientBuilder,
+                         @Value("${spring.application.name}") String serviceName,
+                         @Value("${gateway.rate-limit.sync.enabled:false}") boolean enabled,
+                         @Value("${gateway.rate-limit.sync.secret:}") String secret,
+                         @Value("${gateway.rate-limit.sync.interval-ms:1000}") long intervalMs) {
+        this.rateLimiter = rateLimiter;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.webClient = webClientBuilder.build();
+        this.serviceName = serviceName;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.enabled = enabled && !secret.isBlank();
+        this.timeout = Duration.ofMillis(intervalMs);
+        if (enabled && secret.isBlank()) {
+            logger.warning(() -> "gateway.rate-limit.sync.enabled is set without gateway.rate-limit.sync.secret; "
+                    + "rate limits stay per instance");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.sync.interval-ms:1000}")
+    public void publish() {
+        if (!enabled) {
+            return;
+        }
+        List<BucketDelta> deltas = rateLimiter.drainDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Registration self = registration.getIfAvailable();
+        for (ServiceInstance peer : discoveryClient.getInstances(serviceName)) {
+            if (self != null && self.getInstanceId() != null && self.getInstanceId().equals(peer.getInstanceId())) {
+                continue;
+            }
+            webClient.post()
+                    .uri(peer.getUri().resolve(DELTAS_PATH))
+                    .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(deltas)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(timeout)
+                    .subscribe(ignored -> {
+                    }, e -> logger.warning(() -> "Could not send rate-limit deltas for " + deltas.size()
+                            + " buckets to " + peer.getUri() + ": " + e.getMessage()));
+        }
+    }
+
+    /**
+     * @param presented the secret a caller sent, or {@code null}
+     * @return whether sync is enabled and the secret matches
+     */
+    public boolean accepts(String presented) {
+        return enabled && presented != null
+                && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
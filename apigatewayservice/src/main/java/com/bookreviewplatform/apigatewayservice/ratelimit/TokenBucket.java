@@ -0,0 +1,90 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free token bucket: holds up to {@code burstCapacity} tokens and
+ * refills at {@code replenishRate} tokens per second. Tokens are refilled
+ * lazily from the elapsed time whenever the bucket is touched, so idle buckets
+ * cost nothing.
+ *
+ * <p>State is an immutable snapshot swapped by compare-and-set. Under
+ * contention a request retries the CAS instead of blocking.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    /**
+     * Tokens taken locally since the last {@link #drainUnshared()}, for peers.
+     */
+    private final AtomicLong unshared = new AtomicLong();
+
+    TokenBucket(ClientRateLimiter.Limits limits, long now) {
+        this.capacity = limits.burstCapacity();
+        this.tokensPerNano = limits.replenishRate() / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @param now        {@link System#nanoTime()}
+     * @param trackUsage whether to remember the token for {@link #drainUnshared()}
+     * @return {@code 0} if a token was taken, else nanoseconds until one will be available
+     */
+    long tryConsume(long now, boolean trackUsage) {
+        while (true) {
+            State current = state.get();
+            double tokens = refilled(current, now);
+            if (tokens < 1) {
+                return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.updatedAt())))) {
+                if (trackUsage) {
+                    unshared.incrementAndGet();
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes tokens spent by the same client on another gateway instance. The
+     * bucket never goes below empty, so a late or duplicated delta costs at
+     * most one refill period.
+     *
+     * @param tokens tokens taken elsewhere
+     * @param now    {@link System#nanoTime()}
+     */
+    void debit(long tokens, long now) {
+        while (true) {
+            State current = state.get();
+            double remaining = Math.max(0, refilled(current, now) - tokens);
+            if (state.compareAndSet(current, new State(remaining, Math.max(now, current.updatedAt())))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return tokens taken locally since the previous call
+     */
+    long drainUnshared() {
+        return unshared.getAndSet(0);
+    }
+
+    private double refilled(State current, long now) {
+        long elapsed = Math.max(0, now - current.updatedAt());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
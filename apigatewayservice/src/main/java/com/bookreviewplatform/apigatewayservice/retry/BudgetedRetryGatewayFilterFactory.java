@@ -0,0 +1,210 @@
+package com.bookreviewplatform.apigatewayservice.retry;
+
+import com.bookreviewplatform.common.loadbalancer.PeakEwmaLoadBalancer;
+import com.bookreviewplatform.common.retry.RetryBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Route filter that retries idempotent requests on another instance, within
+ * the route's {@link RetryBudget}:
+ * <pre>
+ * spring.cloud.gateway.server.webflux.routes[1].filters[5]=BudgetedRetry=2,50ms,500ms
+ * </pre>
+ * <p>(retries per request, first backoff, maximum backoff).</p>
+ *
+ * <p>Only {@code GET}, {@code HEAD}, {@code OPTIONS} and {@code DELETE} are
+ * retried. {@code PUT} is idempotent too, but its body is streamed to the
+ * first instance and cannot be sent again. A request is retried when the
+ * connection fails (refused, reset, closed before the response), or the
+ * instance answers {@code 502} or {@code 503}. A response timeout is not
+ * retried: the instance may still be working on the request.</p>
+ *
+ * <p>Each retry waits a jittered backoff and goes through the load balancer
+ * again, which skips the instances already tried. When the retries or the
+ * budget run out, the last response or error goes to the client. Place the
+ * filter after {@code ConcurrencyLimit}, so a request holds one permit across
+ * its attempts and a request shed by the gateway itself is not retried.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.DELETE);
+
+    private final Logger logger = Logger.getLogger(BudgetedRetryGatewayFilterFactory.class.getName());
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    @Value("${gateway.retry.budget-ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${gateway.retry.min-retries-per-second:3}")
+    private double minRetriesPerSecond;
+
+    @Value("${gateway.retry.budget-window:10s}")
+    private Duration budgetWindow;
+
+    public BudgetedRetryGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("retries", "firstBackoff", "maxBackoff");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Route refreshes re-apply filters; keep the budget's window and the registered counters.
+        RetryBudget budget = budgets.computeIfAbsent(config.getRouteId(), routeId -> new RetryBudget(routeId,
+                new RetryBudget.Settings(budgetRatio, minRetriesPerSecond, budgetWindow), meterRegistry));
+        return (exchange, chain) -> filter(exchange, chain, config, budget);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                              RetryBudget budget) {
+        if (!IDEMPOTENT_METHODS.contains(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        budget.onRequest();
+        exchange.getAttributes().put(PeakEwmaLoadBalancer.TRIED_INSTANCES_ATTRIBUTE, ConcurrentHashMap.newKeySet());
+
+        return Mono.defer(() -> chain.filter(exchange))
+                .then(Mono.defer(() -> checkStatus(exchange)))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    int retry = (int) signal.totalRetries() + 1;
+                    if (retry > config.getRetries() || !isRetryable(failure)
+                            || exchange.getResponse().isCommitted() || !budget.tryRetry()) {
+                        return Mono.error(failure);
+                    }
+                    Duration backoff = RetryBudget.backoff(retry, config.getFirstBackoff(), config.getMaxBackoff());
+                    logger.fine(() -> "Retrying " + exchange.getRequest().getMethod() + " "
+                            + exchange.getRequest().getPath() + " on route " + config.getRouteId() + " in "
+                            + backoff.toMillis() + " ms after " + failure);
+                    reset(exchange);
+                    return Mono.delay(backoff);
+                })))
+                // Out of retries after a 502/503: let the last response through as it is.
+                .onErrorResume(RetryableStatusException.class, e -> Mono.empty());
+    }
+
+    private static Mono<Void> checkStatus(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && (status.value() == HttpStatus.BAD_GATEWAY.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value())) {
+            return Mono.error(new RetryableStatusException(status));
+        }
+        return Mono.empty();
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        return failure instanceof RetryableStatusException || failure instanceof IOException;
+    }
+
+    /**
+     * Discards the failed attempt's response so the route can be run again.
+     */
+    private static void reset(ServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+            exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        }
+        ServerWebExchangeUtils.reset(exchange);
+    }
+
+    /**
+     * Signals a retryable downstream status through {@code retryWhen}.
+     */
+    private static final class RetryableStatusException extends RuntimeException {
+
+        RetryableStatusException(HttpStatusCode status) {
+            super("Downstream responded " + status.value(), null, false, false);
+        }
+    }
+
+    /**
+     * Per-route configuration.
+     */
+    public static class Config implements HasRouteId {
+
+        /**
+         * Retries after the first attempt.
+         */
+        private int retries = 2;
+
+        /**
+         * Upper bound of the first retry's random delay; doubles with each retry.
+         */
+        private Duration firstBackoff = Duration.ofMillis(50);
+
+        /**
+         * The delay never exceeds this.
+         */
+        private Duration maxBackoff = Duration.ofMillis(500);
+
+        private String routeId;
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public Duration getFirstBackoff() {
+            return firstBackoff;
+        }
+
+        public void setFirstBackoff(Duration firstBackoff) {
+            this.firstBackoff = firstBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
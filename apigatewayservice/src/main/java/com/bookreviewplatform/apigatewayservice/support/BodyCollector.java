@@ -0,0 +1,129 @@
+package com.bookreviewplatform.apigatewayservice.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a copy of a response body on its way to the client, as long as it is
+ * no larger than a limit.
+ *
+ * <p>Buffers are held back until the body either ends within the limit, when
+ * the copy is handed over and the buffers are written, or goes over it, when
+ * the held buffers and the rest of the body are written as they arrive and no
+ * copy is made. At most the limit is held in memory, whether or not the
+ * response has a {@code Content-Length}. Held buffers are released if the
+ * write is cancelled or fails.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public final class BodyCollector {
+
+    private final long maxBytes;
+    private final List<DataBuffer> buffers = new ArrayList<>();
+    private long size;
+    private boolean overflowed;
+    private boolean released;
+
+    private BodyCollector(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param body       the body being written
+     * @param maxBytes   largest body to copy
+     * @param onCopied   receives the copy of a body within the limit, before it is written
+     * @param onOverflow runs once, when the body goes over the limit
+     * @return the body to write instead
+     */
+    public static Flux<DataBuffer> collect(Publisher<? extends DataBuffer> body, long maxBytes,
+                                           Consumer<byte[]> onCopied, Runnable onOverflow) {
+        BodyCollector collector = new BodyCollector(maxBytes);
+        return Flux.from(body)
+                .concatMapIterable(buffer -> {
+                    boolean overflowed = collector.overflowed();
+                    List<DataBuffer> ready = collector.add(buffer);
+                    if (!overflowed && collector.overflowed()) {
+                        onOverflow.run();
+                    }
+                    return ready;
+                })
+                .concatWith(Flux.defer(() -> {
+                    List<DataBuffer> held = collector.drain();
+                    if (!collector.overflowed()) {
+                        onCopied.accept(copy(held));
+                    }
+                    return Flux.fromIterable(held);
+                }))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnCancel(collector::release)
+                .doOnError(error -> collector.release());
+    }
+
+    /**
+     * @return the buffers to write now: none while the body is within the
+     * limit, then everything held back, then each buffer as it comes
+     */
+    private synchronized List<DataBuffer> add(DataBuffer buffer) {
+        if (released) {
+            DataBufferUtils.release(buffer);
+            return List.of();
+        }
+        if (overflowed) {
+            return List.of(buffer);
+        }
+        buffers.add(buffer);
+        size += buffer.readableByteCount();
+        if (size <= maxBytes) {
+            return List.of();
+        }
+        overflowed = true;
+        return drain();
+    }
+
+    private synchronized boolean overflowed() {
+        return overflowed;
+    }
+
+    /**
+     * @return the buffers held back, which the caller now owns
+     */
+    private synchronized List<DataBuffer> drain() {
+        List<DataBuffer> held = new ArrayList<>(buffers);
+        buffers.clear();
+        return held;
+    }
+
+    /**
+     * Releases the buffers held back when the body will not be written, and
+     * any that still arrive.
+     */
+    private synchronized void release() {
+        released = true;
+        buffers.forEach(DataBufferUtils::release);
+        buffers.clear();
+    }
+
+    private static byte[] copy(List<DataBuffer> buffers) {
+        int size = 0;
+        for (DataBuffer buffer : buffers) {
+            size += buffer.readableByteCount();
+        }
+        byte[] body = new byte[size];
+        ByteBuffer target = ByteBuffer.wrap(body);
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.toByteBuffer(buffer.readPosition(), target, offset, length);
+            offset += length;
+        }
+        return body;
+    }
+}
@@ -0,0 +1,196 @@
+package com.bookreviewplatform.apigatewayservice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final NettyDataBufferFactory BUFFERS = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilter filter = filter(16);
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @Test
+    void repeatedGetIsServedFromTheCache() {
+        GatewayFilterChain chain = respondingWith(headers -> { }, "hel", "lo");
+
+        MockServerWebExchange first = send(MockServerHttpRequest.get("/api/v1/books?page=1"), chain);
+        MockServerWebExchange second = send(MockServerHttpRequest.get("/api/v1/books?page=1"), chain);
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("hello", second.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.TEXT_PLAIN, second.getResponse().getHeaders().getContentType());
+        assertEquals(5, second.getResponse().getHeaders().getContentLength());
+        assertNotNull(second.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals(1.0, count("hit"));
+        assertEquals(1.0, count("miss"));
+    }
+
+    @Test
+    void keyIncludesTheQueryAndTheVaryingRequestHeaders() {
+        GatewayFilterChain chain = respondingWith(headers -> { }, "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books?page=1").header(HttpHeaders.ACCEPT, "application/json"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books?page=2").header(HttpHeaders.ACCEPT, "application/json"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books?page=1").header(HttpHeaders.ACCEPT, "text/csv"), chain);
+        // Not one of the varying headers, so it shares the first entry.
+        send(MockServerHttpRequest.get("/api/v1/books?page=1").header(HttpHeaders.ACCEPT, "application/json")
+                .header("X-Request-Id", "42"), chain);
+
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    @Test
+    void responseVaryingOnAConfiguredHeaderIsStored() {
+        GatewayFilterChain chain = respondingWith(headers -> headers.setVary(List.of("Accept", "Origin")), "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void responseVaryingOnAnyOtherHeaderIsNotStored() {
+        GatewayFilterChain chain = respondingWith(headers -> headers.setVary(List.of("Accept", "Cookie")), "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void responseDeclaredLargerThanTheLimitIsNotStored() {
+        GatewayFilterChain chain = respondingWith(headers -> headers.setContentLength(20), "01234567890123456789");
+
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+        MockServerWebExchange second = send(MockServerHttpRequest.get("/api/v1/books"), chain);
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("01234567890123456789", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void chunkedResponseOverTheLimitIsStreamedButNotStored() {
+        GatewayFilterChain chain = respondingWith(headers -> { }, "01234567", "89abcdef", "ghij");
+
+        MockServerWebExchange first = send(MockServerHttpRequest.get("/api/v1/books"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("0123456789abcdefghij", first.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void privateOrCookieSettingResponsesAreNotStored() {
+        GatewayFilterChain privateChain = respondingWith(headers -> headers.setCacheControl("private, max-age=60"),
+                "hello");
+        GatewayFilterChain cookieChain = respondingWith(headers -> headers.add(HttpHeaders.SET_COOKIE, "a=1"),
+                "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books/1"), privateChain);
+        send(MockServerHttpRequest.get("/api/v1/books/1"), privateChain);
+        send(MockServerHttpRequest.get("/api/v1/books/2"), cookieChain);
+        send(MockServerHttpRequest.get("/api/v1/books/2"), cookieChain);
+
+        assertEquals(4, downstreamCalls.get());
+    }
+
+    @Test
+    void authorizedAndNoStoreRequestsSkipTheCache() {
+        GatewayFilterChain chain = respondingWith(headers -> { }, "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books").header(HttpHeaders.AUTHORIZATION, "Bearer a"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books").header(HttpHeaders.AUTHORIZATION, "Bearer a"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books").header(HttpHeaders.CACHE_CONTROL, "no-store"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books"), chain);
+
+        assertEquals(4, downstreamCalls.get());
+    }
+
+    @Test
+    void hitWithAMatchingETagIsNotModified() {
+        GatewayFilterChain chain = respondingWith(headers -> headers.setETag("\"7\""), "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books/1"), chain);
+        MockServerWebExchange revalidation = send(MockServerHttpRequest.get("/api/v1/books/1")
+                .ifNoneMatch("\"7\""), chain);
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+    }
+
+    @Test
+    void successfulWriteDropsTheRoutesEntries() {
+        GatewayFilterChain chain = respondingWith(headers -> { }, "hello");
+
+        send(MockServerHttpRequest.get("/api/v1/books/1"), chain);
+        send(MockServerHttpRequest.put("/api/v1/books/1"), chain);
+        send(MockServerHttpRequest.get("/api/v1/books/1"), chain);
+
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    private GatewayFilter filter(long maxEntryBytes) {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, DataSize.ofMegabytes(1));
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(responseCache,
+                DataSize.ofBytes(maxEntryBytes), List.of("Accept", "Accept-Language"));
+        return factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    /**
+     * A downstream that answers {@code 200 text/plain} with the given chunks,
+     * after letting the test adjust the headers.
+     */
+    private GatewayFilterChain respondingWith(Consumer<HttpHeaders> headers, String... chunks) {
+        return exchange -> {
+            downstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+            headers.accept(response.getHeaders());
+            Flux<DataBuffer> body = Flux.fromArray(chunks).map(ResponseCacheGatewayFilterFactoryTest::buffer);
+            return Mono.defer(() -> response.writeWith(body));
+        };
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.response.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,203 @@
+package com.bookreviewplatform.apigatewayservice.coalesce;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalesceGatewayFilterFactoryTest {
+
+    private static final NettyDataBufferFactory BUFFERS = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilter filter = filter(8);
+
+    /**
+     * Holds every downstream call until the test lets them through.
+     */
+    private final Sinks.Empty<Void> downstreamReady = Sinks.empty();
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @Test
+    void followerGetsTheLeadersResponseWithoutGoingDownstream() {
+        GatewayFilterChain chain = respondingWith("hel", "lo");
+        MockServerWebExchange leader = get("Bearer a");
+        MockServerWebExchange follower = get("Bearer a");
+
+        filter.filter(leader, chain).subscribe();
+        filter.filter(follower, chain).subscribe();
+        downstreamReady.tryEmitEmpty();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals("hello", leader.getResponse().getBodyAsString().block());
+        assertEquals("hello", follower.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals(MediaType.TEXT_PLAIN, follower.getResponse().getHeaders().getContentType());
+        assertEquals(5, follower.getResponse().getHeaders().getContentLength());
+        assertEquals(1.0, count("leader"));
+        assertEquals(1.0, count("follower"));
+    }
+
+    @Test
+    void requestsWithDifferentCredentialsAreNotCoalesced() {
+        GatewayFilterChain chain = respondingWith("hello");
+        MockServerWebExchange first = get("Bearer a");
+        MockServerWebExchange second = get("Bearer b");
+
+        filter.filter(first, chain).subscribe();
+        filter.filter(second, chain).subscribe();
+        downstreamReady.tryEmitEmpty();
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("hello", second.getResponse().getBodyAsString().block());
+        assertEquals(2.0, count("leader"));
+    }
+
+    @Test
+    void chunkedBodyOverTheLimitIsStreamedToTheLeaderAndFollowersFallBack() {
+        GatewayFilterChain chain = respondingWith("0123", "4567", "89ab", "cdef");
+        MockServerWebExchange leader = get("Bearer a");
+        MockServerWebExchange follower = get("Bearer a");
+
+        filter.filter(leader, chain).subscribe();
+        filter.filter(follower, chain).subscribe();
+        downstreamReady.tryEmitEmpty();
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("0123456789abcdef", leader.getResponse().getBodyAsString().block());
+        assertEquals("0123456789abcdef", follower.getResponse().getBodyAsString().block());
+        assertEquals(1.0, count("fallback"));
+    }
+
+    @Test
+    void responseSettingACookieIsNotShared() {
+        GatewayFilterChain chain = exchange -> {
+            exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE, "session=1");
+            return respondingWith("hello").filter(exchange);
+        };
+        MockServerWebExchange leader = get("Bearer a");
+        MockServerWebExchange follower = get("Bearer a");
+
+        filter.filter(leader, chain).subscribe();
+        filter.filter(follower, chain).subscribe();
+        downstreamReady.tryEmitEmpty();
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals(1.0, count("fallback"));
+    }
+
+    @Test
+    void followerFallsBackWhenTheLeaderIsCancelled() {
+        GatewayFilterChain chain = respondingWith("hello");
+        MockServerWebExchange leader = get("Bearer a");
+        MockServerWebExchange follower = get("Bearer a");
+
+        Disposable leading = filter.filter(leader, chain).subscribe();
+        filter.filter(follower, chain).subscribe();
+        leading.dispose();
+        downstreamReady.tryEmitEmpty();
+
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("hello", follower.getResponse().getBodyAsString().block());
+        assertEquals(1.0, count("fallback"));
+    }
+
+    @Test
+    void bufferedBodyIsReleasedWhenTheLeaderIsCancelled() {
+        List<DataBuffer> sent = new ArrayList<>();
+        GatewayFilterChain chain = exchange -> downstreamReady.asMono().then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            List<DataBuffer> chunks = List.of(buffer("hel"), buffer("lo"));
+            sent.addAll(chunks);
+            // The body never completes, so the filter holds on to what has arrived.
+            return response.writeWith(Flux.concat(Flux.fromIterable(chunks), Flux.never()));
+        }));
+
+        Disposable leading = filter.filter(get("Bearer a"), chain).subscribe();
+        filter.filter(get("Bearer a"), chain).subscribe();
+        downstreamReady.tryEmitEmpty();
+        leading.dispose();
+
+        // The leader's chunks; the follower's own call, made after the cancellation, sent two more.
+        for (DataBuffer buffer : sent.subList(0, 2)) {
+            assertEquals(0, ((NettyDataBuffer) buffer).getNativeBuffer().refCnt());
+        }
+    }
+
+    @Test
+    void nonGetRequestsAreNeverCoalesced() {
+        GatewayFilterChain chain = respondingWith("ok");
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/books"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/books"));
+
+        filter.filter(first, chain).subscribe();
+        filter.filter(second, chain).subscribe();
+        downstreamReady.tryEmitEmpty();
+
+        assertEquals(2, downstreamCalls.get());
+        assertTrue(meterRegistry.find("gateway.coalesce.requests").counters().isEmpty());
+    }
+
+    private GatewayFilter filter(long maxBodyBytes) {
+        CoalesceGatewayFilterFactory factory = new CoalesceGatewayFilterFactory(meterRegistry, List.of("Accept"));
+        CoalesceGatewayFilterFactory.Config config = new CoalesceGatewayFilterFactory.Config();
+        config.setMaxBodySize(DataSize.ofBytes(maxBodyBytes));
+        return factory.apply(config);
+    }
+
+    /**
+     * A downstream that, once let through, answers {@code 200} with the given
+     * chunks and no {@code Content-Length}.
+     */
+    private GatewayFilterChain respondingWith(String... chunks) {
+        return exchange -> {
+            downstreamCalls.incrementAndGet();
+            return downstreamReady.asMono().then(Mono.defer(() -> respond(exchange, chunks)));
+        };
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, String... chunks) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        return response.writeWith(Flux.fromArray(chunks).map(CoalesceGatewayFilterFactoryTest::buffer));
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockServerWebExchange get(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/books/42")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.coalesce.requests").tag("result", result).counter().count();
+    }
+}
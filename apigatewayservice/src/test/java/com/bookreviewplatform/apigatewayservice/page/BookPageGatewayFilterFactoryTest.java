@@ -0,0 +1,196 @@
+package com.bookreviewplatform.apigatewayservice.page;
+
+import com.bookreviewplatform.apigatewayservice.priority.PriorityGatewayFilterFactory;
+import com.bookreviewplatform.common.concurrency.Priority;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookPageGatewayFilterFactoryTest {
+
+    private static final String BOOK =
+            "{\"success\":true,\"data\":{\"title\":\"Dune\",\"reviewCount\":2,\"avgRating\":4.5}}";
+    private static final String REVIEWS = "{\"success\":true,\"data\":[{\"rating\":4},{\"rating\":3}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID bookId = UUID.randomUUID();
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    @Test
+    void pageHasTheBookTheReviewsAndTheBooksRating() throws IOException {
+        JsonNode page = render(respond(HttpStatus.OK, BOOK), respond(HttpStatus.OK, REVIEWS));
+
+        assertTrue(page.path("success").asBoolean());
+        assertEquals(bookId.toString(), page.at("/data/bookId").asText());
+        assertEquals("Dune", page.at("/data/book/title").asText());
+        assertEquals(2, page.at("/data/reviews").size());
+        assertEquals(4.5, page.at("/data/rating/avgRating").asDouble());
+        assertEquals(0, page.at("/data/unavailable").size());
+        assertEquals(1.0, count("book", "ok"));
+        assertEquals(1.0, count("reviews", "ok"));
+    }
+
+    @Test
+    void bothCallsCarryThePriorityAndTheBookId() throws IOException {
+        MockServerWebExchange exchange = exchange(bookId.toString());
+        exchange.getAttributes().put(PriorityGatewayFilterFactory.PRIORITY_ATTRIBUTE, Priority.INTERACTIVE);
+
+        render(exchange, respond(HttpStatus.OK, BOOK), respond(HttpStatus.OK, REVIEWS),
+                new BookPageGatewayFilterFactory.Config());
+
+        assertEquals(2, requests.size());
+        for (ClientRequest request : requests) {
+            assertTrue(request.url().getPath().endsWith(bookId.toString()), request.url().toString());
+            assertEquals(Priority.INTERACTIVE.headerValue(), request.headers().getFirst(Priority.HEADER));
+        }
+    }
+
+    @Test
+    void slowReviewsAreLeftOutAfterTheirTimeout() throws IOException {
+        BookPageGatewayFilterFactory.Config config = new BookPageGatewayFilterFactory.Config();
+        config.setReviewsTimeout(Duration.ofMillis(100));
+
+        JsonNode page = render(exchange(bookId.toString()), respond(HttpStatus.OK, BOOK), request -> Mono.never(),
+                config);
+
+        assertEquals("Dune", page.at("/data/book/title").asText());
+        assertTrue(page.at("/data/reviews").isNull());
+        assertEquals("[\"reviews\"]", page.at("/data/unavailable").toString());
+        assertEquals(2, page.at("/data/rating/reviewCount").asInt());
+        assertEquals(1.0, count("reviews", "timeout"));
+    }
+
+    @Test
+    void failedBookCallTakesTheRatingFromTheReviews() throws IOException {
+        JsonNode page = render(respond(HttpStatus.INTERNAL_SERVER_ERROR, "{}"), respond(HttpStatus.OK, REVIEWS));
+
+        assertTrue(page.at("/data/book").isNull());
+        assertEquals("[\"book\"]", page.at("/data/unavailable").toString());
+        assertEquals(2, page.at("/data/rating/reviewCount").asInt());
+        assertEquals(3.5, page.at("/data/rating/avgRating").asDouble());
+        assertEquals(1.0, count("book", "error"));
+    }
+
+    @Test
+    void unsuccessfulAnswerIsUnavailableRatherThanEmpty() throws IOException {
+        JsonNode page = render(respond(HttpStatus.OK, BOOK),
+                respond(HttpStatus.OK, "{\"success\":false,\"error\":\"Failed to retrieve reviews\",\"data\":null}"));
+
+        assertTrue(page.at("/data/reviews").isNull());
+        assertEquals("[\"reviews\"]", page.at("/data/unavailable").toString());
+        assertEquals(1.0, count("reviews", "error"));
+    }
+
+    @Test
+    void nothingAvailableLeavesTheRatingOutToo() throws IOException {
+        JsonNode page = render(respond(HttpStatus.SERVICE_UNAVAILABLE, "{}"),
+                respond(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+        assertTrue(page.path("success").asBoolean());
+        assertTrue(page.at("/data/rating").isNull());
+        assertEquals("[\"book\",\"reviews\",\"rating\"]", page.at("/data/unavailable").toString());
+    }
+
+    @Test
+    void missingBookFailsThePageWithBookservicesBody() throws IOException {
+        String notFound = "{\"success\":false,\"message\":\"Book not found\",\"error\":\"No book " + bookId + "\"}";
+        MockServerWebExchange exchange = exchange(bookId.toString());
+
+        JsonNode page = render(exchange, respond(HttpStatus.NOT_FOUND, notFound), respond(HttpStatus.OK, REVIEWS),
+                new BookPageGatewayFilterFactory.Config());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals(objectMapper.readTree(notFound), page);
+        assertEquals(1.0, count("book", "not_found"));
+    }
+
+    @Test
+    void missingBookWithoutABodyGetsTheGatewaysOwn() throws IOException {
+        MockServerWebExchange exchange = exchange(bookId.toString());
+
+        JsonNode page = render(exchange, request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()),
+                respond(HttpStatus.OK, REVIEWS), new BookPageGatewayFilterFactory.Config());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertEquals("Book not found with id: " + bookId, page.path("error").asText());
+    }
+
+    @Test
+    void malformedIdIsABadRequestWithoutCalls() throws IOException {
+        MockServerWebExchange exchange = exchange("not-a-uuid");
+
+        JsonNode page = render(exchange, respond(HttpStatus.OK, BOOK), respond(HttpStatus.OK, REVIEWS),
+                new BookPageGatewayFilterFactory.Config());
+
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+        assertFalse(page.path("success").asBoolean());
+        assertTrue(requests.isEmpty());
+    }
+
+    private JsonNode render(ExchangeFunction book, ExchangeFunction reviews) throws IOException {
+        return render(exchange(bookId.toString()), book, reviews, new BookPageGatewayFilterFactory.Config());
+    }
+
+    private JsonNode render(MockServerWebExchange exchange, ExchangeFunction book, ExchangeFunction reviews,
+                            BookPageGatewayFilterFactory.Config config) throws IOException {
+        BookPageGatewayFilterFactory factory = new BookPageGatewayFilterFactory(
+                client("http://bookservice/api/v1/books", book), client("http://reviewservice/api/v1/reviews", reviews),
+                objectMapper, meterRegistry);
+        factory.apply(config).filter(exchange, ignored -> Mono.error(new AssertionError("page must not be routed")))
+                .block(Duration.ofSeconds(5));
+        return objectMapper.readTree(exchange.getResponse().getBodyAsString().block());
+    }
+
+    private WebClient client(String baseUrl, ExchangeFunction exchangeFunction) {
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return exchangeFunction.exchange(request);
+                })
+                .build();
+    }
+
+    private static ExchangeFunction respond(HttpStatus status, String json) {
+        return request -> Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+
+    private static MockServerWebExchange exchange(String id) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/pages/book/" + id));
+        exchange.getAttributes().put(ServerWebExchangeUtils.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return exchange;
+    }
+
+    private double count(String section, String result) {
+        return meterRegistry.get("gateway.page.sections").tag("section", section).tag("result", result)
+                .counter().count();
+    }
+}
@@ -0,0 +1,88 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+
+    /**
+     * Slow enough that nothing refills while a test runs.
+     */
+    private static final ClientRateLimiter.Limits LIMITS = new ClientRateLimiter.Limits(0.001, 2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void clientsAndRoutesHaveSeparateBuckets() {
+        ClientRateLimiter limiter = limiter(false);
+
+        assertEquals(0, limiter.tryAcquire("books", "10.0.0.1", LIMITS));
+        assertEquals(0, limiter.tryAcquire("books", "10.0.0.1", LIMITS));
+        assertTrue(limiter.tryAcquire("books", "10.0.0.1", LIMITS) > 0);
+
+        assertEquals(0, limiter.tryAcquire("books", "10.0.0.2", LIMITS));
+        assertEquals(0, limiter.tryAcquire("reviews", "10.0.0.1", LIMITS));
+    }
+
+    @Test
+    void countsAllowedAndLimitedRequestsPerRoute() {
+        ClientRateLimiter limiter = limiter(false);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("books", "10.0.0.1", LIMITS);
+        }
+
+        assertEquals(2, meterRegistry.get("gateway.rate.limit.requests")
+                .tags("route", "books", "result", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("gateway.rate.limit.requests")
+                .tags("route", "books", "result", "limited").counter().count());
+    }
+
+    @Test
+    void drainDeltasReportsTokensTakenSinceTheLastDrainOnlyWhenSyncIsEnabled() {
+        ClientRateLimiter syncing = limiter(true);
+        syncing.tryAcquire("books", "10.0.0.1", LIMITS);
+        syncing.tryAcquire("books", "10.0.0.1", LIMITS);
+
+        assertEquals(List.of(new BucketDelta("books", "10.0.0.1", 2)), syncing.drainDeltas());
+        assertEquals(List.of(), syncing.drainDeltas());
+
+        ClientRateLimiter local = limiter(false);
+        local.tryAcquire("books", "10.0.0.1", LIMITS);
+        assertEquals(List.of(), local.drainDeltas());
+    }
+
+    @Test
+    void peerDeltasDebitBucketsOfRegisteredRoutesOnly() {
+        ClientRateLimiter limiter = limiter(true);
+        limiter.register("books", LIMITS);
+
+        limiter.applyPeerDeltas(List.of(
+                new BucketDelta("books", "10.0.0.1", 2),
+                new BucketDelta("unknown", "10.0.0.1", 2),
+                new BucketDelta("books", null, 2),
+                new BucketDelta("books", "10.0.0.2", 0)));
+
+        assertTrue(limiter.tryAcquire("books", "10.0.0.1", LIMITS) > 0);
+        assertEquals(0, limiter.tryAcquire("unknown", "10.0.0.1", LIMITS));
+        assertEquals(0, limiter.tryAcquire("books", "10.0.0.2", LIMITS));
+        assertEquals(0, limiter.tryAcquire("books", "10.0.0.2", LIMITS));
+    }
+
+    @Test
+    void limitsRejectNonPositiveRatesAndEmptyBursts() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter.Limits(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ClientRateLimiter.Limits(10, 0));
+    }
+
+    private ClientRateLimiter limiter(boolean syncEnabled) {
+        return new ClientRateLimiter(meterRegistry, 1_000, Duration.ofMinutes(10), syncEnabled);
+    }
+}
@@ -0,0 +1,101 @@
+package com.bookreviewplatform.apigatewayservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * 10 tokens per second, bursts of 5.
+     */
+    private static final ClientRateLimiter.Limits LIMITS = new ClientRateLimiter.Limits(10, 5);
+
+    @Test
+    void startsFullAndAllowsABurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(LIMITS, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(0, false), "request " + i);
+        }
+        assertTrue(bucket.tryConsume(0, false) > 0);
+    }
+
+    @Test
+    void rejectedRequestIsToldHowLongUntilTheNextToken() {
+        TokenBucket bucket = drained();
+
+        assertEquals(SECOND / 10, bucket.tryConsume(0, false));
+        assertEquals(SECOND / 20, bucket.tryConsume(SECOND / 20, false));
+    }
+
+    @Test
+    void refillsAtTheReplenishRate() {
+        TokenBucket bucket = drained();
+
+        assertEquals(0, bucket.tryConsume(SECOND / 10, false));
+        assertTrue(bucket.tryConsume(SECOND / 10, false) > 0);
+        assertEquals(0, bucket.tryConsume(2 * SECOND / 10, false));
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        TokenBucket bucket = drained();
+
+        long later = 60 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(later, false), "request " + i);
+        }
+        assertTrue(bucket.tryConsume(later, false) > 0);
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotAddOrRemoveTokens() {
+        TokenBucket bucket = new TokenBucket(LIMITS, SECOND);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(0, false), "request " + i);
+        }
+        assertTrue(bucket.tryConsume(0, false) > 0);
+    }
+
+    @Test
+    void debitRemovesPeerTokensButNeverGoesBelowEmpty() {
+        TokenBucket bucket = new TokenBucket(LIMITS, 0);
+
+        bucket.debit(3, 0);
+        assertEquals(0, bucket.tryConsume(0, false));
+        assertEquals(0, bucket.tryConsume(0, false));
+        assertTrue(bucket.tryConsume(0, false) > 0);
+
+        bucket.debit(1_000, 0);
+        assertEquals(0, bucket.tryConsume(SECOND / 10, false));
+    }
+
+    @Test
+    void drainUnsharedReturnsOnlyTrackedTokensSinceTheLastDrain() {
+        TokenBucket bucket = new TokenBucket(LIMITS, 0);
+
+        bucket.tryConsume(0, true);
+        bucket.tryConsume(0, true);
+        bucket.tryConsume(0, false);
+        assertEquals(2, bucket.drainUnshared());
+        assertEquals(0, bucket.drainUnshared());
+
+        bucket.tryConsume(0, true);
+        bucket.tryConsume(0, true);
+        bucket.tryConsume(0, true);
+        assertEquals(2, bucket.drainUnshared(), "the rejected third request is not tracked");
+    }
+
+    private static TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket(LIMITS, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryConsume(0, false);
+        }
+        return bucket;
+    }
+}
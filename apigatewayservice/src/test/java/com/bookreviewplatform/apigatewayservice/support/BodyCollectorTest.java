@@ -0,0 +1,91 @@
+package com.bookreviewplatform.apigatewayservice.support;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BodyCollectorTest {
+
+    private static final NettyDataBufferFactory BUFFERS = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    private final AtomicReference<byte[]> copied = new AtomicReference<>();
+    private final AtomicInteger overflows = new AtomicInteger();
+
+    @Test
+    void bodyWithinTheLimitIsCopiedAndWritten() {
+        List<DataBuffer> written = BodyCollector.collect(Flux.just(buffer("hel"), buffer("lo")), 5,
+                copied::set, overflows::incrementAndGet).collectList().block();
+
+        assertEquals("hello", new String(copied.get(), StandardCharsets.UTF_8));
+        assertEquals("hello", text(written));
+        assertEquals(0, overflows.get());
+    }
+
+    @Test
+    void bodyOverTheLimitIsWrittenWithoutACopy() {
+        List<String> seen = new ArrayList<>();
+        List<DataBuffer> written = BodyCollector.collect(Flux.just(buffer("012"), buffer("345"), buffer("678")), 4,
+                copied::set, overflows::incrementAndGet)
+                .doOnNext(buffer -> seen.add(buffer.toString(StandardCharsets.UTF_8)))
+                .collectList().block();
+
+        assertNull(copied.get());
+        assertEquals(1, overflows.get());
+        assertEquals("012345678", text(written));
+        // The buffer held back comes out first, in order.
+        assertEquals(List.of("012", "345", "678"), seen);
+    }
+
+    @Test
+    void emptyBodyIsCopiedAsEmpty() {
+        BodyCollector.collect(Flux.empty(), 4, copied::set, overflows::incrementAndGet).blockLast();
+
+        assertEquals(0, copied.get().length);
+    }
+
+    @Test
+    void heldBuffersAreReleasedOnCancel() {
+        List<DataBuffer> sent = List.of(buffer("ab"), buffer("cd"));
+        Disposable writing = BodyCollector.collect(Flux.concat(Flux.fromIterable(sent), Flux.never()), 8,
+                copied::set, overflows::incrementAndGet).subscribe();
+
+        writing.dispose();
+
+        for (DataBuffer buffer : sent) {
+            assertEquals(0, ((NettyDataBuffer) buffer).getNativeBuffer().refCnt());
+        }
+        assertNull(copied.get());
+    }
+
+    @Test
+    void heldBuffersAreReleasedOnError() {
+        DataBuffer sent = buffer("ab");
+        BodyCollector.collect(Flux.concat(Flux.just(sent), Flux.error(new IllegalStateException("reset"))), 8,
+                copied::set, overflows::incrementAndGet).onErrorComplete().blockLast();
+
+        assertEquals(0, ((NettyDataBuffer) sent).getNativeBuffer().refCnt());
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(List<DataBuffer> buffers) {
+        StringBuilder text = new StringBuilder();
+        buffers.forEach(buffer -> text.append(buffer.toString(StandardCharsets.UTF_8)));
+        return text.toString();
+    }
+}
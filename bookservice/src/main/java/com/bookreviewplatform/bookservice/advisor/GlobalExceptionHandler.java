@@ -1,6 +1,8 @@
 package com.bookreviewplatform.bookservice.advisor;
 
+import com.bookreviewplatform.bookservice.exception.AuthorNotFoundException;
 import com.bookreviewplatform.bookservice.exception.BookNotFoundException;
+import com.bookreviewplatform.bookservice.exception.VersionConflictException;
 import com.bookreviewplatform.bookservice.payloads.StandardResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -45,6 +47,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles {@link AuthorNotFoundException} thrown when an author page is
+     * requested for an unknown author id.
+     *
+     * @param ex      the thrown {@link AuthorNotFoundException}
+     * @param request the current web request
+     * @return {@link ResponseEntity} with structured error and HTTP 404 Not Found
+     */
+    @ExceptionHandler(AuthorNotFoundException.class)
+    public ResponseEntity<StandardResponse<Object>> handleAuthorNotFoundException(
+            AuthorNotFoundException ex, WebRequest request) {
+
+        StandardResponse<Object> response = StandardResponse.error(
+                "Author not found",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles {@link VersionConflictException} thrown when an {@code If-Match}
+     * guarded write finds the book at a different version.
+     *
+     * @param ex      the thrown {@link VersionConflictException}
+     * @param request the current web request
+     * @return {@link ResponseEntity} with structured error and HTTP 412 Precondition Failed
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<StandardResponse<Object>> handleVersionConflictException(
+            VersionConflictException ex, WebRequest request) {
+
+        StandardResponse<Object> response = StandardResponse.error(
+                "Version conflict",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
     /**
      * Fallback handler for any unexpected exceptions (safety net).
      *
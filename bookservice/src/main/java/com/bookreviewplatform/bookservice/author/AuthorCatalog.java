@@ -0,0 +1,206 @@
+package com.bookreviewplatform.bookservice.author;
+
+import com.bookreviewplatform.bookservice.dto.AuthorDTO;
+import com.bookreviewplatform.bookservice.dto.AuthorRatingTotals;
+import com.bookreviewplatform.bookservice.entity.Author;
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.index.TextNormalizer;
+import com.bookreviewplatform.bookservice.repository.AuthorRepository;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Resolves free-text author names to {@link Author} rows and serves author
+ * aggregates from memory.
+ *
+ * <p>Two Caffeine caches are kept:</p>
+ * <ul>
+ *   <li>{@code normalised name → author id}, hit on every book write. Ids never
+ *   change, so entries only age out to bound memory.</li>
+ *   <li>{@code author id → AuthorDTO} for author pages. Size-bounded W-TinyLFU
+ *   eviction keeps the popular authors. Book writes on this instance drop
+ *   the authors they touch; entries also expire after
+ *   {@code bookservice.authors.cache.expire-after-write}, which bounds how
+ *   stale a page can get after writes on other instances or a rating
+ *   change.</li>
+ * </ul>
+ *
+ * <p>Book counts are maintained by the writers (see {@link AuthorRepository});
+ * the average rating is summed over the author's books from the denormalised
+ * rating columns, through the {@code authorId} index, once per cache load.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class AuthorCatalog {
+
+    private static final int MAX_NAME_LENGTH = 200;
+
+    private final Logger logger = Logger.getLogger(AuthorCatalog.class.getName());
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final Cache<String, UUID> idsByName;
+    private final Cache<UUID, AuthorDTO> authorsById;
+
+    @Value("${bookservice.index.rebuild-batch-size:5000}")
+    private int batchSize;
+
+    public AuthorCatalog(AuthorRepository authorRepository,
+                         BookRepository bookRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${bookservice.authors.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${bookservice.authors.cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.idsByName = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.authorsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByName, "authors.idsByName");
+        CaffeineCacheMetrics.monitor(meterRegistry, authorsById, "authors.byId");
+    }
+
+    /**
+     * Returns the id of the author with this name, creating the author on first use.
+     *
+     * @param name the free-text author of a book
+     * @return the author id
+     */
+    public UUID resolve(String name) {
+        return resolveAll(List.of(name)).get(TextNormalizer.normalize(name));
+    }
+
+    /**
+     * Resolves many names at once: cached names cost nothing and the rest are
+     * looked up in one query, so an import chunk needs at most one round trip
+     * plus one insert per new author.
+     *
+     * @param names free-text author names
+     * @return author ids keyed by normalised name
+     */
+    public Map<String, UUID> resolveAll(Collection<String> names) {
+        Map<String, UUID> resolved = new HashMap<>();
+        Map<String, String> missing = new HashMap<>();
+        for (String name : names) {
+            String normalized = TextNormalizer.normalize(name);
+            UUID id = idsByName.getIfPresent(normalized);
+            if (id != null) {
+                resolved.put(normalized, id);
+            } else {
+                missing.putIfAbsent(normalized, name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+        for (Author author : authorRepository.findByNormalizedNameIn(missing.keySet())) {
+            remember(author, resolved);
+            missing.remove(author.getNormalizedName());
+        }
+        missing.forEach((normalized, name) -> remember(create(normalized, name), resolved));
+        return resolved;
+    }
+
+    /**
+     * Returns an author with their aggregates, from cache when possible.
+     *
+     * @param id the author id
+     * @return the author, or {@code null} if there is none with this id
+     */
+    public AuthorDTO getAuthor(UUID id) {
+        return authorsById.get(id, key -> authorRepository.findById(key)
+                .map(author -> {
+                    AuthorRatingTotals totals = bookRepository.findAuthorRatingTotals(key);
+                    long reviewCount = totals.reviewCount() == null ? 0 : totals.reviewCount();
+                    long ratingSum = totals.ratingSum() == null ? 0 : totals.ratingSum();
+                    return AuthorDTO.builder()
+                            .id(author.getId())
+                            .name(author.getName())
+                            .bookCount(author.getBookCount())
+                            .reviewCount(reviewCount)
+                            .avgRating(reviewCount > 0 ? (double) ratingSum / reviewCount : null)
+                            .build();
+                })
+                .orElse(null));
+    }
+
+    /**
+     * Drops a cached author page after one of their books changed on this instance.
+     *
+     * @param id the author id
+     */
+    public void evict(UUID id) {
+        authorsById.invalidate(id);
+    }
+
+    /**
+     * Links books created before authors existed to their author, then
+     * recounts books per author once. A no-op after the first run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long linked = 0;
+        UUID after = null;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findBatchWithoutAuthor(after, PageRequest.ofSize(batchSize));
+            Set<String> names = new HashSet<>();
+            batch.forEach(book -> names.add(book.getAuthor()));
+            Map<String, UUID> authorIds = resolveAll(names);
+            for (Book book : batch) {
+                bookRepository.setAuthorId(book.getId(), authorIds.get(TextNormalizer.normalize(book.getAuthor())));
+                after = book.getId();
+                linked++;
+            }
+        } while (batch.size() == batchSize);
+
+        if (linked > 0) {
+            authorRepository.recountBooks();
+            logger.info("Linked " + linked + " existing books to authors and recounted author book counts");
+        }
+    }
+
+    private Author create(String normalized, String name) {
+        String displayName = name.trim();
+        Author author = Author.builder()
+                .name(displayName.length() > MAX_NAME_LENGTH ? displayName.substring(0, MAX_NAME_LENGTH) : displayName)
+                .normalizedName(normalized)
+                .build();
+        try {
+            return authorRepository.save(author);
+        } catch (DataIntegrityViolationException e) {
+            // Another request or instance created the same author first.
+            return authorRepository.findByNormalizedName(normalized).orElseThrow(() -> e);
+        }
+    }
+
+    private void remember(Author author, Map<String, UUID> resolved) {
+        idsByName.put(author.getNormalizedName(), author.getId());
+        resolved.put(author.getNormalizedName(), author.getId());
+    }
+}
@@ -0,0 +1,139 @@
+package com.bookreviewplatform.bookservice.cache;
+
+import com.bookreviewplatform.bookservice.dto.BookDTO;
+import com.bookreviewplatform.bookservice.snapshot.CatalogSnapshotStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * In-process cache for book reads, sitting in front of MySQL.
+ *
+ * <p>Two Caffeine caches are kept:</p>
+ * <ul>
+ *   <li>{@code id → BookDTO}, serving {@code GET /api/v1/books/{id}}</li>
+ *   <li>{@code (title, author) → id}, serving exact title/author lookups, which
+ *   then resolve through the by-id cache so a book is only stored once</li>
+ * </ul>
+ *
+ * <p>Both are bounded by {@code bookservice.cache.maximum-size} and expire
+ * entries after {@code bookservice.cache.expire-after-write}. Misses are not
+ * cached, so newly created books never need an invalidation.</p>
+ *
+ * <p>Writes go through {@link #invalidate(UUID)}, which evicts locally and
+ * broadcasts to the other bookservice instances through the configured
+ * {@link BookCacheInvalidationTransport}. A lost broadcast, or a read racing
+ * with a write, can leave a stale entry on a peer for at most the TTL.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class BookCache {
+
+    private final Logger logger = Logger.getLogger(BookCache.class.getName());
+
+    private final Cache<UUID, BookDTO> booksById;
+    private final Cache<String, UUID> idsByTitleAndAuthor;
+    private final BookCacheInvalidationTransport transport;
+    private final CatalogSnapshotStore snapshotStore;
+
+    public BookCache(BookCacheInvalidationTransport transport,
+                     CatalogSnapshotStore snapshotStore,
+                     MeterRegistry meterRegistry,
+                     @Value("${bookservice.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${bookservice.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.transport = transport;
+        this.snapshotStore = snapshotStore;
+        this.booksById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.idsByTitleAndAuthor = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, booksById, "books.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByTitleAndAuthor, "books.byTitleAndAuthor");
+        transport.subscribe(this::evictLocally);
+        snapshotStore.onChange(booksById::invalidateAll);
+    }
+
+    /**
+     * Returns the cached book, loading it on a miss. Misses are served from the
+     * catalog snapshot when it has the book, so a freshly started instance does
+     * not need the database for warm reads.
+     *
+     * @param id     the book id
+     * @param loader loads the book from the database; returns {@code null} if it does not exist
+     * @return the book, or {@code null} if it does not exist
+     */
+    public BookDTO getById(UUID id, Function<UUID, BookDTO> loader) {
+        return booksById.get(id, key -> {
+            BookDTO book = snapshotStore.find(key);
+            return book != null ? book : loader.apply(key);
+        });
+    }
+
+    /**
+     * Returns the book with exactly this title and author, loading it on a miss.
+     *
+     * @param title  the title
+     * @param author the author
+     * @param loader loads the book from the database; returns {@code null} if it does not exist
+     * @return the book, or {@code null} if it does not exist
+     */
+    public BookDTO getByTitleAndAuthor(String title, String author, Supplier<BookDTO> loader) {
+        String key = title + '\u0000' + author;
+        UUID id = idsByTitleAndAuthor.getIfPresent(key);
+        if (id != null) {
+            BookDTO book = booksById.getIfPresent(id);
+            if (book != null) {
+                return book;
+            }
+        }
+        BookDTO book = loader.get();
+        if (book != null) {
+            booksById.put(book.getId(), book);
+            idsByTitleAndAuthor.put(key, book.getId());
+        }
+        return book;
+    }
+
+    /**
+     * Evicts a book on this instance and on all peers. Call after the change is committed.
+     *
+     * @param id the id of the updated or deleted book
+     */
+    public void invalidate(UUID id) {
+        evictLocally(List.of(id));
+        transport.publish(id);
+    }
+
+    /**
+     * Evicts books on this instance only. Invoked for invalidations received from peers.
+     *
+     * @param ids ids of changed books
+     */
+    public void evictLocally(Collection<UUID> ids) {
+        booksById.invalidateAll(ids);
+        snapshotStore.evict(ids);
+        // Title/author entries are few and changes are rare, so a scan is cheaper
+        // than maintaining a reverse index.
+        idsByTitleAndAuthor.asMap().values().removeIf(ids::contains);
+        logger.fine(() -> "Evicted " + ids.size() + " books from cache");
+    }
+}
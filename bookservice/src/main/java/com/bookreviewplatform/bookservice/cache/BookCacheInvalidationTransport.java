@@ -0,0 +1,39 @@
+package com.bookreviewplatform.bookservice.cache;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Carries book cache invalidations between bookservice instances.
+ *
+ * <p>Selected with {@code bookservice.cache.invalidation.transport}:</p>
+ * <ul>
+ *   <li>{@code discovery} (default) — {@link DiscoveryBookCacheInvalidationTransport},
+ *   HTTP fan-out to every instance registered in Eureka</li>
+ *   <li>{@code local} — {@link LocalBookCacheInvalidationTransport}, delivery
+ *   between application contexts in the same JVM, for tests</li>
+ * </ul>
+ *
+ * <p>Delivery is best effort. The cache TTL bounds how long a peer can serve a
+ * stale book if a message is lost.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public interface BookCacheInvalidationTransport {
+
+    /**
+     * Tells every other instance that a book changed. Must not block the caller on peers.
+     *
+     * @param bookId the id of the updated or deleted book
+     */
+    void publish(UUID bookId);
+
+    /**
+     * Registers the handler for invalidations published by other instances.
+     *
+     * @param listener receives the ids of changed books
+     */
+    void subscribe(Consumer<Collection<UUID>> listener);
+}
@@ -0,0 +1,134 @@
+package com.bookreviewplatform.bookservice.cache;
+
+import com.bookreviewplatform.bookservice.dto.CacheInvalidationDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Broadcasts book cache invalidations to every bookservice instance registered
+ * in the service registry.
+ *
+ * <p>Changed ids are queued and sent from a single background thread, so
+ * {@code updateBook}/{@code deleteBook} never wait on peers. Ids that pile up
+ * while a round is in flight go out together in the next message. Each peer
+ * receives a {@code POST} to {@value #INVALIDATE_PATH}. That path is outside
+ * {@code /api/v1/books}, so the API gateway does not expose it.</p>
+ *
+ * <p>An unreachable peer is logged and skipped; it may serve stale entries
+ * until they expire.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "bookservice.cache.invalidation.transport", havingValue = "discovery", matchIfMissing = true)
+public class DiscoveryBookCacheInvalidationTransport implements BookCacheInvalidationTransport {
+
+    public static final String INVALIDATE_PATH = "/internal/cache/books/invalidate";
+
+    private static final Duration PEER_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Logger logger = Logger.getLogger(DiscoveryBookCacheInvalidationTransport.class.getName());
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final String serviceName;
+    private final RestClient restClient;
+
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    // Every task drains all pending ids, so dropping tasks on a full queue loses nothing.
+    private final ExecutorService sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(64), runnable -> {
+                Thread thread = new Thread(runnable, "book-cache-invalidation");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public DiscoveryBookCacheInvalidationTransport(DiscoveryClient discoveryClient,
+                                                   ObjectProvider<Registration> registration,
+                                                   RestClient.Builder restClientBuilder,
+                                                   @Value("${spring.application.name}") String serviceName) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.serviceName = serviceName;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(PEER_TIMEOUT);
+        requestFactory.setReadTimeout(PEER_TIMEOUT);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void publish(UUID bookId) {
+        pending.add(bookId);
+        sender.execute(this::flush);
+    }
+
+    /**
+     * Peers deliver to {@code InternalCacheController}, which evicts through
+     * {@link BookCache#evictLocally(Collection)} directly, so there is nothing to register here.
+     */
+    @Override
+    public void subscribe(Consumer<Collection<UUID>> listener) {
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdown();
+    }
+
+    private void flush() {
+        List<UUID> ids = new ArrayList<>();
+        for (UUID id : pending) {
+            if (pending.remove(id)) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Registration self = registration.getIfAvailable();
+        CacheInvalidationDTO message = CacheInvalidationDTO.builder().bookIds(ids).build();
+        for (ServiceInstance peer : discoveryClient.getInstances(serviceName)) {
+            if (self != null && self.getInstanceId() != null && self.getInstanceId().equals(peer.getInstanceId())) {
+                continue;
+            }
+            try {
+                restClient.post()
+                        .uri(peer.getUri().resolve(INVALIDATE_PATH))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(message)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception e) {
+                logger.warning(() -> "Could not send cache invalidation for " + ids.size() + " books to "
+                        + peer.getUri() + ": " + e.getMessage());
+            }
+        }
+        logger.fine(() -> "Broadcast cache invalidation for " + ids.size() + " books");
+    }
+}
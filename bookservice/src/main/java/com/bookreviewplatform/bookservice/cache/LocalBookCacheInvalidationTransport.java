@@ -0,0 +1,59 @@
+package com.bookreviewplatform.bookservice.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM invalidation transport.
+ *
+ * <p>Every application context in the JVM that uses this transport joins one
+ * shared channel, so a test can start two bookservice contexts side by side and
+ * check that a write on one evicts the book from the other without any network
+ * or service registry.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "bookservice.cache.invalidation.transport", havingValue = "local")
+public class LocalBookCacheInvalidationTransport implements BookCacheInvalidationTransport {
+
+    private static final Set<LocalBookCacheInvalidationTransport> CHANNEL = new CopyOnWriteArraySet<>();
+
+    private volatile Consumer<Collection<UUID>> listener = ids -> { };
+
+    public LocalBookCacheInvalidationTransport() {
+        CHANNEL.add(this);
+    }
+
+    @Override
+    public void publish(UUID bookId) {
+        List<UUID> ids = List.of(bookId);
+        for (LocalBookCacheInvalidationTransport peer : CHANNEL) {
+            if (peer != this) {
+                peer.listener.accept(ids);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<UUID>> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Leaves the channel when the application context closes.
+     */
+    @PreDestroy
+    public void close() {
+        CHANNEL.remove(this);
+    }
+}
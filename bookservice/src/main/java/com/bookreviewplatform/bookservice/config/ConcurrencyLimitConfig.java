@@ -0,0 +1,50 @@
+package com.bookreviewplatform.bookservice.config;
+
+import com.bookreviewplatform.common.concurrency.AdaptiveConcurrencyLimiter;
+import com.bookreviewplatform.common.concurrency.ConcurrencyLimitFilter;
+import com.bookreviewplatform.common.concurrency.PriorityScheduler;
+import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Bounds the Book Service's {@code /api/**} requests in progress with an adaptive
+ * concurrency limit, queueing the ones over it by priority.
+ *
+ * <p>The limiter is configured from {@code bookservice.concurrency-limit.*} and the
+ * priority queues from {@code bookservice.scheduling.*}. Paths in
+ * {@code bookservice.concurrency-limit.excluded-paths} (by default the bulk import,
+ * which can run for minutes) are not limited, so their latency does not shrink the
+ * limit for ordinary reads.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    /**
+     * @param meterRegistry registry for the limiter and scheduler metrics
+     * @param objectMapper  writes the {@code 503} body of shed requests
+     * @param environment   source of the limiter and scheduling settings
+     * @return the servlet filter that admits {@code /api/**} requests
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                                                         Environment environment) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("api",
+                AdaptiveConcurrencyLimiter.Settings.from(environment, "bookservice.concurrency-limit"), meterRegistry);
+        PriorityScheduler scheduler = new PriorityScheduler(limiter,
+                PriorityScheduler.classSettings(environment, "bookservice.scheduling"), meterRegistry);
+        List<String> excludedPaths = List.of(environment.getProperty("bookservice.concurrency-limit.excluded-paths",
+                String[].class, new String[]{"/api/v1/books/import"}));
+        return new ConcurrencyLimitFilter(scheduler, objectMapper,
+                StandardResponse.error("Service busy", "Too many concurrent requests, try again later"),
+                excludedPaths);
+    }
+}
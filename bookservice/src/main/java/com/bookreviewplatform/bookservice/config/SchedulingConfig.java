@@ -0,0 +1,16 @@
+package com.bookreviewplatform.bookservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} support for the Book Service's
+ * background maintenance jobs (e.g., near-duplicate clustering).
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,13 +1,20 @@
 package com.bookreviewplatform.bookservice.controller;
 
+import com.bookreviewplatform.bookservice.dto.BookDTO;
 import com.bookreviewplatform.bookservice.dto.BookRequestDTO;
+import com.bookreviewplatform.bookservice.exception.VersionConflictException;
 import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+import com.bookreviewplatform.bookservice.service.BookImportService;
 import com.bookreviewplatform.bookservice.service.BookService;
+import com.bookreviewplatform.common.etag.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.UUID;
 import java.util.logging.Logger;
 
@@ -32,28 +39,182 @@ public class BookController {
     private static final Logger logger = Logger.getLogger(BookController.class.getName());
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
 
     /**
-     * Retrieves all books in the catalog.
+     * Retrieves all books in the catalog, or one page of it sorted by rating.
      *
-     * @return ResponseEntity with list of books and HTTP 200 OK
+     * <p>Example: {@code GET /api/v1/books?sort=rating&page=0&size=20}</p>
+     *
+     * <p>Supports conditional GET: the ETag is derived from the catalog's aggregate
+     * version, so a matching {@code If-None-Match} gets 304 Not Modified without the
+     * books being loaded.</p>
+     *
+     * @param sort    {@code rating} for best-rated first; omit for all books
+     * @param page    zero-based page number (only with {@code sort})
+     * @param size    page size, at most 100 (only with {@code sort})
+     * @param request the current request (for {@code If-None-Match})
+     * @return ResponseEntity with list of books and HTTP 200 OK, or 304 Not Modified
      */
     @GetMapping
-    public ResponseEntity<StandardResponse> getAllBooks() {
-        logger.info("Received request to get all books");
-        return ResponseEntity.ok(bookService.getAllBooks());
+    public ResponseEntity<StandardResponse> getAllBooks(
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (sort == null) {
+            logger.info("Received request to get all books");
+            String eTag = ETags.forCollection("books", bookService.getCollectionVersion());
+            return ETags.conditional(request, eTag, bookService::getAllBooks);
+        }
+        if (!"rating".equals(sort)) {
+            return ResponseEntity.badRequest()
+                    .body(StandardResponse.error("Unsupported sort", "Sort must be 'rating', got: " + sort));
+        }
+        logger.info(() -> "Received request to get page " + page + " of books sorted by rating");
+        String eTag = ETags.forCollection("books-rating-" + page + "-" + size, bookService.getCollectionVersion());
+        return ETags.conditional(request, eTag, () -> bookService.getBooksByRating(page, size));
+    }
+
+    /**
+     * Retrieves an author, with book count and average rating, and one page of
+     * their books ordered by title.
+     *
+     * <p>Example: {@code GET /api/v1/books/authors/{authorId}?page=0&size=20}</p>
+     *
+     * @param authorId the author id, as returned in {@code BookDTO.authorId}
+     * @param page     zero-based page number
+     * @param size     page size, at most 100
+     * @return ResponseEntity with the author page, or 404 if the author does not exist
+     */
+    @GetMapping("/authors/{authorId}")
+    public ResponseEntity<StandardResponse> getBooksByAuthor(
+            @PathVariable UUID authorId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info(() -> "Received request to get page " + page + " of books by author " + authorId);
+        return ResponseEntity.ok(bookService.getBooksByAuthor(authorId, page, size));
+    }
+
+    /**
+     * Full-text search over titles and authors, ranked by relevance.
+     *
+     * <p>Example: {@code GET /api/v1/books/search?q=clean code martin}</p>
+     *
+     * @param query free-text query
+     * @param limit maximum number of results (default 20, max 100)
+     * @return ResponseEntity with matching books in relevance order
+     */
+    @GetMapping("/search")
+    public ResponseEntity<StandardResponse> searchBooks(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info(() -> "Received request to search books with query: " + query);
+        return ResponseEntity.ok(bookService.searchBooks(query, limit));
+    }
+
+    /**
+     * Type-ahead completions over titles and authors, served from memory.
+     *
+     * <p>Called on every keystroke by the search box, so it deliberately does not
+     * log at INFO level.</p>
+     *
+     * @param prefix what the user has typed so far
+     * @param limit  maximum number of completions (default 10, max 10)
+     * @return ResponseEntity with completions ordered by popularity
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<StandardResponse> suggestBooks(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(bookService.suggestBooks(prefix, limit));
+    }
+
+    /**
+     * Retrieves the book with exactly the given title and author.
+     *
+     * <p>Example: {@code GET /api/v1/books/lookup?title=Clean Code&author=Robert C. Martin}</p>
+     *
+     * @param title  the exact title
+     * @param author the exact author
+     * @return ResponseEntity with book details or error if not found
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<StandardResponse> getBookByTitleAndAuthor(
+            @RequestParam String title,
+            @RequestParam String author) {
+        logger.info(() -> "Received request to look up book with title: " + title);
+        return withETag(bookService.getBookByTitleAndAuthor(title, author));
+    }
+
+    /**
+     * Lists clusters of near-duplicate books found by the offline clustering job,
+     * for administrators to review and merge.
+     *
+     * @return ResponseEntity with the latest duplicate clusters
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<StandardResponse> getDuplicateClusters() {
+        logger.info("Received request to get near-duplicate book clusters");
+        return ResponseEntity.ok(bookService.getDuplicateClusters());
+    }
+
+    /**
+     * Bulk-imports books from a CSV or NDJSON request body.
+     *
+     * <p>The body is read as a stream, so files of any size can be uploaded:</p>
+     * <pre>
+     * curl -X POST -H "Content-Type: text/csv" --data-binary @feed.csv .../api/v1/books/import
+     * curl -X POST -H "Content-Type: application/x-ndjson" --data-binary @feed.ndjson .../api/v1/books/import
+     * </pre>
+     *
+     * @param contentType {@code text/csv} or {@code application/x-ndjson}
+     * @param body        the raw request body
+     * @return ResponseEntity with the import report (counts, throughput and rejected rows)
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StandardResponse> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        logger.info(() -> "Received request to import books as " + contentType);
+        return ResponseEntity.ok(bookImportService.importBooks(contentType, body));
+    }
+
+    /**
+     * Lists running and recently finished imports with their progress.
+     *
+     * @return ResponseEntity with import reports
+     */
+    @GetMapping("/import")
+    public ResponseEntity<StandardResponse> getImports() {
+        return ResponseEntity.ok(bookImportService.getImports());
+    }
+
+    /**
+     * Reports progress of a running or recently finished import.
+     *
+     * @param importId the import id
+     * @return ResponseEntity with the import report
+     */
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<StandardResponse> getImport(@PathVariable UUID importId) {
+        return ResponseEntity.ok(bookImportService.getImport(importId));
     }
 
     /**
      * Retrieves a single book by its unique identifier.
      *
+     * <p>Carries a strong ETag built from the book's version. A cached book is
+     * answered from memory, so a matching {@code If-None-Match} gets 304 Not
+     * Modified without touching the database or serialising the body.</p>
+     *
      * @param id the UUID of the book
      * @return ResponseEntity with book details or error if not found (404 via exception handler)
      */
     @GetMapping("/{id}")
     public ResponseEntity<StandardResponse> getBookById(@PathVariable UUID id) {
-        logger.info("Received request to get book by id: " + id);
-        return ResponseEntity.ok(bookService.getBookById(id));
+        logger.info(() -> "Received request to get book by id: " + id);
+        return withETag(bookService.getBookById(id));
     }
 
     /**
@@ -65,29 +226,55 @@ public class BookController {
      */
     @PostMapping
     public ResponseEntity<StandardResponse> saveBook(@RequestBody BookRequestDTO bookRequestDTO) {
-        logger.info("Received request to create book with title: " + bookRequestDTO.getTitle());
+        logger.info(() -> "Received request to create book with title: " + bookRequestDTO.getTitle());
         StandardResponse response = bookService.saveBook(bookRequestDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
         // More RESTful than returning 200 OK for creation
     }
 
     /**
-     * Updates an existing book identified by ID.
+     * Replaces the title and author of an existing book.
      *
-     * <p>Performs full or partial update based on provided fields.
-     * Throws BookNotFoundException if book does not exist.</p>
+     * <p>Send the book's ETag as {@code If-Match} to make the update conditional:
+     * if someone else changed the book in the meantime the response is
+     * 412 Precondition Failed and nothing is written.</p>
      *
      * @param id             the UUID of the book to update
-     * @param bookRequestDTO updated book data
-     * @return ResponseEntity with updated book details
+     * @param ifMatch        optional ETag the book must still have
+     * @param bookRequestDTO new title and author (both required)
+     * @return ResponseEntity with updated book details (404 / 412 via exception handler)
      */
     @PutMapping("/{id}")
     public ResponseEntity<StandardResponse> updateBook(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody BookRequestDTO bookRequestDTO) {
 
-        logger.info("Received request to update book with id: " + id);
-        return ResponseEntity.ok(bookService.updateBook(id, bookRequestDTO));
+        logger.info(() -> "Received request to update book with id: " + id);
+        Long expectedVersion = ETags.expectedVersion(id, ifMatch, VersionConflictException::new);
+        return withETag(bookService.updateBook(id, bookRequestDTO, expectedVersion));
+    }
+
+    /**
+     * Changes only the fields present in the body; omitted fields keep their values.
+     *
+     * <p>Example: {@code PATCH /api/v1/books/{id}} with {@code {"title": "Clean Code"}}
+     * and {@code If-Match: "<id>-3"}.</p>
+     *
+     * @param id             the UUID of the book to update
+     * @param ifMatch        optional ETag the book must still have
+     * @param bookRequestDTO the title and/or author to change
+     * @return ResponseEntity with updated book details (404 / 412 via exception handler)
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<StandardResponse> patchBook(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody BookRequestDTO bookRequestDTO) {
+
+        logger.info(() -> "Received request to patch book with id: " + id);
+        Long expectedVersion = ETags.expectedVersion(id, ifMatch, VersionConflictException::new);
+        return withETag(bookService.patchBook(id, bookRequestDTO, expectedVersion));
     }
 
     /**
@@ -96,11 +283,22 @@ public class BookController {
      * <p>In production, consider soft delete or restrict to admin users only.</p>
      *
      * @param id the UUID of the book to delete
-     * @return ResponseEntity confirming deletion or error if not found
+     * @return ResponseEntity confirming deletion, or 404 via exception handler
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<StandardResponse> deleteBook(@PathVariable UUID id) {
-        logger.info("Received request to delete book with id: " + id);
+        logger.info(() -> "Received request to delete book with id: " + id);
         return ResponseEntity.ok(bookService.deleteBook(id));
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds the book's ETag to a single-book response. Spring MVC then answers a
+     * matching {@code If-None-Match} with 304 and skips writing the body.
+     */
+    private ResponseEntity<StandardResponse> withETag(StandardResponse response) {
+        if (response.getData() instanceof BookDTO book && book.getVersion() != null) {
+            return ResponseEntity.ok().eTag(ETags.forResource(book.getId(), book.getVersion())).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookreviewplatform.bookservice.controller;
+
+import com.bookreviewplatform.bookservice.cache.BookCache;
+import com.bookreviewplatform.bookservice.dto.CacheInvalidationDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.logging.Logger;
+
+/**
+ * Receives cache invalidations broadcast by other bookservice instances.
+ *
+ * <p>Lives under {@code /internal} rather than {@code /api/v1}, so the API
+ * gateway does not route to it. Only peers call it directly by instance
+ * address.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("internal/cache/books")
+@RequiredArgsConstructor
+public class InternalCacheController {
+
+    private static final Logger logger = Logger.getLogger(InternalCacheController.class.getName());
+
+    private final BookCache bookCache;
+
+    /**
+     * Evicts the given books from this instance's cache.
+     *
+     * @param invalidation ids of books changed on a peer
+     * @return HTTP 204 No Content
+     */
+    @PostMapping("/invalidate")
+    public ResponseEntity<Void> invalidate(@RequestBody CacheInvalidationDTO invalidation) {
+        if (invalidation.getBookIds() != null && !invalidation.getBookIds().isEmpty()) {
+            logger.fine(() -> "Received cache invalidation for " + invalidation.getBookIds().size() + " books");
+            bookCache.evictLocally(invalidation.getBookIds());
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
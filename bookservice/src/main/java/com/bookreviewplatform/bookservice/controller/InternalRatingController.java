@@ -0,0 +1,46 @@
+package com.bookreviewplatform.bookservice.controller;
+
+import com.bookreviewplatform.bookservice.dto.RatingDeltaDTO;
+import com.bookreviewplatform.bookservice.rating.BookRatingAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Receives rating deltas published by the Review Service.
+ *
+ * <p>Lives under {@code /internal}, so the API gateway does not route to it.
+ * Deltas are only queued here and are written by
+ * {@link BookRatingAggregator} in the background.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("internal/ratings")
+@RequiredArgsConstructor
+public class InternalRatingController {
+
+    private static final Logger logger = Logger.getLogger(InternalRatingController.class.getName());
+
+    private final BookRatingAggregator bookRatingAggregator;
+
+    /**
+     * Queues rating deltas for the next flush.
+     *
+     * @param deltas per-book changes to review count and rating sum
+     * @return HTTP 202 Accepted
+     */
+    @PostMapping
+    public ResponseEntity<Void> acceptDeltas(@RequestBody List<RatingDeltaDTO> deltas) {
+        logger.fine(() -> "Received rating deltas for " + deltas.size() + " books");
+        bookRatingAggregator.accept(deltas);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for an author page: the author with their aggregates,
+ * and one page of their books ordered by title.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorBooksDTO {
+
+    /**
+     * The author and their aggregate statistics.
+     */
+    private AuthorDTO author;
+
+    /**
+     * Zero-based page number.
+     */
+    private int page;
+
+    /**
+     * Page size.
+     */
+    private int size;
+
+    /**
+     * The author's books on this page.
+     */
+    private List<BookDTO> books;
+}
@@ -0,0 +1,46 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object representing an author and their aggregate statistics.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorDTO {
+
+    /**
+     * Unique identifier of the author.
+     */
+    private UUID id;
+
+    /**
+     * Display name of the author.
+     */
+    private String name;
+
+    /**
+     * Number of books by the author.
+     */
+    private long bookCount;
+
+    /**
+     * Number of reviews across all of the author's books.
+     */
+    private long reviewCount;
+
+    /**
+     * Average rating across all reviews of the author's books, or null if none are reviewed.
+     */
+    private Double avgRating;
+}
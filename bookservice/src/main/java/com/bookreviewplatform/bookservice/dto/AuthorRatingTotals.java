@@ -0,0 +1,13 @@
+package com.bookreviewplatform.bookservice.dto;
+
+/**
+ * Review totals over all books of one author, computed in one query from the
+ * denormalised columns on {@code Book}.
+ *
+ * @param reviewCount total number of reviews, or {@code null} if the author has no books
+ * @param ratingSum   total of all ratings, or {@code null} if the author has no books
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record AuthorRatingTotals(Long reviewCount, Long ratingSum) {
+}
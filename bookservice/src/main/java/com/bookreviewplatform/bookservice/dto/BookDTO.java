@@ -51,4 +51,27 @@ public class BookDTO {
      * Consider normalizing to a separate Author entity in future versions.
      */
     private String author;
-}
\ No newline at end of file
+
+    /**
+     * Id of the normalised author, for {@code GET /api/v1/books/authors/{authorId}}.
+     * Null in results built from the in-memory indexes.
+     */
+    private UUID authorId;
+
+    /**
+     * Optimistic-locking version of the book; changes on every update.
+     * Null in search, suggestion and duplicate results built from the in-memory indexes.
+     */
+    private Long version;
+
+    /**
+     * Number of reviews of the book, maintained asynchronously from review events.
+     * Null in results built from the in-memory indexes.
+     */
+    private Long reviewCount;
+
+    /**
+     * Average review rating, or null if the book has no reviews yet.
+     */
+    private Double avgRating;
+}
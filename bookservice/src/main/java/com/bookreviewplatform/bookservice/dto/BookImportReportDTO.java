@@ -0,0 +1,92 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object describing the progress or outcome of a bulk catalog
+ * import started with {@code POST /api/v1/books/import}.
+ *
+ * <p>Returned both as the final result of the import request and, while the
+ * import is still running, by {@code GET /api/v1/books/import/{importId}}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportReportDTO {
+
+    /**
+     * Identifier of the import run.
+     */
+    private UUID importId;
+
+    /**
+     * Input format: {@code CSV} or {@code NDJSON}.
+     */
+    private String format;
+
+    /**
+     * {@code RUNNING}, {@code COMPLETED} or {@code FAILED}.
+     */
+    private String status;
+
+    /**
+     * Records read from the input so far.
+     */
+    private long received;
+
+    /**
+     * Books inserted into the catalog.
+     */
+    private long imported;
+
+    /**
+     * Records skipped because the book already exists (in the catalog or earlier in the same input).
+     */
+    private long duplicates;
+
+    /**
+     * Records skipped because they were malformed or failed validation.
+     */
+    private long rejected;
+
+    /**
+     * Sample of skipped records with the reason, capped at
+     * {@code bookservice.import.max-reported-rows} entries.
+     */
+    private List<RejectedRowDTO> rejectedRows;
+
+    /**
+     * Imported books that look like near-duplicates of existing ones and may need review.
+     */
+    private long flagged;
+
+    /**
+     * Sample of flagged records with the book they resemble, capped like {@code rejectedRows}.
+     */
+    private List<RejectedRowDTO> flaggedRows;
+
+    /**
+     * Average throughput in records per second since the import started.
+     */
+    private double recordsPerSecond;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    /**
+     * Why the import stopped early, when {@code status} is {@code FAILED}.
+     */
+    private String error;
+}
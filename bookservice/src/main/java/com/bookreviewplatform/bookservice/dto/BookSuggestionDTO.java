@@ -0,0 +1,44 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single type-ahead completion returned by
+ * {@code GET /api/v1/books/suggest}.
+ *
+ * <p>A completion is either a book title or an author name. Completions are
+ * ranked by {@code reviewCount}, the number of reviews across the catalog
+ * books sharing that title or author, then by {@code bookCount}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionDTO {
+
+    /**
+     * Completion text as written in the catalog (e.g., "Clean Code").
+     */
+    private String text;
+
+    /**
+     * What the completion refers to: {@code TITLE} or {@code AUTHOR}.
+     */
+    private String type;
+
+    /**
+     * Number of books with this title or by this author.
+     */
+    private int bookCount;
+
+    /**
+     * Number of reviews across the books with this title or by this author.
+     */
+    private long reviewCount;
+}
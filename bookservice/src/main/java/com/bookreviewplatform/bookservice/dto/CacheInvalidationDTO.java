@@ -0,0 +1,28 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object exchanged between bookservice instances to evict changed
+ * books from their caches. Internal only; never routed through the API gateway.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationDTO {
+
+    /**
+     * Ids of books that were updated or deleted.
+     */
+    private List<UUID> bookIds;
+}
@@ -0,0 +1,33 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one group of near-duplicate books found by the
+ * offline clustering job, returned by {@code GET /api/v1/books/duplicates}.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+
+    /**
+     * Books that are near-duplicates of each other (at least two).
+     */
+    private List<BookDTO> books;
+
+    /**
+     * When the clustering run that produced this group finished.
+     */
+    private LocalDateTime detectedAt;
+}
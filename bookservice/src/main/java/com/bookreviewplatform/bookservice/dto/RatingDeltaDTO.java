@@ -0,0 +1,38 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object carrying a change to one book's review statistics,
+ * published by the Review Service when reviews are created or deleted.
+ * Internal only; never routed through the API gateway.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingDeltaDTO {
+
+    /**
+     * The reviewed book.
+     */
+    private UUID bookId;
+
+    /**
+     * Change in the number of reviews (negative for deletions).
+     */
+    private long reviewCount;
+
+    /**
+     * Change in the sum of ratings (negative for deletions).
+     */
+    private long ratingSum;
+}
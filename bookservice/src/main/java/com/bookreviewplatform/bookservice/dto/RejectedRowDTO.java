@@ -0,0 +1,29 @@
+package com.bookreviewplatform.bookservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one input record that a bulk import skipped.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRowDTO {
+
+    /**
+     * 1-based line number where the record starts in the uploaded input.
+     */
+    private long line;
+
+    /**
+     * Why the record was skipped (e.g., "Title is required", "Duplicate of existing book ...").
+     */
+    private String reason;
+}
@@ -0,0 +1,64 @@
+package com.bookreviewplatform.bookservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.UUID;
+
+/**
+ * JPA entity representing an author in the book catalog.
+ *
+ * <p>Books keep their free-text {@code author} for display, and also reference
+ * an Author by {@code authorId}. Spelling variants that only differ in case,
+ * accents or whitespace resolve to the same Author through the unique
+ * {@code normalizedName}, so "J.R.R. Tolkien" and "j.r.r.  tolkien" share one
+ * author page.</p>
+ *
+ * <p>Authors are created on first use and never deleted; an author whose last
+ * book is deleted simply has a book count of zero.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_author_normalized_name", columnNames = "normalizedName"))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class Author {
+
+    /**
+     * Unique identifier for the author.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    /**
+     * Display name, as spelled by the first book that introduced this author.
+     */
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    /**
+     * The name folded by {@link com.bookreviewplatform.bookservice.index.TextNormalizer};
+     * unique, and the lookup key when resolving a book's author.
+     */
+    @Column(nullable = false, length = 200)
+    private String normalizedName;
+
+    /**
+     * Number of books by this author, maintained incrementally on every book
+     * create, delete and author change, so author pages never count rows.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long bookCount = 0;
+}
@@ -1,11 +1,15 @@
 package com.bookreviewplatform.bookservice.entity;
 
+import com.bookreviewplatform.bookservice.index.TitleAuthorKey;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -28,6 +32,11 @@ import java.util.UUID;
  * @since 1.0
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_book_last_modified", columnList = "lastModified"),
+        @Index(name = "idx_book_avg_rating", columnList = "avgRating, reviewCount"),
+        @Index(name = "idx_book_author_title", columnList = "authorId, title")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_book_title_author_key", columnNames = "titleAuthorKey"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -57,4 +66,68 @@ public class Book {
      */
     @Column(nullable = false, length = 200)
     private String author;
-}
\ No newline at end of file
+
+    /**
+     * The normalised {@link Author} of this book; {@link #author} keeps the
+     * spelling as entered. Indexed together with the title, so an author's
+     * books are read in page order straight from the index.
+     */
+    private UUID authorId;
+
+    /**
+     * SHA-256 of the normalised title and author (see {@link TitleAuthorKey}).
+     * Unique, so case- and whitespace-variant duplicates are rejected by the
+     * database, and indexed, so duplicate checks are a single index probe.
+     *
+     * <p>Computed automatically on insert and update. Null only for rows created
+     * before the column existed, until {@code TitleAuthorKeyBackfill} fills them in.</p>
+     */
+    @Column(columnDefinition = "binary(32)")
+    private byte[] titleAuthorKey;
+
+    /**
+     * Optimistic-locking version, incremented by Hibernate on every update.
+     * Also the basis of this book's HTTP {@code ETag}.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * When the row was last inserted or updated. Lets list endpoints derive an
+     * {@code ETag} from a single aggregate query instead of loading every row.
+     */
+    @UpdateTimestamp
+    private Instant lastModified;
+
+    /**
+     * Number of reviews of this book. Denormalised from the Review Service,
+     * which publishes rating deltas asynchronously, so it can briefly lag behind.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long reviewCount = 0;
+
+    /**
+     * Sum of all review ratings; kept so {@link #avgRating} can be recomputed
+     * from deltas without reading the reviews.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long ratingSum = 0;
+
+    /**
+     * Average rating ({@code ratingSum / reviewCount}), stored so the catalog
+     * can be sorted by rating from an index. Null for books without reviews.
+     */
+    private Double avgRating;
+
+    @PrePersist
+    @PreUpdate
+    void computeTitleAuthorKey() {
+        titleAuthorKey = TitleAuthorKey.of(title, author);
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookreviewplatform.bookservice.exception;
+
+import java.util.UUID;
+
+/**
+ * Unchecked exception thrown when a requested author does not exist, e.g. for
+ * {@code GET /api/v1/books/authors/{authorId}}.
+ *
+ * <p>Handled by {@link com.bookreviewplatform.bookservice.advisor.GlobalExceptionHandler}
+ * and converted into a {@code StandardResponse} with HTTP 404 Not Found.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class AuthorNotFoundException extends RuntimeException {
+
+    /**
+     * @param id the author id that was not found
+     */
+    public AuthorNotFoundException(UUID id) {
+        super("Author not found with id: " + id);
+    }
+}
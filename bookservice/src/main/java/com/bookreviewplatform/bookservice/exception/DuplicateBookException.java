@@ -0,0 +1,23 @@
+package com.bookreviewplatform.bookservice.exception;
+
+/**
+ * Thrown when a new book is a duplicate or near-duplicate of an existing catalog entry
+ * (for example "The Pragmatic Programmer " vs. "the pragmatic programmer" by the same author).
+ *
+ * <p>Duplicates split reviews and rating aggregates across two catalog entries, so
+ * {@code BookServiceImpl} rejects them and reports the existing book instead.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class DuplicateBookException extends RuntimeException {
+
+    /**
+     * Constructs a new DuplicateBookException with the specified detail message.
+     *
+     * @param message description of the conflict, including the existing book's id
+     */
+    public DuplicateBookException(String message) {
+        super(message);
+    }
+}
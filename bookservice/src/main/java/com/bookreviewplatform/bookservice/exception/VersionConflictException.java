@@ -0,0 +1,24 @@
+package com.bookreviewplatform.bookservice.exception;
+
+/**
+ * Thrown when a conditional write ({@code If-Match}) names a version that is no
+ * longer current, i.e. someone else changed the book since the client read it.
+ *
+ * <p>Handled by {@link com.bookreviewplatform.bookservice.advisor.GlobalExceptionHandler}
+ * and converted into HTTP 412 Precondition Failed, so the client can re-read
+ * the book and retry.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new VersionConflictException with the specified detail message.
+     *
+     * @param message description of the conflict, including the stale version
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull-based reader over a bulk import stream, yielding one book record at a time.
+ *
+ * <p>Implementations never hold more than a single record in memory, so an
+ * import of any size runs in constant space. A malformed record does not stop
+ * the import: it is returned as an {@link ImportRecord} carrying an error and
+ * the reader resynchronises on the next record.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public interface BookRecordReader extends Closeable {
+
+    /**
+     * Upper bound on the characters buffered for one record. Longer records are
+     * skipped and reported, so a single runaway line cannot exhaust the heap.
+     */
+    int MAX_RECORD_LENGTH = 64 * 1024;
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or {@code null} at end of input
+     * @throws IOException if the underlying stream fails (e.g. the client disconnects)
+     */
+    ImportRecord next() throws IOException;
+
+    /**
+     * Opens a reader for the given import format.
+     *
+     * @param format       the input format
+     * @param input        the raw request body; decoded as UTF-8
+     * @param objectMapper mapper used to parse NDJSON lines
+     * @return a reader positioned at the first record
+     * @throws IOException if the CSV header cannot be read
+     */
+    static BookRecordReader open(ImportFormat format, InputStream input, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        return switch (format) {
+            case CSV -> new CsvBookRecordReader(reader);
+            case NDJSON -> new NdjsonBookRecordReader(reader, objectMapper);
+        };
+    }
+
+    /**
+     * One parsed input record.
+     *
+     * @param line   1-based line number where the record starts
+     * @param title  the title field, or {@code null} if absent
+     * @param author the author field, or {@code null} if absent
+     * @param error  why the record could not be parsed, or {@code null} if it parsed
+     */
+    record ImportRecord(long line, String title, String author, String error) {
+
+        static ImportRecord of(long line, String title, String author) {
+            return new ImportRecord(line, title, author, null);
+        }
+
+        static ImportRecord invalid(long line, String error) {
+            return new ImportRecord(line, null, null, error);
+        }
+    }
+}
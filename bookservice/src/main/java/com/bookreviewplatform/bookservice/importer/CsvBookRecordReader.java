@@ -0,0 +1,193 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming RFC 4180 CSV reader for book imports.
+ *
+ * <p>The first record must be a header naming a {@code title} and an
+ * {@code author} column (case-insensitive, in any position); other columns are
+ * ignored. Quoted fields may contain commas, doubled quotes and line breaks.
+ * The parser is a single pass over a fixed-size char buffer, and the field
+ * buffers are reused from record to record.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+class CsvBookRecordReader implements BookRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+    private int recordLength;
+    private String recordError;
+
+    private final int titleColumn;
+    private final int authorColumn;
+
+    CsvBookRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        if (!readRecord()) {
+            throw new IllegalArgumentException("CSV input is empty: a header row with title and author is required");
+        }
+        int title = -1;
+        int author = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            if (name.equals("title")) {
+                title = i;
+            } else if (name.equals("author")) {
+                author = i;
+            }
+        }
+        if (title < 0 || author < 0) {
+            throw new IllegalArgumentException("CSV header must contain title and author columns, found: " + fields);
+        }
+        this.titleColumn = title;
+        this.authorColumn = author;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (readRecord()) {
+            if (recordError != null) {
+                return ImportRecord.invalid(recordLine, recordError);
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // blank line
+            }
+            if (fields.size() <= Math.max(titleColumn, authorColumn)) {
+                return ImportRecord.invalid(recordLine, "Expected at least "
+                        + (Math.max(titleColumn, authorColumn) + 1) + " columns, found " + fields.size());
+            }
+            return ImportRecord.of(recordLine, fields.get(titleColumn), fields.get(authorColumn));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads one record into {@link #fields}.
+     *
+     * @return false at end of input
+     */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+        recordLength = 0;
+        recordError = null;
+
+        boolean inQuotes = false;
+        boolean quoted = false;
+        boolean started = false;
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                if (!started) {
+                    return false;
+                }
+                if (inQuotes && recordError == null) {
+                    recordError = "Unterminated quoted field";
+                }
+                endField();
+                return true;
+            }
+            started = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                endField();
+                quoted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                endField();
+                return true;
+            } else {
+                append((char) c);
+            }
+        }
+    }
+
+    private void append(char c) {
+        if (withinLimit()) {
+            field.append(c);
+        }
+    }
+
+    private void endField() {
+        // Separators count towards the limit too, so ",,,,..." cannot grow the field list unbounded.
+        if (withinLimit()) {
+            fields.add(field.toString());
+        }
+        field.setLength(0);
+    }
+
+    private boolean withinLimit() {
+        if (++recordLength <= MAX_RECORD_LENGTH) {
+            return true;
+        }
+        if (recordError == null) {
+            recordError = "Record exceeds " + MAX_RECORD_LENGTH + " characters";
+        }
+        return false;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
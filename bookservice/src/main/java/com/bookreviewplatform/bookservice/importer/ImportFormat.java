@@ -0,0 +1,53 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Input formats accepted by {@code POST /api/v1/books/import}.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public enum ImportFormat {
+
+    /**
+     * RFC 4180 CSV with a header row containing {@code title} and {@code author} columns.
+     */
+    CSV("text/csv"),
+
+    /**
+     * Newline-delimited JSON, one {@code {"title": ..., "author": ...}} object per line.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves the format from a request {@code Content-Type}, ignoring parameters such as charset.
+     *
+     * @param contentType the request content type
+     * @return the matching format
+     * @throws IllegalArgumentException if the content type is missing or unsupported
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            throw new IllegalArgumentException("Content-Type is required: use text/csv or application/x-ndjson");
+        }
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (ImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(requested)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType
+                + " (use text/csv or application/x-ndjson)");
+    }
+}
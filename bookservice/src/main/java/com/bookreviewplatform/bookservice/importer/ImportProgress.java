@@ -0,0 +1,139 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import com.bookreviewplatform.bookservice.dto.BookImportReportDTO;
+import com.bookreviewplatform.bookservice.dto.RejectedRowDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters for one bulk import.
+ *
+ * <p>Updated by the thread running the import and read concurrently by progress
+ * requests. Only the first {@code maxReportedRows} skipped and flagged records
+ * are kept, so memory stays constant however many records are rejected.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class ImportProgress {
+
+    private final UUID id = UUID.randomUUID();
+    private final ImportFormat format;
+    private final int maxReportedRows;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong flagged = new AtomicLong();
+    private final List<RejectedRowDTO> rejectedRows = new ArrayList<>();
+    private final List<RejectedRowDTO> flaggedRows = new ArrayList<>();
+
+    private volatile String status = "RUNNING";
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+
+    public ImportProgress(ImportFormat format, int maxReportedRows) {
+        this.format = format;
+        this.maxReportedRows = maxReportedRows;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    public void received() {
+        received.incrementAndGet();
+    }
+
+    public void imported(int count) {
+        imported.addAndGet(count);
+    }
+
+    public void duplicate(long line, String reason) {
+        duplicates.incrementAndGet();
+        report(line, reason);
+    }
+
+    public void rejected(long line, String reason) {
+        rejected.incrementAndGet();
+        report(line, reason);
+    }
+
+    /**
+     * Records an imported book that looks like a near-duplicate of an existing one.
+     */
+    public void flagged(long line, String reason) {
+        flagged.incrementAndGet();
+        synchronized (flaggedRows) {
+            if (flaggedRows.size() < maxReportedRows) {
+                flaggedRows.add(RejectedRowDTO.builder().line(line).reason(reason).build());
+            }
+        }
+    }
+
+    public void completed() {
+        finish("COMPLETED", null);
+    }
+
+    public void failed(String error) {
+        finish("FAILED", error);
+    }
+
+    /**
+     * @return a point-in-time snapshot of the counters
+     */
+    public BookImportReportDTO toReport() {
+        long elapsedNanos = (isRunning() ? System.nanoTime() : finishedNanos) - startNanos;
+        List<RejectedRowDTO> rows;
+        synchronized (rejectedRows) {
+            rows = List.copyOf(rejectedRows);
+        }
+        List<RejectedRowDTO> flaggedSample;
+        synchronized (flaggedRows) {
+            flaggedSample = List.copyOf(flaggedRows);
+        }
+        return BookImportReportDTO.builder()
+                .importId(id)
+                .format(format.name())
+                .status(status)
+                .received(received.get())
+                .imported(imported.get())
+                .duplicates(duplicates.get())
+                .rejected(rejected.get())
+                .rejectedRows(rows)
+                .flagged(flagged.get())
+                .flaggedRows(flaggedSample)
+                .recordsPerSecond(elapsedNanos > 0 ? received.get() * 1e9 / elapsedNanos : 0)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+
+    private void report(long line, String reason) {
+        synchronized (rejectedRows) {
+            if (rejectedRows.size() < maxReportedRows) {
+                rejectedRows.add(RejectedRowDTO.builder().line(line).reason(reason).build());
+            }
+        }
+    }
+
+    private void finish(String status, String error) {
+        this.finishedNanos = System.nanoTime();
+        this.error = error;
+        this.status = status;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
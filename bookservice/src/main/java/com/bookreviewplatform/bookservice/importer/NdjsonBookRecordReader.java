@@ -0,0 +1,82 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming newline-delimited JSON reader for book imports.
+ *
+ * <p>Each non-blank line must be a JSON object with {@code title} and
+ * {@code author} string fields; other fields are ignored. Lines are parsed
+ * independently, so a malformed line is reported and skipped without losing
+ * the position in the stream.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+class NdjsonBookRecordReader implements BookRecordReader {
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+
+    NdjsonBookRecordReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            buffer.setLength(0);
+            boolean tooLong = false;
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (buffer.length() < MAX_RECORD_LENGTH) {
+                    buffer.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            if (c == -1 && buffer.isEmpty()) {
+                return null;
+            }
+            line++;
+            if (tooLong) {
+                return ImportRecord.invalid(line, "Record exceeds " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (buffer.toString().isBlank()) {
+                continue;
+            }
+            return parse(line, buffer.toString());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRecord parse(long line, String json) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return ImportRecord.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return ImportRecord.invalid(line, "Expected a JSON object");
+        }
+        return ImportRecord.of(line, text(node, "title"), text(node, "author"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
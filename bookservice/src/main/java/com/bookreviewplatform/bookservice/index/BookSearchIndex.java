@@ -0,0 +1,584 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book titles and authors, ranked with Okapi BM25.
+ *
+ * <p>Each indexed book is assigned a dense, monotonically increasing ordinal.
+ * Posting lists store {@code (ordinal, termFrequency)} pairs interleaved in a
+ * single {@code int[]}, sorted by ordinal, so a term costs eight bytes per
+ * matching book and queries can walk all query-term lists in one
+ * document-at-a-time merge without building per-query hash maps.</p>
+ *
+ * <p>Removing or updating a book only tombstones its old ordinal; searches skip
+ * tombstoned postings. Once tombstones reach half the live books the index is
+ * compacted in one pass that renumbers the live ordinals (keeping their order,
+ * so posting lists stay sorted) and drops the dead postings. A write is
+ * therefore amortised constant time in the number of books, and memory stays
+ * proportional to the live catalog however often books are edited.</p>
+ *
+ * <p>Queries use MaxScore pruning: each posting list keeps an upper bound on
+ * the score its term can contribute. Once the top-k heap is full, terms whose
+ * bounds together cannot beat the current k-th score no longer produce
+ * candidates; they are only probed, by binary search, for books that a more
+ * selective term already matched. Common terms such as "the" then cost a few
+ * lookups instead of a full list walk.</p>
+ *
+ * <p>Title and author terms share one field; the document length used for
+ * BM25 length normalisation is the combined token count.</p>
+ *
+ * <p>Reads take a shared lock and writes an exclusive one. Tokenisation is done
+ * outside the lock (and in parallel for batch loads) so the exclusive section
+ * only appends postings.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class BookSearchIndex implements CatalogIndex {
+
+    /**
+     * BM25 term-frequency saturation parameter.
+     */
+    private static final float K1 = 1.2f;
+
+    /**
+     * BM25 length-normalisation parameter.
+     */
+    private static final float B = 0.75f;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Tombstones tolerated regardless of catalog size before compacting.
+     */
+    private static final int MIN_TOMBSTONES_BEFORE_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+
+    private UUID[] ids = new UUID[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private String[] authors = new String[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int nextOrdinal;
+    private int liveDocuments;
+    private int deadDocuments;
+    private long totalLength;
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalsById.clear();
+            ids = new UUID[INITIAL_CAPACITY];
+            titles = new String[INITIAL_CAPACITY];
+            authors = new String[INITIAL_CAPACITY];
+            lengths = new int[INITIAL_CAPACITY];
+            nextOrdinal = 0;
+            liveDocuments = 0;
+            deadDocuments = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(List<Book> books) {
+        List<Document> documents = books.parallelStream()
+                .map(Document::of)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            documents.forEach(this::append);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Book book) {
+        Document document = Document.of(book);
+        lock.writeLock().lock();
+        try {
+            append(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Book book) {
+        Document document = Document.of(book);
+        lock.writeLock().lock();
+        try {
+            // append() drops the previous version first, under the same lock,
+            // so concurrent searches never observe the book as missing.
+            append(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a ranked OR-query over titles and authors.
+     *
+     * @param query free-text query, e.g. {@code "clean code martin"}
+     * @param limit maximum number of hits to return
+     * @return hits ordered by descending BM25 score (never null)
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocuments == 0) {
+                return List.of();
+            }
+            float averageLength = (float) totalLength / liveDocuments;
+
+            PostingList[] lists = new PostingList[terms.size()];
+            float[] idf = new float[terms.size()];
+            int n = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null && list.live > 0) {
+                    lists[n] = list;
+                    idf[n] = (float) Math.log(1.0 + (liveDocuments - list.live + 0.5) / (list.live + 0.5));
+                    n++;
+                }
+            }
+            if (n == 0) {
+                return List.of();
+            }
+
+            // Order terms by ascending score bound; prefixBound[i] bounds what
+            // terms 0..i can add together. Terms below firstEssential cannot
+            // lift a book into the heap on their own.
+            Integer[] order = new Integer[n];
+            float[] bounds = new float[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+                bounds[i] = idf[i] * lists[i].maxFrequency * (K1 + 1) / (lists[i].maxFrequency + K1 * (1 - B));
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(bounds[a], bounds[b]));
+            PostingList[] sortedLists = new PostingList[n];
+            float[] sortedIdf = new float[n];
+            float[] prefixBound = new float[n];
+            for (int i = 0; i < n; i++) {
+                sortedLists[i] = lists[order[i]];
+                sortedIdf[i] = idf[order[i]];
+                prefixBound[i] = bounds[order[i]] + (i > 0 ? prefixBound[i - 1] : 0);
+            }
+            lists = sortedLists;
+            idf = sortedIdf;
+
+            TopK top = new TopK(limit);
+            int[] cursors = new int[n];
+            int firstEssential = 0;
+            float threshold = 0;
+            while (firstEssential < n) {
+                int doc = Integer.MAX_VALUE;
+                for (int i = firstEssential; i < n; i++) {
+                    if (cursors[i] < lists[i].size) {
+                        doc = Math.min(doc, lists[i].docAt(cursors[i]));
+                    }
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                float lengthNorm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                float score = 0;
+                for (int i = firstEssential; i < n; i++) {
+                    if (cursors[i] < lists[i].size && lists[i].docAt(cursors[i]) == doc) {
+                        score += termScore(idf[i], lists[i].freqAt(cursors[i]), lengthNorm);
+                        cursors[i]++;
+                    }
+                }
+                if (ids[doc] == null) {
+                    continue;
+                }
+                for (int i = firstEssential - 1; i >= 0; i--) {
+                    if (score + prefixBound[i] <= threshold) {
+                        break;
+                    }
+                    cursors[i] = lists[i].seek(cursors[i], doc);
+                    if (cursors[i] < lists[i].size && lists[i].docAt(cursors[i]) == doc) {
+                        score += termScore(idf[i], lists[i].freqAt(cursors[i]), lengthNorm);
+                    }
+                }
+                if (top.offer(doc, score) && top.isFull()) {
+                    threshold = top.minScore();
+                    while (firstEssential < n && prefixBound[firstEssential] <= threshold) {
+                        firstEssential++;
+                    }
+                }
+            }
+
+            int[] docs = top.drainDescending();
+            List<Hit> hits = new ArrayList<>(docs.length);
+            for (int i = 0; i < docs.length; i++) {
+                int doc = docs[i];
+                hits.add(new Hit(ids[doc], titles[doc], authors[doc], top.scoreOf(i)));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of books currently searchable
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float termScore(float idf, int tf, float lengthNorm) {
+        return idf * (tf * (K1 + 1)) / (tf + lengthNorm);
+    }
+
+    // Caller must hold the write lock.
+    private void append(Document document) {
+        removeInternal(document.id());
+        compactIfNeeded();
+        ensureCapacity(nextOrdinal + 1);
+
+        int ordinal = nextOrdinal++;
+        ids[ordinal] = document.id();
+        titles[ordinal] = document.title();
+        authors[ordinal] = document.author();
+        lengths[ordinal] = document.length();
+        ordinalsById.put(document.id(), ordinal);
+
+        for (int i = 0; i < document.terms().length; i++) {
+            postings.computeIfAbsent(document.terms()[i], t -> new PostingList())
+                    .append(ordinal, document.frequencies()[i]);
+        }
+        totalLength += document.length();
+        liveDocuments++;
+    }
+
+    // Caller must hold the write lock.
+    private void removeInternal(UUID id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        // The postings keep the tombstoned ordinal until the next compaction;
+        // only the live document frequency used for IDF changes now.
+        for (String term : Document.of(id, titles[ordinal], authors[ordinal]).terms()) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.live--;
+            }
+        }
+        totalLength -= lengths[ordinal];
+        liveDocuments--;
+        deadDocuments++;
+        ids[ordinal] = null;
+        titles[ordinal] = null;
+        authors[ordinal] = null;
+        lengths[ordinal] = 0;
+    }
+
+    // Caller must hold the write lock.
+    private void compactIfNeeded() {
+        if (deadDocuments < Math.max(MIN_TOMBSTONES_BEFORE_COMPACTION, liveDocuments >> 1)) {
+            return;
+        }
+        int[] remap = new int[nextOrdinal];
+        int next = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (ids[ordinal] == null) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = next;
+            ids[next] = ids[ordinal];
+            titles[next] = titles[ordinal];
+            authors[next] = authors[ordinal];
+            lengths[next] = lengths[ordinal];
+            ordinalsById.put(ids[next], next);
+            next++;
+        }
+        postings.values().removeIf(list -> list.compact(remap) == 0);
+
+        int capacity = Math.max(INITIAL_CAPACITY, next + (next >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        authors = Arrays.copyOf(authors, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        Arrays.fill(ids, next, capacity, null);
+        Arrays.fill(titles, next, capacity, null);
+        Arrays.fill(authors, next, capacity, null);
+        Arrays.fill(lengths, next, capacity, 0);
+        nextOrdinal = next;
+        deadDocuments = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        authors = Arrays.copyOf(authors, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+    }
+
+    /**
+     * A single ranked search result.
+     *
+     * @param id     the book id
+     * @param title  the book title as stored
+     * @param author the author as stored
+     * @param score  the BM25 relevance score
+     */
+    public record Hit(UUID id, String title, String author, float score) {
+    }
+
+    /**
+     * Pre-tokenised form of a book, built outside the index lock.
+     */
+    private record Document(UUID id, String title, String author, String[] terms, int[] frequencies, int length) {
+
+        static Document of(Book book) {
+            return of(book.getId(), book.getTitle(), book.getAuthor());
+        }
+
+        static Document of(UUID id, String title, String author) {
+            List<String> tokens = TextNormalizer.tokenize(title);
+            tokens.addAll(TextNormalizer.tokenize(author));
+
+            Map<String, Integer> counts = new HashMap<>();
+            for (String token : tokens) {
+                counts.merge(token, 1, Integer::sum);
+            }
+            String[] terms = new String[counts.size()];
+            int[] frequencies = new int[counts.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                terms[i] = entry.getKey();
+                frequencies[i] = entry.getValue();
+                i++;
+            }
+            return new Document(id, title, author, terms, frequencies, tokens.size());
+        }
+    }
+
+    /**
+     * Ordinal-sorted postings for one term, stored as interleaved
+     * {@code [ordinal, frequency]} pairs. Entries for tombstoned ordinals stay
+     * until {@link #compact(int[])}; {@code live} counts the others.
+     */
+    private static final class PostingList {
+
+        private int[] entries = new int[4];
+        private int size;
+        private int live;
+        private int maxFrequency;
+
+        int docAt(int index) {
+            return entries[index << 1];
+        }
+
+        int freqAt(int index) {
+            return entries[(index << 1) + 1];
+        }
+
+        void append(int ordinal, int frequency) {
+            // Ordinals are handed out in increasing order, so appends keep the list sorted.
+            if ((size << 1) + 2 > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(4, entries.length + (entries.length >> 1)) + 2);
+            }
+            entries[size << 1] = ordinal;
+            entries[(size << 1) + 1] = frequency;
+            size++;
+            live++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+        }
+
+        /**
+         * @return the first index at or after {@code from} whose ordinal is
+         * {@code >= ordinal}, or {@code size} if there is none
+         */
+        int seek(int from, int ordinal) {
+            int low = from;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (docAt(mid) < ordinal) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Drops tombstoned entries and renumbers the rest.
+         *
+         * @param remap new ordinal for each old one, {@code -1} if tombstoned
+         * @return the number of entries left
+         */
+        int compact(int[] remap) {
+            int kept = 0;
+            maxFrequency = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[docAt(i)];
+                if (ordinal >= 0) {
+                    entries[kept << 1] = ordinal;
+                    entries[(kept << 1) + 1] = freqAt(i);
+                    maxFrequency = Math.max(maxFrequency, freqAt(i));
+                    kept++;
+                }
+            }
+            size = kept;
+            live = kept;
+            if (entries.length > Math.max(4, (kept << 1) * 2)) {
+                entries = Arrays.copyOf(entries, Math.max(4, kept << 1));
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Fixed-size min-heap of {@code (ordinal, score)} pairs on primitive arrays.
+     */
+    private static final class TopK {
+
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        /**
+         * @return whether the pair was kept
+         */
+        boolean offer(int doc, float score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+                return true;
+            }
+            if (score > scores[0]) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+                return true;
+            }
+            return false;
+        }
+
+        boolean isFull() {
+            return size == docs.length;
+        }
+
+        float minScore() {
+            return scores[0];
+        }
+
+        /**
+         * Empties the heap into descending score order; afterwards
+         * {@link #scoreOf(int)} returns the score at the same position.
+         */
+        int[] drainDescending() {
+            int count = size;
+            int[] orderedDocs = new int[count];
+            float[] orderedScores = new float[count];
+            for (int i = count - 1; i >= 0; i--) {
+                orderedDocs[i] = docs[0];
+                orderedScores[i] = scores[0];
+                size--;
+                docs[0] = docs[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            System.arraycopy(orderedScores, 0, scores, 0, count);
+            return orderedDocs;
+        }
+
+        float scoreOf(int index) {
+            return scores[index];
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = (i << 1) + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int d = docs[a];
+            docs[a] = docs[b];
+            docs[b] = d;
+            float s = scores[a];
+            scores[a] = scores[b];
+            scores[b] = s;
+        }
+    }
+}
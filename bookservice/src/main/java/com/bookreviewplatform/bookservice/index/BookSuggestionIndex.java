@@ -0,0 +1,492 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead index over normalised book titles and author names.
+ *
+ * <p>Completions live in a radix (path-compressed) trie keyed by the
+ * {@link TextNormalizer normalised} text. Every node stores its best
+ * {@value #COMPLETIONS_PER_NODE} completions, precomputed and ranked by
+ * popularity, so a lookup is a walk down the trie followed by returning the
+ * node's immutable list. The walk folds the raw prefix character by character
+ * and does not allocate.</p>
+ *
+ * <p>Popularity is reader demand: the denormalised {@code reviewCount} summed
+ * over the books sharing that title or author, with the number of such books
+ * breaking ties. {@link com.bookreviewplatform.bookservice.rating.BookRatingAggregator}
+ * reports review count changes through {@link #adjustReviewCount(UUID, long)}
+ * as it flushes them to the database.</p>
+ *
+ * <p>Writes mark the nodes on the affected path dirty and recompute only those
+ * nodes bottom-up, merging the (already sorted) lists of their children.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class BookSuggestionIndex implements CatalogIndex {
+
+    /**
+     * Number of completions precomputed per trie node; also the maximum lookup limit.
+     */
+    public static final int COMPLETIONS_PER_NODE = 10;
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Suggestion> BY_POPULARITY =
+            Comparator.comparingLong(Suggestion::reviewCount).reversed()
+                    .thenComparing(Comparator.comparingInt(Suggestion::bookCount).reversed())
+                    .thenComparing(Suggestion::text)
+                    .thenComparing(Suggestion::kind);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<UUID, Keys> keysByBookId = new HashMap<>();
+    private Node root = new Node(NO_CHARS);
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            keysByBookId.clear();
+            root = new Node(NO_CHARS);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(List<Book> books) {
+        List<Keys> prepared = books.parallelStream()
+                .map(Keys::of)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            prepared.forEach(this::addInternal);
+            recomputeDirty(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Book book) {
+        Keys keys = Keys.of(book);
+        lock.writeLock().lock();
+        try {
+            addInternal(keys);
+            recomputeDirty(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Book book) {
+        // addInternal() replaces any previous keys for the same id.
+        add(book);
+    }
+
+    /**
+     * Applies a change in a book's review count to the popularity of its
+     * title and author. Unknown ids are ignored.
+     *
+     * @param bookId the book that gained or lost reviews
+     * @param delta  change in its review count
+     */
+    public void adjustReviewCount(UUID bookId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Keys keys = keysByBookId.get(bookId);
+            if (keys == null) {
+                return;
+            }
+            keysByBookId.put(bookId, keys.withReviewCount(keys.reviewCount() + delta));
+            adjust(Kind.TITLE, keys.titleKey(), delta);
+            adjust(Kind.AUTHOR, keys.authorKey(), delta);
+            recomputeDirty(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            recomputeDirty(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the most popular titles and authors starting with the given prefix.
+     *
+     * <p>The prefix is folded on the fly (case, accents, whitespace runs) exactly like
+     * indexed text. The returned list is an immutable snapshot shared between callers.</p>
+     *
+     * @param prefix what the user has typed so far
+     * @param limit  maximum number of completions (capped at {@value #COMPLETIONS_PER_NODE})
+     * @return completions ordered by descending popularity (never null)
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            boolean emitted = false;
+            boolean space = false;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = TextNormalizer.fold(prefix.charAt(i));
+                if (c == 0) {
+                    continue;
+                }
+                if (c == ' ') {
+                    space = emitted;
+                    continue;
+                }
+                // A collapsed whitespace run is matched as a single ' ' before the next character.
+                for (int pass = space ? 0 : 1; pass < 2; pass++) {
+                    char wanted = pass == 0 ? ' ' : c;
+                    if (position == node.label.length) {
+                        int index = node.childIndex(wanted);
+                        if (index < 0) {
+                            return List.of();
+                        }
+                        node = node.children[index];
+                        position = 0;
+                    }
+                    if (node.label[position] != wanted) {
+                        return List.of();
+                    }
+                    position++;
+                }
+                space = false;
+                emitted = true;
+            }
+            List<Suggestion> top = node.top;
+            return limit >= top.size() ? top : top.subList(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock and call recomputeDirty() afterwards.
+    private void addInternal(Keys keys) {
+        Keys previous = keysByBookId.get(keys.bookId());
+        if (previous != null) {
+            // Title/author edits do not change reviews, and the indexed count already
+            // includes every delta reported through adjustReviewCount().
+            keys = keys.withReviewCount(previous.reviewCount());
+        }
+        removeInternal(keys.bookId());
+        increment(Kind.TITLE, keys.titleKey(), keys.title(), keys.reviewCount());
+        increment(Kind.AUTHOR, keys.authorKey(), keys.author(), keys.reviewCount());
+        keysByBookId.put(keys.bookId(), keys);
+    }
+
+    // Caller must hold the write lock and call recomputeDirty() afterwards.
+    private void removeInternal(UUID bookId) {
+        Keys keys = keysByBookId.remove(bookId);
+        if (keys != null) {
+            decrement(Kind.TITLE, keys.titleKey(), keys.reviewCount());
+            decrement(Kind.AUTHOR, keys.authorKey(), keys.reviewCount());
+        }
+    }
+
+    private void adjust(Kind kind, String key, long delta) {
+        Entry entry = entries.get(kind.prefix + key);
+        if (entry != null && path(key) != null) {
+            entry.reviewCount += delta;
+            entry.refresh();
+        }
+    }
+
+    private void increment(Kind kind, String key, String display, long reviewCount) {
+        if (key.isEmpty()) {
+            return;
+        }
+        Entry entry = entries.get(kind.prefix + key);
+        if (entry == null) {
+            entry = new Entry(kind, display == null ? key : display.strip());
+            entries.put(kind.prefix + key, entry);
+            insert(key).addTerminal(entry);
+        } else {
+            path(key);
+        }
+        entry.bookCount++;
+        entry.reviewCount += reviewCount;
+        entry.refresh();
+    }
+
+    private void decrement(Kind kind, String key, long reviewCount) {
+        Entry entry = entries.get(kind.prefix + key);
+        if (entry == null) {
+            return;
+        }
+        List<Node> path = path(key);
+        entry.bookCount--;
+        entry.reviewCount -= reviewCount;
+        entry.refresh();
+        if (entry.bookCount > 0 || path == null) {
+            return;
+        }
+
+        entries.remove(kind.prefix + key);
+        Node node = path.get(path.size() - 1);
+        node.removeTerminal(entry);
+
+        // Prune childless, entry-less nodes, then merge a remaining pass-through node into its only child.
+        int last = path.size() - 1;
+        while (last > 0 && path.get(last).terminals.length == 0 && path.get(last).children.length == 0) {
+            path.get(last - 1).removeChild(path.get(last).label[0]);
+            last--;
+        }
+        Node tail = path.get(last);
+        if (last > 0 && tail.terminals.length == 0 && tail.children.length == 1) {
+            Node only = tail.children[0];
+            char[] merged = Arrays.copyOf(tail.label, tail.label.length + only.label.length);
+            System.arraycopy(only.label, 0, merged, tail.label.length, only.label.length);
+            tail.label = merged;
+            tail.childKeys = only.childKeys;
+            tail.children = only.children;
+            tail.terminals = only.terminals;
+            tail.top = only.top;
+        }
+    }
+
+    /**
+     * Returns the node for {@code key}, creating and splitting nodes as needed;
+     * every node on the way is marked dirty.
+     */
+    private Node insert(String key) {
+        Node node = root;
+        node.dirty = true;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                node.addChild(leaf);
+                return leaf;
+            }
+            Node child = node.children[index];
+            char[] label = child.label;
+            int matched = 0;
+            while (matched < label.length && i + matched < key.length() && label[matched] == key.charAt(i + matched)) {
+                matched++;
+            }
+            if (matched < label.length) {
+                Node split = new Node(Arrays.copyOf(label, matched));
+                child.label = Arrays.copyOfRange(label, matched, label.length);
+                split.addChild(child);
+                node.children[index] = split;
+                child = split;
+            }
+            child.dirty = true;
+            node = child;
+            i += matched;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the nodes from the root to the node exactly matching {@code key}
+     * (marking them dirty), or {@code null} if the key is not in the trie.
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (key.length() - i < node.label.length
+                    || !key.regionMatches(i, new String(node.label), 0, node.label.length)) {
+                return null;
+            }
+            path.add(node);
+            i += node.label.length;
+        }
+        path.forEach(n -> n.dirty = true);
+        return path;
+    }
+
+    private void recomputeDirty(Node node) {
+        if (!node.dirty) {
+            return;
+        }
+        List<Suggestion> candidates = new ArrayList<>();
+        for (Entry terminal : node.terminals) {
+            candidates.add(terminal.snapshot);
+        }
+        for (Node child : node.children) {
+            recomputeDirty(child);
+            candidates.addAll(child.top);
+        }
+        candidates.sort(BY_POPULARITY);
+        node.top = List.copyOf(candidates.subList(0, Math.min(COMPLETIONS_PER_NODE, candidates.size())));
+        node.dirty = false;
+    }
+
+    /**
+     * What a completion refers to.
+     */
+    public enum Kind {
+        TITLE("t:"),
+        AUTHOR("a:");
+
+        private final String prefix;
+
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * A single completion.
+     *
+     * @param text        display text (as first written by a catalog entry)
+     * @param kind        whether this completes a title or an author
+     * @param bookCount   number of books with this title/author
+     * @param reviewCount reviews across those books; the popularity used for ranking
+     */
+    public record Suggestion(String text, Kind kind, int bookCount, long reviewCount) {
+    }
+
+    /**
+     * Normalised keys of one book, computed outside the lock.
+     */
+    private record Keys(UUID bookId, String title, String titleKey, String author, String authorKey,
+                        long reviewCount) {
+
+        static Keys of(Book book) {
+            return new Keys(book.getId(),
+                    book.getTitle(), TextNormalizer.normalize(book.getTitle()),
+                    book.getAuthor(), TextNormalizer.normalize(book.getAuthor()),
+                    book.getReviewCount());
+        }
+
+        Keys withReviewCount(long count) {
+            return new Keys(bookId, title, titleKey, author, authorKey, count);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Kind kind;
+        private final String display;
+        private int bookCount;
+        private long reviewCount;
+        private Suggestion snapshot;
+
+        Entry(Kind kind, String display) {
+            this.kind = kind;
+            this.display = display;
+        }
+
+        void refresh() {
+            snapshot = new Suggestion(display, kind, bookCount, reviewCount);
+        }
+    }
+
+    private static final class Node {
+
+        private char[] label;
+        private char[] childKeys = NO_CHARS;
+        private Node[] children = NO_CHILDREN;
+        private Entry[] terminals = NO_ENTRIES;
+        private List<Suggestion> top = List.of();
+        private boolean dirty = true;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        int childIndex(char c) {
+            int low = 0;
+            int high = childKeys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (childKeys[mid] < c) {
+                    low = mid + 1;
+                } else if (childKeys[mid] > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        void addChild(Node child) {
+            char c = child.label[0];
+            int at = 0;
+            while (at < childKeys.length && childKeys[at] < c) {
+                at++;
+            }
+            char[] keys = new char[childKeys.length + 1];
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(childKeys, 0, keys, 0, at);
+            System.arraycopy(children, 0, nodes, 0, at);
+            keys[at] = c;
+            nodes[at] = child;
+            System.arraycopy(childKeys, at, keys, at + 1, childKeys.length - at);
+            System.arraycopy(children, at, nodes, at + 1, children.length - at);
+            childKeys = keys;
+            children = nodes;
+        }
+
+        void removeChild(char c) {
+            int at = childIndex(c);
+            if (at < 0) {
+                return;
+            }
+            char[] keys = new char[childKeys.length - 1];
+            Node[] nodes = new Node[children.length - 1];
+            System.arraycopy(childKeys, 0, keys, 0, at);
+            System.arraycopy(children, 0, nodes, 0, at);
+            System.arraycopy(childKeys, at + 1, keys, at, childKeys.length - at - 1);
+            System.arraycopy(children, at + 1, nodes, at, children.length - at - 1);
+            childKeys = keys;
+            children = nodes;
+        }
+
+        void addTerminal(Entry entry) {
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = entry;
+        }
+
+        void removeTerminal(Entry entry) {
+            Entry[] remaining = Arrays.stream(terminals).filter(e -> e != entry).toArray(Entry[]::new);
+            terminals = remaining.length == 0 ? NO_ENTRIES : remaining;
+        }
+    }
+}
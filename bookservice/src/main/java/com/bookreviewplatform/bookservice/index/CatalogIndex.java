@@ -0,0 +1,60 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contract for in-memory structures derived from the book catalog.
+ *
+ * <p>Implementations are Spring beans; {@code BookServiceImpl} notifies every
+ * registered index after each successful write, and {@link CatalogIndexLoader}
+ * rebuilds all of them from the database at startup. MySQL remains the source
+ * of truth — an index only ever answers read queries.</p>
+ *
+ * <p>Implementations must be thread-safe: writes arrive from request threads
+ * while searches are being served.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public interface CatalogIndex {
+
+    /**
+     * Discards all indexed content. Called once before a full rebuild.
+     */
+    void clear();
+
+    /**
+     * Adds a batch of books. Used by the startup rebuild, so implementations
+     * should do their per-book preparation work in parallel where possible.
+     *
+     * @param books books freshly loaded from the database
+     */
+    void addAll(List<Book> books);
+
+    /**
+     * Adds (or re-adds) a single book after it has been persisted.
+     *
+     * @param book the persisted book
+     */
+    void add(Book book);
+
+    /**
+     * Removes a book from the index. Unknown ids are ignored.
+     *
+     * @param id the id of the book to remove
+     */
+    void remove(UUID id);
+
+    /**
+     * Replaces the indexed content of a book after an update.
+     *
+     * @param book the updated book
+     */
+    default void update(Book book) {
+        remove(book.getId());
+        add(book);
+    }
+}
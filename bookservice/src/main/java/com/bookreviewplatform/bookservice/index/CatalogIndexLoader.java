@@ -0,0 +1,70 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Rebuilds every {@link CatalogIndex} from the database once the application is ready.
+ *
+ * <p>Books are streamed in keyset-paginated batches so memory use is bounded by
+ * the batch size, not the catalog size. Each batch is handed to all indexes in
+ * parallel, and each index prepares the batch in parallel internally.</p>
+ *
+ * <p>Writes that arrive while the rebuild is running are applied to the indexes
+ * directly by {@code BookServiceImpl}. Re-adding a book replaces its previous
+ * entry, so the only window for a stale entry is a write that lands between a
+ * batch being read and that same batch being indexed.</p>
+ *
+ * <p>Once the indexes are rebuilt, the first {@link NearDuplicateClusterJob}
+ * report is built on the same (startup) thread, so no request has to wait for it.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogIndexLoader {
+
+    private final Logger logger = Logger.getLogger(CatalogIndexLoader.class.getName());
+    private final BookRepository bookRepository;
+    private final List<CatalogIndex> catalogIndexes;
+    private final NearDuplicateClusterJob nearDuplicateClusterJob;
+
+    @Value("${bookservice.index.rebuild-batch-size:5000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        long start = System.nanoTime();
+        logger.info(() -> "Rebuilding " + catalogIndexes.size() + " catalog indexes from database");
+        catalogIndexes.forEach(CatalogIndex::clear);
+
+        long loaded = 0;
+        UUID after = null;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findBatchAfter(after, PageRequest.ofSize(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Book> current = batch;
+            catalogIndexes.parallelStream().forEach(index -> index.addAll(current));
+            loaded += batch.size();
+            after = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == batchSize);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Catalog indexes rebuilt with " + loaded + " books in " + elapsedMs + " ms");
+        nearDuplicateClusterJob.run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bookreviewplatform.bookservice.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Offline job that groups the existing catalog into clusters of near-duplicate books.
+ *
+ * <p>Creation-time checks only stop new duplicates; this job finds the ones that
+ * got in before (or via paths that bypass the check) so they can be merged by an
+ * administrator. It runs on the {@code bookservice.dedup.cluster-cron} schedule
+ * (nightly by default) against the in-memory {@link NearDuplicateIndex}, and keeps
+ * the latest report for {@code GET /api/v1/books/duplicates}.</p>
+ *
+ * <p>{@link CatalogIndexLoader} also runs it once on the startup thread, right
+ * after the index rebuild. Requests only ever read the stored report; before the
+ * first run completes they get none rather than paying for the pass themselves.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class NearDuplicateClusterJob {
+
+    private final Logger logger = Logger.getLogger(NearDuplicateClusterJob.class.getName());
+    private final NearDuplicateIndex nearDuplicateIndex;
+
+    private volatile Report lastReport;
+
+    @Scheduled(cron = "${bookservice.dedup.cluster-cron:0 0 3 * * *}")
+    public void runScheduled() {
+        run();
+    }
+
+    /**
+     * Clusters the current catalog and stores the result as the latest report.
+     *
+     * @return the new report
+     */
+    public Report run() {
+        long start = System.nanoTime();
+        logger.info("Clustering catalog for near-duplicate books");
+        List<List<NearDuplicateIndex.Match>> clusters = nearDuplicateIndex.clusters();
+        Report report = new Report(LocalDateTime.now(), clusters);
+        lastReport = report;
+        logger.info(() -> "Found " + clusters.size() + " near-duplicate clusters in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return report;
+    }
+
+    /**
+     * @return the latest report, or empty if the first run has not finished yet
+     */
+    public Optional<Report> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    /**
+     * Result of one clustering run.
+     *
+     * @param generatedAt when the run finished
+     * @param clusters    groups of two or more mutually similar books
+     */
+    public record Report(LocalDateTime generatedAt, List<List<NearDuplicateIndex.Match>> clusters) {
+    }
+}
@@ -0,0 +1,374 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive index for spotting near-duplicate books.
+ *
+ * <p>Each book is reduced to the set of character 3-gram shingles of its
+ * {@link TextNormalizer#tokenize(String) tokenised} title and author, and that
+ * set to a {@value #SIGNATURE_LENGTH}-value MinHash signature. Signatures are
+ * split into {@value #BANDS} bands of {@value #ROWS_PER_BAND} rows; books sharing
+ * any band land in the same bucket and become candidates. Candidates are then
+ * confirmed by estimated Jaccard similarity (the fraction of equal signature
+ * values).</p>
+ *
+ * <p>A lookup costs one signature computation plus {@value #BANDS} hash-map
+ * probes and a bounded bucket scan, independent of catalog size. With 16×8
+ * banding a pair at 0.8 Jaccard becomes a candidate with ~95% probability,
+ * one at 0.5 with ~6%.</p>
+ *
+ * <p>Ordinals freed by removals and updates are reused, so the index stays
+ * proportional to the live catalog. {@link #clusters()} copies bucket
+ * membership under the read lock and does the pairwise comparisons after
+ * releasing it, so clustering never blocks writes for the length of the pass.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class NearDuplicateIndex implements CatalogIndex {
+
+    static final int SIGNATURE_LENGTH = 128;
+    static final int BANDS = 16;
+    static final int ROWS_PER_BAND = SIGNATURE_LENGTH / BANDS;
+
+    /**
+     * Buckets larger than this are skipped: a band value shared by that many
+     * books comes from boilerplate ("Volume", "Edition", a prolific author) and
+     * carries no signal, while scanning it would break the latency budget.
+     * A true near-duplicate still matches through its other bands.
+     */
+    private static final int MAX_BUCKET_SCAN = 512;
+
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntList> buckets = new HashMap<>();
+    private final Map<UUID, Integer> ordinalsById = new HashMap<>();
+    private final List<Indexed> books = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+    private final IntList freeOrdinals = new IntList();
+
+    @Value("${bookservice.dedup.similarity-threshold:0.8}")
+    private double similarityThreshold;
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            ordinalsById.clear();
+            books.clear();
+            signatures.clear();
+            freeOrdinals.size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(List<Book> batch) {
+        List<int[]> computed = batch.parallelStream()
+                .map(book -> signature(book.getTitle(), book.getAuthor()))
+                .toList();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                append(batch.get(i), computed.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Book book) {
+        int[] signature = signature(book.getTitle(), book.getAuthor());
+        lock.writeLock().lock();
+        try {
+            append(book, signature);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Creates an empty, unmanaged index with the same similarity threshold, for
+     * checking a batch of not yet persisted books against each other.
+     *
+     * @return a new empty index
+     */
+    public NearDuplicateIndex newEmpty() {
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        index.similarityThreshold = similarityThreshold;
+        return index;
+    }
+
+    /**
+     * Finds indexed books whose title and author are near-duplicates of the given ones.
+     *
+     * @param title  candidate title
+     * @param author candidate author
+     * @return matches at or above the configured similarity threshold, most similar first
+     */
+    public List<Match> findNearDuplicates(String title, String author) {
+        int[] signature = signature(title, author);
+        lock.readLock().lock();
+        try {
+            List<Match> matches = new ArrayList<>();
+            Set<Integer> seen = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                IntList bucket = buckets.get(bandKey(signature, band));
+                if (bucket == null || bucket.size > MAX_BUCKET_SCAN) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size; i++) {
+                    int ordinal = bucket.values[i];
+                    if (!seen.add(ordinal)) {
+                        continue;
+                    }
+                    Indexed book = books.get(ordinal);
+                    if (book == null) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, signatures.get(ordinal));
+                    if (similarity >= similarityThreshold) {
+                        matches.add(new Match(book.id(), book.title(), book.author(), similarity));
+                    }
+                }
+            }
+            matches.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups all indexed books into clusters of mutual near-duplicates
+     * (connected components of the "similar above threshold" relation).
+     *
+     * @return clusters with at least two books each
+     */
+    public List<List<Match>> clusters() {
+        // Signature arrays are never mutated once indexed, so sharing them is safe.
+        Indexed[] indexed;
+        int[][] signatureOf;
+        List<int[]> candidateBuckets = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            indexed = books.toArray(new Indexed[0]);
+            signatureOf = signatures.toArray(new int[0][]);
+            for (IntList bucket : buckets.values()) {
+                if (bucket.size >= 2 && bucket.size <= MAX_BUCKET_SCAN) {
+                    candidateBuckets.add(Arrays.copyOf(bucket.values, bucket.size));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int[] parent = new int[indexed.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (int[] bucket : candidateBuckets) {
+            for (int i = 0; i < bucket.length; i++) {
+                for (int j = i + 1; j < bucket.length; j++) {
+                    int a = bucket[i];
+                    int b = bucket[j];
+                    if (find(parent, a) != find(parent, b)
+                            && similarity(signatureOf[a], signatureOf[b]) >= similarityThreshold) {
+                        parent[find(parent, a)] = find(parent, b);
+                    }
+                }
+            }
+        }
+
+        Map<Integer, List<Match>> byRoot = new HashMap<>();
+        for (int ordinal = 0; ordinal < parent.length; ordinal++) {
+            Indexed book = indexed[ordinal];
+            if (book == null) {
+                continue;
+            }
+            int root = find(parent, ordinal);
+            double similarity = similarity(signatureOf[ordinal], signatureOf[root]);
+            byRoot.computeIfAbsent(root, r -> new ArrayList<>())
+                    .add(new Match(book.id(), book.title(), book.author(), similarity));
+        }
+        return byRoot.values().stream()
+                .filter(cluster -> cluster.size() > 1)
+                .toList();
+    }
+
+    // Caller must hold the write lock.
+    private void append(Book book, int[] signature) {
+        removeInternal(book.getId());
+        Indexed entry = new Indexed(book.getId(), book.getTitle(), book.getAuthor());
+        int ordinal;
+        if (freeOrdinals.size > 0) {
+            ordinal = freeOrdinals.values[--freeOrdinals.size];
+            books.set(ordinal, entry);
+            signatures.set(ordinal, signature);
+        } else {
+            ordinal = books.size();
+            books.add(entry);
+            signatures.add(signature);
+        }
+        ordinalsById.put(book.getId(), ordinal);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), k -> new IntList()).add(ordinal);
+        }
+    }
+
+    // Caller must hold the write lock.
+    private void removeInternal(UUID id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        int[] signature = signatures.get(ordinal);
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            IntList bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(ordinal) && bucket.size == 0) {
+                buckets.remove(key);
+            }
+        }
+        books.set(ordinal, null);
+        signatures.set(ordinal, null);
+        freeOrdinals.add(ordinal);
+    }
+
+    /**
+     * Computes the MinHash signature of the 3-gram shingles of the tokenised title and author.
+     */
+    static int[] signature(String title, String author) {
+        String text = String.join(" ", TextNormalizer.tokenize(title)) + " | "
+                + String.join(" ", TextNormalizer.tokenize(author));
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - 2);
+        for (int s = 0; s < shingles; s++) {
+            // Three UTF-16 chars pack losslessly into 48 bits.
+            long shingle = 0;
+            for (int k = s; k < Math.min(s + 3, text.length()); k++) {
+                shingle = (shingle << 16) | text.charAt(k);
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int h = (int) mix(shingle ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long h = band;
+        for (int r = band * ROWS_PER_BAND; r < (band + 1) * ROWS_PER_BAND; r++) {
+            h = h * 0x9E3779B97F4A7C15L + signature[r];
+        }
+        return mix(h);
+    }
+
+    /**
+     * SplitMix64 finaliser.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * A near-duplicate candidate.
+     *
+     * @param id         id of the existing book
+     * @param title      its title as stored
+     * @param author     its author as stored
+     * @param similarity estimated Jaccard similarity of the shingle sets, 0..1
+     */
+    public record Match(UUID id, String title, String author, double similarity) {
+    }
+
+    private record Indexed(UUID id, String title, String author) {
+    }
+
+    /**
+     * Minimal growable {@code int} list for bucket membership.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
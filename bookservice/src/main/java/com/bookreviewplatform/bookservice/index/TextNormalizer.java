@@ -0,0 +1,134 @@
+package com.bookreviewplatform.bookservice.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared text normalisation rules for the in-memory catalog indexes.
+ *
+ * <p>Every index in this package must fold text the same way, otherwise a title
+ * written as "The Pragmatic Programmer " would be found by one index and missed
+ * by another. Normalisation is:</p>
+ * <ul>
+ *   <li>Unicode compatibility decomposition (NFKD) with combining marks removed ("Café" → "cafe")</li>
+ *   <li>Locale-independent lower-casing</li>
+ *   <li>Runs of whitespace collapsed to a single space, leading/trailing whitespace removed</li>
+ * </ul>
+ *
+ * <p>Tokenisation additionally splits on every character that is not a letter or digit.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public final class TextNormalizer {
+
+    /**
+     * Per-character fold table for the Basic Multilingual Plane: the lower-cased
+     * base character of each char's NFKD decomposition, {@code ' '} for
+     * whitespace, or {@code 0} for characters that are dropped (combining marks).
+     * Characters that decompose into several base characters (e.g. the "ﬁ"
+     * ligature) are only lower-cased.
+     */
+    private static final char[] FOLD = buildFoldTable();
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Folds a single character. Lets callers normalise input incrementally
+     * without allocating, with exactly the same result as {@link #normalize(String)}.
+     *
+     * @param c the character to fold
+     * @return the folded character, {@code ' '} for any whitespace,
+     * or {@code 0} if the character should be skipped
+     */
+    public static char fold(char c) {
+        return FOLD[c];
+    }
+
+    /**
+     * Normalises free text for comparison and prefix matching.
+     *
+     * @param text raw text (may be null)
+     * @return the normalised form, or an empty string when {@code text} is null or blank
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = FOLD[text.charAt(i)];
+            if (c == 0) {
+                continue;
+            }
+            if (c == ' ') {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits text into normalised index terms.
+     *
+     * @param text raw text (may be null)
+     * @return the terms in document order, duplicates preserved (never null)
+     */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                table[i] = ' ';
+                continue;
+            }
+            if (Character.isSurrogate(c)) {
+                table[i] = c;
+                continue;
+            }
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD);
+            char base = 0;
+            int baseCount = 0;
+            for (int j = 0; j < decomposed.length(); j++) {
+                char d = decomposed.charAt(j);
+                if (Character.getType(d) != Character.NON_SPACING_MARK) {
+                    base = d;
+                    baseCount++;
+                }
+            }
+            if (baseCount == 0) {
+                table[i] = 0;
+            } else if (baseCount == 1) {
+                table[i] = Character.isWhitespace(base) ? ' ' : Character.toLowerCase(base);
+            } else {
+                table[i] = Character.toLowerCase(c);
+            }
+        }
+        return table;
+    }
+}
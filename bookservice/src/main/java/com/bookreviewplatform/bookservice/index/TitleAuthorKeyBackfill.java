@@ -0,0 +1,58 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.common.backfill.KeysetBackfill;
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Fills in {@link TitleAuthorKey}s for books created before the
+ * {@code titleAuthorKey} column existed.
+ *
+ * <p>Runs once the application is ready. Once every row has a key, the query
+ * is an empty index lookup. A row that would collide with an existing key is
+ * a pre-existing duplicate: it is left without a key and logged, and can be
+ * merged using {@code GET /api/v1/books/duplicates}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class TitleAuthorKeyBackfill {
+
+    private final Logger logger = Logger.getLogger(TitleAuthorKeyBackfill.class.getName());
+    private final BookRepository bookRepository;
+
+    @Value("${bookservice.index.rebuild-batch-size:5000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        KeysetBackfill.Result result = KeysetBackfill.run(batchSize,
+                (after, size) -> bookRepository.findBatchWithoutTitleAuthorKey(after, PageRequest.ofSize(size)),
+                Book::getId, this::fill);
+        if (result.any()) {
+            logger.info("Backfilled title/author keys for " + result.filled() + " books (" + result.skipped()
+                    + " duplicates skipped)");
+        }
+    }
+
+    private boolean fill(Book book) {
+        try {
+            bookRepository.setTitleAuthorKey(book.getId(), TitleAuthorKey.of(book.getTitle(), book.getAuthor()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.warning(() -> "Book " + book.getId() + " duplicates an existing title/author and keeps no key");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bookreviewplatform.bookservice.rating;
+
+import com.bookreviewplatform.bookservice.cache.BookCache;
+import com.bookreviewplatform.bookservice.dto.RatingDeltaDTO;
+import com.bookreviewplatform.bookservice.index.BookSuggestionIndex;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Coalesces rating deltas from the Review Service and writes them to the
+ * denormalised {@code reviewCount}/{@code ratingSum}/{@code avgRating} columns.
+ *
+ * <p>Deltas are summed per book in memory. Every
+ * {@code bookservice.ratings.flush-interval-ms}, each book with pending deltas
+ * gets a single {@code UPDATE}. A book receiving thousands of reviews
+ * per second therefore costs one row write per interval, not one per review.
+ * Applied review counts are also passed to the {@link BookSuggestionIndex},
+ * which ranks completions by them.</p>
+ *
+ * <p>If an update fails, its delta goes back into the pending map and is
+ * retried on the next flush. Pending deltas are flushed on shutdown. Deltas
+ * still in memory when the process dies are lost, so the columns are eventually
+ * consistent, not exact.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class BookRatingAggregator {
+
+    private final Logger logger = Logger.getLogger(BookRatingAggregator.class.getName());
+    private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final BookSuggestionIndex bookSuggestionIndex;
+
+    private final Map<UUID, Delta> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queues deltas for the next flush.
+     *
+     * @param deltas rating changes, possibly several per book
+     */
+    public void accept(Collection<RatingDeltaDTO> deltas) {
+        for (RatingDeltaDTO delta : deltas) {
+            if (delta.getBookId() != null) {
+                pending.merge(delta.getBookId(), new Delta(delta.getReviewCount(), delta.getRatingSum()), Delta::plus);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bookservice.ratings.flush-interval-ms:2000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int updated = 0;
+        for (UUID bookId : pending.keySet()) {
+            // Deltas arriving from now on start a new entry for the next flush.
+            Delta delta = pending.remove(bookId);
+            if (delta == null || delta.isZero()) {
+                continue;
+            }
+            try {
+                if (bookRepository.applyRatingDelta(bookId, delta.reviewCount(), delta.ratingSum(), Instant.now()) > 0) {
+                    bookCache.invalidate(bookId);
+                    bookSuggestionIndex.adjustReviewCount(bookId, delta.reviewCount());
+                    updated++;
+                } else {
+                    logger.fine(() -> "Dropping rating delta for unknown book id: " + bookId);
+                }
+            } catch (Exception e) {
+                logger.warning(() -> "Failed to apply rating delta for book id " + bookId + ", will retry: "
+                        + e.getMessage());
+                pending.merge(bookId, delta, Delta::plus);
+            }
+        }
+        int flushed = updated;
+        logger.fine(() -> "Flushed rating deltas for " + flushed + " books in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private record Delta(long reviewCount, long ratingSum) {
+
+        Delta plus(Delta other) {
+            return new Delta(reviewCount + other.reviewCount, ratingSum + other.ratingSum);
+        }
+
+        boolean isZero() {
+            return reviewCount == 0 && ratingSum == 0;
+        }
+    }
+}
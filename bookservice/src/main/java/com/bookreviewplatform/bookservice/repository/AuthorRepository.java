@@ -0,0 +1,100 @@
+package com.bookreviewplatform.bookservice.repository;
+
+import com.bookreviewplatform.bookservice.entity.Author;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link Author} entities.
+ *
+ * <p>Book counts are only ever changed with relative, single-statement updates
+ * inside the transaction that creates, moves or deletes the book, so
+ * concurrent writers never lose each other's increments.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Repository
+public interface AuthorRepository extends JpaRepository<Author, UUID> {
+
+    /**
+     * Finds an author by normalised name; served by the unique name index.
+     *
+     * @param normalizedName the name folded by {@code TextNormalizer}
+     * @return the author, if known
+     */
+    Optional<Author> findByNormalizedName(String normalizedName);
+
+    /**
+     * Finds all authors with one of the given normalised names, in one query.
+     *
+     * @param normalizedNames names folded by {@code TextNormalizer}
+     * @return matching authors, in no particular order
+     */
+    List<Author> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    /**
+     * Adds {@code delta} to an author's book count.
+     *
+     * @param id    the author id
+     * @param delta books added (negative for removed)
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Author a set a.bookCount = a.bookCount + :delta where a.id = :id")
+    int adjustBookCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    /**
+     * Decrements the book count of the book's current author. Must run in the
+     * same transaction as, and before, the statement that deletes the book.
+     *
+     * @param bookId the book being deleted
+     * @return 1 if the book had an author, 0 if it has none or does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("update Author a set a.bookCount = a.bookCount - 1 "
+            + "where a.id = (select b.authorId from Book b where b.id = :bookId)")
+    int releaseBook(@Param("bookId") UUID bookId);
+
+    /**
+     * Moves one book from its current author's count to {@code authorId}'s, in a
+     * single UPDATE over both author rows. A book without an author (created
+     * before authors existed and not yet backfilled) is only added to
+     * {@code authorId}'s count. Must run in the same transaction as, and before,
+     * the statement that changes the book's {@code authorId}.
+     *
+     * @param bookId   the book changing author
+     * @param authorId the author it moves to
+     * @return 2 if the book moved, 1 if it had no author, 0 if it already belongs
+     * to {@code authorId} or does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("update Author a set a.bookCount = a.bookCount + (case when a.id = :authorId then 1 else -1 end) "
+            + "where (a.id = :authorId or a.id = (select b.authorId from Book b where b.id = :bookId)) "
+            + "and exists (select b.id from Book b where b.id = :bookId "
+            + "and (b.authorId is null or b.authorId <> :authorId))")
+    int moveBook(@Param("bookId") UUID bookId, @Param("authorId") UUID authorId);
+
+    /**
+     * Recomputes every author's book count from the books table. Only used after
+     * a backfill; normal writes maintain the counts incrementally.
+     *
+     * @return number of authors updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Author a set a.bookCount = (select count(b) from Book b where b.authorId = a.id)")
+    int recountBooks();
+}
@@ -1,9 +1,19 @@
 package com.bookreviewplatform.bookservice.repository;
 
+import com.bookreviewplatform.bookservice.dto.AuthorRatingTotals;
 import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.common.etag.CollectionVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,9 +25,10 @@ import java.util.UUID;
  * {@code findById()}, {@code findAll()}, {@code save()}, {@code deleteById()},
  * {@code existsById()}, etc., with {@link UUID} as the primary key type.</p>
  *
- * <p>Currently provides all necessary functionality via inherited methods.
- * Custom query methods can be added in the future as requirements evolve
- * (e.g., search by title, author, ISBN).</p>
+ * <p>Besides the inherited methods, it provides keyset-paginated batch queries
+ * for the in-memory indexes and the catalog snapshot, and single-statement
+ * writes. Duplicate checks go through the indexed title/author key, never
+ * through the unindexed title and author columns.</p>
  *
  * <p>Used by {@code BookService} to interact with the underlying database
  * in a clean, type-safe, and repository-pattern-compliant way.</p>
@@ -29,22 +40,220 @@ import java.util.UUID;
 public interface BookRepository extends JpaRepository<Book, UUID> {
 
     /**
-     * Finds a book by its title and author.
-     * Useful for preventing duplicates during creation.
+     * Finds a book by its normalised title/author key (see
+     * {@link com.bookreviewplatform.bookservice.index.TitleAuthorKey}).
+     * A single probe of the unique {@code uk_book_title_author_key} index.
      *
-     * @param title  the book title (case-sensitive)
-     * @param author the author name(s)
+     * @param titleAuthorKey the 32-byte key
      * @return an {@link Optional} containing the book if found, empty otherwise
      */
-    Optional<Book> findByTitleAndAuthor(String title, String author);
+    Optional<Book> findByTitleAuthorKey(byte[] titleAuthorKey);
 
     /**
-     * Checks whether a book with the given title and author already exists.
-     * Supports enforcement of logical uniqueness (title + author combination).
+     * Finds all books with one of the given title/author keys.
+     * Lets bulk imports check a whole chunk for existing books in one indexed query.
      *
-     * @param title  the book title
-     * @param author the author name(s)
-     * @return true if a matching book exists, false otherwise
+     * @param titleAuthorKeys the candidate keys
+     * @return matching books, in no particular order
      */
-    boolean existsByTitleAndAuthor(String title, String author);
-}
\ No newline at end of file
+    List<Book> findByTitleAuthorKeyIn(Collection<byte[]> titleAuthorKeys);
+
+    /**
+     * Loads the next batch of books that have no title/author key yet (rows
+     * created before the column existed), ordered by id.
+     *
+     * @param after    the last id of the previous batch, or {@code null} for the first batch
+     * @param pageable batch size
+     * @return the next batch, empty when every book has a key
+     */
+    @Query("select b from Book b where b.titleAuthorKey is null and (:after is null or b.id > :after) order by b.id")
+    List<Book> findBatchWithoutTitleAuthorKey(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Sets a book's title/author key without touching its version or
+     * modification time; the book's content does not change.
+     *
+     * @param id             the book id
+     * @param titleAuthorKey the 32-byte key
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Book b set b.titleAuthorKey = :key where b.id = :id")
+    int setTitleAuthorKey(@Param("id") UUID id, @Param("key") byte[] titleAuthorKey);
+
+    /**
+     * Computes the aggregate version of the whole catalog in one query,
+     * without loading any rows. Used to answer conditional GETs on the book list.
+     *
+     * @return count, version sum and latest modification time of all books
+     */
+    @Query("select new com.bookreviewplatform.common.etag.CollectionVersion("
+            + "count(b), sum(b.version), max(b.lastModified)) from Book b")
+    CollectionVersion findCollectionVersion();
+
+    /**
+     * Loads the next batch of books ordered by id, starting after the given id.
+     * Keyset pagination keeps each batch an index range scan no matter how deep
+     * into the catalog the caller is, unlike offset paging.
+     *
+     * <p>Used to rebuild the in-memory catalog indexes at startup.</p>
+     *
+     * @param after    the last id of the previous batch, or {@code null} for the first batch
+     * @param pageable batch size (only {@link Pageable#getPageSize()} is used; no count query is issued)
+     * @return the next batch, empty when the catalog has been fully read
+     */
+    @Query("select b from Book b where (:after is null or b.id > :after) order by b.id")
+    List<Book> findBatchAfter(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Loads the next batch of books modified at or after {@code since}, ordered by id.
+     * Lets the catalog snapshot catch up on changes made after it was written.
+     *
+     * @param since    lower bound on {@code lastModified}
+     * @param after    the last id of the previous batch, or {@code null} for the first batch
+     * @param pageable batch size
+     * @return the next batch, empty when all changes have been read
+     */
+    @Query("select b from Book b where b.lastModified >= :since and (:after is null or b.id > :after) order by b.id")
+    List<Book> findBatchModifiedSince(@Param("since") Instant since, @Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Loads the next batch of book ids, ordered by id, without loading the rows.
+     * Used to detect books deleted since the catalog snapshot was written.
+     *
+     * @param after    the last id of the previous batch, or {@code null} for the first batch
+     * @param pageable batch size
+     * @return the next batch of ids, empty when all ids have been read
+     */
+    @Query("select b.id from Book b where (:after is null or b.id > :after) order by b.id")
+    List<UUID> findIdBatchAfter(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Loads one page of the catalog ordered by average rating, best first.
+     * Books without reviews come last. Served by {@code idx_book_avg_rating}.
+     *
+     * @param pageable page number and size
+     * @return the books on that page
+     */
+    @Query("select b from Book b order by b.avgRating desc, b.reviewCount desc, b.id desc")
+    List<Book> findPageOrderByRating(Pageable pageable);
+
+    /**
+     * Applies a coalesced rating delta to one book in a single UPDATE, bumping
+     * its version and modification time so ETags and the catalog snapshot see it.
+     *
+     * <p>{@code avgRating} is assigned first: MySQL evaluates single-table
+     * assignments left to right, so it must read the old count and sum.</p>
+     *
+     * @param id    the book id
+     * @param count change in the number of reviews
+     * @param sum   change in the sum of ratings
+     * @param now   the new {@code lastModified}
+     * @return number of rows updated (0 if the book no longer exists)
+     */
+    @Transactional
+    @Modifying
+    @Query("update versioned Book b set "
+            + "b.avgRating = case when b.reviewCount + :count > 0 "
+            + "then (b.ratingSum + :sum) * 1.0 / (b.reviewCount + :count) else null end, "
+            + "b.reviewCount = b.reviewCount + :count, "
+            + "b.ratingSum = b.ratingSum + :sum, "
+            + "b.lastModified = :now "
+            + "where b.id = :id")
+    int applyRatingDelta(@Param("id") UUID id, @Param("count") long count, @Param("sum") long sum,
+                         @Param("now") Instant now);
+
+    /**
+     * Updates a book's title and author in a single UPDATE, without loading it.
+     * Clears the persistence context afterwards, so a following read of the book
+     * sees the new row instead of an entity loaded earlier in the request.
+     *
+     * @param id              the book id
+     * @param title           the new title
+     * @param author          the new author
+     * @param authorId        the id of the new author's normalised {@code Author}
+     * @param titleAuthorKey  the key of the new title and author (bulk updates bypass entity callbacks)
+     * @param expectedVersion only update if the book is at this version; {@code null} for unconditional
+     * @param now             the new {@code lastModified}
+     * @return number of rows updated: 0 if the book does not exist or is at another version
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update versioned Book b set "
+            + "b.title = :title, "
+            + "b.author = :author, "
+            + "b.authorId = :authorId, "
+            + "b.titleAuthorKey = :key, "
+            + "b.lastModified = :now "
+            + "where b.id = :id and (:expectedVersion is null or b.version = :expectedVersion)")
+    int updateTitleAndAuthor(@Param("id") UUID id, @Param("title") String title, @Param("author") String author,
+                             @Param("authorId") UUID authorId, @Param("key") byte[] titleAuthorKey,
+                             @Param("expectedVersion") Long expectedVersion, @Param("now") Instant now);
+
+    /**
+     * Deletes a book in a single DELETE, without loading it first.
+     *
+     * @param id the book id
+     * @return number of rows deleted: 0 if the book does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Book b where b.id = :id")
+    int deleteDirectlyById(@Param("id") UUID id);
+
+    /**
+     * Loads one page of an author's books ordered by title, straight from
+     * {@code idx_book_author_title}.
+     *
+     * @param authorId the author id
+     * @param pageable page number and size
+     * @return the books on that page
+     */
+    @Query("select b from Book b where b.authorId = :authorId order by b.title, b.id")
+    List<Book> findPageByAuthorId(@Param("authorId") UUID authorId, Pageable pageable);
+
+    /**
+     * Reads just a book's author id, so a write can drop that author's cached
+     * page afterwards.
+     *
+     * @param id the book id
+     * @return the author id, empty if the book does not exist or has no author
+     */
+    @Query("select b.authorId from Book b where b.id = :id")
+    Optional<UUID> findAuthorIdById(@Param("id") UUID id);
+
+    /**
+     * Sums the denormalised review statistics over an author's books.
+     *
+     * @param authorId the author id
+     * @return total reviews and ratings (nulls if the author has no books)
+     */
+    @Query("select new com.bookreviewplatform.bookservice.dto.AuthorRatingTotals("
+            + "sum(b.reviewCount), sum(b.ratingSum)) from Book b where b.authorId = :authorId")
+    AuthorRatingTotals findAuthorRatingTotals(@Param("authorId") UUID authorId);
+
+    /**
+     * Loads the next batch of books not yet linked to an author (rows created
+     * before authors existed), ordered by id.
+     *
+     * @param after    the last id of the previous batch, or {@code null} for the first batch
+     * @param pageable batch size
+     * @return the next batch, empty when every book has an author
+     */
+    @Query("select b from Book b where b.authorId is null and (:after is null or b.id > :after) order by b.id")
+    List<Book> findBatchWithoutAuthor(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Links a book to its author without touching its version or modification
+     * time; the book's content does not change.
+     *
+     * @param id       the book id
+     * @param authorId the author id
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Book b set b.authorId = :authorId where b.id = :id")
+    int setAuthorId(@Param("id") UUID id, @Param("authorId") UUID authorId);
+}
@@ -0,0 +1,55 @@
+package com.bookreviewplatform.bookservice.service;
+
+import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Service layer interface for bulk catalog imports (e.g., onboarding a publisher feed).
+ *
+ * <p>Imports are streamed: records are parsed one at a time, deduplicated and
+ * inserted in fixed-size chunks, each chunk in its own transaction. Memory use
+ * depends on the chunk size, never on the size of the input.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public interface BookImportService {
+
+    /**
+     * Imports books from a CSV or NDJSON stream.
+     *
+     * <p>Rules applied per record, matching {@link BookService#saveBook}:</p>
+     * <ul>
+     *   <li>Title and author must be present and fit their column lengths</li>
+     *   <li>Books that already exist in the catalog, near-duplicates above
+     *   {@code bookservice.dedup.reject-threshold}, and repeats within the same
+     *   input are skipped</li>
+     *   <li>Weaker near-duplicates are imported and counted as flagged</li>
+     * </ul>
+     *
+     * <p>Chunks that were committed stay committed if a later chunk or the
+     * stream itself fails.</p>
+     *
+     * @param contentType the request {@code Content-Type} ({@code text/csv} or {@code application/x-ndjson})
+     * @param input       the request body
+     * @return {@link StandardResponse} with the final import report
+     */
+    StandardResponse importBooks(String contentType, InputStream input);
+
+    /**
+     * Returns progress of a running or recently finished import.
+     *
+     * @param importId the id reported by the import
+     * @return {@link StandardResponse} with the current import report
+     */
+    StandardResponse getImport(UUID importId);
+
+    /**
+     * Returns progress of all running and recently finished imports.
+     *
+     * @return {@link StandardResponse} with a list of import reports, oldest first
+     */
+    StandardResponse getImports();
+}
@@ -2,6 +2,7 @@ package com.bookreviewplatform.bookservice.service;
 
 import com.bookreviewplatform.bookservice.dto.BookRequestDTO;
 import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+import com.bookreviewplatform.common.etag.CollectionVersion;
 
 import java.util.UUID;
 
@@ -33,22 +34,80 @@ public interface BookService {
      */
     StandardResponse getAllBooks();
 
+    /**
+     * Returns the aggregate version of the catalog, from which the book list's
+     * {@code ETag} is derived. Much cheaper than {@link #getAllBooks()}.
+     *
+     * @return the current {@link CollectionVersion} of all books
+     */
+    CollectionVersion getCollectionVersion();
+
+    /**
+     * Retrieves one page of the catalog sorted by average rating, best first.
+     * Books without reviews come last.
+     *
+     * <p>Ratings are denormalised onto the book and indexed, so this is a single
+     * index-ordered query, with no call to the Review Service.</p>
+     *
+     * @param page zero-based page number
+     * @param size page size (clamped to 1..100)
+     * @return {@link StandardResponse} containing the page of books
+     */
+    StandardResponse getBooksByRating(int page, int size);
+
+    /**
+     * Retrieves an author with their aggregates and one page of their books,
+     * ordered by title.
+     *
+     * <p>The author comes from an in-memory cache; the page is read through the
+     * {@code (authorId, title)} index.</p>
+     *
+     * @param authorId the author id
+     * @param page     zero-based page number
+     * @param size     page size (clamped to 1..100)
+     * @return {@link StandardResponse} containing an {@code AuthorBooksDTO}
+     * @throws com.bookreviewplatform.bookservice.exception.AuthorNotFoundException if there is no such author
+     */
+    StandardResponse getBooksByAuthor(UUID authorId, int page, int size);
+
     /**
      * Retrieves a single book by its unique identifier.
      *
+     * <p>Served from the in-process {@link com.bookreviewplatform.bookservice.cache.BookCache}
+     * when possible; a miss loads the book from the database and caches it.</p>
+     *
      * @param id the {@link UUID} of the book
      * @return {@link StandardResponse} with book details
      * @throws com.bookreviewplatform.bookservice.exception.BookNotFoundException if no book exists with the given ID
      */
     StandardResponse getBookById(UUID id);
 
+    /**
+     * Retrieves the book with exactly the given title and author.
+     *
+     * <p>Served from the in-process {@link com.bookreviewplatform.bookservice.cache.BookCache}
+     * when possible.</p>
+     *
+     * @param title  the exact title
+     * @param author the exact author
+     * @return {@link StandardResponse} with book details, or an error if no such book exists
+     */
+    StandardResponse getBookByTitleAndAuthor(String title, String author);
+
     /**
      * Creates a new book in the catalog.
      *
      * <p>Business rules enforced:</p>
      * <ul>
      *   <li>Title and author must not be blank</li>
-     *   <li>No existing book with the same title and author (case-sensitive)</li>
+     *   <li>No existing book with the same normalised title and author (one probe of the
+     *   unique {@link com.bookreviewplatform.bookservice.index.TitleAuthorKey} index,
+     *   which also rejects concurrent duplicates)</li>
+     *   <li>No existing book with a near-identical title and author, as estimated by the
+     *   in-memory {@link com.bookreviewplatform.bookservice.index.NearDuplicateIndex}: matches
+     *   from {@code bookservice.dedup.reject-threshold} (0.95) are rejected, weaker ones from
+     *   {@code bookservice.dedup.similarity-threshold} (0.8) are created and flagged in the
+     *   response message, since distinct books such as numbered volumes score that high too</li>
      * </ul>
      *
      * @param bookRequestDTO contains title and author
@@ -58,21 +117,47 @@ public interface BookService {
     StandardResponse saveBook(BookRequestDTO bookRequestDTO);
 
     /**
-     * Updates an existing book identified by ID.
+     * Replaces the title and author of an existing book.
+     *
+     * <p>The book is not loaded first: one SELECT reads its current author id, one
+     * UPDATE moves it between its authors' book counts, one versioned UPDATE changes
+     * it, and one SELECT reads it back so the response matches a {@code GET}
+     * (including the version for the ETag).</p>
+     *
+     * @param id              the {@link UUID} of the book to update
+     * @param bookRequestDTO  new title and author values (both required)
+     * @param expectedVersion if not {@code null}, only update while the book is at this
+     *                        version (from the client's {@code If-Match})
+     * @return {@link StandardResponse} with updated book data
+     * @throws com.bookreviewplatform.bookservice.exception.BookNotFoundException if book not found
+     * @throws com.bookreviewplatform.bookservice.exception.VersionConflictException if the book is at another version
+     */
+    StandardResponse updateBook(UUID id, BookRequestDTO bookRequestDTO, Long expectedVersion);
+
+    /**
+     * Changes only the given fields of an existing book; {@code null} fields are kept.
      *
-     * <p>Supports full replacement of title and author.
-     * Enforces same uniqueness rule as creation.</p>
+     * <p>One SELECT reads the current book, then the same two UPDATEs as
+     * {@link #updateBook} run guarded by the version read; the response is built
+     * from that read, so no read-back is needed.</p>
      *
-     * @param id             the {@link UUID} of the book to update
-     * @param bookRequestDTO new title and author values
+     * @param id              the {@link UUID} of the book to update
+     * @param bookRequestDTO  the title and/or author to change
+     * @param expectedVersion if not {@code null}, only update while the book is at this version
      * @return {@link StandardResponse} with updated book data
      * @throws com.bookreviewplatform.bookservice.exception.BookNotFoundException if book not found
+     * @throws com.bookreviewplatform.bookservice.exception.VersionConflictException if the book is at another version
      */
-    StandardResponse updateBook(UUID id, BookRequestDTO bookRequestDTO);
+    StandardResponse patchBook(UUID id, BookRequestDTO bookRequestDTO, Long expectedVersion);
 
     /**
      * Permanently deletes a book by its unique identifier.
      *
+     * <p>Executed without loading the book: one SELECT of its author id (whose cached
+     * page is dropped afterwards), then two statements in one transaction, an UPDATE
+     * of the author's book count and the DELETE, whose affected-row count decides
+     * between success and 404.</p>
+     *
      * <p>In production environments, this operation should be restricted to administrators
      * and may trigger cascading actions (e.g., soft delete, archive reviews, etc.).</p>
      *
@@ -81,4 +166,40 @@ public interface BookService {
      * @throws com.bookreviewplatform.bookservice.exception.BookNotFoundException if book not found
      */
     StandardResponse deleteBook(UUID id);
+
+    /**
+     * Full-text search over book titles and authors.
+     *
+     * <p>Served entirely from the in-memory {@link com.bookreviewplatform.bookservice.index.BookSearchIndex};
+     * the database is not queried. Terms are case-folded and accent-insensitive, and results
+     * are ranked by BM25 relevance, so {@code "clean code martin"} finds
+     * "Clean Code" by "Robert C. Martin".</p>
+     *
+     * @param query free-text query
+     * @param limit maximum number of results (clamped to 1..100)
+     * @return {@link StandardResponse} with matching books in relevance order
+     */
+    StandardResponse searchBooks(String query, int limit);
+
+    /**
+     * Type-ahead completions for titles and authors starting with the given prefix.
+     *
+     * <p>Served from the in-memory {@link com.bookreviewplatform.bookservice.index.BookSuggestionIndex};
+     * completions are precomputed per prefix and ranked by the number of reviews across the
+     * books sharing the title or author.</p>
+     *
+     * @param prefix what the user has typed so far
+     * @param limit  maximum number of completions (clamped to 1..10)
+     * @return {@link StandardResponse} with completions in popularity order
+     */
+    StandardResponse suggestBooks(String prefix, int limit);
+
+    /**
+     * Returns the clusters of near-duplicate books found by the latest run of the
+     * offline clustering job (an empty list until the first run, which starts
+     * right after the startup index rebuild, has finished).
+     *
+     * @return {@link StandardResponse} with a list of duplicate clusters
+     */
+    StandardResponse getDuplicateClusters();
 }
\ No newline at end of file
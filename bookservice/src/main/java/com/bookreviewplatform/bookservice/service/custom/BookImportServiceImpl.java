@@ -0,0 +1,286 @@
+package com.bookreviewplatform.bookservice.service.custom;
+
+import com.bookreviewplatform.bookservice.author.AuthorCatalog;
+import com.bookreviewplatform.bookservice.dto.BookImportReportDTO;
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.importer.BookRecordReader;
+import com.bookreviewplatform.bookservice.importer.BookRecordReader.ImportRecord;
+import com.bookreviewplatform.bookservice.importer.ImportFormat;
+import com.bookreviewplatform.bookservice.importer.ImportProgress;
+import com.bookreviewplatform.bookservice.index.CatalogIndex;
+import com.bookreviewplatform.bookservice.index.NearDuplicateIndex;
+import com.bookreviewplatform.bookservice.index.TextNormalizer;
+import com.bookreviewplatform.bookservice.index.TitleAuthorKey;
+import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+import com.bookreviewplatform.bookservice.repository.AuthorRepository;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import com.bookreviewplatform.bookservice.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+@Service
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+    private final Logger logger = Logger.getLogger(BookImportServiceImpl.class.getName());
+    private static final int MAX_TITLE_LENGTH = 500;
+    private static final int MAX_AUTHOR_LENGTH = 200;
+
+    /**
+     * Finished imports kept around for progress queries; running imports are never evicted.
+     */
+    private static final int MAX_TRACKED_IMPORTS = 20;
+
+    private final BookRepository bookRepository;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final List<CatalogIndex> catalogIndexes;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuthorCatalog authorCatalog;
+    private final AuthorRepository authorRepository;
+
+    private final Map<UUID, ImportProgress> imports = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, ImportProgress> eldest) {
+                    return size() > MAX_TRACKED_IMPORTS && !eldest.getValue().isRunning();
+                }
+            });
+
+    /**
+     * Records per transaction; should match {@code hibernate.jdbc.batch_size} so each
+     * chunk is sent as a single JDBC batch.
+     */
+    @Value("${bookservice.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${bookservice.import.max-reported-rows:100}")
+    private int maxReportedRows;
+
+    /**
+     * Records whose best near-duplicate match reaches this similarity are skipped;
+     * weaker matches are imported and reported as flagged.
+     */
+    @Value("${bookservice.dedup.reject-threshold:0.95}")
+    private double rejectThreshold;
+
+    @Override
+    public StandardResponse importBooks(String contentType, InputStream input) {
+        ImportFormat format;
+        try {
+            format = ImportFormat.fromContentType(contentType);
+        } catch (IllegalArgumentException e) {
+            logger.warning(() -> "Rejected import: " + e.getMessage());
+            return StandardResponse.error("Unsupported import format", e.getMessage());
+        }
+
+        ImportProgress progress = new ImportProgress(format, maxReportedRows);
+        imports.put(progress.getId(), progress);
+        logger.info(() -> "Starting " + format + " import " + progress.getId());
+
+        try (BookRecordReader reader = BookRecordReader.open(format, input, objectMapper)) {
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                progress.received();
+                String problem = validate(record);
+                if (problem != null) {
+                    progress.rejected(record.line(), problem);
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, progress);
+            progress.completed();
+
+            BookImportReportDTO report = progress.toReport();
+            logger.info(() -> "Import " + report.getImportId() + " completed: " + report.getImported() + " imported, "
+                    + report.getDuplicates() + " duplicates, " + report.getRejected() + " rejected of "
+                    + report.getReceived() + " records (" + Math.round(report.getRecordsPerSecond()) + " records/s)");
+            return StandardResponse.success("Import completed", report);
+        } catch (IllegalArgumentException e) {
+            progress.failed(e.getMessage());
+            logger.warning(() -> "Import " + progress.getId() + " rejected: " + e.getMessage());
+            return StandardResponse.error("Invalid import file", e.getMessage());
+        } catch (Exception e) {
+            progress.failed(e.getMessage());
+            logger.severe(() -> "Import " + progress.getId() + " failed: " + e.getMessage());
+            return StandardResponse.error("Import failed",
+                    "Import " + progress.getId() + " stopped after " + progress.toReport().getReceived()
+                            + " records; committed chunks were kept: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public StandardResponse getImport(UUID importId) {
+        ImportProgress progress = imports.get(importId);
+        if (progress == null) {
+            logger.warning(() -> "Import not found with id: " + importId);
+            return StandardResponse.error("Import not found", "No running or recent import with id: " + importId);
+        }
+        return StandardResponse.success("Import retrieved successfully", progress.toReport());
+    }
+
+    @Override
+    public StandardResponse getImports() {
+        List<BookImportReportDTO> reports;
+        synchronized (imports) {
+            reports = imports.values().stream().map(ImportProgress::toReport).toList();
+        }
+        return StandardResponse.success("Imports retrieved successfully", reports);
+    }
+
+    private String validate(ImportRecord record) {
+        if (record.error() != null) {
+            return record.error();
+        }
+        if (record.title() == null || record.title().isBlank()) {
+            return "Title is required";
+        }
+        if (record.author() == null || record.author().isBlank()) {
+            return "Author is required";
+        }
+        if (record.title().length() > MAX_TITLE_LENGTH) {
+            return "Title exceeds " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (record.author().length() > MAX_AUTHOR_LENGTH) {
+            return "Author exceeds " + MAX_AUTHOR_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    /**
+     * Deduplicates one chunk and inserts the remaining books in a single transaction,
+     * together with one book-count increment per distinct author.
+     *
+     * <p>Exact duplicates are matched on {@link TitleAuthorKey}, the same key the unique
+     * index enforces, both against the catalog and within the chunk. Existing books are
+     * found with one {@code titleAuthorKey IN (...)} query for the whole chunk rather
+     * than one lookup per record. Earlier chunks are already committed, so the same
+     * query also catches repeats across chunks.</p>
+     *
+     * <p>Near-duplicates are checked against the catalog index and against a
+     * chunk-local index of the records accepted so far, which only reaches the
+     * catalog index once the chunk has committed.</p>
+     */
+    private void importChunk(List<ImportRecord> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Wrapped so maps and sets compare key contents, not array identity.
+        List<ByteBuffer> keys = chunk.stream()
+                .map(record -> ByteBuffer.wrap(TitleAuthorKey.of(record.title(), record.author())))
+                .toList();
+        List<byte[]> titleAuthorKeys = new HashSet<>(keys).stream().map(ByteBuffer::array).toList();
+        Map<ByteBuffer, UUID> existing = new HashMap<>();
+        for (Book book : bookRepository.findByTitleAuthorKeyIn(titleAuthorKeys)) {
+            existing.putIfAbsent(ByteBuffer.wrap(book.getTitleAuthorKey()), book.getId());
+        }
+
+        NearDuplicateIndex accepted = nearDuplicateIndex.newEmpty();
+        Map<UUID, Long> acceptedLines = new HashMap<>();
+        Map<ByteBuffer, Long> firstLineByKey = new HashMap<>();
+        List<Book> books = new ArrayList<>(chunk.size());
+        List<Long> lines = new ArrayList<>(chunk.size());
+        List<String> flags = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRecord record = chunk.get(i);
+            ByteBuffer key = keys.get(i);
+            UUID existingId = existing.get(key);
+            if (existingId != null) {
+                progress.duplicate(record.line(), "Duplicate of existing book " + existingId);
+                continue;
+            }
+            Long firstLine = firstLineByKey.putIfAbsent(key, record.line());
+            if (firstLine != null) {
+                progress.duplicate(record.line(), "Duplicate of line " + firstLine);
+                continue;
+            }
+
+            String flag = null;
+            List<NearDuplicateIndex.Match> matches = nearDuplicateIndex.findNearDuplicates(record.title(), record.author());
+            if (!matches.isEmpty()) {
+                NearDuplicateIndex.Match match = matches.get(0);
+                flag = "Near-duplicate of existing book " + match.id()
+                        + " ('" + match.title() + "' by " + match.author() + ")";
+                if (match.similarity() >= rejectThreshold) {
+                    progress.duplicate(record.line(), flag);
+                    continue;
+                }
+            }
+            List<NearDuplicateIndex.Match> inChunk = accepted.findNearDuplicates(record.title(), record.author());
+            if (!inChunk.isEmpty()) {
+                NearDuplicateIndex.Match match = inChunk.get(0);
+                String note = "Near-duplicate of line " + acceptedLines.get(match.id())
+                        + " ('" + match.title() + "' by " + match.author() + ")";
+                if (match.similarity() >= rejectThreshold) {
+                    progress.duplicate(record.line(), note);
+                    continue;
+                }
+                flag = flag != null ? flag : note;
+            }
+
+            Book book = Book.builder().title(record.title()).author(record.author()).build();
+            // Placeholder id for the chunk-local index only; the entity gets its own on insert.
+            UUID placeholder = UUID.randomUUID();
+            accepted.add(Book.builder().id(placeholder).title(record.title()).author(record.author()).build());
+            acceptedLines.put(placeholder, record.line());
+            books.add(book);
+            lines.add(record.line());
+            flags.add(flag);
+        }
+        if (books.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Authors are resolved (and created) outside the chunk transaction, so a
+            // rolled-back chunk at worst leaves an author with no books yet.
+            Map<String, UUID> authorIds = authorCatalog.resolveAll(books.stream().map(Book::getAuthor).toList());
+            Map<UUID, Long> booksPerAuthor = new HashMap<>();
+            for (Book book : books) {
+                UUID authorId = authorIds.get(TextNormalizer.normalize(book.getAuthor()));
+                book.setAuthorId(authorId);
+                booksPerAuthor.merge(authorId, 1L, Long::sum);
+            }
+            // The persistence context is transaction-scoped, so the saved entities
+            // are detached (and collectable) as soon as the chunk commits.
+            List<Book> saved = transactionTemplate.execute(status -> {
+                List<Book> inserted = bookRepository.saveAll(books);
+                booksPerAuthor.forEach(authorRepository::adjustBookCount);
+                return inserted;
+            });
+            booksPerAuthor.keySet().forEach(authorCatalog::evict);
+            catalogIndexes.forEach(index -> index.addAll(saved));
+            progress.imported(saved.size());
+            for (int i = 0; i < flags.size(); i++) {
+                if (flags.get(i) != null) {
+                    progress.flagged(lines.get(i), flags.get(i));
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.severe(() -> "Import " + progress.getId() + " chunk failed and was rolled back: " + e.getMessage());
+            lines.forEach(line -> progress.rejected(line, "Chunk insert failed: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+}
@@ -1,17 +1,42 @@
 package com.bookreviewplatform.bookservice.service.custom;
 
+import com.bookreviewplatform.bookservice.author.AuthorCatalog;
+import com.bookreviewplatform.bookservice.cache.BookCache;
+import com.bookreviewplatform.bookservice.dto.AuthorBooksDTO;
+import com.bookreviewplatform.bookservice.dto.AuthorDTO;
 import com.bookreviewplatform.bookservice.dto.BookDTO;
 import com.bookreviewplatform.bookservice.dto.BookRequestDTO;
+import com.bookreviewplatform.bookservice.dto.BookSuggestionDTO;
+import com.bookreviewplatform.bookservice.dto.DuplicateClusterDTO;
 import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.exception.AuthorNotFoundException;
 import com.bookreviewplatform.bookservice.exception.BookNotFoundException;
+import com.bookreviewplatform.bookservice.exception.DuplicateBookException;
+import com.bookreviewplatform.bookservice.exception.VersionConflictException;
+import com.bookreviewplatform.bookservice.index.BookSearchIndex;
+import com.bookreviewplatform.bookservice.index.BookSuggestionIndex;
+import com.bookreviewplatform.bookservice.index.CatalogIndex;
+import com.bookreviewplatform.bookservice.index.NearDuplicateClusterJob;
+import com.bookreviewplatform.bookservice.index.NearDuplicateIndex;
+import com.bookreviewplatform.bookservice.index.TitleAuthorKey;
+import com.bookreviewplatform.bookservice.mapper.BookMapper;
 import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+import com.bookreviewplatform.bookservice.repository.AuthorRepository;
 import com.bookreviewplatform.bookservice.repository.BookRepository;
 import com.bookreviewplatform.bookservice.service.BookService;
+import com.bookreviewplatform.common.etag.CollectionVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -19,19 +44,91 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
     private final Logger logger = Logger.getLogger(BookServiceImpl.class.getName());
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final NearDuplicateClusterJob nearDuplicateClusterJob;
+    private final List<CatalogIndex> catalogIndexes;
+    private final AuthorCatalog authorCatalog;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookMapper bookMapper;
+
+    /**
+     * Near-duplicates at or above this similarity are rejected; weaker matches (down to
+     * {@code bookservice.dedup.similarity-threshold}) are created and flagged in the response message.
+     */
+    @Value("${bookservice.dedup.reject-threshold:0.95}")
+    private double rejectThreshold;
 
     @Override
     public StandardResponse getAllBooks() {
         try {
             logger.fine("Fetching all books from database");
             List<BookDTO> books = bookRepository.findAll().stream()
-                    .map(this::convertToDTO)
+                    .map(bookMapper::toDTO)
                     .collect(Collectors.toList());
-            logger.fine("Found " + books.size() + " books in database");
+            logger.fine(() -> "Found " + books.size() + " books in database");
             return StandardResponse.success("Books retrieved successfully", books);
         } catch (Exception e) {
-            logger.severe("Error fetching books: " + e.getMessage());
+            logger.severe(() -> "Error fetching books: " + e.getMessage());
+            return StandardResponse.error("Failed to retrieve books", e.getMessage());
+        }
+    }
+
+    @Override
+    public CollectionVersion getCollectionVersion() {
+        return bookRepository.findCollectionVersion();
+    }
+
+    @Override
+    public StandardResponse getBooksByRating(int page, int size) {
+        try {
+            if (page < 0) {
+                return StandardResponse.error("Validation failed", "Page must not be negative");
+            }
+            int cappedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            logger.fine(() -> "Fetching page " + page + " of books sorted by rating");
+            List<BookDTO> books = bookRepository.findPageOrderByRating(PageRequest.of(page, cappedSize)).stream()
+                    .map(bookMapper::toDTO)
+                    .collect(Collectors.toList());
+            return StandardResponse.success("Books retrieved successfully", books);
+        } catch (Exception e) {
+            logger.severe(() -> "Error fetching books by rating: " + e.getMessage());
+            return StandardResponse.error("Failed to retrieve books", e.getMessage());
+        }
+    }
+
+    @Override
+    public StandardResponse getBooksByAuthor(UUID authorId, int page, int size) {
+        if (page < 0) {
+            return StandardResponse.error("Validation failed", "Page must not be negative");
+        }
+        AuthorDTO author = authorCatalog.getAuthor(authorId);
+        if (author == null) {
+            logger.warning(() -> "Author not found with id: " + authorId);
+            throw new AuthorNotFoundException(authorId);
+        }
+        try {
+            int cappedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            logger.fine(() -> "Fetching page " + page + " of books by author " + authorId);
+            List<BookDTO> books = bookRepository.findPageByAuthorId(authorId, PageRequest.of(page, cappedSize)).stream()
+                    .map(bookMapper::toDTO)
+                    .collect(Collectors.toList());
+            AuthorBooksDTO authorBooks = AuthorBooksDTO.builder()
+                    .author(author)
+                    .page(page)
+                    .size(cappedSize)
+                    .books(books)
+                    .build();
+            return StandardResponse.success("Books retrieved successfully", authorBooks);
+        } catch (Exception e) {
+            logger.severe(() -> "Error fetching books by author: " + e.getMessage());
             return StandardResponse.error("Failed to retrieve books", e.getMessage());
         }
     }
@@ -39,19 +136,24 @@ public class BookServiceImpl implements BookService {
     @Override
     public StandardResponse getBookById(UUID id) {
         try {
-            logger.fine("Searching for book with id: " + id);
-            Book book = bookRepository.findById(id)
-                    .orElseThrow(() -> {
-                        logger.severe("Book not found with id: " + id);
-                        return new BookNotFoundException("Book not found with id: " + id);
-                    });
-            logger.fine("Book found with id: " + id);
-            return StandardResponse.success("Book retrieved successfully", convertToDTO(book));
+            logger.fine(() -> "Searching for book with id: " + id);
+            BookDTO book = bookCache.getById(id, key -> bookRepository.findById(key)
+                    .map(bookMapper::toDTO)
+                    .orElse(null));
+            if (book == null) {
+                logger.severe(() -> "Book not found with id: " + id);
+                throw new BookNotFoundException("Book not found with id: " + id);
+            }
+            logger.fine(() -> "Book found with id: " + id);
+            return StandardResponse.success("Book retrieved successfully", book);
+        } catch (BookNotFoundException e) {
+            // Answered with 404 by GlobalExceptionHandler, so callers can tell a missing book from a failure.
+            throw e;
         } catch (RuntimeException e) {
-            logger.warning("Book not found with id: " + id);
+            logger.warning(() -> "Book not found with id: " + id);
             return StandardResponse.error("Book not found", e.getMessage());
         } catch (Exception e) {
-            logger.severe("Error retrieving book: " + e.getMessage());
+            logger.severe(() -> "Error retrieving book: " + e.getMessage());
             return StandardResponse.error("Failed to retrieve book", e.getMessage());
         }
     }
@@ -60,73 +162,330 @@ public class BookServiceImpl implements BookService {
     @Override
     public StandardResponse saveBook(BookRequestDTO bookRequestDTO) {
         try {
-            logger.fine("Creating new book with title: " + bookRequestDTO.getTitle() +
+            if (isBlank(bookRequestDTO.getTitle()) || isBlank(bookRequestDTO.getAuthor())) {
+                logger.warning("Create rejected: title and author are required");
+                return StandardResponse.error("Validation failed", "Title and author must not be empty");
+            }
+            logger.fine(() -> "Creating new book with title: " + bookRequestDTO.getTitle() +
                     " by author: " + bookRequestDTO.getAuthor());
 
+            Book sameBook = findSameBook(bookRequestDTO.getTitle(), bookRequestDTO.getAuthor());
+            if (sameBook != null) {
+                throw new DuplicateBookException("'" + bookRequestDTO.getTitle() + "' by " + bookRequestDTO.getAuthor()
+                        + " already exists as book " + sameBook.getId());
+            }
+
+            List<NearDuplicateIndex.Match> duplicates = nearDuplicateIndex.findNearDuplicates(
+                    bookRequestDTO.getTitle(), bookRequestDTO.getAuthor());
+            String duplicateNote = duplicates.isEmpty() ? null : duplicateNote(bookRequestDTO, duplicates.get(0));
+            if (duplicateNote != null) {
+                if (duplicates.get(0).similarity() >= rejectThreshold) {
+                    throw new DuplicateBookException(duplicateNote);
+                }
+                logger.warning(() -> "Creating flagged near-duplicate: " + duplicateNote);
+            }
+
+            UUID authorId = authorCatalog.resolve(bookRequestDTO.getAuthor());
             Book book = Book.builder()
                     .title(bookRequestDTO.getTitle())
                     .author(bookRequestDTO.getAuthor())
+                    .authorId(authorId)
                     .build();
 
-            Book savedBook = bookRepository.save(book);
-            logger.info("Book created successfully with id: " + savedBook.getId());
-            return StandardResponse.success("Book created successfully", convertToDTO(savedBook));
+            Book savedBook = transactionTemplate.execute(status -> {
+                Book saved = bookRepository.save(book);
+                authorRepository.adjustBookCount(authorId, 1);
+                return saved;
+            });
+            authorCatalog.evict(authorId);
+            catalogIndexes.forEach(index -> index.add(savedBook));
+            logger.info(() -> "Book created successfully with id: " + savedBook.getId());
+            String message = duplicateNote == null
+                    ? "Book created successfully"
+                    : "Book created successfully (possible duplicate: " + duplicateNote + ")";
+            return StandardResponse.success(message, bookMapper.toDTO(savedBook));
+        } catch (DuplicateBookException e) {
+            logger.warning(() -> "Duplicate book rejected: " + e.getMessage());
+            return StandardResponse.error("Duplicate book", e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent create of the same book won the unique title/author key.
+            logger.warning(() -> "Duplicate book rejected by unique key: " + bookRequestDTO.getTitle());
+            return StandardResponse.error("Duplicate book", "'" + bookRequestDTO.getTitle() + "' by "
+                    + bookRequestDTO.getAuthor() + " already exists");
         } catch (Exception e) {
-            logger.severe("Error creating book: " + e.getMessage());
+            logger.severe(() -> "Error creating book: " + e.getMessage());
             return StandardResponse.error("Failed to create book", e.getMessage());
         }
     }
 
     @Override
-    public StandardResponse updateBook(UUID id, BookRequestDTO bookRequestDTO) {
+    public StandardResponse getBookByTitleAndAuthor(String title, String author) {
         try {
-            logger.fine("Updating book with id: " + id);
-            Book book = bookRepository.findById(id)
-                    .orElseThrow(() -> {
-                        logger.severe("Book not found with id: " + id);
-                        return new BookNotFoundException("Book not found with id: " + id);
-                    });
-
-            logger.fine("Updating book details - Title: " + bookRequestDTO.getTitle() +
-                    ", Author: " + bookRequestDTO.getAuthor());
-            book.setTitle(bookRequestDTO.getTitle());
-            book.setAuthor(bookRequestDTO.getAuthor());
-
-            Book updatedBook = bookRepository.save(book);
-            logger.info("Book updated successfully with id: " + id);
-            return StandardResponse.success("Book updated successfully", convertToDTO(updatedBook));
-        } catch (RuntimeException e) {
-            logger.warning("Book not found with id: " + id);
+            if (title == null || title.isBlank() || author == null || author.isBlank()) {
+                logger.warning("Lookup rejected: title and author are required");
+                return StandardResponse.error("Validation failed", "Title and author must not be empty");
+            }
+            logger.fine(() -> "Looking up book with title: " + title + " by author: " + author);
+            BookDTO book = bookCache.getByTitleAndAuthor(title, author, () -> {
+                Book found = findSameBook(title, author);
+                return found == null ? null : bookMapper.toDTO(found);
+            });
+            if (book == null) {
+                logger.warning(() -> "Book not found with title: " + title + " by author: " + author);
+                throw new BookNotFoundException("Book not found with title '" + title + "' by " + author);
+            }
+            return StandardResponse.success("Book retrieved successfully", book);
+        } catch (BookNotFoundException e) {
             return StandardResponse.error("Book not found", e.getMessage());
         } catch (Exception e) {
-            logger.severe("Error updating book: " + e.getMessage());
+            logger.severe(() -> "Error looking up book: " + e.getMessage());
+            return StandardResponse.error("Failed to retrieve book", e.getMessage());
+        }
+    }
+
+    @Override
+    public StandardResponse updateBook(UUID id, BookRequestDTO bookRequestDTO, Long expectedVersion) {
+        if (isBlank(bookRequestDTO.getTitle()) || isBlank(bookRequestDTO.getAuthor())) {
+            logger.warning("Update rejected: title and author are required");
+            return StandardResponse.error("Validation failed", "Title and author must not be empty");
+        }
+        return writeUpdate(id, bookRequestDTO, expectedVersion);
+    }
+
+    @Override
+    public StandardResponse patchBook(UUID id, BookRequestDTO bookRequestDTO, Long expectedVersion) {
+        String title = bookRequestDTO.getTitle();
+        String author = bookRequestDTO.getAuthor();
+        if ((title == null && author == null)
+                || (title != null && title.isBlank()) || (author != null && author.isBlank())) {
+            logger.warning("Patch rejected: nothing to update or blank field");
+            return StandardResponse.error("Validation failed", "Provide a non-empty title and/or author");
+        }
+        return writeUpdate(id, bookRequestDTO, expectedVersion);
+    }
+
+    /**
+     * Updates the book without loading it first: one UPDATE that moves the book
+     * between its authors' counts (a no-op when the author is unchanged) and one
+     * versioned UPDATE of the book, in one transaction. The affected-row count
+     * tells success from failure, and only a failure pays for a second query to
+     * decide between 404 and a version conflict.
+     *
+     * <p>A full update reads only the book's current author id beforehand, so
+     * both authors' cached pages can be dropped, and reads the row back after,
+     * so the response carries the same fields, version and ETag as a
+     * {@code GET}. A partial update reads the book
+     * first instead, because the title/author key covers both fields; the UPDATE
+     * is guarded by the version it read, so on success the new row is exactly the
+     * one read plus this change and no read-back is needed.</p>
+     */
+    private StandardResponse writeUpdate(UUID id, BookRequestDTO bookRequestDTO, Long expectedVersion) {
+        String title = bookRequestDTO.getTitle();
+        String author = bookRequestDTO.getAuthor();
+        Book current = null;
+        Long guardVersion = expectedVersion;
+        Instant now = Instant.now();
+        UUID authorId;
+        UUID previousAuthorId;
+        int updated;
+        try {
+            if (title == null || author == null) {
+                current = bookRepository.findById(id).orElseThrow(() -> new BookNotFoundException(id));
+                title = title != null ? title : current.getTitle();
+                author = author != null ? author : current.getAuthor();
+                guardVersion = expectedVersion != null ? expectedVersion : current.getVersion();
+                previousAuthorId = current.getAuthorId();
+            } else {
+                previousAuthorId = bookRepository.findAuthorIdById(id).orElse(null);
+            }
+            logger.log(Level.FINE, "Updating book with id: {0} - Title: {1}, Author: {2}",
+                    new Object[]{id, title, author});
+            authorId = authorCatalog.resolve(author);
+            updated = moveBook(id, title, author, authorId, previousAuthorId, guardVersion, now);
+        } catch (BookNotFoundException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            logger.warning(() -> "Update of book with id: " + id + " rejected by unique title/author key");
+            return StandardResponse.error("Duplicate book", "'" + title + "' by " + author + " already exists");
+        } catch (Exception e) {
+            logger.severe(() -> "Error updating book: " + e.getMessage());
             return StandardResponse.error("Failed to update book", e.getMessage());
         }
+        if (updated == 0) {
+            Long staleVersion = guardVersion;
+            if (staleVersion != null && bookRepository.existsById(id)) {
+                logger.warning(() -> "Stale update of book with id: " + id + " at version " + staleVersion);
+                throw new VersionConflictException("Book " + id + " is no longer at version " + staleVersion);
+            }
+            logger.warning(() -> "Book not found with id: " + id);
+            throw new BookNotFoundException(id);
+        }
+        bookCache.invalidate(id);
+
+        Book updatedBook = current == null
+                ? bookRepository.findById(id).orElseThrow(() -> new BookNotFoundException(id))
+                : Book.builder()
+                        .id(id)
+                        .title(title)
+                        .author(author)
+                        .authorId(authorId)
+                        .titleAuthorKey(TitleAuthorKey.of(title, author))
+                        .version(current.getVersion() + 1)
+                        .lastModified(now)
+                        .reviewCount(current.getReviewCount())
+                        .ratingSum(current.getRatingSum())
+                        .avgRating(current.getAvgRating())
+                        .build();
+        catalogIndexes.forEach(index -> index.update(updatedBook));
+        logger.info(() -> "Book updated successfully with id: " + id);
+        return StandardResponse.success("Book updated successfully", bookMapper.toDTO(updatedBook));
     }
 
     @Override
     public StandardResponse deleteBook(UUID id) {
+        int deleted;
+        UUID authorId;
         try {
-            logger.fine("Checking if book exists with id: " + id);
-            if (!bookRepository.existsById(id)) {
-                logger.warning("Book not found with id: " + id);
-                return StandardResponse.error("Book not found", "Book with id " + id + " does not exist");
-            }
-            logger.fine("Deleting book with id: " + id);
-            bookRepository.deleteById(id);
-            logger.info("Book deleted successfully with id: " + id);
-            return StandardResponse.success("Book deleted successfully", true);
+            logger.fine(() -> "Deleting book with id: " + id);
+            authorId = bookRepository.findAuthorIdById(id).orElse(null);
+            deleted = transactionTemplate.execute(status -> {
+                authorRepository.releaseBook(id);
+                return bookRepository.deleteDirectlyById(id);
+            });
         } catch (Exception e) {
-            logger.severe("Error deleting book: " + e.getMessage());
+            logger.severe(() -> "Error deleting book: " + e.getMessage());
             return StandardResponse.error("Failed to delete book", e.getMessage());
         }
+        if (deleted == 0) {
+            logger.warning(() -> "Book not found with id: " + id);
+            throw new BookNotFoundException("Book with id " + id + " does not exist");
+        }
+        if (authorId != null) {
+            authorCatalog.evict(authorId);
+        }
+        bookCache.invalidate(id);
+        catalogIndexes.forEach(index -> index.remove(id));
+        logger.info(() -> "Book deleted successfully with id: " + id);
+        return StandardResponse.success("Book deleted successfully", true);
+    }
+
+    @Override
+    public StandardResponse searchBooks(String query, int limit) {
+        try {
+            if (query == null || query.isBlank()) {
+                logger.warning("Search rejected: empty query");
+                return StandardResponse.error("Validation failed", "Search query must not be empty");
+            }
+            int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+            logger.fine(() -> "Searching books for query: " + query);
+            List<BookDTO> books = bookSearchIndex.search(query, cappedLimit).stream()
+                    .map(hit -> BookDTO.builder()
+                            .id(hit.id())
+                            .title(hit.title())
+                            .author(hit.author())
+                            .build())
+                    .collect(Collectors.toList());
+            logger.fine(() -> "Found " + books.size() + " books matching query: " + query);
+            return StandardResponse.success("Books retrieved successfully", books);
+        } catch (Exception e) {
+            logger.severe(() -> "Error searching books: " + e.getMessage());
+            return StandardResponse.error("Failed to search books", e.getMessage());
+        }
+    }
+
+    @Override
+    public StandardResponse suggestBooks(String prefix, int limit) {
+        try {
+            if (prefix == null || prefix.isBlank()) {
+                return StandardResponse.error("Validation failed", "Prefix must not be empty");
+            }
+            int cappedLimit = Math.max(1, Math.min(limit, BookSuggestionIndex.COMPLETIONS_PER_NODE));
+            List<BookSuggestionDTO> suggestions = bookSuggestionIndex.suggest(prefix, cappedLimit).stream()
+                    .map(suggestion -> BookSuggestionDTO.builder()
+                            .text(suggestion.text())
+                            .type(suggestion.kind().name())
+                            .bookCount(suggestion.bookCount())
+                            .reviewCount(suggestion.reviewCount())
+                            .build())
+                    .collect(Collectors.toList());
+            return StandardResponse.success("Suggestions retrieved successfully", suggestions);
+        } catch (Exception e) {
+            logger.severe(() -> "Error suggesting books: " + e.getMessage());
+            return StandardResponse.error("Failed to retrieve suggestions", e.getMessage());
+        }
+    }
+
+    @Override
+    public StandardResponse getDuplicateClusters() {
+        try {
+            Optional<NearDuplicateClusterJob.Report> lastReport = nearDuplicateClusterJob.lastReport();
+            if (lastReport.isEmpty()) {
+                return StandardResponse.success("Duplicate clusters are still being computed", List.of());
+            }
+            NearDuplicateClusterJob.Report report = lastReport.get();
+            List<DuplicateClusterDTO> clusters = report.clusters().stream()
+                    .map(cluster -> DuplicateClusterDTO.builder()
+                            .books(cluster.stream()
+                                    .map(match -> BookDTO.builder()
+                                            .id(match.id())
+                                            .title(match.title())
+                                            .author(match.author())
+                                            .build())
+                                    .collect(Collectors.toList()))
+                            .detectedAt(report.generatedAt())
+                            .build())
+                    .collect(Collectors.toList());
+            return StandardResponse.success("Duplicate clusters retrieved successfully", clusters);
+        } catch (Exception e) {
+            logger.severe(() -> "Error retrieving duplicate clusters: " + e.getMessage());
+            return StandardResponse.error("Failed to retrieve duplicate clusters", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the new title and author and, if the author changed, moves the book
+     * between the two authors' counts. Both statements run in one transaction,
+     * with relative updates only, so the book is never loaded. Both authors'
+     * cached pages are dropped afterwards.
+     *
+     * @param previousAuthorId the author read before the update, or {@code null} if it had none
+     * @return rows updated: 0 (and nothing written) if the book is missing or at another version
+     */
+    private int moveBook(UUID id, String title, String author, UUID authorId, UUID previousAuthorId,
+                         Long guardVersion, Instant now) {
+        Integer updated = transactionTemplate.execute(status -> {
+            authorRepository.moveBook(id, authorId);
+            int rows = bookRepository.updateTitleAndAuthor(id, title, author, authorId,
+                    TitleAuthorKey.of(title, author), guardVersion, now);
+            if (rows == 0) {
+                status.setRollbackOnly();
+            }
+            return rows;
+        });
+        authorCatalog.evict(authorId);
+        if (previousAuthorId != null && !previousAuthorId.equals(authorId)) {
+            authorCatalog.evict(previousAuthorId);
+        }
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * Finds the book with the same normalised title and author: one probe of the
+     * unique key index, confirmed on the actual text.
+     */
+    private Book findSameBook(String title, String author) {
+        return bookRepository.findByTitleAuthorKey(TitleAuthorKey.of(title, author))
+                .filter(book -> TitleAuthorKey.matches(title, author, book.getTitle(), book.getAuthor()))
+                .orElse(null);
+    }
+
+    private static String duplicateNote(BookRequestDTO request, NearDuplicateIndex.Match existing) {
+        return "'" + request.getTitle() + "' by " + request.getAuthor()
+                + " is a near-duplicate of existing book " + existing.id()
+                + " ('" + existing.title() + "' by " + existing.author() + ")";
     }
 
-    private BookDTO convertToDTO(Book book) {
-        return BookDTO.builder()
-                .id(book.getId())
-                .title(book.getTitle())
-                .author(book.getAuthor())
-                .build();
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 }
@@ -0,0 +1,176 @@
+package com.bookreviewplatform.bookservice.snapshot;
+
+import com.bookreviewplatform.bookservice.dto.BookDTO;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only, memory-mapped view of a catalog snapshot file.
+ *
+ * <p>File layout (big-endian):</p>
+ * <pre>
+ * header   magic:int  formatVersion:int  count:int  reserved:int  takenAt:long  stringsOffset:long
+ * records  count x { idMsb:long  idLsb:long  version:long  titleOffset:int  authorOffset:int
+ *                   reviewCount:int  ratingSum:long  authorMsb:long  authorLsb:long }
+ * strings  { length:int  utf8:byte[length] }...   (shared by all records, deduplicated)
+ * </pre>
+ *
+ * <p>Records are fixed-width and sorted by id in unsigned byte order, the same
+ * order MySQL uses for {@code order by id}. A lookup is a binary search
+ * directly over the mapped pages, so opening a snapshot costs nothing up front,
+ * and the OS page cache is shared by every instance on the host that maps the
+ * same file.</p>
+ *
+ * <p>Instances are immutable and safe for concurrent use; all reads use
+ * absolute positions on the shared buffer.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x424B534E; // "BKSN"
+    static final int FORMAT_VERSION = 3;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 60;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final Instant takenAt;
+    private final int stringsOffset;
+
+    private CatalogSnapshot(MappedByteBuffer buffer, int count, Instant takenAt, int stringsOffset) {
+        this.buffer = buffer;
+        this.count = count;
+        this.takenAt = takenAt;
+        this.stringsOffset = stringsOffset;
+    }
+
+    /**
+     * Maps a snapshot file and validates its header.
+     *
+     * @param path the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Unsupported snapshot size " + size + " bytes: " + path);
+            }
+            // The mapping stays valid after the channel is closed.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a catalog snapshot (or unsupported format version): " + path);
+            }
+            int count = buffer.getInt(8);
+            long stringsOffset = buffer.getLong(24);
+            if (count < 0 || stringsOffset != HEADER_SIZE + (long) count * RECORD_SIZE || stringsOffset > size) {
+                throw new IOException("Corrupt catalog snapshot header: " + path);
+            }
+            return new CatalogSnapshot(buffer, count, Instant.ofEpochMilli(buffer.getLong(16)), (int) stringsOffset);
+        }
+    }
+
+    /**
+     * @return number of books in the snapshot
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return when writing of the snapshot started; every change after this
+     * instant may be missing from it
+     */
+    public Instant takenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Looks a book up by id.
+     *
+     * @param id the book id
+     * @return the book as of the snapshot, or {@code null} if it is not in the snapshot
+     */
+    public BookDTO find(UUID id) {
+        int index = indexOf(id);
+        return index < 0 ? null : bookAt(index);
+    }
+
+    /**
+     * @param index record position, {@code 0 <= index < size()}
+     * @return the id of the record, in snapshot (ascending id) order
+     */
+    public UUID idAt(int index) {
+        int position = HEADER_SIZE + index * RECORD_SIZE;
+        return new UUID(buffer.getLong(position), buffer.getLong(position + 8));
+    }
+
+    /**
+     * Orders ids the way the snapshot (and MySQL) does: by their 16 bytes, unsigned.
+     */
+    public static int compare(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result
+                : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private int indexOf(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = HEADER_SIZE + mid * RECORD_SIZE;
+            int result = Long.compareUnsigned(buffer.getLong(position), msb);
+            if (result == 0) {
+                result = Long.compareUnsigned(buffer.getLong(position + 8), lsb);
+            }
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private BookDTO bookAt(int index) {
+        int position = HEADER_SIZE + index * RECORD_SIZE;
+        long reviewCount = buffer.getInt(position + 32);
+        long ratingSum = buffer.getLong(position + 36);
+        long authorMsb = buffer.getLong(position + 44);
+        long authorLsb = buffer.getLong(position + 52);
+        return BookDTO.builder()
+                .id(new UUID(buffer.getLong(position), buffer.getLong(position + 8)))
+                .version(buffer.getLong(position + 16))
+                .title(stringAt(buffer.getInt(position + 24)))
+                .author(stringAt(buffer.getInt(position + 28)))
+                .authorId(authorMsb == 0 && authorLsb == 0 ? null : new UUID(authorMsb, authorLsb))
+                .reviewCount(reviewCount)
+                .avgRating(reviewCount > 0 ? (double) ratingSum / reviewCount : null)
+                .build();
+    }
+
+    private String stringAt(int offset) {
+        int position = stringsOffset + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,250 @@
+package com.bookreviewplatform.bookservice.snapshot;
+
+import com.bookreviewplatform.bookservice.dto.BookDTO;
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.mapper.BookMapper;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Serves book reads from the latest {@link CatalogSnapshot} while the
+ * database catches up in the background.
+ *
+ * <p>On startup the snapshot file written by {@link CatalogSnapshotWriter} is
+ * memory-mapped, if there is one. From then on {@link #find(UUID)} can answer
+ * without touching MySQL. Newer changes are layered on top in an overlay:</p>
+ * <ul>
+ *   <li>a periodic catch-up loads every book modified since the last pass
+ *   (by {@code lastModified}, minus {@code bookservice.snapshot.catch-up-margin}
+ *   to absorb clock skew between instances);</li>
+ *   <li>the first pass after loading a file from disk also merges the
+ *   database ids against the snapshot's, to find books deleted while this
+ *   instance was down;</li>
+ *   <li>cache invalidations for local and peer writes leave a tombstone
+ *   through {@link #evict(Collection)}.</li>
+ * </ul>
+ *
+ * <p>A tombstone or a miss makes {@link #find(UUID)} return {@code null}, and
+ * the caller falls back to the database. A snapshot read is therefore at
+ * worst as stale as a {@link com.bookreviewplatform.bookservice.cache.BookCache}
+ * entry: until the first catch-up completes, or until a peer's invalidation
+ * arrives.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotStore {
+
+    private final Logger logger = Logger.getLogger(CatalogSnapshotStore.class.getName());
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+
+    private final Map<UUID, Entry> overlay = new ConcurrentHashMap<>();
+    private final List<Consumer<Collection<UUID>>> changeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile Instant watermark;
+    private volatile boolean deletesVerified = true;
+
+    @Value("${bookservice.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bookservice.snapshot.path:data/catalog.snapshot}")
+    private String snapshotPath;
+
+    @Value("${bookservice.snapshot.catch-up-margin:1m}")
+    private Duration catchUpMargin;
+
+    @Value("${bookservice.index.rebuild-batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Maps the snapshot file left by a previous run, if any. Mapping is lazy,
+     * so this does not delay startup even for a large catalog.
+     */
+    @PostConstruct
+    public void loadExisting() {
+        Path path = Paths.get(snapshotPath).toAbsolutePath();
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        try {
+            load(path);
+            deletesVerified = false;
+        } catch (IOException e) {
+            logger.warning(() -> "Ignoring unreadable catalog snapshot " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Switches to the snapshot at {@code path}. Overlay entries that may be
+     * newer than the snapshot are kept; the rest are now part of it.
+     *
+     * @param path the snapshot file
+     * @throws IOException if the file is not a valid snapshot
+     */
+    public synchronized void load(Path path) throws IOException {
+        CatalogSnapshot loaded = CatalogSnapshot.open(path);
+        Instant coveredUntil = loaded.takenAt().minus(catchUpMargin);
+        overlay.values().removeIf(entry -> entry.at().isBefore(coveredUntil));
+        if (watermark == null || watermark.isAfter(coveredUntil)) {
+            watermark = coveredUntil;
+        }
+        snapshot = loaded;
+        logger.info(() -> "Mapped catalog snapshot with " + loaded.size() + " books taken at " + loaded.takenAt());
+    }
+
+    /**
+     * @param id the book id
+     * @return the book from the snapshot or overlay, or {@code null} if the
+     * caller must ask the database
+     */
+    public BookDTO find(UUID id) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        Entry entry = overlay.get(id);
+        if (entry != null) {
+            return entry.book();
+        }
+        return current.find(id);
+    }
+
+    /**
+     * Marks books as changed, so reads go to the database until the next catch-up.
+     *
+     * @param ids ids of updated or deleted books
+     */
+    public void evict(Collection<UUID> ids) {
+        if (snapshot == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (UUID id : ids) {
+            overlay.put(id, new Entry(null, now));
+        }
+    }
+
+    /**
+     * Registers a callback for books the catch-up found changed, so caches
+     * filled from the snapshot can drop them.
+     *
+     * @param listener receives the ids of changed books
+     */
+    public void onChange(Consumer<Collection<UUID>> listener) {
+        changeListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${bookservice.snapshot.catch-up-interval-ms:30000}")
+    public void catchUpScheduled() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (Exception e) {
+            logger.warning(() -> "Catalog snapshot catch-up failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads every book modified since the watermark into the overlay and, once
+     * per loaded file, tombstones books deleted since it was written.
+     */
+    public synchronized void catchUp() {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        List<UUID> changed = new ArrayList<>();
+        UUID after = null;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findBatchModifiedSince(watermark, after, PageRequest.ofSize(batchSize));
+            for (Book book : batch) {
+                UUID id = book.getId();
+                BookDTO dto = bookMapper.toDTO(book);
+                // An eviction after the query started may reflect a write this batch missed.
+                overlay.compute(id, (key, old) ->
+                        old != null && old.at().isAfter(startedAt) ? old : new Entry(dto, startedAt));
+                changed.add(id);
+                after = id;
+            }
+        } while (batch.size() == batchSize);
+
+        if (!deletesVerified) {
+            changed.addAll(tombstoneDeleted(startedAt));
+            deletesVerified = true;
+        }
+        watermark = startedAt.minus(catchUpMargin);
+
+        if (!changed.isEmpty()) {
+            changeListeners.forEach(listener -> listener.accept(changed));
+        }
+        logger.fine(() -> "Catalog snapshot catch-up applied " + changed.size() + " changes in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Walks the database ids and the snapshot ids side by side, both in id
+     * order, and tombstones snapshot ids the database no longer has.
+     */
+    private List<UUID> tombstoneDeleted(Instant at) {
+        CatalogSnapshot current = snapshot;
+        List<UUID> deleted = new ArrayList<>();
+        int index = 0;
+        UUID after = null;
+        List<UUID> batch;
+        do {
+            batch = bookRepository.findIdBatchAfter(after, PageRequest.ofSize(batchSize));
+            for (UUID id : batch) {
+                while (index < current.size() && CatalogSnapshot.compare(current.idAt(index), id) < 0) {
+                    deleted.add(current.idAt(index++));
+                }
+                if (index < current.size() && current.idAt(index).equals(id)) {
+                    index++;
+                }
+                after = id;
+            }
+        } while (batch.size() == batchSize);
+        while (index < current.size()) {
+            deleted.add(current.idAt(index++));
+        }
+        for (UUID id : deleted) {
+            overlay.putIfAbsent(id, new Entry(null, at));
+        }
+        if (!deleted.isEmpty()) {
+            logger.info(() -> "Catalog snapshot catch-up found " + deleted.size() + " deleted books");
+        }
+        return deleted;
+    }
+
+    /**
+     * @param book the current state, or {@code null} for "ask the database"
+     * @param at   when this entry was known to be current
+     */
+    private record Entry(BookDTO book, Instant at) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.bookreviewplatform.bookservice.snapshot;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Periodically writes the catalog to a {@link CatalogSnapshot} file and hands it
+ * to {@link CatalogSnapshotStore}.
+ *
+ * <p>Books are streamed from MySQL in keyset-paginated batches, in id order.
+ * Records and strings go to two temporary files. The final file (header,
+ * records, string table) is then assembled next to the target and moved over
+ * it atomically. A reader, including another instance on the same host,
+ * therefore only ever maps a complete snapshot.</p>
+ *
+ * <p>Identical strings (typically author names) are stored once. Deduplication
+ * stops after {@value #MAX_DEDUPLICATED_STRINGS} distinct strings, so writer
+ * memory stays bounded for any catalog size.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotWriter {
+
+    private static final int MAX_DEDUPLICATED_STRINGS = 100_000;
+
+    private final Logger logger = Logger.getLogger(CatalogSnapshotWriter.class.getName());
+    private final BookRepository bookRepository;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+
+    @Value("${bookservice.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bookservice.snapshot.path:data/catalog.snapshot}")
+    private String snapshotPath;
+
+    @Value("${bookservice.index.rebuild-batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${bookservice.snapshot.initial-delay-ms:60000}",
+            fixedDelayString = "${bookservice.snapshot.write-interval-ms:900000}")
+    public void writeScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            write();
+        } catch (Exception e) {
+            logger.warning(() -> "Failed to write catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a fresh snapshot and switches the store over to it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void write() throws IOException {
+        long start = System.nanoTime();
+        Instant takenAt = Instant.now();
+        Path target = Paths.get(snapshotPath).toAbsolutePath();
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+
+        Path records = Files.createTempFile(directory, "catalog", ".records");
+        Path strings = Files.createTempFile(directory, "catalog", ".strings");
+        Path assembled = Files.createTempFile(directory, "catalog", ".snapshot");
+        try {
+            int count;
+            try (DataOutputStream recordOut = open(records); DataOutputStream stringOut = open(strings)) {
+                count = writeRecords(recordOut, stringOut);
+            }
+            assemble(assembled, takenAt, count, records, strings);
+            Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info(() -> "Wrote catalog snapshot with " + count + " books (" + Files.size(target) + " bytes) in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } finally {
+            Files.deleteIfExists(records);
+            Files.deleteIfExists(strings);
+            Files.deleteIfExists(assembled);
+        }
+        catalogSnapshotStore.load(target);
+    }
+
+    private int writeRecords(DataOutputStream recordOut, DataOutputStream stringOut) throws IOException {
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        long[] stringBytes = {0};
+        int count = 0;
+        UUID previous = null;
+        List<Book> batch;
+        do {
+            batch = bookRepository.findBatchAfter(previous, PageRequest.ofSize(batchSize));
+            for (Book book : batch) {
+                UUID id = book.getId();
+                // Lookups binary-search in this order, so it must match the database's.
+                if (previous != null && CatalogSnapshot.compare(previous, id) >= 0) {
+                    throw new IllegalStateException("Database id order does not match snapshot order at " + id);
+                }
+                recordOut.writeLong(id.getMostSignificantBits());
+                recordOut.writeLong(id.getLeastSignificantBits());
+                recordOut.writeLong(book.getVersion() == null ? 0 : book.getVersion());
+                recordOut.writeInt(writeString(book.getTitle(), stringOut, stringOffsets, stringBytes));
+                recordOut.writeInt(writeString(book.getAuthor(), stringOut, stringOffsets, stringBytes));
+                recordOut.writeInt((int) Math.min(book.getReviewCount(), Integer.MAX_VALUE));
+                recordOut.writeLong(book.getRatingSum());
+                UUID authorId = book.getAuthorId();
+                recordOut.writeLong(authorId == null ? 0 : authorId.getMostSignificantBits());
+                recordOut.writeLong(authorId == null ? 0 : authorId.getLeastSignificantBits());
+                previous = id;
+                count++;
+            }
+        } while (batch.size() == batchSize);
+        return count;
+    }
+
+    private static int writeString(String value, DataOutputStream out, Map<String, Integer> offsets,
+                                   long[] written) throws IOException {
+        Integer existing = offsets.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (written[0] + 4 + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("Catalog string table exceeds 2 GB");
+        }
+        int offset = (int) written[0];
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        written[0] += 4 + bytes.length;
+        if (offsets.size() < MAX_DEDUPLICATED_STRINGS) {
+            offsets.put(value, offset);
+        }
+        return offset;
+    }
+
+    private static void assemble(Path target, Instant takenAt, int count, Path records, Path strings)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_SIZE);
+        header.putInt(CatalogSnapshot.MAGIC)
+                .putInt(CatalogSnapshot.FORMAT_VERSION)
+                .putInt(count)
+                .putInt(0)
+                .putLong(takenAt.toEpochMilli())
+                .putLong(CatalogSnapshot.HEADER_SIZE + (long) count * CatalogSnapshot.RECORD_SIZE)
+                .flip();
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            append(out, records);
+            append(out, strings);
+            out.force(true);
+        }
+    }
+
+    private static void append(FileChannel out, Path source) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static DataOutputStream open(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+}
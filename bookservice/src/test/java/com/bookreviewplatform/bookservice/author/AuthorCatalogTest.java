@@ -0,0 +1,66 @@
+package com.bookreviewplatform.bookservice.author;
+
+import com.bookreviewplatform.bookservice.dto.AuthorDTO;
+import com.bookreviewplatform.bookservice.dto.AuthorRatingTotals;
+import com.bookreviewplatform.bookservice.entity.Author;
+import com.bookreviewplatform.bookservice.repository.AuthorRepository;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorCatalogTest {
+
+    private final UUID id = UUID.randomUUID();
+    private final AuthorRepository authorRepository = mock(AuthorRepository.class);
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final AuthorCatalog catalog = new AuthorCatalog(authorRepository, bookRepository,
+            new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+
+    @Test
+    void servesAuthorPagesFromMemoryUntilEvicted() {
+        author(3);
+        assertEquals(3, catalog.getAuthor(id).getBookCount());
+        author(2);
+
+        assertEquals(3, catalog.getAuthor(id).getBookCount());
+        catalog.evict(id);
+        assertEquals(2, catalog.getAuthor(id).getBookCount());
+
+        verify(authorRepository, times(2)).findById(id);
+    }
+
+    @Test
+    void averagesRatingsOverTheAuthorsBooks() {
+        author(2);
+        when(bookRepository.findAuthorRatingTotals(id)).thenReturn(new AuthorRatingTotals(4L, 14L));
+
+        AuthorDTO author = catalog.getAuthor(id);
+
+        assertEquals(4, author.getReviewCount());
+        assertEquals(3.5, author.getAvgRating().doubleValue());
+    }
+
+    @Test
+    void unknownAuthorIsNull() {
+        when(authorRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertNull(catalog.getAuthor(id));
+    }
+
+    private void author(long bookCount) {
+        when(authorRepository.findById(id)).thenReturn(Optional.of(Author.builder()
+                .id(id).name("Frank Herbert").normalizedName("frank herbert").bookCount(bookCount).build()));
+        when(bookRepository.findAuthorRatingTotals(id)).thenReturn(new AuthorRatingTotals(null, null));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookreviewplatform.bookservice.cache;
+
+import com.bookreviewplatform.bookservice.dto.BookDTO;
+import com.bookreviewplatform.bookservice.snapshot.CatalogSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookCacheTest {
+
+    private final UUID id = UUID.randomUUID();
+    private final BookDTO book = BookDTO.builder().id(id).title("Dune").author("Frank Herbert").build();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private LocalBookCacheInvalidationTransport transport;
+    private LocalBookCacheInvalidationTransport peerTransport;
+    private BookCache cache;
+    private BookCache peer;
+
+    @BeforeEach
+    void setUp() {
+        transport = new LocalBookCacheInvalidationTransport();
+        peerTransport = new LocalBookCacheInvalidationTransport();
+        cache = newCache(transport);
+        peer = newCache(peerTransport);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        peerTransport.close();
+    }
+
+    @Test
+    void loadsOnceAndServesHitsFromMemory() {
+        cache.getById(id, this::load);
+        cache.getById(id, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void servesMissesFromTheSnapshotBeforeTheDatabase() {
+        CatalogSnapshotStore snapshotStore = mock(CatalogSnapshotStore.class);
+        when(snapshotStore.find(id)).thenReturn(book);
+        BookCache warm = new BookCache(transport, snapshotStore, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+        assertEquals(book, warm.getById(id, this::load));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void doesNotCacheMisses() {
+        assertNull(cache.getById(id, key -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        cache.getById(id, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationEvictsLocallyAndOnPeers() {
+        cache.getById(id, this::load);
+        peer.getById(id, this::load);
+
+        cache.invalidate(id);
+        cache.getById(id, this::load);
+        peer.getById(id, this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void titleLookupsResolveThroughTheByIdCacheAndAreInvalidatedWithIt() {
+        cache.getByTitleAndAuthor("Dune", "Frank Herbert", () -> load(id));
+        assertEquals(book, cache.getById(id, this::load));
+        assertEquals(1, loads.get());
+
+        peer.invalidate(id);
+        cache.getByTitleAndAuthor("Dune", "Frank Herbert", () -> load(id));
+
+        assertEquals(2, loads.get());
+    }
+
+    private BookCache newCache(BookCacheInvalidationTransport invalidationTransport) {
+        return new BookCache(invalidationTransport, mock(CatalogSnapshotStore.class), new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1));
+    }
+
+    private BookDTO load(UUID key) {
+        loads.incrementAndGet();
+        return book;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import com.bookreviewplatform.bookservice.importer.BookRecordReader.ImportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvBookRecordReaderTest {
+
+    @Test
+    void readsTitleAndAuthorWithLineNumbers() throws IOException {
+        List<ImportRecord> records = read("title,author\nDune,Frank Herbert\r\nEmma,Jane Austen\n");
+
+        assertEquals(List.of(ImportRecord.of(2, "Dune", "Frank Herbert"), ImportRecord.of(3, "Emma", "Jane Austen")),
+                records);
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndLineBreaks() throws IOException {
+        List<ImportRecord> records = read("title,author\n\"Hello, World\",\"Ann\nBee\"\nDune,Frank Herbert\n");
+
+        assertEquals(ImportRecord.of(2, "Hello, World", "Ann\nBee"), records.get(0));
+        assertEquals(4, records.get(1).line(), "line numbers count the break inside the quotes");
+    }
+
+    @Test
+    void doubledQuotesAreOneQuote() throws IOException {
+        List<ImportRecord> records = read("title,author\n\"Say \"\"hi\"\"\",\"\"\"Q\"\"\"\n");
+
+        assertEquals(ImportRecord.of(2, "Say \"hi\"", "\"Q\""), records.get(0));
+    }
+
+    @Test
+    void headerMayStartWithAByteOrderMarkAndNameColumnsInAnyOrderAndCase() throws IOException {
+        List<ImportRecord> records = read("\uFEFFisbn, Author ,TITLE\n123,Frank Herbert,Dune\n");
+
+        assertEquals(List.of(ImportRecord.of(2, "Dune", "Frank Herbert")), records);
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        List<ImportRecord> records = read("title,author\n\nDune,Frank Herbert\n\r\n\nEmma,Jane Austen");
+
+        assertEquals(List.of(ImportRecord.of(3, "Dune", "Frank Herbert"), ImportRecord.of(6, "Emma", "Jane Austen")),
+                records);
+    }
+
+    @Test
+    void reportsAnUnterminatedQuote() throws IOException {
+        List<ImportRecord> records = read("title,author\nDune,Frank Herbert\n\"Emma,Jane Austen\nmore\n");
+
+        assertEquals(2, records.size());
+        assertEquals(3, records.get(1).line());
+        assertEquals("Unterminated quoted field", records.get(1).error());
+    }
+
+    @Test
+    void reportsTooLongRecordsAndCarriesOn() throws IOException {
+        String longTitle = "x".repeat(BookRecordReader.MAX_RECORD_LENGTH + 1);
+
+        List<ImportRecord> records = read("title,author\n" + longTitle + ",Someone\nDune,Frank Herbert\n");
+
+        assertEquals(2, records.size());
+        assertEquals("Record exceeds " + BookRecordReader.MAX_RECORD_LENGTH + " characters", records.get(0).error());
+        assertEquals(ImportRecord.of(3, "Dune", "Frank Herbert"), records.get(1));
+    }
+
+    @Test
+    void manySeparatorsCountTowardsTheLimit() throws IOException {
+        List<ImportRecord> records = read("title,author\n" + ",".repeat(BookRecordReader.MAX_RECORD_LENGTH + 1) + "\n");
+
+        assertTrue(records.get(0).error().startsWith("Record exceeds"));
+    }
+
+    @Test
+    void reportsMissingColumns() throws IOException {
+        List<ImportRecord> records = read("isbn,title,author\n123,Dune\n");
+
+        assertEquals("Expected at least 3 columns, found 2", records.get(0).error());
+        assertNull(records.get(0).title());
+    }
+
+    @Test
+    void rejectsEmptyInputAndHeadersWithoutTitleOrAuthor() {
+        assertThrows(IllegalArgumentException.class, () -> read(""));
+        assertThrows(IllegalArgumentException.class, () -> read("title,writer\nDune,Frank Herbert\n"));
+    }
+
+    @Test
+    void readsAcrossBufferBoundaries() throws IOException {
+        StringBuilder csv = new StringBuilder("title,author\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append("\"Book, ").append(i).append("\",Author ").append(i).append('\n');
+        }
+
+        List<ImportRecord> records = read(csv.toString());
+
+        assertEquals(2000, records.size());
+        assertEquals(ImportRecord.of(2001, "Book, 1999", "Author 1999"), records.get(1999));
+    }
+
+    private static List<ImportRecord> read(String csv) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (CsvBookRecordReader reader = new CsvBookRecordReader(new StringReader(csv))) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bookreviewplatform.bookservice.importer;
+
+import com.bookreviewplatform.bookservice.importer.BookRecordReader.ImportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonBookRecordReaderTest {
+
+    @Test
+    void readsOneObjectPerLineIgnoringOtherFields() throws IOException {
+        List<ImportRecord> records = read("{\"title\":\"Dune\",\"author\":\"Frank Herbert\",\"isbn\":\"123\"}\n"
+                + "{\"author\":\"Jane Austen\",\"title\":\"Emma\"}");
+
+        assertEquals(List.of(ImportRecord.of(1, "Dune", "Frank Herbert"), ImportRecord.of(2, "Emma", "Jane Austen")),
+                records);
+    }
+
+    @Test
+    void keepsEscapedCommasQuotesAndLineBreaksInsideStrings() throws IOException {
+        List<ImportRecord> records = read("{\"title\":\"Say \\\"hi\\\", then\\nleave\",\"author\":\"A, B\"}\n");
+
+        assertEquals(ImportRecord.of(1, "Say \"hi\", then\nleave", "A, B"), records.get(0));
+    }
+
+    @Test
+    void missingOrNullFieldsAreNull() throws IOException {
+        List<ImportRecord> records = read("{\"title\":\"Dune\"}\n{\"title\":null,\"author\":\"Frank Herbert\"}\n");
+
+        assertEquals(ImportRecord.of(1, "Dune", null), records.get(0));
+        assertEquals(ImportRecord.of(2, null, "Frank Herbert"), records.get(1));
+    }
+
+    @Test
+    void skipsBlankLinesButCountsThem() throws IOException {
+        List<ImportRecord> records = read("\n   \n{\"title\":\"Dune\",\"author\":\"Frank Herbert\"}\n\n");
+
+        assertEquals(List.of(ImportRecord.of(3, "Dune", "Frank Herbert")), records);
+    }
+
+    @Test
+    void reportsMalformedLinesAndCarriesOn() throws IOException {
+        List<ImportRecord> records = read("{\"title\":\"Dune\",\n[1,2]\n{\"title\":\"Emma\",\"author\":\"Jane Austen\"}\n");
+
+        assertEquals(3, records.size());
+        assertTrue(records.get(0).error().startsWith("Malformed JSON"));
+        assertEquals("Expected a JSON object", records.get(1).error());
+        assertEquals(ImportRecord.of(3, "Emma", "Jane Austen"), records.get(2));
+    }
+
+    @Test
+    void reportsTooLongLinesAndCarriesOn() throws IOException {
+        String longLine = "{\"title\":\"" + "x".repeat(BookRecordReader.MAX_RECORD_LENGTH) + "\"}";
+
+        List<ImportRecord> records = read(longLine + "\n{\"title\":\"Dune\",\"author\":\"Frank Herbert\"}\n");
+
+        assertEquals("Record exceeds " + BookRecordReader.MAX_RECORD_LENGTH + " characters", records.get(0).error());
+        assertEquals(ImportRecord.of(2, "Dune", "Frank Herbert"), records.get(1));
+    }
+
+    private static List<ImportRecord> read(String ndjson) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (NdjsonBookRecordReader reader = new NdjsonBookRecordReader(new StringReader(ndjson), new ObjectMapper())) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+    }
+
+    @Test
+    void ranksRareTermsAboveCommonOnes() {
+        Book common = book("The Art of War", "Sun Tzu");
+        Book rare = book("The Art of Computer Programming", "Donald Knuth");
+        index.addAll(List.of(common, rare, book("The Hobbit", "J. R. R. Tolkien"), book("The Road", "Cormac McCarthy")));
+
+        List<BookSearchIndex.Hit> hits = index.search("the programming", 10);
+
+        assertEquals(rare.getId(), hits.get(0).id());
+        assertEquals(4, hits.size());
+    }
+
+    @Test
+    void ranksShorterDocumentsHigherForTheSameTerm() {
+        Book shortTitle = book("Dune", "Frank Herbert");
+        Book longTitle = book("Dune Messiah and Other Stories of the Desert Planet", "Frank Herbert");
+        index.addAll(List.of(longTitle, shortTitle));
+
+        List<BookSearchIndex.Hit> hits = index.search("dune", 10);
+
+        assertEquals(List.of(shortTitle.getId(), longTitle.getId()), hits.stream().map(BookSearchIndex.Hit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void ranksRepeatedTermsHigher() {
+        Book once = book("Go Programming", "Alan Donovan");
+        Book twice = book("Go Go Programming", "Alan Donovan");
+        index.addAll(List.of(once, twice));
+
+        assertEquals(twice.getId(), index.search("go", 10).get(0).id());
+    }
+
+    @Test
+    void pruningKeepsTheSameTopHitsAsAFullScan() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            books.add(book("The Book Number " + i, "Author " + (i % 7)));
+        }
+        Book target = book("The Book of Rare Words", "Author 3");
+        books.add(target);
+        index.addAll(books);
+
+        List<BookSearchIndex.Hit> top = index.search("the book rare", 3);
+        List<BookSearchIndex.Hit> all = index.search("the book rare", books.size());
+
+        assertEquals(target.getId(), top.get(0).id());
+        // Equal scores may come back in either order, so compare scores only.
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(all.get(i).score(), top.get(i).score(), 1e-4);
+        }
+        assertEquals(books.size(), all.size());
+    }
+
+    @Test
+    void updatesAndRemovalsAreReflectedAcrossCompactions() {
+        Book book = book("Refactoring", "Martin Fowler");
+        index.add(book);
+        for (int i = 0; i < 5000; i++) {
+            index.update(Book.builder().id(book.getId()).title("Refactoring " + i).author("Martin Fowler").build());
+        }
+        Book other = book("Patterns of Enterprise Application Architecture", "Martin Fowler");
+        index.add(other);
+
+        assertEquals(2, index.size());
+        assertEquals(1, index.search("4999", 10).size());
+        assertTrue(index.search("4998", 10).isEmpty());
+
+        index.remove(book.getId());
+
+        assertEquals(List.of(other.getId()), index.search("fowler refactoring", 10).stream()
+                .map(BookSearchIndex.Hit::id).toList());
+    }
+
+    @Test
+    void returnsNothingForUnknownOrEmptyQueries() {
+        index.add(book("Clean Code", "Robert Martin"));
+
+        assertTrue(index.search("kotlin", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("clean", 0).isEmpty());
+    }
+
+    private static Book book(String title, String author) {
+        return Book.builder().id(UUID.randomUUID()).title(title).author(author).build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSuggestionIndexTest {
+
+    private BookSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSuggestionIndex();
+    }
+
+    @Test
+    void completesPrefixesFoldedLikeIndexedText() {
+        index.add(book("Café Society", "Anne Author", 0));
+
+        assertEquals(List.of("Café Society"), titles(index.suggest("  CAFE   so", 10)));
+        assertEquals(List.of("Café Society"), titles(index.suggest("café", 10)));
+        assertTrue(index.suggest("cafes", 10).isEmpty());
+    }
+
+    @Test
+    void ranksByReviewsThenByBookCount() {
+        index.addAll(List.of(
+                book("Dune", "Frank Herbert", 5),
+                book("Dubliners", "James Joyce", 40),
+                book("Dust", "Hugh Howey", 0),
+                book("Dust", "Someone Else", 0)));
+
+        assertEquals(List.of("Dubliners", "Dune", "Dust"), titles(index.suggest("du", 10)));
+    }
+
+    @Test
+    void reviewCountChangesReorderCompletions() {
+        Book dune = book("Dune", "Frank Herbert", 5);
+        index.addAll(List.of(dune, book("Dubliners", "James Joyce", 40)));
+
+        index.adjustReviewCount(dune.getId(), 100);
+
+        assertEquals(List.of("Dune", "Dubliners"), titles(index.suggest("du", 10)));
+        assertEquals(105, index.suggest("dune", 1).get(0).reviewCount());
+    }
+
+    @Test
+    void renamingKeepsTheIndexedReviewCount() {
+        Book dune = book("Dune", "Frank Herbert", 5);
+        index.add(dune);
+        index.adjustReviewCount(dune.getId(), 10);
+
+        index.update(Book.builder().id(dune.getId()).title("Dune Messiah").author("Frank Herbert").build());
+
+        BookSuggestionIndex.Suggestion renamed = index.suggest("dune", 10).get(0);
+        assertEquals("Dune Messiah", renamed.text());
+        assertEquals(15, renamed.reviewCount());
+        assertEquals(1, index.suggest("dune", 10).size());
+    }
+
+    @Test
+    void splitsAndMergesSharedPrefixes() {
+        Book team = book("Team", "A", 0);
+        Book tea = book("Tea", "B", 0);
+        Book ten = book("Ten", "C", 0);
+        index.addAll(List.of(team, tea, ten));
+
+        assertEquals(3, index.suggest("te", 10).size());
+
+        index.remove(tea.getId());
+        index.remove(ten.getId());
+
+        assertEquals(List.of("Team"), titles(index.suggest("te", 10)));
+        assertEquals(List.of("Team"), titles(index.suggest("team", 10)));
+        assertTrue(index.suggest("ten", 10).isEmpty());
+    }
+
+    @Test
+    void capsCompletionsAtTheRequestedLimit() {
+        for (int i = 0; i < 15; i++) {
+            index.add(book("Volume " + i, "Author " + i, i));
+        }
+
+        List<BookSuggestionIndex.Suggestion> top = index.suggest("vol", 3);
+
+        assertEquals(List.of("Volume 14", "Volume 13", "Volume 12"), titles(top));
+        assertEquals(BookSuggestionIndex.COMPLETIONS_PER_NODE, index.suggest("v", 50).size());
+    }
+
+    private static List<String> titles(List<BookSuggestionIndex.Suggestion> suggestions) {
+        return suggestions.stream()
+                .filter(suggestion -> suggestion.kind() == BookSuggestionIndex.Kind.TITLE)
+                .map(BookSuggestionIndex.Suggestion::text)
+                .toList();
+    }
+
+    private static Book book(String title, String author, long reviewCount) {
+        return Book.builder().id(UUID.randomUUID()).title(title).author(author).reviewCount(reviewCount).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bookreviewplatform.bookservice.index;
+
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTest {
+
+    private static final double FLAG_THRESHOLD = 0.8;
+    private static final double REJECT_THRESHOLD = 0.95;
+
+    private NearDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NearDuplicateIndex();
+        ReflectionTestUtils.setField(index, "similarityThreshold", FLAG_THRESHOLD);
+    }
+
+    @Test
+    void formattingVariantsAreIdentical() {
+        assertEquals(1.0, similarity("Clean Code", "Robert C. Martin", "clean  code!", "Robert C Martin"), 0.0);
+    }
+
+    @Test
+    void numberedVolumesScoreBetweenTheFlagAndRejectThresholds() {
+        double volumes = similarity("The Art of Computer Programming, Vol. 1", "Donald Knuth",
+                "The Art of Computer Programming, Vol. 2", "Donald Knuth");
+
+        assertTrue(volumes >= FLAG_THRESHOLD, () -> "similarity " + volumes);
+        assertTrue(volumes < REJECT_THRESHOLD, () -> "similarity " + volumes);
+    }
+
+    @Test
+    void distinctBooksStayBelowTheFlagThreshold() {
+        assertTrue(similarity("Dune", "Frank Herbert", "Dune Messiah", "Frank Herbert") < FLAG_THRESHOLD);
+        assertTrue(similarity("C++ Primer", "Stanley Lippman", "C Primer Plus", "Stephen Prata") < FLAG_THRESHOLD);
+    }
+
+    @Test
+    void findsMatchesAtOrAboveTheThresholdMostSimilarFirst() {
+        Book volume2 = book("The Art of Computer Programming, Vol. 2", "Donald Knuth");
+        Book sameBook = book("The Art of Computer Programming Vol 1", "Donald Knuth");
+        index.addAll(List.of(volume2, sameBook, book("Dune", "Frank Herbert")));
+
+        List<NearDuplicateIndex.Match> matches =
+                index.findNearDuplicates("The Art of Computer Programming, Vol. 1", "Donald Knuth");
+
+        assertEquals(List.of(sameBook.getId(), volume2.getId()), matches.stream().map(NearDuplicateIndex.Match::id).toList());
+        assertEquals(1.0, matches.get(0).similarity(), 0.0);
+    }
+
+    @Test
+    void updatedAndRemovedBooksNoLongerMatch() {
+        Book book = book("Clean Code", "Robert C. Martin");
+        index.add(book);
+        for (int i = 0; i < 100; i++) {
+            index.update(Book.builder().id(book.getId()).title("Clean Architecture " + i).author("Robert C. Martin").build());
+        }
+
+        assertTrue(index.findNearDuplicates("Clean Code", "Robert C. Martin").isEmpty());
+        assertEquals(1, index.findNearDuplicates("Clean Architecture 99", "Robert C. Martin").size());
+
+        index.remove(book.getId());
+
+        assertTrue(index.findNearDuplicates("Clean Architecture 99", "Robert C. Martin").isEmpty());
+    }
+
+    @Test
+    void clustersConnectedNearDuplicates() {
+        Book a = book("Harry Potter and the Philosopher's Stone", "J. K. Rowling");
+        Book b = book("Harry Potter and the Philosophers Stone", "J.K. Rowling");
+        Book c = book("harry potter and the philosopher's stone", "JK Rowling");
+        Book unrelated = book("Refactoring", "Martin Fowler");
+        index.addAll(List.of(a, b, c, unrelated));
+        index.remove(unrelated.getId());
+        index.add(book("Domain-Driven Design", "Eric Evans"));
+
+        List<List<NearDuplicateIndex.Match>> clusters = index.clusters();
+
+        assertEquals(1, clusters.size());
+        Set<UUID> members = clusters.get(0).stream().map(NearDuplicateIndex.Match::id).collect(Collectors.toSet());
+        assertEquals(Set.of(a.getId(), b.getId(), c.getId()), members);
+    }
+
+    private static double similarity(String title1, String author1, String title2, String author2) {
+        return NearDuplicateIndex.similarity(NearDuplicateIndex.signature(title1, author1),
+                NearDuplicateIndex.signature(title2, author2));
+    }
+
+    private static Book book(String title, String author) {
+        return Book.builder().id(UUID.randomUUID()).title(title).author(author).build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bookreviewplatform.bookservice.rating;
+
+import com.bookreviewplatform.bookservice.cache.BookCache;
+import com.bookreviewplatform.bookservice.dto.RatingDeltaDTO;
+import com.bookreviewplatform.bookservice.index.BookSuggestionIndex;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookRatingAggregatorTest {
+
+    private final UUID dune = UUID.randomUUID();
+    private final UUID emma = UUID.randomUUID();
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BookCache bookCache = mock(BookCache.class);
+    private final BookSuggestionIndex bookSuggestionIndex = mock(BookSuggestionIndex.class);
+    private final BookRatingAggregator aggregator =
+            new BookRatingAggregator(bookRepository, bookCache, bookSuggestionIndex);
+
+    @Test
+    void mergesDeltasPerBookIntoOneUpdate() {
+        when(bookRepository.applyRatingDelta(any(), anyLong(), anyLong(), any())).thenReturn(1);
+
+        aggregator.accept(List.of(delta(dune, 1, 5), delta(emma, 1, 3), delta(dune, 1, 4)));
+        aggregator.accept(List.of(delta(dune, -1, -2)));
+        aggregator.flush();
+
+        verify(bookRepository).applyRatingDelta(eq(dune), eq(1L), eq(7L), any());
+        verify(bookRepository).applyRatingDelta(eq(emma), eq(1L), eq(3L), any());
+        verify(bookCache).invalidate(dune);
+        verify(bookSuggestionIndex).adjustReviewCount(dune, 1);
+        verify(bookSuggestionIndex).adjustReviewCount(emma, 1);
+    }
+
+    @Test
+    void flushesEachDeltaOnce() {
+        when(bookRepository.applyRatingDelta(any(), anyLong(), anyLong(), any())).thenReturn(1);
+        aggregator.accept(List.of(delta(dune, 1, 5)));
+
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(bookRepository, times(1)).applyRatingDelta(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void skipsDeltasThatCancelOutAndDeltasWithoutBook() {
+        aggregator.accept(List.of(delta(dune, 1, 5), delta(dune, -1, -5), delta(null, 1, 5)));
+
+        aggregator.flush();
+
+        verifyNoInteractions(bookRepository, bookCache, bookSuggestionIndex);
+    }
+
+    @Test
+    void dropsDeltasForUnknownBooks() {
+        when(bookRepository.applyRatingDelta(any(), anyLong(), anyLong(), any())).thenReturn(0);
+        aggregator.accept(List.of(delta(dune, 1, 5)));
+
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(bookRepository, times(1)).applyRatingDelta(any(), anyLong(), anyLong(), any());
+        verify(bookCache, never()).invalidate(any());
+        verify(bookSuggestionIndex, never()).adjustReviewCount(any(), anyLong());
+    }
+
+    @Test
+    void retriesAFailedUpdateMergedWithNewDeltas() {
+        when(bookRepository.applyRatingDelta(any(), anyLong(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(1);
+        aggregator.accept(List.of(delta(dune, 1, 5)));
+        aggregator.flush();
+
+        aggregator.accept(List.of(delta(dune, 1, 2)));
+        aggregator.flush();
+
+        verify(bookRepository).applyRatingDelta(eq(dune), eq(1L), eq(5L), any());
+        verify(bookRepository).applyRatingDelta(eq(dune), eq(2L), eq(7L), any());
+        verify(bookCache, times(1)).invalidate(dune);
+        verify(bookSuggestionIndex).adjustReviewCount(dune, 2);
+    }
+
+    private static RatingDeltaDTO delta(UUID bookId, long reviewCount, long ratingSum) {
+        return RatingDeltaDTO.builder().bookId(bookId).reviewCount(reviewCount).ratingSum(ratingSum).build();
+    }
+}
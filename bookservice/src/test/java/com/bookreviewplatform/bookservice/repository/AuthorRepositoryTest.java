@@ -0,0 +1,117 @@
+package com.bookreviewplatform.bookservice.repository;
+
+import com.bookreviewplatform.bookservice.entity.Author;
+import com.bookreviewplatform.bookservice.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class AuthorRepositoryTest {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Author herbert;
+    private Author leGuin;
+
+    @BeforeEach
+    void setUp() {
+        herbert = authorRepository.saveAndFlush(Author.builder()
+                .name("Frank Herbert").normalizedName("frank herbert").bookCount(1).build());
+        leGuin = authorRepository.saveAndFlush(Author.builder()
+                .name("Ursula K. Le Guin").normalizedName("ursula k. le guin").bookCount(0).build());
+    }
+
+    @Test
+    void moveBookTakesTheBookFromOneAuthorToTheOther() {
+        UUID dune = book("Dune", herbert.getId());
+
+        assertEquals(2, authorRepository.moveBook(dune, leGuin.getId()));
+
+        assertEquals(0, bookCount(herbert));
+        assertEquals(1, bookCount(leGuin));
+    }
+
+    @Test
+    void moveBookToItsOwnAuthorChangesNothing() {
+        UUID dune = book("Dune", herbert.getId());
+
+        assertEquals(0, authorRepository.moveBook(dune, herbert.getId()));
+
+        assertEquals(1, bookCount(herbert));
+    }
+
+    @Test
+    void moveBookWithoutAuthorOnlyCountsTheNewAuthor() {
+        UUID unassigned = book("The Dispossessed", null);
+
+        assertEquals(1, authorRepository.moveBook(unassigned, leGuin.getId()));
+
+        assertEquals(1, bookCount(herbert));
+        assertEquals(1, bookCount(leGuin));
+    }
+
+    @Test
+    void moveBookOfAMissingBookChangesNothing() {
+        assertEquals(0, authorRepository.moveBook(UUID.randomUUID(), leGuin.getId()));
+
+        assertEquals(1, bookCount(herbert));
+        assertEquals(0, bookCount(leGuin));
+    }
+
+    @Test
+    void releaseBookDecrementsOnlyItsAuthor() {
+        UUID dune = book("Dune", herbert.getId());
+
+        assertEquals(1, authorRepository.releaseBook(dune));
+
+        assertEquals(0, bookCount(herbert));
+        assertEquals(0, bookCount(leGuin));
+    }
+
+    @Test
+    void releaseBookWithoutAuthorChangesNothing() {
+        UUID unassigned = book("The Dispossessed", null);
+
+        assertEquals(0, authorRepository.releaseBook(unassigned));
+
+        assertEquals(1, bookCount(herbert));
+    }
+
+    @Test
+    void recountBooksCountsFromTheBooksTable() {
+        book("Dune", herbert.getId());
+        book("Dune Messiah", herbert.getId());
+        book("The Dispossessed", leGuin.getId());
+
+        authorRepository.recountBooks();
+
+        assertEquals(2, bookCount(herbert));
+        assertEquals(1, bookCount(leGuin));
+    }
+
+    private UUID book(String title, UUID authorId) {
+        return bookRepository.saveAndFlush(Book.builder().title(title).author("-").authorId(authorId).build()).getId();
+    }
+
+    /**
+     * Reads the count from the database: the bulk updates bypass the persistence context.
+     */
+    private long bookCount(Author author) {
+        entityManager.clear();
+        return authorRepository.findById(author.getId()).orElseThrow().getBookCount();
+    }
+}
@@ -0,0 +1,174 @@
+package com.bookreviewplatform.bookservice.service.custom;
+
+import com.bookreviewplatform.bookservice.author.AuthorCatalog;
+import com.bookreviewplatform.bookservice.cache.BookCache;
+import com.bookreviewplatform.bookservice.dto.BookDTO;
+import com.bookreviewplatform.bookservice.dto.BookRequestDTO;
+import com.bookreviewplatform.bookservice.entity.Author;
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.exception.VersionConflictException;
+import com.bookreviewplatform.bookservice.index.BookSearchIndex;
+import com.bookreviewplatform.bookservice.index.BookSuggestionIndex;
+import com.bookreviewplatform.bookservice.index.NearDuplicateClusterJob;
+import com.bookreviewplatform.bookservice.index.NearDuplicateIndex;
+import com.bookreviewplatform.bookservice.mapper.BookMapperImpl;
+import com.bookreviewplatform.bookservice.payloads.StandardResponse;
+import com.bookreviewplatform.bookservice.repository.AuthorRepository;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL statements each book write path sends, using Hibernate
+ * statistics against an embedded database. Test methods run outside a test
+ * transaction so every service call commits its own, as in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookWriteStatementCountTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final AuthorCatalog authorCatalog = mock(AuthorCatalog.class);
+
+    private BookServiceImpl bookService;
+    private Statistics statistics;
+    private Author herbert;
+    private Author leGuin;
+    private Book dune;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        herbert = authorRepository.save(Author.builder()
+                .name("Frank Herbert").normalizedName("frank herbert").bookCount(1).build());
+        leGuin = authorRepository.save(Author.builder()
+                .name("Ursula K. Le Guin").normalizedName("ursula k. le guin").build());
+        dune = bookRepository.save(Book.builder()
+                .title("Dune").author("Frank Herbert").authorId(herbert.getId()).build());
+        when(authorCatalog.resolve("Frank Herbert")).thenReturn(herbert.getId());
+        when(authorCatalog.resolve("Ursula K. Le Guin")).thenReturn(leGuin.getId());
+
+        bookService = new BookServiceImpl(bookRepository, mock(BookCache.class), mock(BookSearchIndex.class),
+                mock(BookSuggestionIndex.class), mock(NearDuplicateIndex.class), mock(NearDuplicateClusterJob.class),
+                List.of(), authorCatalog, authorRepository, new TransactionTemplate(transactionManager),
+                new BookMapperImpl());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void putMovesAuthorUpdatesAndReadsBack() {
+        StandardResponse<?> response = bookService.updateBook(dune.getId(), request("Dune", "Ursula K. Le Guin"), null);
+
+        // SELECT author id, UPDATE author counts, UPDATE book, SELECT book
+        assertEquals(4, statistics.getPrepareStatementCount());
+        BookDTO updated = (BookDTO) response.getData();
+        assertEquals(leGuin.getId(), updated.getAuthorId());
+        assertEquals(dune.getVersion() + 1, updated.getVersion());
+        assertEquals(0L, updated.getReviewCount());
+        assertEquals(0, authorRepository.findById(herbert.getId()).orElseThrow().getBookCount());
+        assertEquals(1, authorRepository.findById(leGuin.getId()).orElseThrow().getBookCount());
+        verify(authorCatalog).evict(herbert.getId());
+        verify(authorCatalog).evict(leGuin.getId());
+    }
+
+    @Test
+    void putOfABookWithoutAuthorOnlyCountsTheNewAuthor() {
+        Book unassigned = bookRepository.save(Book.builder()
+                .title("Lathe of Heaven").author("Ursula K. Le Guin").build());
+
+        bookService.updateBook(unassigned.getId(), request("The Lathe of Heaven", "Ursula K. Le Guin"), null);
+
+        assertEquals(1, authorRepository.findById(herbert.getId()).orElseThrow().getBookCount());
+        assertEquals(1, authorRepository.findById(leGuin.getId()).orElseThrow().getBookCount());
+        assertEquals(leGuin.getId(), bookRepository.findById(unassigned.getId()).orElseThrow().getAuthorId());
+        verify(authorCatalog).evict(leGuin.getId());
+        verify(authorCatalog, never()).evict(herbert.getId());
+    }
+
+    @Test
+    void patchReadsFirstAndNeedsNoReadBack() {
+        StandardResponse<?> response = bookService.patchBook(dune.getId(), request("Dune Messiah", null), null);
+
+        // SELECT book, UPDATE author counts (no row changes), UPDATE book
+        assertEquals(3, statistics.getPrepareStatementCount());
+        verify(authorCatalog, times(1)).evict(herbert.getId());
+        BookDTO patched = (BookDTO) response.getData();
+        assertEquals("Dune Messiah", patched.getTitle());
+        assertEquals("Frank Herbert", patched.getAuthor());
+        assertEquals(bookRepository.findById(dune.getId()).orElseThrow().getVersion(), patched.getVersion());
+        assertEquals(1, authorRepository.findById(herbert.getId()).orElseThrow().getBookCount());
+    }
+
+    @Test
+    void staleIfMatchRollsBackAndChecksExistenceOnce() {
+        assertThrows(VersionConflictException.class, () ->
+                bookService.updateBook(dune.getId(), request("Dune", "Ursula K. Le Guin"), dune.getVersion() + 5));
+
+        // SELECT author id, UPDATE author counts, UPDATE book (0 rows, rolled back), SELECT exists
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(1, authorRepository.findById(herbert.getId()).orElseThrow().getBookCount());
+        assertEquals(0, authorRepository.findById(leGuin.getId()).orElseThrow().getBookCount());
+    }
+
+    @Test
+    void deleteReleasesAuthorAndDeletes() {
+        bookService.deleteBook(dune.getId());
+
+        // SELECT author id, UPDATE author count, DELETE book
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, authorRepository.findById(herbert.getId()).orElseThrow().getBookCount());
+        verify(authorCatalog).evict(herbert.getId());
+    }
+
+    @Test
+    void deleteOfABookWithoutAuthorChangesNoCount() {
+        Book unassigned = bookRepository.save(Book.builder().title("Children of Dune").author("Frank Herbert").build());
+
+        bookService.deleteBook(unassigned.getId());
+
+        assertEquals(1, authorRepository.findById(herbert.getId()).orElseThrow().getBookCount());
+        assertFalse(bookRepository.existsById(unassigned.getId()));
+        verify(authorCatalog, never()).evict(any());
+    }
+
+    private static BookRequestDTO request(String title, String author) {
+        return BookRequestDTO.builder().title(title).author(author).build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.bookreviewplatform.bookservice.snapshot;
+
+import com.bookreviewplatform.bookservice.dto.BookDTO;
+import com.bookreviewplatform.bookservice.entity.Book;
+import com.bookreviewplatform.bookservice.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    private final UUID herbert = UUID.randomUUID();
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final CatalogSnapshotStore store = mock(CatalogSnapshotStore.class);
+
+    @Test
+    void roundTripsEveryBookField() throws IOException {
+        Book dune = Book.builder().id(UUID.randomUUID()).title("Dune").author("Frank Herbert").authorId(herbert)
+                .version(3L).reviewCount(4).ratingSum(14).build();
+        Book messiah = Book.builder().id(UUID.randomUUID()).title("Dune Messiah").author("Frank Herbert")
+                .authorId(herbert).version(1L).build();
+        Book unlinked = Book.builder().id(UUID.randomUUID()).title("Čapek’s Krakatit").author("Karel Čapek").build();
+        Instant before = Instant.now();
+
+        CatalogSnapshot snapshot = write(dune, messiah, unlinked);
+
+        assertEquals(3, snapshot.size());
+        assertFalse(snapshot.takenAt().isBefore(before.minusMillis(1)));
+        assertEquals(BookDTO.builder().id(dune.getId()).title("Dune").author("Frank Herbert").authorId(herbert)
+                .version(3L).reviewCount(4L).avgRating(3.5).build(), snapshot.find(dune.getId()));
+        BookDTO readMessiah = snapshot.find(messiah.getId());
+        assertEquals(0L, readMessiah.getReviewCount());
+        assertNull(readMessiah.getAvgRating());
+        BookDTO readUnlinked = snapshot.find(unlinked.getId());
+        assertEquals("Čapek’s Krakatit", readUnlinked.getTitle());
+        assertNull(readUnlinked.getAuthorId());
+        assertEquals(0L, readUnlinked.getVersion(), "a missing version is written as 0");
+        assertNull(snapshot.find(UUID.randomUUID()));
+        verify(store).load(directory.resolve("catalog.snapshot"));
+    }
+
+    @Test
+    void recordsAreInUnsignedIdOrderAndFoundByBinarySearch() throws IOException {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Spread the ids over both signs of the high bits, where signed and unsigned order differ.
+            books.add(Book.builder().id(new UUID((long) i << 59, i)).title("Book " + i).author("Author").build());
+        }
+
+        CatalogSnapshot snapshot = write(books.toArray(Book[]::new));
+
+        for (int i = 1; i < snapshot.size(); i++) {
+            assertTrue(CatalogSnapshot.compare(snapshot.idAt(i - 1), snapshot.idAt(i)) < 0);
+        }
+        for (Book book : books) {
+            assertEquals(book.getTitle(), snapshot.find(book.getId()).getTitle());
+        }
+    }
+
+    @Test
+    void storesRepeatedStringsOnce() throws IOException {
+        write(Book.builder().id(UUID.randomUUID()).title("Dune").author("Frank Herbert").build(),
+                Book.builder().id(UUID.randomUUID()).title("Dune Messiah").author("Frank Herbert").build());
+
+        long strings = (4 + "Dune".length()) + (4 + "Frank Herbert".length()) + (4 + "Dune Messiah".length());
+        assertEquals(CatalogSnapshot.HEADER_SIZE + 2L * CatalogSnapshot.RECORD_SIZE + strings,
+                Files.size(directory.resolve("catalog.snapshot")));
+    }
+
+    @Test
+    void writesAnEmptyCatalog() throws IOException {
+        CatalogSnapshot snapshot = write();
+
+        assertEquals(0, snapshot.size());
+        assertNull(snapshot.find(UUID.randomUUID()));
+    }
+
+    @Test
+    void refusesIdsOutOfSnapshotOrder() {
+        Book first = Book.builder().id(new UUID(2, 0)).title("B").author("A").build();
+        Book second = Book.builder().id(new UUID(1, 0)).title("A").author("A").build();
+        when(bookRepository.findBatchAfter(any(), any())).thenReturn(List.of(first, second));
+
+        assertThrows(IllegalStateException.class, () -> writer().write());
+    }
+
+    @Test
+    void rejectsOtherFormatVersions() throws IOException {
+        write(Book.builder().id(UUID.randomUUID()).title("Dune").author("Frank Herbert").build());
+
+        Path older = rewrite(4, CatalogSnapshot.FORMAT_VERSION - 1);
+        Path newer = rewrite(4, CatalogSnapshot.FORMAT_VERSION + 1);
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(older));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(newer));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() throws IOException {
+        write(Book.builder().id(UUID.randomUUID()).title("Dune").author("Frank Herbert").build());
+        Path badMagic = rewrite(0, 0x12345678);
+        Path badCount = rewrite(8, 2);
+        Path tooShort = directory.resolve("short.snapshot");
+        Files.write(tooShort, "BKSN".getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(badMagic));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(badCount));
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(tooShort));
+    }
+
+    private CatalogSnapshot write(Book... books) throws IOException {
+        List<Book> sorted = new ArrayList<>(List.of(books));
+        sorted.sort(Comparator.comparing(Book::getId, CatalogSnapshot::compare));
+        when(bookRepository.findBatchAfter(any(), any())).thenAnswer(invocation -> {
+            UUID after = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return sorted.stream()
+                    .filter(book -> after == null || CatalogSnapshot.compare(book.getId(), after) > 0)
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        writer().write();
+        return CatalogSnapshot.open(directory.resolve("catalog.snapshot"));
+    }
+
+    private CatalogSnapshotWriter writer() {
+        CatalogSnapshotWriter writer = new CatalogSnapshotWriter(bookRepository, store);
+        ReflectionTestUtils.setField(writer, "snapshotPath", directory.resolve("catalog.snapshot").toString());
+        // Smaller than most catalogs here, so batches are stitched together.
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        return writer;
+    }
+
+    /**
+     * Copies the written snapshot with one header int replaced.
+     */
+    private Path rewrite(int offset, int value) throws IOException {
+        byte[] bytes = Files.readAllBytes(directory.resolve("catalog.snapshot"));
+        ByteBuffer.wrap(bytes).putInt(offset, value);
+        Path copy = Files.createTempFile(directory, "rewritten", ".snapshot");
+        Files.write(copy, bytes);
+        return copy;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookreviewplatform.common.backfill;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Fills in a derived column for the rows that predate it, one keyset page at
+ * a time.
+ *
+ * <p>Each batch is read with the last key of the previous one, so the query
+ * only has to return rows still missing the value, after that key, in key
+ * order. Rows the fill skips (a value that would break a unique constraint,
+ * say) keep no value and would match the query again; the key moves past
+ * them, so they are read once per run rather than forever. The run ends with
+ * the first batch shorter than the batch size.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public final class KeysetBackfill {
+
+    private KeysetBackfill() {
+    }
+
+    /**
+     * @param batchSize rows per query
+     * @param nextBatch reads up to {@code batchSize} rows without a value after
+     *                  a key ({@code null} for the first batch), in key order
+     * @param keyOf     the key of a row
+     * @param fill      fills in one row; returns {@code false} if the row was skipped
+     * @param <T>       row type
+     * @param <K>       key type
+     * @return how many rows were filled and skipped
+     */
+    public static <T, K> Result run(int batchSize, BiFunction<K, Integer, List<T>> nextBatch,
+                                    Function<T, K> keyOf, Predicate<T> fill) {
+        long filled = 0;
+        long skipped = 0;
+        K after = null;
+        List<T> batch;
+        do {
+            batch = nextBatch.apply(after, batchSize);
+            for (T row : batch) {
+                if (fill.test(row)) {
+                    filled++;
+                } else {
+                    skipped++;
+                }
+                after = keyOf.apply(row);
+            }
+        } while (batch.size() == batchSize);
+        return new Result(filled, skipped);
+    }
+
+    /**
+     * @param filled  rows given a value
+     * @param skipped rows left without one
+     */
+    public record Result(long filled, long skipped) {
+
+        /**
+         * @return whether the run touched any row, i.e. whether it is worth logging
+         */
+        public boolean any() {
+            return filled > 0 || skipped > 0;
+        }
+    }
+}
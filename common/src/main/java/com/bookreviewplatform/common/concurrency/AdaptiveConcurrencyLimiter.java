@@ -0,0 +1,227 @@
+package com.bookreviewplatform.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps concurrent requests at a limit that adapts to observed latency, in the
+ * style of Envoy's gradient concurrency controller.
+ *
+ * <p>Two latencies are compared:</p>
+ * <ul>
+ *   <li><b>min RTT</b>, the latency of requests when nothing is queued. Every
+ *   {@code minRttInterval} (with 10% jitter, so instances do not measure in
+ *   step) the limit drops to {@code minLimit} until {@code minRttSamples}
+ *   requests admitted after the drop have completed. Their average latency is
+ *   the new min RTT.</li>
+ *   <li><b>sample RTT</b>, the average latency over a window of at least
+ *   {@code window} and ten requests.</li>
+ * </ul>
+ * <p>After each window:</p>
+ * <pre>
+ * gradient = clamp(minRtt * (1 + buffer) / sampleRtt, 0.5, 2)
+ * newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ * <p>While requests take no longer than the min RTT plus the buffer, the
+ * limit grows; once queueing pushes latency past that, it shrinks until the
+ * queue drains. A window with a timeout or 503 cuts the limit by 10%. The
+ * limit stays within {@code [minLimit, maxLimit]}. A window in which fewer
+ * than half the permits were used says nothing about the limit and leaves it
+ * as is.</p>
+ *
+ * <p>The baseline is re-measured rather than learned from recent windows.
+ * Under sustained overload every recent window is slow, and a learned
+ * baseline would soon accept the queueing as normal.</p>
+ *
+ * <p>Requests over the limit are rejected at once. An overloaded downstream
+ * then sees only the work it can finish in time, not a queue of requests that
+ * will all time out.</p>
+ *
+ * <p>Metrics, tagged {@code limiter}: gauges {@code concurrency.limit} and
+ * {@code concurrency.inflight}, counter {@code concurrency.rejections}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejections;
+    private final Settings settings;
+
+    private volatile int limit;
+
+    // Guarded by this.
+    private double estimatedLimit;
+    private double minRtt;
+    private boolean measuring = true;
+    private long measuringSince = System.nanoTime();
+    private long nextMeasurement;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimiter(String name, Settings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.estimatedLimit = settings.initialLimit();
+        this.limit = settings.minLimit();
+        this.rejections = Counter.builder("concurrency.rejections")
+                .description("Requests rejected over the adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inFlight, AtomicInteger::get)
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if the request may proceed, in which case the
+     * caller must call {@link #release(long, boolean)} exactly once
+     */
+    public boolean tryAcquire() {
+        if (tryReserve()) {
+            return true;
+        }
+        rejected();
+        return false;
+    }
+
+    /**
+     * Like {@link #tryAcquire()}, but a refusal is not counted as a rejection,
+     * for callers that queue the request instead.
+     */
+    boolean tryReserve() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Counts a request turned away for want of a permit.
+     */
+    void rejected() {
+        rejections.increment();
+    }
+
+    /**
+     * Ends an admitted request and feeds its latency to the limit.
+     *
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     * @param dropped    whether it timed out or was refused for overload downstream
+     */
+    public void release(long startNanos, boolean dropped) {
+        release(startNanos, System.nanoTime(), dropped);
+    }
+
+    /**
+     * @param now {@link System#nanoTime()}
+     * @see #release(long, boolean)
+     */
+    void release(long startNanos, long now, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        record(now, startNanos, dropped, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private synchronized void record(long now, long startNanos, boolean dropped, int inFlightBefore) {
+        if (measuring && startNanos < measuringSince) {
+            // Admitted before the drop, so possibly queued: not a no-load sample.
+            return;
+        }
+        windowRttSum += now - startNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+        windowDropped |= dropped;
+
+        if (measuring) {
+            if (windowSamples < settings.minRttSamples()) {
+                return;
+            }
+            minRtt = (double) windowRttSum / windowSamples;
+            measuring = false;
+            long interval = settings.minRttInterval().toNanos();
+            nextMeasurement = now + interval + (long) (interval * 0.1 * ThreadLocalRandom.current().nextDouble());
+            limit = (int) estimatedLimit;
+        } else if (now - windowStart < settings.window().toNanos() || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        } else if (now >= nextMeasurement) {
+            measuring = true;
+            measuringSince = now;
+            limit = settings.minLimit();
+        } else {
+            update((double) windowRttSum / windowSamples);
+        }
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void update(double sampleRtt) {
+        double newLimit;
+        if (windowDropped) {
+            newLimit = estimatedLimit * DROP_BACKOFF;
+        } else if (windowMaxInFlight < estimatedLimit / 2) {
+            return;
+        } else {
+            double gradient = Math.max(0.5, Math.min(2.0, minRtt * (1 + settings.buffer()) / sampleRtt));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        }
+        estimatedLimit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Limiter settings.
+     *
+     * @param initialLimit   limit before any latency has been observed
+     * @param minLimit       the limit never drops below this; also the limit while measuring min RTT
+     * @param maxLimit       the limit never grows beyond this
+     * @param buffer         how far above the min RTT latency may rise before the limit shrinks (e.g. 0.25)
+     * @param minRttSamples  requests averaged into each min RTT measurement
+     * @param minRttInterval time between min RTT measurements
+     * @param window         shortest sampling window
+     */
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double buffer, int minRttSamples,
+                           Duration minRttInterval, Duration window) {
+
+        /**
+         * Reads the settings under a property prefix, e.g. {@code bookservice.concurrency-limit}
+         * for {@code bookservice.concurrency-limit.initial-limit}; missing ones take their defaults.
+         *
+         * @param environment the application environment
+         * @param prefix      the property prefix, without a trailing dot
+         * @return the settings
+         */
+        public static Settings from(Environment environment, String prefix) {
+            return new Settings(
+                    environment.getProperty(prefix + ".initial-limit", Integer.class, 20),
+                    environment.getProperty(prefix + ".min-limit", Integer.class, 4),
+                    environment.getProperty(prefix + ".max-limit", Integer.class, 200),
+                    environment.getProperty(prefix + ".buffer", Double.class, 0.25),
+                    environment.getProperty(prefix + ".min-rtt-samples", Integer.class, 25),
+                    environment.getProperty(prefix + ".min-rtt-interval", Duration.class, Duration.ofSeconds(60)),
+                    environment.getProperty(prefix + ".window", Duration.class, Duration.ofSeconds(1)));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.bookreviewplatform.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Bounds the {@code /api/**} requests in progress with an
+ * {@link AdaptiveConcurrencyLimiter}. Requests over the limit queue by their
+ * {@value Priority#HEADER} class in a {@link PriorityScheduler}; those it
+ * cannot admit in time get {@code 503 Service Unavailable} with
+ * {@code Retry-After: 1}, before they take any database time.
+ *
+ * <p>When the database slows down, the limit follows the latency down, so the
+ * connection pool serves the requests it can finish in time instead of
+ * queueing every request until all of them time out. {@code /internal} and
+ * actuator endpoints are not limited, nor are the excluded paths: long-running
+ * requests such as bulk imports would hold a permit for minutes and drag the
+ * limit down for everything else. A request without a known priority is
+ * {@code normal}.</p>
+ *
+ * <p>Responses with status 503 or 504, and exceptions escaping the handler,
+ * count as dropped.</p>
+ *
+ * <p>Not a component: each service registers one as a bean, with its own
+ * settings and its own error body for rejected requests.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = Logger.getLogger(ConcurrencyLimitFilter.class.getName());
+
+    private final PriorityScheduler scheduler;
+    private final ObjectMapper objectMapper;
+    private final Object rejectionBody;
+    private final List<String> excludedPaths;
+
+    /**
+     * @param scheduler     admits requests to the service's limiter
+     * @param objectMapper  writes the rejection body
+     * @param rejectionBody JSON body of the {@code 503} sent to shed requests
+     */
+    public ConcurrencyLimitFilter(PriorityScheduler scheduler, ObjectMapper objectMapper, Object rejectionBody) {
+        this(scheduler, objectMapper, rejectionBody, List.of());
+    }
+
+    /**
+     * @param scheduler     admits requests to the service's limiter
+     * @param objectMapper  writes the rejection body
+     * @param rejectionBody JSON body of the {@code 503} sent to shed requests
+     * @param excludedPaths paths, with everything below them, that are not limited
+     */
+    public ConcurrencyLimitFilter(PriorityScheduler scheduler, ObjectMapper objectMapper, Object rejectionBody,
+                                  List<String> excludedPaths) {
+        this.scheduler = scheduler;
+        this.objectMapper = objectMapper;
+        this.rejectionBody = rejectionBody;
+        this.excludedPaths = excludedPaths.stream().map(String::trim).filter(path -> !path.isEmpty()).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.startsWith("/api/")) {
+            return true;
+        }
+        for (String path : excludedPaths) {
+            if (uri.startsWith(path) && (uri.length() == path.length() || uri.charAt(path.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority requested = Priority.fromHeader(request.getHeader(Priority.HEADER));
+        Priority priority = requested != null ? requested : Priority.NORMAL;
+        if (!scheduler.acquire(priority)) {
+            logger.fine(() -> "Shed " + priority.headerValue() + " " + request.getMethod() + " "
+                    + request.getRequestURI() + " at concurrency limit " + scheduler.getLimit());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            scheduler.release(start, true);
+            throw e;
+        }
+        if (!request.isAsyncStarted()) {
+            scheduler.release(start, isOverloaded(response));
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            private boolean dropped;
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                scheduler.release(start, dropped || isOverloaded(response));
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                dropped = true;
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                dropped = true;
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), rejectionBody);
+    }
+
+    private static boolean isOverloaded(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+}
@@ -0,0 +1,53 @@
+package com.bookreviewplatform.common.concurrency;
+
+import java.util.Locale;
+
+/**
+ * Scheduling class of a request, from most to least latency-sensitive.
+ *
+ * <p>Assigned at the gateway and carried to the services in the
+ * {@value #HEADER} header, where it decides which requests wait least, and
+ * which are shed first, when a service is at its concurrency limit.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public enum Priority {
+
+    /**
+     * A user is waiting on it: single-resource reads, writes, logins.
+     */
+    INTERACTIVE,
+
+    /**
+     * The default for requests no rule classifies.
+     */
+    NORMAL,
+
+    /**
+     * Bulk work that can wait or be retried: full listings, imports, crawlers.
+     */
+    BATCH;
+
+    public static final String HEADER = "X-Request-Priority";
+
+    public String headerValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param value a {@value #HEADER} value such as {@code batch}
+     * @return the class it names, or {@code null} if absent or unknown
+     */
+    public static Priority fromHeader(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (Priority priority : values()) {
+            if (priority.name().equalsIgnoreCase(value.trim())) {
+                return priority;
+            }
+        }
+        return null;
+    }
+}
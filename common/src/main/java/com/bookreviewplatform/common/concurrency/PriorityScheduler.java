@@ -0,0 +1,251 @@
+package com.bookreviewplatform.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits requests to an {@link AdaptiveConcurrencyLimiter}, queueing the ones
+ * over the limit by {@link Priority} and serving the queues by weighted fair
+ * queueing.
+ *
+ * <p>While the limit has room, requests pass straight through. Once it is
+ * full, each class waits in its own bounded queue, and every freed permit
+ * goes to the queued request with the earliest virtual start time
+ * (start-time fair queueing). While all classes are backlogged, a class with
+ * weight 8 is served eight times as often as one with weight 1; a class with
+ * nothing queued leaves its share to the others.</p>
+ *
+ * <p>A request that finds its class's queue full, or waits longer than the
+ * class's max wait, is rejected. Give batch the smallest weight, queue and
+ * wait: under contention it is then delayed and shed first, and interactive
+ * requests wait for little more than their own turn.</p>
+ *
+ * <p>Waiting blocks the request thread, so the queue capacities added up
+ * should stay well below the server's thread count.</p>
+ *
+ * <p>Metrics, tagged {@code priority}: gauge {@code scheduling.queued}, timer
+ * {@code scheduling.wait} (queued requests only) and counter
+ * {@code scheduling.rejections}, also tagged {@code reason=queue_full|timeout}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class PriorityScheduler {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<Priority, ClassQueue> queues = new EnumMap<>(Priority.class);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Written under lock; read without it on the fast path.
+    private volatile int queued;
+
+    // Guarded by lock.
+    private double virtualTime;
+
+    public PriorityScheduler(AdaptiveConcurrencyLimiter limiter, Map<Priority, ClassSettings> settings,
+                             MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        for (Priority priority : Priority.values()) {
+            ClassSettings classSettings = settings.get(priority);
+            if (classSettings == null) {
+                throw new IllegalArgumentException("No scheduling settings for priority " + priority);
+            }
+            queues.put(priority, new ClassQueue(priority, classSettings, meterRegistry));
+            Gauge.builder("scheduling.queued", this, scheduler -> scheduler.queued(priority))
+                    .tag("priority", priority.headerValue())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Takes a permit, waiting behind earlier requests if the limit is full.
+     *
+     * @return {@code true} if the request may proceed, in which case the
+     * caller must call {@link #release(long, boolean)} exactly once
+     */
+    public boolean acquire(Priority priority) {
+        if (queued == 0 && limiter.tryReserve()) {
+            return true;
+        }
+
+        ClassQueue queue = queues.get(priority);
+        long enqueuedAt = System.nanoTime();
+        lock.lock();
+        try {
+            if (queue.waiters.size() >= queue.settings.queueCapacity()) {
+                queue.queueFull.increment();
+                limiter.rejected();
+                return false;
+            }
+            Waiter waiter = new Waiter(Math.max(virtualTime, queue.lastFinish), lock.newCondition());
+            queue.lastFinish = waiter.startTag + 1.0 / queue.settings.weight();
+            queue.waiters.add(waiter);
+            queued++;
+            dispatch();
+
+            long remaining = queue.settings.maxWait().toNanos();
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (waiter.granted) {
+                queue.wait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            queue.waiters.remove(waiter);
+            queued--;
+            queue.timedOut.increment();
+            limiter.rejected();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends an admitted request and hands its permit to the next queued one.
+     *
+     * @see AdaptiveConcurrencyLimiter#release(long, boolean)
+     */
+    public void release(long startNanos, boolean dropped) {
+        limiter.release(startNanos, dropped);
+        if (queued == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * Grants free permits to queued requests, earliest start tag first; ties
+     * go to the higher priority. Called with the lock held.
+     */
+    private void dispatch() {
+        while (queued > 0 && limiter.tryReserve()) {
+            ClassQueue next = null;
+            for (ClassQueue queue : queues.values()) {
+                Waiter head = queue.waiters.peek();
+                if (head != null && (next == null || head.startTag < next.waiters.peek().startTag)) {
+                    next = queue;
+                }
+            }
+            Waiter waiter = next.waiters.poll();
+            queued--;
+            virtualTime = waiter.startTag;
+            waiter.granted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    private int queued(Priority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the per-class settings under a property prefix, e.g.
+     * {@code bookservice.scheduling}: {@code weights}, {@code queue-capacities}
+     * and {@code max-waits}, each a list with one value per {@link Priority}
+     * in declaration order. Missing lists take their defaults.
+     *
+     * @param environment the application environment
+     * @param prefix      the property prefix, without a trailing dot
+     * @return the settings of every class
+     * @throws IllegalArgumentException if a list does not have one value per class
+     */
+    public static Map<Priority, ClassSettings> classSettings(Environment environment, String prefix) {
+        int[] weights = environment.getProperty(prefix + ".weights", int[].class, new int[]{8, 4, 1});
+        int[] queueCapacities = environment.getProperty(prefix + ".queue-capacities", int[].class,
+                new int[]{40, 40, 10});
+        Duration[] maxWaits = environment.getProperty(prefix + ".max-waits", Duration[].class,
+                new Duration[]{Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofMillis(250)});
+        Priority[] priorities = Priority.values();
+        if (weights.length != priorities.length || queueCapacities.length != priorities.length
+                || maxWaits.length != priorities.length) {
+            throw new IllegalArgumentException("Scheduling weights, queue capacities and max waits need one value"
+                    + " per priority (interactive, normal, batch)");
+        }
+        Map<Priority, ClassSettings> settings = new EnumMap<>(Priority.class);
+        for (Priority priority : priorities) {
+            int i = priority.ordinal();
+            settings.put(priority, new ClassSettings(weights[i], queueCapacities[i], maxWaits[i]));
+        }
+        return settings;
+    }
+
+    /**
+     * Scheduling settings of one priority class.
+     *
+     * @param weight        share of permits while every class is backlogged
+     * @param queueCapacity requests that may wait at once; more are rejected
+     * @param maxWait       longest a request waits before it is rejected
+     */
+    public record ClassSettings(int weight, int queueCapacity, Duration maxWait) {
+    }
+
+    private static final class ClassQueue {
+
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        final ClassSettings settings;
+        final Timer wait;
+        final Counter queueFull;
+        final Counter timedOut;
+        double lastFinish;
+
+        ClassQueue(Priority priority, ClassSettings settings, MeterRegistry meterRegistry) {
+            this.settings = settings;
+            this.wait = Timer.builder("scheduling.wait")
+                    .description("Time requests spent queued for a concurrency permit")
+                    .tag("priority", priority.headerValue())
+                    .register(meterRegistry);
+            this.queueFull = rejections(priority, "queue_full", meterRegistry);
+            this.timedOut = rejections(priority, "timeout", meterRegistry);
+        }
+
+        private static Counter rejections(Priority priority, String reason, MeterRegistry meterRegistry) {
+            return Counter.builder("scheduling.rejections")
+                    .description("Requests rejected while queued for a concurrency permit")
+                    .tag("priority", priority.headerValue())
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class Waiter {
+
+        final double startTag;
+        final Condition condition;
+        boolean granted;
+
+        Waiter(double startTag, Condition condition) {
+            this.startTag = startTag;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookreviewplatform.common.etag;
+
+import java.time.Instant;
+
+/**
+ * Aggregate version of a set of rows, computed in one query:
+ * {@code count(*)}, {@code sum(version)} and {@code max(lastModified)}.
+ *
+ * <p>Any insert or update advances {@code lastModified}, and any delete changes
+ * {@code count}, so the triple changes whenever the set does. That makes it a
+ * cheap basis for a list endpoint's {@code ETag}. Repositories build it with a
+ * JPQL constructor expression naming this class.</p>
+ *
+ * @param count        number of rows
+ * @param versionSum   sum of the rows' optimistic-locking versions
+ * @param lastModified latest modification time, or {@code null} for an empty set
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record CollectionVersion(Long count, Long versionSum, Instant lastModified) {
+}
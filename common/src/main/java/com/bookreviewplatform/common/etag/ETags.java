@@ -0,0 +1,102 @@
+package com.bookreviewplatform.common.etag;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds the strong {@code ETag} values used by the services' GET endpoints,
+ * and reads them back from {@code If-Match}.
+ *
+ * <p>ETags come from version columns, not from hashing the response body. That
+ * way a controller can compare them with {@code If-None-Match} before loading
+ * or serialising anything.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param id      the resource id
+     * @param version the resource's optimistic-locking version
+     * @return a quoted ETag, or {@code null} if the version is unknown
+     */
+    public static String forResource(UUID id, Long version) {
+        if (id == null || version == null) {
+            return null;
+        }
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Extracts the expected version from an {@code If-Match} header produced by
+     * {@link #forResource(UUID, Long)}.
+     *
+     * @param id       the resource being written
+     * @param ifMatch  the header value, possibly {@code null} or {@code *}
+     * @param mismatch creates the service's conflict exception from a message
+     * @param <X>      the conflict exception type
+     * @return the expected version, or {@code null} if the write is unconditional
+     * @throws X if the header names another resource or is malformed, which can never match
+     */
+    public static <X extends RuntimeException> Long expectedVersion(UUID id, String ifMatch,
+                                                                    Function<String, X> mismatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        String prefix = "\"" + id + "-";
+        if (value.startsWith(prefix) && value.endsWith("\"") && value.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the conflict below
+            }
+        }
+        throw mismatch.apply("If-Match " + ifMatch + " does not match resource " + id);
+    }
+
+    /**
+     * @param scope   distinguishes different lists over the same table (e.g. {@code "book-" + bookId})
+     * @param version aggregate version of the rows in the list
+     * @return a quoted ETag
+     */
+    public static String forCollection(String scope, CollectionVersion version) {
+        long lastModified = version.lastModified() == null ? 0
+                : version.lastModified().getEpochSecond() * 1_000_000 + version.lastModified().getNano() / 1_000;
+        return "\"" + scope + "-" + Long.toHexString(version.count())
+                + "-" + Long.toHexString(version.versionSum() == null ? 0 : version.versionSum())
+                + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Answers {@code 304 Not Modified} if the client's {@code If-None-Match} matches,
+     * without invoking {@code body}; otherwise returns the body with the ETag.
+     *
+     * <p>Returning {@code null} tells Spring MVC the response (status and ETag
+     * header, set by {@link WebRequest#checkNotModified(String)}) is complete.</p>
+     *
+     * @param request the current request
+     * @param eTag    the current ETag, computed <em>before</em> the body so a concurrent
+     *                write can only make the ETag older than the body, never newer
+     * @param body    produces the response body
+     * @param <T>     the body type, typically the service's {@code StandardResponse}
+     * @return the response, or {@code null} if a 304 was sent
+     */
+    public static <T> ResponseEntity<T> conditional(WebRequest request, String eTag, Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
+    }
+}
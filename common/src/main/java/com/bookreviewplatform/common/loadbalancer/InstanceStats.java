@@ -0,0 +1,149 @@
+package com.bookreviewplatform.common.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the balancer knows about one service instance: a peak-sensitive EWMA
+ * of its latency, its outstanding requests, and its failure and ejection
+ * history.
+ *
+ * <p>The EWMA decays by elapsed time rather than by sample count, so an
+ * instance's score reflects the last few seconds whether it serves ten
+ * requests a second or ten thousand. A sample slower than the average replaces
+ * it outright ("peak" EWMA), so a pause is felt at once, while recovery is
+ * gradual. Between samples the EWMA keeps decaying, so an instance avoided
+ * after a slow spell is tried again rather than starved of the samples that
+ * would clear its name.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+final class InstanceStats {
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleAt;
+    private int consecutiveFailures;
+    private int ejections;
+
+    private volatile long warmingSince;
+    private volatile long ejectedUntil;
+    private volatile long lastUsedAt;
+
+    InstanceStats(long now) {
+        this.warmingSince = now;
+        this.lastUsedAt = now;
+    }
+
+    void started(long now) {
+        outstanding.incrementAndGet();
+        lastUsedAt = now;
+    }
+
+    /**
+     * Ends a request without a latency sample, e.g. one the client abandoned.
+     */
+    void abandoned() {
+        outstanding.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Ends a request and folds its latency into the EWMA.
+     *
+     * @param now      {@link System#nanoTime()}
+     * @param latency  the request's latency in nanoseconds
+     * @param failed   whether it failed (error or 5xx)
+     * @param settings the balancer settings
+     */
+    synchronized void completed(long now, long latency, boolean failed, LoadBalancerStats.Settings settings) {
+        abandoned();
+        // A fast failure must not make a broken instance look attractive.
+        long sample = failed ? Math.max(latency, settings.failurePenalty().toNanos()) : latency;
+        if (lastSampleAt == 0 || sample > ewmaNanos) {
+            ewmaNanos = sample;
+        } else {
+            double weight = Math.exp(-(double) Math.max(0, now - lastSampleAt) / settings.decay().toNanos());
+            ewmaNanos = ewmaNanos * weight + sample * (1 - weight);
+        }
+        lastSampleAt = now;
+
+        if (failed) {
+            consecutiveFailures++;
+        } else {
+            consecutiveFailures = 0;
+            if (ejections > 0 && now - warmingSince > settings.maxEjectionTime().toNanos()) {
+                ejections = 0;
+            }
+        }
+    }
+
+    /**
+     * @param now   {@link System#nanoTime()}
+     * @param decay time constant of the EWMA
+     * @return the EWMA latency in nanoseconds, or {@code 0} before the first sample
+     */
+    synchronized double latency(long now, long decay) {
+        if (lastSampleAt == 0) {
+            return 0;
+        }
+        return Math.max(1, ewmaNanos * Math.exp(-(double) Math.max(0, now - lastSampleAt) / decay));
+    }
+
+    /**
+     * Lower is better: expected latency times the queue a new request would
+     * join, inflated while the instance is warming up.
+     *
+     * @param now          {@link System#nanoTime()}
+     * @param priorLatency latency to assume before the first sample
+     * @param settings     the balancer settings
+     */
+    double cost(long now, double priorLatency, LoadBalancerStats.Settings settings) {
+        double latency = latency(now, settings.decay().toNanos());
+        if (latency == 0) {
+            latency = priorLatency;
+        }
+        return Math.max(latency, 1) * (outstanding.get() + 1) / warmth(now, settings);
+    }
+
+    boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+    synchronized boolean shouldEject(LoadBalancerStats.Settings settings) {
+        return consecutiveFailures >= settings.failureThreshold();
+    }
+
+    /**
+     * Takes the instance out of rotation, for longer each time it is ejected
+     * again soon after returning. It comes back through slow-start.
+     */
+    synchronized void eject(long now, LoadBalancerStats.Settings settings) {
+        ejections++;
+        consecutiveFailures = 0;
+        long duration = Math.min(settings.baseEjectionTime().toNanos() * ejections,
+                settings.maxEjectionTime().toNanos());
+        ejectedUntil = now + duration;
+        warmingSince = ejectedUntil;
+    }
+
+    long lastUsedAt() {
+        return lastUsedAt;
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Ramps linearly from 10% to 100% of a normal share over the slow-start window.
+     */
+    private double warmth(long now, LoadBalancerStats.Settings settings) {
+        long window = settings.slowStart().toNanos();
+        if (window <= 0) {
+            return 1;
+        }
+        double elapsed = (double) Math.max(0, now - warmingSince) / window;
+        return Math.min(1, Math.max(0.1, elapsed));
+    }
+}
@@ -0,0 +1,184 @@
+package com.bookreviewplatform.common.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects per-instance latency and failures for {@link PeakEwmaLoadBalancer}.
+ *
+ * <p>Spring Cloud LoadBalancer calls this lifecycle around every request it
+ * balances, whether from a gateway {@code lb://} route or a load-balanced
+ * {@code WebClient}. The time from {@code onStartRequest} to
+ * {@code onComplete} is the instance's latency sample. An exception or 5xx
+ * status counts as a failure.</p>
+ *
+ * <p>Requests the caller abandons (e.g. a client disconnecting) never complete.
+ * They are released after {@code abandon-after}, so they do not count against
+ * their instance forever. Stats of instances unused for an hour are dropped.</p>
+ *
+ * <p>Not a component: each service registers one as a bean, with settings read
+ * from its own property prefix (see {@link Settings#from}).</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class LoadBalancerStats implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    private static final long FORGET_AFTER = TimeUnit.HOURS.toNanos(1);
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final Map<RequestKey, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL);
+    private final MeterRegistry meterRegistry;
+    private final Settings settings;
+
+    public LoadBalancerStats(MeterRegistry meterRegistry, Settings settings) {
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = System.nanoTime();
+        InstanceStats instance = of(lbResponse.getServer(), now);
+        instance.started(now);
+        inFlight.put(new RequestKey(request), new InFlight(instance, now));
+        sweep(now);
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        InFlight request = inFlight.remove(new RequestKey(completionContext.getLoadBalancerRequest()));
+        if (request == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            request.instance().abandoned();
+            return;
+        }
+        ResponseData response = completionContext.getClientResponse();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError());
+        request.instance().completed(now, now - request.startedAt(), failed, settings);
+    }
+
+    /**
+     * @param instance a service instance
+     * @param now      {@link System#nanoTime()}
+     * @return the instance's stats, created on first sight (which starts its slow-start)
+     */
+    InstanceStats of(ServiceInstance instance, long now) {
+        return stats.computeIfAbsent(instance.getServiceId() + '|' + instance.getHost() + ':' + instance.getPort(),
+                key -> new InstanceStats(now));
+    }
+
+    Settings settings() {
+        return settings;
+    }
+
+    void recordEjection(String serviceId) {
+        meterRegistry.counter("loadbalancer.ejections", "service", serviceId).increment();
+    }
+
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL)) {
+            return;
+        }
+        long abandonAfter = settings.abandonAfter().toNanos();
+        inFlight.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().startedAt() > abandonAfter) {
+                entry.getValue().instance().abandoned();
+                return true;
+            }
+            return false;
+        });
+        stats.values().removeIf(instance -> instance.outstanding() == 0 && now - instance.lastUsedAt() > FORGET_AFTER);
+    }
+
+    /**
+     * Balancer settings.
+     *
+     * @param decay              time constant of the latency EWMA
+     * @param slowStart          how long a new or readmitted instance takes to reach a full share
+     * @param failureThreshold   consecutive failures that eject an instance
+     * @param failurePenalty     least latency a failure is recorded with
+     * @param baseEjectionTime   first ejection's length, multiplied by the ejection count
+     * @param maxEjectionTime    longest ejection
+     * @param maxEjectionPercent most of a service's instances that may be ejected at once
+     * @param abandonAfter       when an uncompleted request stops counting as outstanding
+     */
+    public record Settings(Duration decay, Duration slowStart, int failureThreshold, Duration failurePenalty,
+                           Duration baseEjectionTime, Duration maxEjectionTime, int maxEjectionPercent,
+                           Duration abandonAfter) {
+
+        /**
+         * Reads the settings under a property prefix, e.g. {@code gateway.load-balancer}
+         * for {@code gateway.load-balancer.decay}; missing ones take their defaults.
+         *
+         * @param environment the application environment
+         * @param prefix      the property prefix, without a trailing dot
+         * @return the settings
+         */
+        public static Settings from(Environment environment, String prefix) {
+            return new Settings(
+                    environment.getProperty(prefix + ".decay", Duration.class, Duration.ofSeconds(10)),
+                    environment.getProperty(prefix + ".slow-start", Duration.class, Duration.ofSeconds(30)),
+                    environment.getProperty(prefix + ".failure-threshold", Integer.class, 5),
+                    environment.getProperty(prefix + ".failure-penalty", Duration.class, Duration.ofSeconds(1)),
+                    environment.getProperty(prefix + ".base-ejection-time", Duration.class, Duration.ofSeconds(30)),
+                    environment.getProperty(prefix + ".max-ejection-time", Duration.class, Duration.ofMinutes(5)),
+                    environment.getProperty(prefix + ".max-ejection-percent", Integer.class, 50),
+                    environment.getProperty(prefix + ".abandon-after", Duration.class, Duration.ofMinutes(5)));
+        }
+    }
+
+    private record InFlight(InstanceStats instance, long startedAt) {
+    }
+
+    /**
+     * Identity of a balanced request. {@link Request} implementations compare
+     * by content, and two identical concurrent requests must not share an entry.
+     */
+    private record RequestKey(Request<?> request) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RequestKey key && key.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+}
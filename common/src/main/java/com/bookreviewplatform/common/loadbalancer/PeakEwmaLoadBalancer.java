@@ -0,0 +1,189 @@
+package com.bookreviewplatform.common.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Power-of-two-choices balancer: picks two random healthy instances and sends
+ * the request to the cheaper one, where cost is peak-EWMA latency times
+ * outstanding requests (see {@link InstanceStats}).
+ *
+ * <p>Unlike round-robin, an instance that slows down (a GC pause, a noisy
+ * neighbour) is avoided within a few requests, and one that is merely busy
+ * sheds load to its peers. Comparing two random instances rather than scanning
+ * for the best avoids herding every request onto the same momentarily fastest
+ * instance.</p>
+ *
+ * <p>New instances, and ejected ones coming back, ramp up over a slow-start
+ * window instead of taking a full share while their caches and JIT are cold.
+ * An instance with {@code failure-threshold} consecutive failures is ejected
+ * for a growing period, but never more than {@code max-ejection-percent} of
+ * the service's instances at once. If every instance is ejected, all are used.</p>
+ *
+ * <p>A retry is sent to an instance not yet tried for the same request, as
+ * long as one is left (see {@link #TRIED_INSTANCES_ATTRIBUTE}).</p>
+ *
+ * <p>Ejections are counted in {@code loadbalancer.ejections{service}}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    /**
+     * Request attribute holding a mutable {@code Set<String>} of the
+     * {@code host:port}s a request has been sent to. A caller that retries puts
+     * an empty set there before the first attempt; the balancer skips the
+     * instances in it and adds the one it picks.
+     */
+    public static final String TRIED_INSTANCES_ATTRIBUTE = PeakEwmaLoadBalancer.class.getName() + ".triedInstances";
+
+    private final Logger logger = Logger.getLogger(PeakEwmaLoadBalancer.class.getName());
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final LoadBalancerStats stats;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                LoadBalancerStats stats) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        Set<String> tried = triedInstances(request);
+        if (tried == null) {
+            return supplier.get(request).next().map(this::choose);
+        }
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(untried(instances, tried));
+            if (response.hasServer()) {
+                tried.add(address(response.getServer()));
+            }
+            return response;
+        });
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            logger.warning(() -> "No instances available for " + serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        long now = System.nanoTime();
+        LoadBalancerStats.Settings settings = stats.settings();
+        List<ServiceInstance> candidates = admitted(instances, now, settings);
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        double prior = priorLatency(candidates, now, settings);
+        double costA = stats.of(a, now).cost(now, prior, settings);
+        double costB = stats.of(b, now).cost(now, prior, settings);
+        return new DefaultResponse(costA <= costB ? a : b);
+    }
+
+    /**
+     * @return the instances not ejected, after ejecting newly failing ones within the cap
+     */
+    private List<ServiceInstance> admitted(List<ServiceInstance> instances, long now,
+                                           LoadBalancerStats.Settings settings) {
+        int maxEjected = instances.size() * settings.maxEjectionPercent() / 100;
+        int ejected = 0;
+        for (ServiceInstance instance : instances) {
+            if (stats.of(instance, now).isEjected(now)) {
+                ejected++;
+            }
+        }
+
+        List<ServiceInstance> admitted = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            InstanceStats instanceStats = stats.of(instance, now);
+            if (instanceStats.isEjected(now)) {
+                continue;
+            }
+            if (ejected < maxEjected && instanceStats.shouldEject(settings)) {
+                instanceStats.eject(now, settings);
+                ejected++;
+                stats.recordEjection(serviceId);
+                logger.warning(() -> "Ejected " + serviceId + " instance " + instance.getHost() + ":"
+                        + instance.getPort() + " after " + settings.failureThreshold() + " consecutive failures");
+                continue;
+            }
+            admitted.add(instance);
+        }
+        return admitted.isEmpty() ? instances : admitted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> triedInstances(Request<?> request) {
+        if (request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null
+                && context.getClientRequest().getAttributes() != null
+                && context.getClientRequest().getAttributes().get(TRIED_INSTANCES_ATTRIBUTE) instanceof Set<?> tried) {
+            return (Set<String>) tried;
+        }
+        return null;
+    }
+
+    /**
+     * @return the instances not tried yet, or all of them if every one has been
+     */
+    private static List<ServiceInstance> untried(List<ServiceInstance> instances, Set<String> tried) {
+        if (tried.isEmpty()) {
+            return instances;
+        }
+        List<ServiceInstance> untried = instances.stream()
+                .filter(instance -> !tried.contains(address(instance)))
+                .toList();
+        return untried.isEmpty() ? instances : untried;
+    }
+
+    private static String address(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * Mean latency of the instances that have one, assumed for instances that
+     * have served nothing yet so they are neither flooded nor starved.
+     */
+    private double priorLatency(List<ServiceInstance> instances, long now, LoadBalancerStats.Settings settings) {
+        double sum = 0;
+        int count = 0;
+        for (ServiceInstance instance : instances) {
+            double latency = stats.of(instance, now).latency(now, settings.decay().toNanos());
+            if (latency > 0) {
+                sum += latency;
+                count++;
+            }
+        }
+        return count == 0 ? 1 : sum / count;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bookreviewplatform.common.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Caps retries to one target at a fraction of the requests sent to it, so
+ * retries ride out a restarting instance but cannot multiply the load on a
+ * service that is failing as a whole.
+ *
+ * <p>Over the last {@code window}, retries may number at most
+ * {@code ratio} times the original requests plus {@code minPerSecond} per
+ * second of the window. The floor lets a quiet target still retry. Once the
+ * budget is spent, failures go to the caller as they are.</p>
+ *
+ * <p>The window is kept in one-second slots, so it slides in steps of a
+ * second.</p>
+ *
+ * <p>Metrics, tagged {@code target}: counters {@code retry.requests}
+ * (original requests), {@code retry.retries} (retries sent) and
+ * {@code retry.budget.exhausted} (retries refused). The retry rate is
+ * {@code retry.retries / retry.requests}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class RetryBudget {
+
+    private final Settings settings;
+    private final long[] slotSecond;
+    private final long[] slotRequests;
+    private final long[] slotRetries;
+    private final Counter requests;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public RetryBudget(String target, Settings settings, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        int slots = (int) Math.max(1, settings.window().toSeconds());
+        this.slotSecond = new long[slots];
+        this.slotRequests = new long[slots];
+        this.slotRetries = new long[slots];
+        this.requests = counter("retry.requests", "Requests that may be retried", target, meterRegistry);
+        this.retries = counter("retry.retries", "Retries sent", target, meterRegistry);
+        this.exhausted = counter("retry.budget.exhausted", "Retries refused by the retry budget", target,
+                meterRegistry);
+    }
+
+    /**
+     * Records an original request, which earns {@code ratio} of a retry.
+     */
+    public void onRequest() {
+        onRequest(currentSecond());
+    }
+
+    /**
+     * @param now the current second of {@link System#nanoTime()}
+     * @see #onRequest()
+     */
+    void onRequest(long now) {
+        requests.increment();
+        synchronized (this) {
+            slotRequests[slot(now)]++;
+        }
+    }
+
+    /**
+     * @return {@code true} if a retry fits the budget, in which case it is
+     * counted as sent
+     */
+    public boolean tryRetry() {
+        return tryRetry(currentSecond());
+    }
+
+    /**
+     * @param now the current second of {@link System#nanoTime()}
+     * @see #tryRetry()
+     */
+    boolean tryRetry(long now) {
+        boolean allowed;
+        synchronized (this) {
+            long windowRequests = 0;
+            long windowRetries = 0;
+            for (int i = 0; i < slotSecond.length; i++) {
+                if (now - slotSecond[i] < slotSecond.length) {
+                    windowRequests += slotRequests[i];
+                    windowRetries += slotRetries[i];
+                }
+            }
+            allowed = windowRetries + 1
+                    <= settings.ratio() * windowRequests + settings.minPerSecond() * slotSecond.length;
+            if (allowed) {
+                slotRetries[slot(now)]++;
+            }
+        }
+        (allowed ? retries : exhausted).increment();
+        return allowed;
+    }
+
+    /**
+     * Full-jitter exponential backoff: a random delay up to
+     * {@code firstBackoff * 2^(retry - 1)}, capped at {@code maxBackoff}.
+     * Spreading retries out keeps a burst of failures from coming back as a
+     * synchronised burst of retries.
+     *
+     * @param retry the retry about to be sent, from 1
+     */
+    public static Duration backoff(int retry, Duration firstBackoff, Duration maxBackoff) {
+        long ceiling = firstBackoff.toNanos() << Math.min(retry - 1, 20);
+        ceiling = Math.min(Math.max(ceiling, 0), maxBackoff.toNanos());
+        return Duration.ofNanos(ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    /**
+     * Returns the slot for {@code second}, clearing it if it last held an older second.
+     */
+    private int slot(long second) {
+        int slot = (int) Math.floorMod(second, (long) slotSecond.length);
+        if (slotSecond[slot] != second) {
+            slotSecond[slot] = second;
+            slotRequests[slot] = 0;
+            slotRetries[slot] = 0;
+        }
+        return slot;
+    }
+
+    private static long currentSecond() {
+        return System.nanoTime() / 1_000_000_000L;
+    }
+
+    private static Counter counter(String name, String description, String target, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Budget settings.
+     *
+     * @param ratio        retries allowed per original request, e.g. {@code 0.1} for 10%
+     * @param minPerSecond retries allowed per second regardless of traffic
+     * @param window       period over which requests and retries are counted
+     */
+    public record Settings(double ratio, double minPerSecond, Duration window) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookreviewplatform.common.backfill;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetBackfillTest {
+
+    /**
+     * Keys of the rows still without a value, as the database would hold them.
+     */
+    private final TreeSet<Integer> missing = new TreeSet<>();
+    private final List<Integer> afterKeys = new ArrayList<>();
+
+    @Test
+    void fillsEveryRowAcrossBatches() {
+        addMissing(1, 2, 3, 4, 5);
+
+        KeysetBackfill.Result result = KeysetBackfill.run(2, this::nextBatch, key -> key, missing::remove);
+
+        assertEquals(new KeysetBackfill.Result(5, 0), result);
+        assertTrue(missing.isEmpty());
+        assertEquals(Arrays.asList(null, 2, 4), afterKeys);
+    }
+
+    @Test
+    void skippedRowsAreReadOnceAndDoNotStopTheRun() {
+        addMissing(1, 2, 3, 4);
+
+        KeysetBackfill.Result result = KeysetBackfill.run(2, this::nextBatch, key -> key,
+                key -> key % 2 == 0 && missing.remove(key));
+
+        assertEquals(new KeysetBackfill.Result(2, 2), result);
+        assertEquals(List.of(1, 3), List.copyOf(missing));
+    }
+
+    @Test
+    void fullLastBatchCostsOneEmptyQuery() {
+        addMissing(1, 2);
+
+        KeysetBackfill.Result result = KeysetBackfill.run(2, this::nextBatch, key -> key, missing::remove);
+
+        assertEquals(2, result.filled());
+        assertEquals(2, afterKeys.size());
+    }
+
+    @Test
+    void nothingToFillIsOneQuery() {
+        KeysetBackfill.Result result = KeysetBackfill.run(2, this::nextBatch, key -> key, missing::remove);
+
+        assertFalse(result.any());
+        assertEquals(1, afterKeys.size());
+    }
+
+    private void addMissing(Integer... keys) {
+        missing.addAll(List.of(keys));
+    }
+
+    private List<Integer> nextBatch(Integer after, int size) {
+        afterKeys.add(after);
+        return (after == null ? missing : missing.tailSet(after, false)).stream().limit(size).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.bookreviewplatform.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long SECOND = 1_000 * MS;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Clock driven by the test, starting after the limiter's own.
+     */
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("test", new AdaptiveConcurrencyLimiter.Settings(
+                20, 4, 100, 0.25, 4, Duration.ofHours(1), Duration.ofSeconds(1)), meterRegistry);
+        now = System.nanoTime();
+    }
+
+    @Test
+    void startsAtTheMinimumUntilTheMinRttIsMeasured() {
+        assertEquals(4, limiter.getLimit());
+
+        measureMinRtt(10 * MS);
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void growsWhileLatencyStaysNearTheMinRtt() {
+        measureMinRtt(10 * MS);
+
+        window(20, 10 * MS, false);
+
+        // 20 * 1.25 + sqrt(20)
+        assertEquals(29, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenQueueingPushesLatencyUp() {
+        measureMinRtt(10 * MS);
+
+        window(20, 100 * MS, false);
+
+        // 20 * 0.5 (the gradient's floor) + sqrt(20)
+        assertEquals(14, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffByTenPercentAfterADrop() {
+        measureMinRtt(10 * MS);
+
+        window(20, 10 * MS, true);
+
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    void staysWithinMinAndMaxLimits() {
+        measureMinRtt(10 * MS);
+        for (int i = 0; i < 20; i++) {
+            window(limiter.getLimit(), 10 * MS, false);
+        }
+        assertEquals(100, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            window(limiter.getLimit(), 10 * MS, true);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void underusedWindowLeavesTheLimitAlone() {
+        measureMinRtt(10 * MS);
+
+        window(5, 100 * MS, false);
+        window(5, 100 * MS, false);
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void remeasuresTheMinRttAfterTheInterval() {
+        measureMinRtt(10 * MS);
+
+        now += 2 * 3_600 * SECOND;
+        window(20, 10 * MS, false);
+        assertEquals(4, limiter.getLimit());
+
+        measureMinRtt(10 * MS);
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void rejectsAndCountsRequestsOverTheLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryReserve());
+
+        assertEquals(1, meterRegistry.get("concurrency.rejections").tag("limiter", "test").counter().count());
+        assertEquals(4, meterRegistry.get("concurrency.inflight").tag("limiter", "test").gauge().value());
+    }
+
+    /**
+     * Completes the min RTT measurement with requests of the given latency.
+     */
+    private void measureMinRtt(long latency) {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        now += latency;
+        for (int i = 0; i < 4; i++) {
+            limiter.release(now - latency, now, false);
+        }
+    }
+
+    /**
+     * Admits up to {@code concurrency} requests a second after the previous
+     * batch and completes them. A window closes once it has ten samples.
+     */
+    private void window(int concurrency, long latency, boolean dropped) {
+        now += SECOND;
+        int admitted = 0;
+        while (admitted < concurrency && limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(now - latency, now, dropped);
+        }
+    }
+}
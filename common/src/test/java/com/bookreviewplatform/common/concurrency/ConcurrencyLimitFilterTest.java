@@ -0,0 +1,112 @@
+package com.bookreviewplatform.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private final PriorityScheduler scheduler = scheduler();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(scheduler, new ObjectMapper(),
+            Map.of("message", "Service busy"));
+
+    @Test
+    void admitsApiRequestsAndReleasesTheirPermit() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(get("/api/v1/books"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertTrue(scheduler.acquire(Priority.NORMAL), "permit released");
+    }
+
+    @Test
+    void shedsApiRequestsWithA503WhenNoPermitIsLeft() throws Exception {
+        assertTrue(scheduler.acquire(Priority.INTERACTIVE));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get("/api/v1/books"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals("{\"message\":\"Service busy\"}", response.getContentAsString());
+    }
+
+    @Test
+    void leavesOtherPathsUnlimited() throws Exception {
+        assertTrue(scheduler.acquire(Priority.INTERACTIVE));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(get("/internal/ratings"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void leavesExcludedPathsAndWhatIsBelowThemUnlimited() throws Exception {
+        ConcurrencyLimitFilter excluding = new ConcurrencyLimitFilter(scheduler, new ObjectMapper(),
+                Map.of("message", "Service busy"), List.of("/api/v1/books/import"));
+        assertTrue(scheduler.acquire(Priority.INTERACTIVE));
+
+        MockFilterChain importChain = new MockFilterChain();
+        excluding.doFilter(new MockHttpServletRequest("POST", "/api/v1/books/import"), new MockHttpServletResponse(),
+                importChain);
+        MockFilterChain progressChain = new MockFilterChain();
+        excluding.doFilter(get("/api/v1/books/import/42"), new MockHttpServletResponse(), progressChain);
+        MockFilterChain lookalikeChain = new MockFilterChain();
+        excluding.doFilter(get("/api/v1/books/imports"), new MockHttpServletResponse(), lookalikeChain);
+
+        assertNotNull(importChain.getRequest());
+        assertNotNull(progressChain.getRequest());
+        assertNull(lookalikeChain.getRequest(), "only the excluded path and its subpaths");
+    }
+
+    @Test
+    void releasesThePermitWhenTheHandlerThrows() {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(get("/api/v1/books"), new MockHttpServletResponse(), failing));
+
+        assertTrue(scheduler.acquire(Priority.NORMAL), "permit released");
+    }
+
+    /**
+     * One permit and no queueing, so a request that finds it taken is shed at once.
+     */
+    private static PriorityScheduler scheduler() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("api",
+                new AdaptiveConcurrencyLimiter.Settings(1, 1, 1, 0.25, Integer.MAX_VALUE,
+                        Duration.ofHours(1), Duration.ofSeconds(1)),
+                meterRegistry);
+        Map<Priority, PriorityScheduler.ClassSettings> settings = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            settings.put(priority, new PriorityScheduler.ClassSettings(1, 0, Duration.ZERO));
+        }
+        return new PriorityScheduler(limiter, settings, meterRegistry);
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
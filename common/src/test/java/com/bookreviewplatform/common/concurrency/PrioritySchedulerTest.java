@@ -0,0 +1,177 @@
+package com.bookreviewplatform.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrioritySchedulerTest {
+
+    private static final Duration LONG_WAIT = Duration.ofSeconds(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Thread> threads = new ArrayList<>();
+    private final List<String> granted = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(LONG_WAIT.toMillis());
+        }
+    }
+
+    @Test
+    void admitsStraightThroughWhileTheLimitHasRoom() {
+        PriorityScheduler scheduler = scheduler(2, settings(10, LONG_WAIT, 10, LONG_WAIT));
+
+        assertTrue(scheduler.acquire(Priority.BATCH));
+        assertTrue(scheduler.acquire(Priority.INTERACTIVE));
+
+        assertEquals(0, meterRegistry.get("scheduling.wait").tag("priority", "batch").timer().count());
+    }
+
+    @Test
+    void servesQueuedRequestsByWeightedStartTime() throws InterruptedException {
+        PriorityScheduler scheduler = scheduler(1, settings(10, LONG_WAIT, 10, LONG_WAIT));
+        assertTrue(scheduler.acquire(Priority.NORMAL));
+
+        enqueue(scheduler, Priority.BATCH, "batch-1");
+        enqueue(scheduler, Priority.BATCH, "batch-2");
+        enqueue(scheduler, Priority.INTERACTIVE, "interactive-1");
+        enqueue(scheduler, Priority.INTERACTIVE, "interactive-2");
+        enqueue(scheduler, Priority.INTERACTIVE, "interactive-3");
+        scheduler.release(System.nanoTime(), false);
+        tearDown();
+
+        // Start tags: batch 0 and 1 (weight 1), interactive 0, 1/8 and 2/8 (weight 8);
+        // the tie at 0 goes to the higher priority.
+        assertEquals(List.of("interactive-1", "batch-1", "interactive-2", "interactive-3", "batch-2"), granted);
+        assertEquals(0, queued(Priority.BATCH));
+    }
+
+    @Test
+    void rejectsAtOnceWhenTheClassQueueIsFull() throws InterruptedException {
+        PriorityScheduler scheduler = scheduler(1, settings(10, LONG_WAIT, 1, LONG_WAIT));
+        assertTrue(scheduler.acquire(Priority.INTERACTIVE));
+        enqueue(scheduler, Priority.BATCH, "batch-1");
+
+        assertFalse(scheduler.acquire(Priority.BATCH));
+        assertEquals(1, rejections(Priority.BATCH, "queue_full"));
+        assertEquals(1, meterRegistry.get("concurrency.rejections").tag("limiter", "test").counter().count());
+
+        scheduler.release(System.nanoTime(), false);
+        tearDown();
+        assertEquals(List.of("batch-1"), granted);
+    }
+
+    @Test
+    void rejectsAfterTheClassMaxWait() {
+        PriorityScheduler scheduler = scheduler(1, settings(10, LONG_WAIT, 10, Duration.ofMillis(50)));
+        assertTrue(scheduler.acquire(Priority.INTERACTIVE));
+
+        long start = System.nanoTime();
+        assertFalse(scheduler.acquire(Priority.BATCH));
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+        assertEquals(1, rejections(Priority.BATCH, "timeout"));
+        assertEquals(0, queued(Priority.BATCH));
+    }
+
+    @Test
+    void classSettingsPairTheListsInPriorityOrder() {
+        MockEnvironment environment = environment()
+                .withProperty("bookservice.scheduling.weights", "8,4,1")
+                .withProperty("bookservice.scheduling.max-waits", "1s,500ms,100ms");
+
+        Map<Priority, PriorityScheduler.ClassSettings> settings =
+                PriorityScheduler.classSettings(environment, "bookservice.scheduling");
+
+        assertEquals(new PriorityScheduler.ClassSettings(8, 40, Duration.ofSeconds(1)), settings.get(Priority.INTERACTIVE));
+        assertEquals(new PriorityScheduler.ClassSettings(1, 10, Duration.ofMillis(100)), settings.get(Priority.BATCH));
+    }
+
+    @Test
+    void classSettingsNeedOneValuePerPriority() {
+        MockEnvironment environment = environment().withProperty("bookservice.scheduling.weights", "8,1");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PriorityScheduler.classSettings(environment, "bookservice.scheduling"));
+    }
+
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setConversionService(new ApplicationConversionService());
+        return environment;
+    }
+
+    /**
+     * A scheduler over a limiter held at {@code limit} permits (its min RTT is
+     * never measured, so the limit stays at the minimum).
+     */
+    private PriorityScheduler scheduler(int limit, Map<Priority, PriorityScheduler.ClassSettings> settings) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test",
+                new AdaptiveConcurrencyLimiter.Settings(limit, limit, limit, 0.25, Integer.MAX_VALUE,
+                        Duration.ofHours(1), Duration.ofSeconds(1)),
+                meterRegistry);
+        return new PriorityScheduler(limiter, settings, meterRegistry);
+    }
+
+    /**
+     * Interactive (weight 8) and batch (weight 1) settings; normal gets weight 4
+     * and the interactive queue and wait.
+     */
+    private static Map<Priority, PriorityScheduler.ClassSettings> settings(int interactiveCapacity,
+                                                                           Duration interactiveWait,
+                                                                           int batchCapacity, Duration batchWait) {
+        Map<Priority, PriorityScheduler.ClassSettings> settings = new EnumMap<>(Priority.class);
+        settings.put(Priority.INTERACTIVE, new PriorityScheduler.ClassSettings(8, interactiveCapacity, interactiveWait));
+        settings.put(Priority.NORMAL, new PriorityScheduler.ClassSettings(4, interactiveCapacity, interactiveWait));
+        settings.put(Priority.BATCH, new PriorityScheduler.ClassSettings(1, batchCapacity, batchWait));
+        return settings;
+    }
+
+    /**
+     * Starts a request on its own thread and waits until it is queued. Once
+     * admitted, it records its name and releases its permit at once.
+     */
+    private void enqueue(PriorityScheduler scheduler, Priority priority, String name) throws InterruptedException {
+        int before = queued(priority);
+        Thread thread = new Thread(() -> {
+            if (scheduler.acquire(priority)) {
+                granted.add(name);
+                scheduler.release(System.nanoTime(), false);
+            }
+        }, name);
+        threads.add(thread);
+        thread.start();
+        long deadline = System.nanoTime() + LONG_WAIT.toNanos();
+        while (queued(priority) == before && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(before + 1, queued(priority), name + " queued");
+    }
+
+    private int queued(Priority priority) {
+        return (int) meterRegistry.get("scheduling.queued").tag("priority", priority.headerValue()).gauge().value();
+    }
+
+    private double rejections(Priority priority, String reason) {
+        return meterRegistry.get("scheduling.rejections")
+                .tag("priority", priority.headerValue())
+                .tag("reason", reason)
+                .counter().count();
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookreviewplatform.common.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ETagsTest {
+
+    private final UUID id = UUID.fromString("3f2a8c1e-0000-4000-8000-000000000001");
+
+    @Test
+    void resourceETagRoundTripsThroughIfMatch() {
+        String eTag = ETags.forResource(id, 7L);
+
+        assertEquals("\"" + id + "-7\"", eTag);
+        assertEquals(Long.valueOf(7), ETags.expectedVersion(id, eTag, IllegalStateException::new));
+        assertEquals(Long.valueOf(7), ETags.expectedVersion(id, "W/" + eTag, IllegalStateException::new));
+    }
+
+    @Test
+    void missingOrWildcardIfMatchIsUnconditional() {
+        assertNull(ETags.expectedVersion(id, null, IllegalStateException::new));
+        assertNull(ETags.expectedVersion(id, " ", IllegalStateException::new));
+        assertNull(ETags.expectedVersion(id, "*", IllegalStateException::new));
+        assertNull(ETags.forResource(id, null));
+    }
+
+    @Test
+    void ifMatchForAnotherResourceOrMalformedIsAConflict() {
+        String other = ETags.forResource(UUID.randomUUID(), 7L);
+
+        assertThrows(IllegalStateException.class, () -> ETags.expectedVersion(id, other, IllegalStateException::new));
+        assertThrows(IllegalStateException.class,
+                () -> ETags.expectedVersion(id, "\"" + id + "-x\"", IllegalStateException::new));
+        assertThrows(IllegalStateException.class,
+                () -> ETags.expectedVersion(id, "\"" + id + "-\"", IllegalStateException::new));
+    }
+
+    @Test
+    void collectionETagChangesWithAnyPartOfTheVersion() {
+        Instant now = Instant.parse("2026-01-01T00:00:00.000001Z");
+        String eTag = ETags.forCollection("books", new CollectionVersion(3L, 9L, now));
+
+        assertEquals(eTag, ETags.forCollection("books", new CollectionVersion(3L, 9L, now)));
+        assertNotEquals(eTag, ETags.forCollection("books", new CollectionVersion(2L, 9L, now)));
+        assertNotEquals(eTag, ETags.forCollection("books", new CollectionVersion(3L, 10L, now)));
+        assertNotEquals(eTag, ETags.forCollection("books", new CollectionVersion(3L, 9L, now.plusNanos(1_000))));
+        assertNotEquals(eTag, ETags.forCollection("reviews", new CollectionVersion(3L, 9L, now)));
+        assertEquals("\"books-0-0-0\"", ETags.forCollection("books", new CollectionVersion(0L, null, null)));
+    }
+
+    @Test
+    void matchingIfNoneMatchSkipsTheBody() {
+        AtomicInteger bodies = new AtomicInteger();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"books-1\"");
+
+        ResponseEntity<String> notModified = ETags.conditional(
+                new ServletWebRequest(request, new MockHttpServletResponse()), "\"books-1\"",
+                () -> "body " + bodies.incrementAndGet());
+        ResponseEntity<String> changed = ETags.conditional(
+                new ServletWebRequest(request, new MockHttpServletResponse()), "\"books-2\"",
+                () -> "body " + bodies.incrementAndGet());
+
+        assertNull(notModified);
+        assertEquals("body 1", changed.getBody());
+        assertEquals("\"books-2\"", changed.getHeaders().getETag());
+    }
+}
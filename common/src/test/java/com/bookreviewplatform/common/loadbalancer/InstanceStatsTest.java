@@ -0,0 +1,142 @@
+package com.bookreviewplatform.common.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstanceStatsTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long SECOND = 1_000 * MS;
+
+    private static final LoadBalancerStats.Settings SETTINGS = new LoadBalancerStats.Settings(
+            Duration.ofSeconds(10), Duration.ZERO, 3, Duration.ofSeconds(1),
+            Duration.ofSeconds(30), Duration.ofMinutes(5), 50, Duration.ofMinutes(5));
+
+    @Test
+    void slowerSampleReplacesTheAverageAtOnce() {
+        InstanceStats stats = new InstanceStats(0);
+
+        complete(stats, SECOND, 10 * MS, false);
+        complete(stats, SECOND, 200 * MS, false);
+
+        assertEquals(200 * MS, stats.latency(SECOND, decay()), 1);
+    }
+
+    @Test
+    void fasterSamplesPullTheAverageDownGradually() {
+        InstanceStats stats = new InstanceStats(0);
+        complete(stats, SECOND, 200 * MS, false);
+
+        complete(stats, 2 * SECOND, 10 * MS, false);
+        double afterOne = stats.latency(2 * SECOND, decay());
+        assertTrue(afterOne > 10 * MS && afterOne < 200 * MS, () -> "latency " + afterOne);
+
+        complete(stats, 62 * SECOND, 10 * MS, false);
+        assertEquals(10 * MS, stats.latency(62 * SECOND, decay()), MS);
+    }
+
+    @Test
+    void latencyDecaysBetweenSamplesSoAnAvoidedInstanceIsTriedAgain() {
+        InstanceStats stats = new InstanceStats(0);
+        complete(stats, SECOND, 200 * MS, false);
+
+        double later = stats.latency(SECOND + 10 * SECOND, decay());
+
+        assertEquals(200 * MS / Math.E, later, MS);
+        assertEquals(0, new InstanceStats(0).latency(SECOND, decay()), "no sample yet");
+    }
+
+    @Test
+    void costGrowsWithOutstandingRequests() {
+        InstanceStats stats = new InstanceStats(0);
+        complete(stats, SECOND, 10 * MS, false);
+        double idle = stats.cost(SECOND, 1, SETTINGS);
+
+        stats.started(SECOND);
+        stats.started(SECOND);
+
+        assertEquals(3 * idle, stats.cost(SECOND, 1, SETTINGS), 1);
+        assertEquals(2, stats.outstanding());
+    }
+
+    @Test
+    void newInstanceUsesThePriorLatencyAndWarmsUpOverSlowStart() {
+        LoadBalancerStats.Settings slowStart = new LoadBalancerStats.Settings(
+                Duration.ofSeconds(10), Duration.ofSeconds(30), 3, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), 50, Duration.ofMinutes(5));
+        InstanceStats stats = new InstanceStats(0);
+
+        assertEquals(10 * 100, stats.cost(0, 100, slowStart), 1e-6, "10% share at first");
+        assertEquals(2 * 100, stats.cost(15 * SECOND, 100, slowStart), 1e-6, "half way");
+        assertEquals(100, stats.cost(30 * SECOND, 100, slowStart), 1e-6, "full share");
+    }
+
+    @Test
+    void fastFailureIsRecordedAtLeastAtThePenalty() {
+        InstanceStats stats = new InstanceStats(0);
+
+        complete(stats, SECOND, MS, true);
+
+        assertEquals(SECOND, stats.latency(SECOND, decay()), 1);
+    }
+
+    @Test
+    void consecutiveFailuresTriggerEjectionAndSuccessResetsTheCount() {
+        InstanceStats stats = new InstanceStats(0);
+        complete(stats, SECOND, MS, true);
+        complete(stats, SECOND, MS, true);
+        complete(stats, SECOND, MS, false);
+        complete(stats, SECOND, MS, true);
+        assertFalse(stats.shouldEject(SETTINGS));
+
+        complete(stats, SECOND, MS, true);
+        complete(stats, SECOND, MS, true);
+        assertTrue(stats.shouldEject(SETTINGS));
+    }
+
+    @Test
+    void ejectionGrowsWithRepeatedEjectionsUpToTheMaximum() {
+        InstanceStats stats = new InstanceStats(0);
+
+        stats.eject(0, SETTINGS);
+        assertTrue(stats.isEjected(30 * SECOND - 1));
+        assertFalse(stats.isEjected(30 * SECOND));
+        assertFalse(stats.shouldEject(SETTINGS), "failure count resets on ejection");
+
+        stats.eject(30 * SECOND, SETTINGS);
+        assertTrue(stats.isEjected(90 * SECOND - 1));
+        assertFalse(stats.isEjected(90 * SECOND));
+
+        for (int i = 0; i < 20; i++) {
+            stats.eject(0, SETTINGS);
+        }
+        assertTrue(stats.isEjected(5 * 60 * SECOND - 1));
+        assertFalse(stats.isEjected(5 * 60 * SECOND));
+    }
+
+    @Test
+    void abandonedRequestStopsCountingWithoutASample() {
+        InstanceStats stats = new InstanceStats(0);
+        stats.started(0);
+
+        stats.abandoned();
+        stats.abandoned();
+
+        assertEquals(0, stats.outstanding());
+        assertEquals(0, stats.latency(SECOND, decay()));
+    }
+
+    private static void complete(InstanceStats stats, long now, long latency, boolean failed) {
+        stats.started(now - latency);
+        stats.completed(now, latency, failed, SETTINGS);
+    }
+
+    private static long decay() {
+        return SETTINGS.decay().toNanos();
+    }
+}
@@ -0,0 +1,78 @@
+package com.bookreviewplatform.common.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadBalancerStatsTest {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("a", "books", "a", 8080, false);
+
+    @Test
+    void settingsAreReadUnderTheGivenPrefixWithDefaultsForMissingOnes() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("reviewservice.load-balancer.decay", "2s")
+                .withProperty("reviewservice.load-balancer.failure-threshold", "7")
+                .withProperty("gateway.load-balancer.decay", "9s");
+        environment.setConversionService(new ApplicationConversionService());
+
+        LoadBalancerStats.Settings settings = LoadBalancerStats.Settings.from(environment, "reviewservice.load-balancer");
+
+        assertEquals(new LoadBalancerStats.Settings(Duration.ofSeconds(2), Duration.ofSeconds(30), 7,
+                Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(5), 50, Duration.ofMinutes(5)),
+                settings);
+    }
+
+    @Test
+    void failedCompletionsCountTowardsEjection() {
+        LoadBalancerStats stats = stats();
+
+        complete(stats, CompletionContext.Status.FAILED);
+        complete(stats, CompletionContext.Status.FAILED);
+
+        InstanceStats instanceStats = stats.of(instance, System.nanoTime());
+        assertTrue(instanceStats.shouldEject(stats.settings()));
+        assertEquals(0, instanceStats.outstanding());
+    }
+
+    @Test
+    void discardedRequestIsReleasedWithoutALatencySample() {
+        LoadBalancerStats stats = stats();
+
+        complete(stats, CompletionContext.Status.DISCARD);
+
+        InstanceStats instanceStats = stats.of(instance, System.nanoTime());
+        assertEquals(0, instanceStats.outstanding());
+        assertEquals(0, instanceStats.latency(System.nanoTime(), stats.settings().decay().toNanos()));
+    }
+
+    private LoadBalancerStats stats() {
+        return new LoadBalancerStats(new SimpleMeterRegistry(), new LoadBalancerStats.Settings(
+                Duration.ofSeconds(10), Duration.ZERO, 2, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), 50, Duration.ofMinutes(5)));
+    }
+
+    private void complete(LoadBalancerStats stats, CompletionContext.Status status) {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        stats.onStartRequest(request, response);
+        assertEquals(1, stats.of(instance, System.nanoTime()).outstanding());
+        stats.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+                status, request, response, null));
+    }
+}
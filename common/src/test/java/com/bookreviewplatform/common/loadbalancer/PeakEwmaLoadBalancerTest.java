@@ -0,0 +1,111 @@
+package com.bookreviewplatform.common.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PeakEwmaLoadBalancerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoadBalancerStats stats = new LoadBalancerStats(meterRegistry, new LoadBalancerStats.Settings(
+            Duration.ofSeconds(10), Duration.ZERO, 2, Duration.ofSeconds(1),
+            Duration.ofSeconds(30), Duration.ofMinutes(5), 50, Duration.ofMinutes(5)));
+
+    private final ServiceInstance fast = instance("fast");
+    private final ServiceInstance slow = instance("slow");
+
+    @Test
+    void prefersTheInstanceWithLowerLatency() {
+        recordSample(fast, 5 * MS, false);
+        recordSample(slow, 500 * MS, false);
+        PeakEwmaLoadBalancer balancer = balancer(fast, slow);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, choose(balancer));
+        }
+    }
+
+    @Test
+    void prefersTheLessBusyInstanceWhenLatenciesAreEqual() {
+        recordSample(fast, 10 * MS, false);
+        recordSample(slow, 10 * MS, false);
+        long now = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            stats.of(slow, now).started(now);
+        }
+        PeakEwmaLoadBalancer balancer = balancer(fast, slow);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, choose(balancer));
+        }
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailures() {
+        recordSample(slow, MS, true);
+        recordSample(slow, MS, true);
+        PeakEwmaLoadBalancer balancer = balancer(fast, slow);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, choose(balancer));
+        }
+        assertEquals(1, meterRegistry.get("loadbalancer.ejections").tag("service", "books").counter().count());
+    }
+
+    @Test
+    void neverEjectsMoreThanTheMaximumShare() {
+        recordSample(fast, MS, true);
+        recordSample(fast, MS, true);
+        recordSample(slow, MS, true);
+        recordSample(slow, MS, true);
+        PeakEwmaLoadBalancer balancer = balancer(fast, slow);
+
+        choose(balancer);
+
+        assertEquals(1, meterRegistry.get("loadbalancer.ejections").tag("service", "books").counter().count());
+    }
+
+    @Test
+    void returnsAnEmptyResponseWithoutInstances() {
+        Response<ServiceInstance> response = balancer().choose(new DefaultRequest<>(new RequestDataContext())).block();
+
+        assertFalse(response.hasServer());
+    }
+
+    private void recordSample(ServiceInstance instance, long latency, boolean failed) {
+        long now = System.nanoTime();
+        InstanceStats instanceStats = stats.of(instance, now);
+        instanceStats.started(now - latency);
+        instanceStats.completed(now, latency, failed, stats.settings());
+    }
+
+    private PeakEwmaLoadBalancer balancer(ServiceInstance... instances) {
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from("books", instances);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("supplier", supplier));
+        return new PeakEwmaLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class), "books",
+                stats);
+    }
+
+    private static ServiceInstance choose(PeakEwmaLoadBalancer balancer) {
+        return balancer.choose(new DefaultRequest<>(new RequestDataContext())).block().getServer();
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "books", host, 8080, false);
+    }
+}
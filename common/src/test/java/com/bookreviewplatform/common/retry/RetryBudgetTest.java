@@ -0,0 +1,99 @@
+package com.bookreviewplatform.common.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryBudgetTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void quietTargetMayRetryUpToTheFloor() {
+        RetryBudget budget = budget(0.1, 1, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryRetry(100), "retry " + i);
+        }
+        assertFalse(budget.tryRetry(100));
+
+        assertEquals(10, count("retry.retries"));
+        assertEquals(1, count("retry.budget.exhausted"));
+    }
+
+    @Test
+    void busyTargetMayRetryARatioOfItsRequests() {
+        RetryBudget budget = budget(0.1, 0, 10);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest(100);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryRetry(100), "retry " + i);
+        }
+        assertFalse(budget.tryRetry(100));
+        assertEquals(100, count("retry.requests"));
+    }
+
+    @Test
+    void staysExhaustedWhileEveryRetryFails() {
+        RetryBudget budget = budget(0.1, 0, 10);
+        for (int i = 0; i < 50; i++) {
+            budget.onRequest(100);
+        }
+        for (int i = 0; i < 5; i++) {
+            budget.tryRetry(100);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(budget.tryRetry(100 + i % 10));
+        }
+        assertEquals(100, count("retry.budget.exhausted"));
+    }
+
+    @Test
+    void spentRetriesLeaveTheWindowAfterItsLength() {
+        RetryBudget budget = budget(0, 0.1, 10);
+        assertTrue(budget.tryRetry(100));
+        assertFalse(budget.tryRetry(105));
+        assertFalse(budget.tryRetry(109));
+
+        assertTrue(budget.tryRetry(110));
+    }
+
+    @Test
+    void requestsOutsideTheWindowEarnNothing() {
+        RetryBudget budget = budget(1, 0, 10);
+        budget.onRequest(100);
+
+        assertFalse(budget.tryRetry(110));
+    }
+
+    @Test
+    void backoffIsJitteredUpToAnExponentialCeiling() {
+        Duration first = Duration.ofMillis(50);
+        Duration max = Duration.ofMillis(500);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(RetryBudget.backoff(1, first, max).compareTo(first) <= 0);
+            assertTrue(RetryBudget.backoff(3, first, max).compareTo(Duration.ofMillis(200)) <= 0);
+            assertTrue(RetryBudget.backoff(64, first, max).compareTo(max) <= 0);
+            assertFalse(RetryBudget.backoff(64, first, max).isNegative());
+        }
+        assertEquals(Duration.ZERO, RetryBudget.backoff(1, Duration.ZERO, max));
+    }
+
+    private RetryBudget budget(double ratio, double minPerSecond, int windowSeconds) {
+        return new RetryBudget("books", new RetryBudget.Settings(ratio, minPerSecond,
+                Duration.ofSeconds(windowSeconds)), meterRegistry);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("target", "books").counter().count();
+    }
+}
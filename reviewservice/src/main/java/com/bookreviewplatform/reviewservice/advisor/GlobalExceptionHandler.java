@@ -0,0 +1,42 @@
+package com.bookreviewplatform.reviewservice.advisor;
+
+import com.bookreviewplatform.reviewservice.exception.ReviewNotFoundException;
+import com.bookreviewplatform.reviewservice.payloads.StandardResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Global exception handler for the Review Service module.
+ *
+ * <p>Centralizes exception handling using {@link ControllerAdvice} so that
+ * domain errors escaping the controllers are returned as {@link StandardResponse}
+ * bodies with the matching HTTP status.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@ControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * Handles {@link ReviewNotFoundException} thrown when a review cannot be found.
+     *
+     * @param ex      the thrown {@link ReviewNotFoundException}
+     * @param request the current web request
+     * @return {@link ResponseEntity} with structured error and HTTP 404 Not Found
+     */
+    @ExceptionHandler(ReviewNotFoundException.class)
+    public ResponseEntity<StandardResponse<Object>> handleReviewNotFoundException(
+            ReviewNotFoundException ex, WebRequest request) {
+
+        StandardResponse<Object> response = StandardResponse.error(
+                "Review not found",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookreviewplatform.reviewservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} support for the Review Service's
+ * background jobs (e.g., publishing rating deltas to the Book Service).
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
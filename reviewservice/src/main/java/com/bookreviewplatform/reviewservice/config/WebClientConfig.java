@@ -1,10 +1,26 @@
 package com.bookreviewplatform.reviewservice.config;
 
+import com.bookreviewplatform.common.concurrency.Priority;
+import com.bookreviewplatform.common.loadbalancer.LoadBalancerStats;
+import com.bookreviewplatform.common.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import com.bookreviewplatform.common.retry.RetryBudget;
+import com.bookreviewplatform.reviewservice.retry.BudgetedRetryFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
 /**
  * Configuration class for setting up {@link WebClient} instances used by the Review Service
  * to communicate with other microservices (Book Service & User Service).
@@ -15,12 +31,52 @@ import org.springframework.web.reactive.function.client.WebClient;
  * (e.g., {@code bookservice}, {@code userservice}) through the service registry (Eureka/Nacos/Consul),
  * enabling resilient inter-service communication in a microservices architecture.</p>
  *
+ * <p>Instances are chosen by the latency-aware {@code PeakEwmaLoadBalancer}
+ * rather than round-robin, so a slow or failing instance is avoided.</p>
+ *
+ * <p>The Book and User Service clients retry idempotent calls that fail to
+ * connect or get 502/503, on another instance, within a per-service
+ * {@link RetryBudget}.</p>
+ *
  * @author Lakshan Chamoditha Perera
  * @since 1.0
  */
 @Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
 public class WebClientConfig {
 
+    @Value("${reviewservice.retry.retries:2}")
+    private int retries;
+
+    @Value("${reviewservice.retry.first-backoff:50ms}")
+    private Duration firstBackoff;
+
+    @Value("${reviewservice.retry.max-backoff:500ms}")
+    private Duration maxBackoff;
+
+    @Value("${reviewservice.retry.budget-ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${reviewservice.retry.min-retries-per-second:3}")
+    private double minRetriesPerSecond;
+
+    @Value("${reviewservice.retry.budget-window:10s}")
+    private Duration budgetWindow;
+
+    /**
+     * Per-instance latency and failure stats for the {@code PeakEwmaLoadBalancer},
+     * configured from {@code reviewservice.load-balancer.*}.
+     *
+     * @param meterRegistry registry for the ejection counter
+     * @param environment   source of the balancer settings
+     * @return the stats collector
+     */
+    @Bean
+    public LoadBalancerStats loadBalancerStats(MeterRegistry meterRegistry, Environment environment) {
+        return new LoadBalancerStats(meterRegistry,
+                LoadBalancerStats.Settings.from(environment, "reviewservice.load-balancer"));
+    }
+
     /**
      * Provides a {@link WebClient.Builder} marked with {@code @LoadBalanced}.
      *
@@ -29,12 +85,41 @@ public class WebClientConfig {
      *
      * <p>Marked as {@code @Bean} so it can be injected and customized further if needed.</p>
      *
+     * <p>Calls made while serving a request carry that request's
+     * {@value Priority#HEADER}, so the called service schedules them in the
+     * same class.</p>
+     *
+     * <p>Calls are timed in {@code http.client.requests}, tagged with the
+     * target service and URI template. Boot instruments only its own builder,
+     * so the observation registry is set here.</p>
+     *
+     * @param observationRegistry the application's observation registry
      * @return a load-balanced {@link WebClient.Builder} instance
      */
     @Bean
     @LoadBalanced
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(ObservationRegistry observationRegistry) {
+        return WebClient.builder()
+                .observationRegistry(observationRegistry)
+                .filter(propagatePriority());
+    }
+
+    /**
+     * Copies {@value Priority#HEADER} from the servlet request being served.
+     * Runs on subscription, which for the blocking calls in the service layer
+     * is the request thread; calls made off it go without the header.
+     */
+    private static ExchangeFilterFunction propagatePriority() {
+        return (request, next) -> {
+            if (!request.headers().containsKey(Priority.HEADER)
+                    && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                String priority = attributes.getRequest().getHeader(Priority.HEADER);
+                if (priority != null) {
+                    return next.exchange(ClientRequest.from(request).header(Priority.HEADER, priority).build());
+                }
+            }
+            return next.exchange(request);
+        };
     }
 
     /**
@@ -44,15 +129,33 @@ public class WebClientConfig {
      * <p>Used for validating book existence, fetching book details, etc.</p>
      *
      * @param webClientBuilder the load-balanced builder
+     * @param meterRegistry    registry for the retry budget's metrics
      * @return configured {@link WebClient} for Book Service
      */
     @Bean
-    public WebClient bookWebClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder
+    public WebClient bookWebClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        return webClientBuilder.clone()
+                .filters(filters -> filters.add(0, retryFilter("bookservice", meterRegistry)))
                 .baseUrl("http://bookservice/api/v1/books")
                 .build();
     }
 
+    /**
+     * Creates a {@link WebClient} for the Book Service's internal endpoints.
+     *
+     * <p>Base URL: {@code http://bookservice/internal}</p>
+     * <p>Used to publish rating deltas; not reachable through the API gateway.</p>
+     *
+     * @param webClientBuilder the load-balanced builder
+     * @return configured {@link WebClient} for Book Service internal endpoints
+     */
+    @Bean
+    public WebClient bookInternalWebClient(WebClient.Builder webClientBuilder) {
+        return webClientBuilder
+                .baseUrl("http://bookservice/internal")
+                .build();
+    }
+
     /**
      * Creates a pre-configured {@link WebClient} for communicating with the <strong>User Service</strong>.
      *
@@ -60,12 +163,25 @@ public class WebClientConfig {
      * <p>Used for validating user existence, retrieving user profile info, etc.</p>
      *
      * @param webClientBuilder the load-balanced builder
+     * @param meterRegistry    registry for the retry budget's metrics
      * @return configured {@link WebClient} User Service
      */
     @Bean
-    public WebClient userWebClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder
+    public WebClient userWebClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        return webClientBuilder.clone()
+                .filters(filters -> filters.add(0, retryFilter("userservice", meterRegistry)))
                 .baseUrl("http://userservice/api/v1/users")
                 .build();
     }
+
+    /**
+     * Builds a retry filter with its own budget. Added first, ahead of the
+     * load balancer's filter, so every attempt is balanced again; the builder
+     * is cloned so the filter stays off the other clients.
+     */
+    private BudgetedRetryFilter retryFilter(String target, MeterRegistry meterRegistry) {
+        RetryBudget budget = new RetryBudget(target,
+                new RetryBudget.Settings(budgetRatio, minRetriesPerSecond, budgetWindow), meterRegistry);
+        return new BudgetedRetryFilter(budget, retries, firstBackoff, maxBackoff);
+    }
 }
\ No newline at end of file
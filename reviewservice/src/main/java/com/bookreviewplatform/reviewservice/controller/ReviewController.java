@@ -1,11 +1,14 @@
 package com.bookreviewplatform.reviewservice.controller;
 
+import com.bookreviewplatform.common.etag.ETags;
+import com.bookreviewplatform.reviewservice.dto.ReviewDTO;
 import com.bookreviewplatform.reviewservice.dto.ReviewRequestDTO;
 import com.bookreviewplatform.reviewservice.payloads.StandardResponse;
 import com.bookreviewplatform.reviewservice.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 import java.util.logging.Logger;
@@ -35,13 +38,18 @@ public class ReviewController {
     /**
      * Retrieves all reviews in the system.
      *
+     * <p>Supports conditional GET via an ETag derived from the reviews' aggregate
+     * version; a matching {@code If-None-Match} gets 304 without loading any reviews.</p>
+     *
+     * @param request the current request (for {@code If-None-Match})
      * @return ResponseEntity containing a list of all reviews wrapped in StandardResponse
-     * with HTTP status 200 OK
+     * with HTTP status 200 OK, or 304 Not Modified
      */
     @GetMapping
-    public ResponseEntity<StandardResponse> getAllReviews() {
+    public ResponseEntity<StandardResponse> getAllReviews(WebRequest request) {
         logger.info("Received request to get all reviews");
-        return ResponseEntity.ok(reviewService.getAllReviews());
+        String eTag = ETags.forCollection("reviews", reviewService.getCollectionVersion(null, null));
+        return ETags.conditional(request, eTag, reviewService::getAllReviews);
     }
 
     /**
@@ -52,32 +60,45 @@ public class ReviewController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<StandardResponse> getReviewById(@PathVariable UUID id) {
-        logger.info("Received request to get review by id: " + id);
-        return ResponseEntity.ok(reviewService.getReviewById(id));
+        logger.info(() -> "Received request to get review by id: " + id);
+        StandardResponse response = reviewService.getReviewById(id);
+        if (response.getData() instanceof ReviewDTO review && review.getVersion() != null) {
+            // Spring MVC answers a matching If-None-Match with 304 and skips the body.
+            return ResponseEntity.ok().eTag(ETags.forResource(review.getId(), review.getVersion())).body(response);
+        }
+        return ResponseEntity.ok(response);
     }
 
     /**
      * Retrieves all reviews for a specific book.
      *
-     * @param bookId the UUID of the book
-     * @return ResponseEntity containing a list of reviews for the given book
+     * <p>Supports conditional GET like {@link #getAllReviews(WebRequest)}.</p>
+     *
+     * @param bookId  the UUID of the book
+     * @param request the current request (for {@code If-None-Match})
+     * @return ResponseEntity containing a list of reviews for the given book, or 304 Not Modified
      */
     @GetMapping("/book/{bookId}")
-    public ResponseEntity<StandardResponse> getReviewsByBookId(@PathVariable UUID bookId) {
-        logger.info("Received request to get reviews for book id: " + bookId);
-        return ResponseEntity.ok(reviewService.getReviewsByBookId(bookId));
+    public ResponseEntity<StandardResponse> getReviewsByBookId(@PathVariable UUID bookId, WebRequest request) {
+        logger.info(() -> "Received request to get reviews for book id: " + bookId);
+        String eTag = ETags.forCollection("book-" + bookId, reviewService.getCollectionVersion(bookId, null));
+        return ETags.conditional(request, eTag, () -> reviewService.getReviewsByBookId(bookId));
     }
 
     /**
      * Retrieves all reviews written by a specific user.
      *
-     * @param userId the UUID of the user
-     * @return ResponseEntity containing a list of reviews authored by the user
+     * <p>Supports conditional GET like {@link #getAllReviews(WebRequest)}.</p>
+     *
+     * @param userId  the UUID of the user
+     * @param request the current request (for {@code If-None-Match})
+     * @return ResponseEntity containing a list of reviews authored by the user, or 304 Not Modified
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<StandardResponse> getReviewsByUserId(@PathVariable UUID userId) {
-        logger.info("Received request to get reviews for user id: " + userId);
-        return ResponseEntity.ok(reviewService.getReviewsByUserId(userId));
+    public ResponseEntity<StandardResponse> getReviewsByUserId(@PathVariable UUID userId, WebRequest request) {
+        logger.info(() -> "Received request to get reviews for user id: " + userId);
+        String eTag = ETags.forCollection("user-" + userId, reviewService.getCollectionVersion(null, userId));
+        return ETags.conditional(request, eTag, () -> reviewService.getReviewsByUserId(userId));
     }
 
     /**
@@ -93,7 +114,7 @@ public class ReviewController {
      */
     @PostMapping
     public ResponseEntity<StandardResponse> saveReview(@RequestBody ReviewRequestDTO reviewRequestDTO) {
-        logger.info("Received request to create review for book id: " + reviewRequestDTO.getBookId() +
+        logger.info(() -> "Received request to create review for book id: " + reviewRequestDTO.getBookId() +
                 " by user id: " + reviewRequestDTO.getUserId());
         return ResponseEntity.ok(reviewService.saveReview(reviewRequestDTO));
         // Alternative (more RESTful):
@@ -106,11 +127,11 @@ public class ReviewController {
      * <p>Typically restricted to admins or the review's author in production.</p>
      *
      * @param id the UUID of the review to delete
-     * @return ResponseEntity confirming deletion or reporting error
+     * @return ResponseEntity confirming deletion, or 404 via exception handler
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<StandardResponse> deleteReview(@PathVariable UUID id) {
-        logger.info("Received request to delete review with id: " + id);
+        logger.info(() -> "Received request to delete review with id: " + id);
         return ResponseEntity.ok(reviewService.deleteReview(id));
     }
 }
\ No newline at end of file
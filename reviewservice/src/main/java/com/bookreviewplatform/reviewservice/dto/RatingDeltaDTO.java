@@ -0,0 +1,38 @@
+package com.bookreviewplatform.reviewservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object carrying a change to one book's review statistics,
+ * sent to the Book Service so it can keep its denormalised rating columns
+ * up to date.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingDeltaDTO {
+
+    /**
+     * The reviewed book.
+     */
+    private UUID bookId;
+
+    /**
+     * Change in the number of reviews (negative for deletions).
+     */
+    private long reviewCount;
+
+    /**
+     * Change in the sum of ratings (negative for deletions).
+     */
+    private long ratingSum;
+}
@@ -50,4 +50,9 @@ public class ReviewDTO {
      * References a user in the User Service and is used to validate user existence.
      */
     private UUID userId;
+
+    /**
+     * Optimistic-locking version of the review; changes on every update.
+     */
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.bookreviewplatform.reviewservice.dto;
+
+import java.util.UUID;
+
+/**
+ * The two columns of a review that feed the Book Service's rating aggregates,
+ * read without loading the whole entity.
+ *
+ * @param bookId the reviewed book
+ * @param rating the review's rating
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record ReviewRating(UUID bookId, Integer rating) {
+}
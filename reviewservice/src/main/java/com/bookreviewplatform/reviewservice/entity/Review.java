@@ -2,7 +2,10 @@ package com.bookreviewplatform.reviewservice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -26,6 +29,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
+@Table(indexes = {
+        @Index(name = "idx_review_book_id", columnList = "bookId"),
+        @Index(name = "idx_review_user_id", columnList = "userId")
+})
 public class Review {
 
     /**
@@ -62,4 +69,20 @@ public class Review {
      */
     @Column(nullable = false, updatable = false)
     private UUID userId;
-}
\ No newline at end of file
+
+    /**
+     * Optimistic-locking version, incremented by Hibernate on every update.
+     * Also the basis of this review's HTTP {@code ETag}.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * When the row was last inserted or updated. Lets list endpoints derive an
+     * {@code ETag} from a single aggregate query instead of loading every row.
+     */
+    @UpdateTimestamp
+    private Instant lastModified;
+}
@@ -0,0 +1,104 @@
+package com.bookreviewplatform.reviewservice.event;
+
+import com.bookreviewplatform.reviewservice.dto.RatingDeltaDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Publishes review create/delete events to the Book Service as rating deltas.
+ *
+ * <p>Events are summed per book in memory and sent in one batch per
+ * {@code reviewservice.ratings.publish-interval-ms}. Review writes therefore
+ * never wait on the Book Service, and a burst of reviews for one book becomes a
+ * single delta. The Book Service coalesces again across Review Service
+ * instances before it writes.</p>
+ *
+ * <p>If a batch fails, its deltas go back into the pending map and are sent
+ * with the next batch.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class RatingEventPublisher {
+
+    private static final Duration PUBLISH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Logger logger = Logger.getLogger(RatingEventPublisher.class.getName());
+    private final WebClient bookInternalWebClient;
+    private final Map<UUID, RatingDeltaDTO> pending = new ConcurrentHashMap<>();
+
+    public RatingEventPublisher(@Qualifier("bookInternalWebClient") WebClient bookInternalWebClient) {
+        this.bookInternalWebClient = bookInternalWebClient;
+    }
+
+    /**
+     * Records a new review. Call after the review is committed.
+     *
+     * @param bookId the reviewed book
+     * @param rating the review's rating
+     */
+    public void reviewCreated(UUID bookId, int rating) {
+        add(bookId, 1, rating);
+    }
+
+    /**
+     * Records a deleted review. Call after the deletion is committed.
+     *
+     * @param bookId the reviewed book
+     * @param rating the deleted review's rating
+     */
+    public void reviewDeleted(UUID bookId, int rating) {
+        add(bookId, -1, -rating);
+    }
+
+    @Scheduled(fixedDelayString = "${reviewservice.ratings.publish-interval-ms:1000}")
+    @PreDestroy
+    public void publish() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<RatingDeltaDTO> batch = new ArrayList<>();
+        for (UUID bookId : pending.keySet()) {
+            RatingDeltaDTO delta = pending.remove(bookId);
+            if (delta != null && (delta.getReviewCount() != 0 || delta.getRatingSum() != 0)) {
+                batch.add(delta);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            bookInternalWebClient.post()
+                    .uri("/ratings")
+                    .bodyValue(batch)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .block(PUBLISH_TIMEOUT);
+            logger.fine(() -> "Published rating deltas for " + batch.size() + " books");
+        } catch (Exception e) {
+            logger.warning(() -> "Failed to publish rating deltas for " + batch.size() + " books, will retry: "
+                    + e.getMessage());
+            batch.forEach(delta -> add(delta.getBookId(), delta.getReviewCount(), delta.getRatingSum()));
+        }
+    }
+
+    private void add(UUID bookId, long reviewCount, long ratingSum) {
+        pending.merge(bookId,
+                new RatingDeltaDTO(bookId, reviewCount, ratingSum),
+                (a, b) -> new RatingDeltaDTO(bookId,
+                        a.getReviewCount() + b.getReviewCount(),
+                        a.getRatingSum() + b.getRatingSum()));
+    }
+}
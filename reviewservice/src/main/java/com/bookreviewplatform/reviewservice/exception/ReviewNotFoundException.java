@@ -0,0 +1,23 @@
+package com.bookreviewplatform.reviewservice.exception;
+
+/**
+ * Custom unchecked exception thrown when a requested review cannot be found
+ * in the Review Service database.
+ *
+ * <p>It is handled by {@link com.bookreviewplatform.reviewservice.advisor.GlobalExceptionHandler}
+ * and converted into a structured {@code StandardResponse} with HTTP 404 Not Found.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class ReviewNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new ReviewNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ReviewNotFoundException(String message) {
+        super(message);
+    }
+}
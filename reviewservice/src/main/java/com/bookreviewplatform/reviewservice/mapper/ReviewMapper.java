@@ -0,0 +1,27 @@
+package com.bookreviewplatform.reviewservice.mapper;
+
+import com.bookreviewplatform.reviewservice.dto.ReviewDTO;
+import com.bookreviewplatform.reviewservice.entity.Review;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Maps {@link Review} to {@link ReviewDTO}.
+ *
+ * <p>Generated by MapStruct at compile time as plain getter/builder calls.
+ * {@link ReportingPolicy#ERROR} makes the build fail if a DTO field gains no
+ * source.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ReviewMapper {
+
+    /**
+     * @param review the persisted review
+     * @return the review as exposed by the API
+     */
+    ReviewDTO toDTO(Review review);
+}
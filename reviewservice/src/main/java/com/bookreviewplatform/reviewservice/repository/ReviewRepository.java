@@ -1,10 +1,17 @@
 package com.bookreviewplatform.reviewservice.repository;
 
+import com.bookreviewplatform.common.etag.CollectionVersion;
+import com.bookreviewplatform.reviewservice.dto.ReviewRating;
 import com.bookreviewplatform.reviewservice.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -43,4 +50,54 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
      * @return a {@link List} of reviews authored by the user (may be empty)
      */
     List<Review> findByUserId(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Aggregate version of all reviews, for conditional GETs on the review list.
+     *
+     * @return count, version sum and latest modification time of all reviews
+     */
+    @Query("select new com.bookreviewplatform.common.etag.CollectionVersion("
+            + "count(r), sum(r.version), max(r.lastModified)) from Review r")
+    CollectionVersion findCollectionVersion();
+
+    /**
+     * Aggregate version of one book's reviews; served from the {@code bookId} index.
+     *
+     * @param bookId the UUID of the book
+     * @return count, version sum and latest modification time of the book's reviews
+     */
+    @Query("select new com.bookreviewplatform.common.etag.CollectionVersion("
+            + "count(r), sum(r.version), max(r.lastModified)) from Review r where r.bookId = :bookId")
+    CollectionVersion findCollectionVersionByBookId(@Param("bookId") UUID bookId);
+
+    /**
+     * Aggregate version of one user's reviews; served from the {@code userId} index.
+     *
+     * @param userId the UUID of the user
+     * @return count, version sum and latest modification time of the user's reviews
+     */
+    @Query("select new com.bookreviewplatform.common.etag.CollectionVersion("
+            + "count(r), sum(r.version), max(r.lastModified)) from Review r where r.userId = :userId")
+    CollectionVersion findCollectionVersionByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Reads only the book id and rating of a review, by primary key.
+     *
+     * @param id the review id
+     * @return the review's book and rating, or empty if it does not exist
+     */
+    @Query("select new com.bookreviewplatform.reviewservice.dto.ReviewRating(r.bookId, r.rating) "
+            + "from Review r where r.id = :id")
+    Optional<ReviewRating> findRatingById(@Param("id") UUID id);
+
+    /**
+     * Deletes a review in a single DELETE, without loading it first.
+     *
+     * @param id the review id
+     * @return number of rows deleted: 0 if the review does not exist (or was deleted concurrently)
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Review r where r.id = :id")
+    int deleteDirectlyById(@Param("id") UUID id);
+}
@@ -0,0 +1,113 @@
+package com.bookreviewplatform.reviewservice.retry;
+
+import com.bookreviewplatform.common.loadbalancer.PeakEwmaLoadBalancer;
+import com.bookreviewplatform.common.retry.RetryBudget;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * {@link ExchangeFilterFunction} that retries idempotent calls on another
+ * instance, within a {@link RetryBudget}.
+ *
+ * <p>Only {@code GET}, {@code HEAD}, {@code OPTIONS} and {@code DELETE} are
+ * retried, when the request fails to reach an instance or gets back
+ * {@code 502} or {@code 503}. Each retry waits a jittered backoff and is
+ * balanced again, skipping the instances already tried. When the retries or
+ * the budget run out, the caller gets the last response or error.</p>
+ *
+ * <p>Must run ahead of the load balancer's filter, so that each attempt is
+ * balanced on its own.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public class BudgetedRetryFilter implements ExchangeFilterFunction {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.DELETE);
+
+    private final Logger logger = Logger.getLogger(BudgetedRetryFilter.class.getName());
+    private final RetryBudget budget;
+    private final int retries;
+    private final Duration firstBackoff;
+    private final Duration maxBackoff;
+
+    /**
+     * @param budget       the target's retry budget
+     * @param retries      retries after the first attempt
+     * @param firstBackoff upper bound of the first retry's random delay; doubles with each retry
+     * @param maxBackoff   the delay never exceeds this
+     */
+    public BudgetedRetryFilter(RetryBudget budget, int retries, Duration firstBackoff, Duration maxBackoff) {
+        this.budget = budget;
+        this.retries = retries;
+        this.firstBackoff = firstBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!IDEMPOTENT_METHODS.contains(request.method())) {
+            return next.exchange(request);
+        }
+        budget.onRequest();
+        ClientRequest tracked = ClientRequest.from(request)
+                .attribute(PeakEwmaLoadBalancer.TRIED_INSTANCES_ATTRIBUTE, ConcurrentHashMap.newKeySet())
+                .build();
+
+        return Mono.defer(() -> next.exchange(tracked))
+                .flatMap(response -> isRetryable(response)
+                        ? Mono.<ClientResponse>error(new RetryableResponseException(response))
+                        : Mono.just(response))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    int retry = (int) signal.totalRetries() + 1;
+                    if (retry > retries || !isRetryable(failure) || !budget.tryRetry()) {
+                        return Mono.error(failure);
+                    }
+                    Duration backoff = RetryBudget.backoff(retry, firstBackoff, maxBackoff);
+                    logger.fine(() -> "Retrying " + request.method() + " " + request.url() + " in "
+                            + backoff.toMillis() + " ms after " + failure);
+                    Mono<Void> discard = failure instanceof RetryableResponseException retryable
+                            ? retryable.response.releaseBody()
+                            : Mono.empty();
+                    return discard.then(Mono.delay(backoff));
+                })))
+                // Out of retries after a 502/503: hand the last response to the caller as it is.
+                .onErrorResume(RetryableResponseException.class, e -> Mono.just(e.response));
+    }
+
+    private static boolean isRetryable(ClientResponse response) {
+        int status = response.statusCode().value();
+        return status == HttpStatus.BAD_GATEWAY.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        return failure instanceof RetryableResponseException || failure instanceof WebClientRequestException;
+    }
+
+    /**
+     * Carries a retryable response through {@code retryWhen}, unread.
+     */
+    private static final class RetryableResponseException extends RuntimeException {
+
+        private final transient ClientResponse response;
+
+        RetryableResponseException(ClientResponse response) {
+            super("Responded " + response.statusCode().value(), null, false, false);
+            this.response = response;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookreviewplatform.reviewservice.service;
 
+import com.bookreviewplatform.common.etag.CollectionVersion;
 import com.bookreviewplatform.reviewservice.dto.ReviewRequestDTO;
 import com.bookreviewplatform.reviewservice.payloads.StandardResponse;
 
@@ -58,6 +59,16 @@ public interface ReviewService {
      */
     StandardResponse getReviewsByUserId(UUID userId);
 
+    /**
+     * Returns the aggregate version of reviews, from which list {@code ETag}s are derived.
+     * Much cheaper than loading the reviews themselves.
+     *
+     * @param bookId restrict to this book's reviews, or {@code null}
+     * @param userId restrict to this user's reviews, or {@code null} (ignored when {@code bookId} is set)
+     * @return the current {@link CollectionVersion} of the selected reviews
+     */
+    CollectionVersion getCollectionVersion(UUID bookId, UUID userId);
+
     /**
      * Creates a new review based on the provided request data.
      *
@@ -85,8 +96,13 @@ public interface ReviewService {
      * </ul>
      * <p>Consider soft delete in the future.</p>
      *
+     * <p>Issues two statements: a SELECT of only the review's book id and rating, which
+     * the rating aggregates need, then a DELETE whose affected-row count decides
+     * between success and 404. The review entity is never loaded.</p>
+     *
      * @param id the UUID of the review to delete
-     * @return {@link StandardResponse} confirming deletion or reporting error (e.g., not found)
+     * @return {@link StandardResponse} confirming deletion
+     * @throws com.bookreviewplatform.reviewservice.exception.ReviewNotFoundException if the review does not exist
      */
     StandardResponse deleteReview(UUID id);
 }
\ No newline at end of file
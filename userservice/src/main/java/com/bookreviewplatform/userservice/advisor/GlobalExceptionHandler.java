@@ -1,7 +1,11 @@
 package com.bookreviewplatform.userservice.advisor;
 
+import com.bookreviewplatform.userservice.exception.DuplicateResourceException;
+import com.bookreviewplatform.userservice.exception.InvalidCredentialsException;
+import com.bookreviewplatform.userservice.exception.PasswordHashingUnavailableException;
 import com.bookreviewplatform.userservice.exception.UserNotFoundException;
 import com.bookreviewplatform.userservice.payloads.StandardResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -49,6 +53,71 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles {@link DuplicateResourceException} thrown when an insert violates a
+     * unique constraint (e.g., the email or username is already taken).
+     *
+     * @param ex      the thrown {@link DuplicateResourceException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing a {@link StandardResponse} with error details
+     * and HTTP status {@code 409 Conflict}
+     */
+    @ExceptionHandler(DuplicateResourceException.class)
+    public ResponseEntity<StandardResponse<Object>> handleDuplicateResourceException(
+            DuplicateResourceException ex, WebRequest request) {
+
+        StandardResponse<Object> response = StandardResponse.error(
+                "Duplicate resource",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles {@link InvalidCredentialsException} thrown when a login's email and
+     * password do not match.
+     *
+     * @param ex      the thrown {@link InvalidCredentialsException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing a {@link StandardResponse} with error details
+     * and HTTP status {@code 401 Unauthorized}
+     */
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<StandardResponse<Object>> handleInvalidCredentialsException(
+            InvalidCredentialsException ex, WebRequest request) {
+
+        StandardResponse<Object> response = StandardResponse.error(
+                "Invalid credentials",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Handles {@link PasswordHashingUnavailableException} thrown when the
+     * password hashing pool is saturated.
+     *
+     * @param ex      the thrown {@link PasswordHashingUnavailableException}
+     * @param request the current web request
+     * @return a {@link ResponseEntity} containing a {@link StandardResponse} with error details
+     * and HTTP status {@code 503 Service Unavailable}, with {@code Retry-After}
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<StandardResponse<Object>> handlePasswordHashingUnavailableException(
+            PasswordHashingUnavailableException ex, WebRequest request) {
+
+        StandardResponse<Object> response = StandardResponse.error(
+                "Service busy",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     /**
      * Fallback handler for any uncaught exceptions (acts as a safety net).
      *
@@ -0,0 +1,198 @@
+package com.bookreviewplatform.userservice.availability;
+
+import com.bookreviewplatform.userservice.dto.UserIdentity;
+import com.bookreviewplatform.userservice.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory Bloom filters over every registered email and username, so the
+ * sign-up form's live availability checks rarely reach MySQL.
+ *
+ * <p>A negative answer from {@link #mightContainEmail(String)} or
+ * {@link #mightContainUsername(String)} means the value is free and needs no
+ * query. A positive answer is only probable and must be confirmed against the
+ * database.</p>
+ *
+ * <p>The filters stay current in three ways:</p>
+ * <ul>
+ *   <li>they are built from all users once the application is ready, and
+ *   rebuilt every {@code userservice.availability.rebuild-interval-ms}. A
+ *   rebuild resizes them for growth and drops deleted users, whose bits would
+ *   otherwise keep costing confirmations;</li>
+ *   <li>local sign-ups are added as soon as they commit;</li>
+ *   <li>sign-ups on other instances are picked up by a periodic catch-up over
+ *   {@code lastModified}.</li>
+ * </ul>
+ *
+ * <p>Until the first build completes, and for a peer's sign-up until the next
+ * catch-up, a taken value can look free. The answer is therefore advisory:
+ * sign-up itself is guarded by the unique constraints.</p>
+ *
+ * <p>Keys are lower-cased with accents stripped, mirroring the case- and
+ * accent-insensitive collation of the unique indexes. Values the database
+ * considers equal then always share a key.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Logger logger = Logger.getLogger(AvailabilityIndex.class.getName());
+    private final UserRepository userRepository;
+
+    private volatile Filters filters;
+    private volatile Instant watermark;
+
+    @Value("${userservice.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${userservice.availability.minimum-capacity:100000}")
+    private long minimumCapacity;
+
+    @Value("${userservice.availability.catch-up-margin:1m}")
+    private Duration catchUpMargin;
+
+    @Value("${userservice.availability.batch-size:5000}")
+    private int batchSize;
+
+    public AvailabilityIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @param email an email address
+     * @return {@code false} if no user has this email; {@code true} if one probably does
+     */
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || current.emails().mightContain(key(email));
+    }
+
+    /**
+     * @param username a username
+     * @return {@code false} if no user has this username; {@code true} if one probably does
+     */
+    public boolean mightContainUsername(String username) {
+        Filters current = filters;
+        return current == null || current.usernames().mightContain(key(username));
+    }
+
+    /**
+     * Records a user created on this instance. Call after the insert commits.
+     *
+     * @param email    the new user's email
+     * @param username the new user's username
+     */
+    public void add(String email, String username) {
+        Filters current = filters;
+        if (current != null) {
+            current.add(email, username);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${userservice.availability.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${userservice.availability.rebuild-interval-ms:21600000}")
+    public void rebuildScheduled() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warning(() -> "Availability filter rebuild failed, keeping the current one: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${userservice.availability.catch-up-interval-ms:5000}")
+    public void catchUpScheduled() {
+        if (filters == null) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (Exception e) {
+            logger.warning(() -> "Availability filter catch-up failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds fresh filters sized for twice the current user count, then swaps
+     * them in. Users created while the build ran are added by the catch-up that
+     * follows it.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        long capacity = Math.max(minimumCapacity, 2 * userRepository.count());
+        Filters fresh = new Filters(BloomFilter.create(capacity, falsePositiveRate),
+                BloomFilter.create(capacity, falsePositiveRate));
+        long added = 0;
+        UUID after = null;
+        List<UserIdentity> batch;
+        do {
+            batch = userRepository.findIdentityBatchAfter(after, PageRequest.ofSize(batchSize));
+            for (UserIdentity user : batch) {
+                fresh.add(user.email(), user.username());
+                after = user.id();
+                added++;
+            }
+        } while (batch.size() == batchSize);
+
+        filters = fresh;
+        watermark = startedAt.minus(catchUpMargin);
+        catchUp();
+        logger.info("Built availability filters for " + added + " users (" + fresh.emails().bitCount()
+                + " bits each) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Adds every user modified since the watermark, which covers sign-ups on
+     * other instances.
+     */
+    public synchronized void catchUp() {
+        Filters current = filters;
+        Instant startedAt = Instant.now();
+        UUID after = null;
+        List<UserIdentity> batch;
+        do {
+            batch = userRepository.findIdentityBatchModifiedSince(watermark, after, PageRequest.ofSize(batchSize));
+            for (UserIdentity user : batch) {
+                current.add(user.email(), user.username());
+                after = user.id();
+            }
+        } while (batch.size() == batchSize);
+        watermark = startedAt.minus(catchUpMargin);
+    }
+
+    static String key(String value) {
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter emails, BloomFilter usernames) {
+
+        void add(String email, String username) {
+            emails.add(key(email));
+            usernames.add(key(username));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookreviewplatform.userservice.cache;
+
+import com.bookreviewplatform.userservice.dto.UserDTO;
+import com.bookreviewplatform.userservice.email.EmailNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * In-process {@code normalised email → UserDTO} cache in front of MySQL,
+ * serving {@code GET /api/v1/users/email/{email}}.
+ *
+ * <p>Bounded by {@code userservice.email-cache.maximum-size}, with entries
+ * expiring after {@code userservice.email-cache.expire-after-write}. Misses
+ * are not cached, so a new sign-up is found immediately. Writes on this
+ * instance invalidate their entries. A delete on another instance can leave
+ * a stale entry here for at most the TTL.</p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *   <li>{@code cache.gets{cache=users.byEmail, result=hit|miss}} and related
+ *   Caffeine meters, from which the hit ratio is derived;</li>
+ *   <li>{@code users.email.lookup{result=hit|miss|absent}}, a timer over
+ *   the whole lookup including the database on a miss.</li>
+ * </ul>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class UserEmailCache {
+
+    private final Cache<String, UserDTO> usersByEmail;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+    private final Timer absentTimer;
+
+    public UserEmailCache(MeterRegistry meterRegistry,
+                          @Value("${userservice.email-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${userservice.email-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users.byEmail");
+        this.hitTimer = lookupTimer(meterRegistry, "hit");
+        this.missTimer = lookupTimer(meterRegistry, "miss");
+        this.absentTimer = lookupTimer(meterRegistry, "absent");
+    }
+
+    /**
+     * Returns the user with this email, loading it on a miss.
+     *
+     * @param email  the email as entered; normalised for the lookup
+     * @param loader loads the user by normalised email; returns {@code null} if there is none
+     * @return the user, or {@code null} if there is none
+     */
+    public UserDTO get(String email, Function<String, UserDTO> loader) {
+        long start = System.nanoTime();
+        String key = EmailNormalizer.normalize(email);
+        UserDTO user = usersByEmail.getIfPresent(key);
+        if (user != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return user;
+        }
+        user = loader.apply(key);
+        if (user != null) {
+            usersByEmail.put(key, user);
+        }
+        (user != null ? missTimer : absentTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return user;
+    }
+
+    /**
+     * Evicts the entry for an email. Call after a write touching that email commits.
+     *
+     * @param email the email as entered
+     */
+    public void invalidate(String email) {
+        usersByEmail.invalidate(EmailNormalizer.normalize(email));
+    }
+
+    /**
+     * Evicts a user whose email is not known, e.g. after a delete by id. Scans
+     * the bounded cache, which is cheap next to the DELETE it follows.
+     *
+     * @param id the user id
+     */
+    public void invalidateUser(UUID id) {
+        usersByEmail.asMap().values().removeIf(user -> id.equals(user.getId()));
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("users.email.lookup")
+                .description("Latency of user lookups by email, including the database on a miss")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookreviewplatform.userservice.config;
+
+import com.bookreviewplatform.common.concurrency.AdaptiveConcurrencyLimiter;
+import com.bookreviewplatform.common.concurrency.ConcurrencyLimitFilter;
+import com.bookreviewplatform.common.concurrency.PriorityScheduler;
+import com.bookreviewplatform.userservice.payloads.StandardResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Bounds the User Service's {@code /api/**} requests in progress with an adaptive
+ * concurrency limit, queueing the ones over it by priority.
+ *
+ * <p>The limiter is configured from {@code userservice.concurrency-limit.*} and the
+ * priority queues from {@code userservice.scheduling.*}.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    /**
+     * @param meterRegistry registry for the limiter and scheduler metrics
+     * @param objectMapper  writes the {@code 503} body of shed requests
+     * @param environment   source of the limiter and scheduling settings
+     * @return the servlet filter that admits {@code /api/**} requests
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                                                         Environment environment) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("api",
+                AdaptiveConcurrencyLimiter.Settings.from(environment, "userservice.concurrency-limit"), meterRegistry);
+        PriorityScheduler scheduler = new PriorityScheduler(limiter,
+                PriorityScheduler.classSettings(environment, "userservice.scheduling"), meterRegistry);
+        return new ConcurrencyLimitFilter(scheduler, objectMapper,
+                StandardResponse.error("Service busy", "Too many concurrent requests, try again later"));
+    }
+}
@@ -1,5 +1,8 @@
 package com.bookreviewplatform.userservice.controller;
 
+import com.bookreviewplatform.common.etag.ETags;
+import com.bookreviewplatform.userservice.dto.LoginRequestDTO;
+import com.bookreviewplatform.userservice.dto.UserDTO;
 import com.bookreviewplatform.userservice.dto.UserRequestDTO;
 import com.bookreviewplatform.userservice.payloads.StandardResponse;
 import com.bookreviewplatform.userservice.service.UserService;
@@ -7,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 import java.util.logging.Logger;
@@ -29,14 +33,17 @@ public class UserController {
 
     /**
      * Retrieves all users in the system.
+     * Supports conditional GET via an ETag derived from the users' aggregate version.
      *
+     * @param request The current request (for {@code If-None-Match}).
      * @return A {@link ResponseEntity} containing a {@link StandardResponse} with the list of users.
-     *         HTTP status: 200 OK.
+     *         HTTP status: 200 OK, or 304 Not Modified without loading any users.
      */
     @GetMapping()
-    public ResponseEntity<StandardResponse> getAllUsers() {
+    public ResponseEntity<StandardResponse> getAllUsers(WebRequest request) {
         logger.info("Received request to get all users");
-        return ResponseEntity.ok(userService.getAllUsers());
+        String eTag = ETags.forCollection("users", userService.getCollectionVersion());
+        return ETags.conditional(request, eTag, userService::getAllUsers);
     }
 
     /**
@@ -44,15 +51,50 @@ public class UserController {
      *
      * @param userRequestDTO The DTO containing user details (e.g., email, etc.).
      * @return A {@link ResponseEntity} containing a {@link StandardResponse} with the created user details.
-     *         HTTP status: 201 Created.
+     *         HTTP status: 201 Created, or 409 Conflict if the email or username is taken.
      */
     @PostMapping()
     public ResponseEntity<StandardResponse> saveUser(@RequestBody UserRequestDTO userRequestDTO) {
-        logger.info("Received request to create user with email: " + userRequestDTO.getEmail());
+        logger.info(() -> "Received request to create user with email: " + userRequestDTO.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(userService.saveUser(userRequestDTO));
     }
 
+    /**
+     * Verifies a user's email and password.
+     *
+     * @param loginRequestDTO The email and password.
+     * @return A {@link ResponseEntity} containing a {@link StandardResponse} with the user details.
+     *         HTTP status: 200 OK, 401 Unauthorized for wrong credentials,
+     *         or 503 Service Unavailable if password hashing is saturated.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<StandardResponse> login(@RequestBody LoginRequestDTO loginRequestDTO) {
+        logger.info(() -> "Received login request for email: " + loginRequestDTO.getEmail());
+        return ResponseEntity.ok(userService.login(loginRequestDTO));
+    }
+
+    /**
+     * Checks whether an email and/or username are still free, for the sign-up
+     * form's live validation.
+     *
+     * <p>Example: {@code GET /api/v1/users/availability?email=a@b.com&username=reader}</p>
+     *
+     * <p>Most checks are answered from memory; only probable matches query the database.
+     * Called on every keystroke, so it deliberately does not log at INFO level.</p>
+     *
+     * @param email    The email to check (optional).
+     * @param username The username to check (optional).
+     * @return A {@link ResponseEntity} containing a {@link StandardResponse} with the availability of each value.
+     *         HTTP status: 200 OK.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<StandardResponse> checkAvailability(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String username) {
+        return ResponseEntity.ok(userService.checkAvailability(email, username));
+    }
+
     /**
      * Deletes a user by their unique ID.
      *
@@ -62,7 +104,7 @@ public class UserController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<StandardResponse> deleteUser(@PathVariable UUID id) {
-        logger.info("Received request to delete user with id: " + id);
+        logger.info(() -> "Received request to delete user with id: " + id);
         return ResponseEntity.ok(userService.deleteUser(id));
     }
 
@@ -71,12 +113,12 @@ public class UserController {
      *
      * @param email The email address of the user to retrieve.
      * @return A {@link ResponseEntity} containing a {@link StandardResponse} with the user details.
-     *         HTTP status: 200 OK.
+     *         HTTP status: 200 OK, or 304 Not Modified if {@code If-None-Match} matches its ETag.
      */
     @GetMapping("/email/{email}")
     public ResponseEntity<StandardResponse> getUserByEmail(@PathVariable String email) {
-        logger.info("Received request to get user by email: " + email);
-        return ResponseEntity.ok(userService.getUserByEmail(email));
+        logger.info(() -> "Received request to get user by email: " + email);
+        return withETag(userService.getUserByEmail(email));
     }
 
     /**
@@ -84,11 +126,22 @@ public class UserController {
      *
      * @param id The UUID of the user to retrieve.
      * @return A {@link ResponseEntity} containing a {@link StandardResponse} with the user details.
-     *         HTTP status: 200 OK.
+     *         HTTP status: 200 OK, or 304 Not Modified if {@code If-None-Match} matches its ETag.
      */
     @GetMapping("/{id}")
     public ResponseEntity<StandardResponse> getUserById(@PathVariable UUID id) {
-        logger.info("Received request to get user by id: " + id);
-        return ResponseEntity.ok(userService.getUserById(id));
+        logger.info(() -> "Received request to get user by id: " + id);
+        return withETag(userService.getUserById(id));
+    }
+
+    /**
+     * Adds the user's ETag to a single-user response, so Spring MVC answers a
+     * matching {@code If-None-Match} with 304 and skips writing the body.
+     */
+    private ResponseEntity<StandardResponse> withETag(StandardResponse response) {
+        if (response.getData() instanceof UserDTO user && user.getVersion() != null) {
+            return ResponseEntity.ok().eTag(ETags.forResource(user.getId(), user.getVersion())).body(response);
+        }
+        return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
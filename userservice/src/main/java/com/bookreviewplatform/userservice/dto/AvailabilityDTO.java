@@ -0,0 +1,40 @@
+package com.bookreviewplatform.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object answering whether an email and/or username can still be
+ * used for a new account. A field that was not asked about is {@code null}.
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityDTO {
+
+    /**
+     * The email that was checked.
+     */
+    private String email;
+
+    /**
+     * Whether no user has this email.
+     */
+    private Boolean emailAvailable;
+
+    /**
+     * The username that was checked.
+     */
+    private String username;
+
+    /**
+     * Whether no user has this username.
+     */
+    private Boolean usernameAvailable;
+}
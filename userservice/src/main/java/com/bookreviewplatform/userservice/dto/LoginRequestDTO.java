@@ -0,0 +1,17 @@
+package com.bookreviewplatform.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "password")
+public class LoginRequestDTO {
+    private String email;
+    private String password;
+}
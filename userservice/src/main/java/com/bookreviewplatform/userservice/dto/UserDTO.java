@@ -15,4 +15,5 @@ public class UserDTO {
     private UUID id;
     private String username;
     private String email;
+    private Long version;
 }
@@ -0,0 +1,15 @@
+package com.bookreviewplatform.userservice.dto;
+
+import java.util.UUID;
+
+/**
+ * The unique identifiers of a user, read without the rest of the row.
+ *
+ * @param id       the user id (keyset position for batch reads)
+ * @param email    the user's email address
+ * @param username the user's username
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public record UserIdentity(UUID id, String email, String username) {
+}
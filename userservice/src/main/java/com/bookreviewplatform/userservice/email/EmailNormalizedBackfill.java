@@ -0,0 +1,59 @@
+package com.bookreviewplatform.userservice.email;
+
+import com.bookreviewplatform.common.backfill.KeysetBackfill;
+import com.bookreviewplatform.userservice.dto.UserIdentity;
+import com.bookreviewplatform.userservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Gives users created before {@code emailNormalized} existed their
+ * normalised email, so login and the email cache can find them.
+ *
+ * <p>Runs on every start, in batches of
+ * {@code userservice.email-backfill.batch-size} reading only id and email.
+ * Two accounts that differ only in case or spacing cannot both hold the
+ * normalised value: the second one keeps {@code null}, is logged, and cannot
+ * log in by email until support merges or renames it.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailNormalizedBackfill {
+
+    private final Logger logger = Logger.getLogger(EmailNormalizedBackfill.class.getName());
+    private final UserRepository userRepository;
+
+    @Value("${userservice.email-backfill.batch-size:5000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        KeysetBackfill.Result result = KeysetBackfill.run(batchSize,
+                (after, size) -> userRepository.findIdentityBatchWithoutEmailNormalized(after, PageRequest.ofSize(size)),
+                UserIdentity::id, this::fill);
+        if (result.any()) {
+            logger.info("Backfilled normalised emails for " + result.filled() + " users (" + result.skipped()
+                    + " sharing an email skipped)");
+        }
+    }
+
+    private boolean fill(UserIdentity user) {
+        try {
+            userRepository.setEmailNormalized(user.id(), EmailNormalizer.normalize(user.email()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.warning(() -> "User " + user.id() + " shares a normalised email with another user and keeps none");
+            return false;
+        }
+    }
+}
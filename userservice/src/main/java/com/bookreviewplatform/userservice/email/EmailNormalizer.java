@@ -0,0 +1,27 @@
+package com.bookreviewplatform.userservice.email;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of an email address for lookups: trimmed and lower-cased.
+ *
+ * <p>Stored in {@code UserEntity.emailNormalized} and used as the key of the
+ * email cache, so {@code Reader@Example.com} and {@code reader@example.com }
+ * find the same user regardless of the column's collation.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    /**
+     * @param email an email address as entered
+     * @return the lookup form, or {@code null} for {@code null}
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
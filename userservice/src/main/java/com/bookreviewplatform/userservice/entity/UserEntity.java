@@ -1,8 +1,12 @@
 package com.bookreviewplatform.userservice.entity;
 
+import com.bookreviewplatform.userservice.email.EmailNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -19,6 +23,11 @@ import java.util.UUID;
  * @since 1.0
  */
 @Entity
+@Table(indexes = @Index(name = "idx_user_last_modified", columnList = "lastModified"), uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_user_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_user_email_normalized", columnNames = "emailNormalized")
+})
 @Data
 @Builder
 @AllArgsConstructor
@@ -38,9 +47,9 @@ public class UserEntity {
 
     /**
      * Unique username chosen by the user.
-     * Must be unique across all users and cannot be null.
+     * Must be unique across all users ({@code uk_user_username}) and cannot be null.
      */
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
 
     /**
@@ -56,7 +65,39 @@ public class UserEntity {
     /**
      * Unique email address of the user.
      * Used for login (optional), notifications, and password recovery.
+     * Uniqueness is enforced by {@code uk_user_email}, which sign-up relies on
+     * instead of checking first.
      */
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
-}
\ No newline at end of file
+
+    /**
+     * The email trimmed and lower-cased, maintained on every insert and update.
+     * Email lookups go through this column's unique index, so they are
+     * case-insensitive whatever the column collation.
+     */
+    @Column(length = 100)
+    private String emailNormalized;
+
+    /**
+     * Optimistic-locking version, incremented by Hibernate on every update.
+     * Also the basis of this user's HTTP {@code ETag}.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * When the row was last inserted or updated. Lets list endpoints derive an
+     * {@code ETag} from a single aggregate query instead of loading every row.
+     */
+    @UpdateTimestamp
+    private Instant lastModified;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        emailNormalized = EmailNormalizer.normalize(email);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookreviewplatform.userservice.exception;
+
+/**
+ * Thrown when a login's email and password do not match a user. Deliberately
+ * does not say which of the two was wrong.
+ */
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException() {
+        super("Invalid email or password");
+    }
+}
@@ -0,0 +1,12 @@
+package com.bookreviewplatform.userservice.exception;
+
+/**
+ * Thrown when the password hashing executor is saturated or does not answer in
+ * time. The request is rejected instead of queueing without bound; clients
+ * should retry later.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookreviewplatform.userservice.mapper;
+
+import com.bookreviewplatform.userservice.dto.UserDTO;
+import com.bookreviewplatform.userservice.entity.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Maps {@link UserEntity} to {@link UserDTO}.
+ *
+ * <p>The implementation is generated by MapStruct at compile time as plain
+ * getter/builder calls, so mapping costs no reflection or type-map lookups at
+ * runtime. {@link ReportingPolicy#ERROR} makes the build fail if a DTO field
+ * gains no source, rather than silently leaving it null.</p>
+ *
+ * <p>The password hash is never mapped: {@link UserDTO} has no such field.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserMapper {
+
+    /**
+     * @param userEntity the persisted user
+     * @return the user as exposed by the API
+     */
+    UserDTO toDTO(UserEntity userEntity);
+}
@@ -0,0 +1,216 @@
+package com.bookreviewplatform.userservice.password;
+
+import com.bookreviewplatform.userservice.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded thread pool.
+ *
+ * <p>A BCrypt hash costs tens of milliseconds of CPU by design. Running it on
+ * request threads would let a burst of sign-ups or logins take every core and
+ * stall unrelated requests. Instead, hashing runs on
+ * {@code userservice.password.threads} threads with a queue of
+ * {@code userservice.password.queue-capacity}. When the queue is full, or a
+ * task does not finish within {@code userservice.password.timeout}, the call
+ * fails fast with {@link PasswordHashingUnavailableException} (HTTP 503).</p>
+ *
+ * <p>The work factor is calibrated at startup: the highest cost between
+ * {@code min-cost} and {@code max-cost} whose hash takes no longer than
+ * {@code userservice.password.target-hash-time} on this host. Hashes made
+ * with another cost, and legacy plain-text passwords, still verify.
+ * {@link #needsRehash(String)} tells the login path to replace them.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final int MAX_PASSWORD_BYTES = 72;
+
+    private final Logger logger = Logger.getLogger(PasswordHasher.class.getName());
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration targetHashTime;
+    private final int minCost;
+    private final int maxCost;
+
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int cost;
+    private volatile String dummyHash;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${userservice.password.threads:0}") int threads,
+                          @Value("${userservice.password.queue-capacity:100}") int queueCapacity,
+                          @Value("${userservice.password.timeout:5s}") Duration timeout,
+                          @Value("${userservice.password.target-hash-time:100ms}") Duration targetHashTime,
+                          @Value("${userservice.password.min-cost:10}") int minCost,
+                          @Value("${userservice.password.max-cost:14}") int maxCost) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.targetHashTime = targetHashTime;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    /**
+     * Picks the work factor by timing a hash at {@code min-cost} and doubling
+     * the estimate per cost step until the next step would exceed the target.
+     */
+    @PostConstruct
+    public void calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int calibrated = minCost;
+        double estimate = best;
+        while (calibrated < maxCost && estimate * 2 <= targetHashTime.toNanos()) {
+            calibrated++;
+            estimate *= 2;
+        }
+        cost = calibrated;
+        encoder = new BCryptPasswordEncoder(calibrated);
+        dummyHash = encoder.encode("dummy-password-for-unknown-users");
+        logger.info("Calibrated BCrypt cost " + calibrated + " (~" + Math.round(estimate / 1_000_000)
+                + " ms per hash, target " + targetHashTime.toMillis() + " ms, " + executor.getMaximumPoolSize()
+                + " hashing threads)");
+    }
+
+    /**
+     * @param rawPassword a password as entered
+     * @return whether BCrypt can hash it without truncation
+     */
+    public static boolean isAcceptable(String rawPassword) {
+        return rawPassword != null && !rawPassword.isBlank()
+                && rawPassword.getBytes(StandardCharsets.UTF_8).length <= MAX_PASSWORD_BYTES;
+    }
+
+    /**
+     * Hashes a password at the calibrated cost, waiting at most the configured timeout.
+     *
+     * @param rawPassword the password as entered
+     * @return the BCrypt hash
+     * @throws PasswordHashingUnavailableException if the executor is saturated or too slow
+     */
+    public String hash(String rawPassword) {
+        return await(submit(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hashes a password without waiting, for work the caller does not need the
+     * result of before it can answer (e.g. a rehash after login).
+     *
+     * @param rawPassword the password as entered
+     * @return the future hash; fails with {@link PasswordHashingUnavailableException} if rejected
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new PasswordHashingUnavailableException("Password hashing is saturated", e));
+        }
+    }
+
+    /**
+     * Checks a password against a stored hash. A {@code null} hash (unknown
+     * user) is checked against a dummy hash, so the response time does not
+     * reveal whether the account exists. Legacy plain-text values are compared
+     * in constant time.
+     *
+     * @param rawPassword    the password as entered
+     * @param storedPassword the stored hash, or {@code null}
+     * @return whether the password matches
+     * @throws PasswordHashingUnavailableException if the executor is saturated or too slow
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (storedPassword != null && !BCRYPT.matcher(storedPassword).find()) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        String hash = storedPassword != null ? storedPassword : dummyHash;
+        boolean matches = await(submit(() -> encoder.matches(rawPassword, hash)));
+        return storedPassword != null && matches;
+    }
+
+    /**
+     * @param storedPassword a stored password
+     * @return whether it is plain text or hashed at a cost other than the calibrated one
+     */
+    public boolean needsRehash(String storedPassword) {
+        Matcher matcher = BCRYPT.matcher(storedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != cost;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            logger.warning("Password hashing queue is full, rejecting request");
+            throw new PasswordHashingUnavailableException("Password hashing is saturated, try again later", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warning(() -> "Password hashing did not finish within " + timeout.toMillis() + " ms");
+            throw new PasswordHashingUnavailableException("Password hashing timed out, try again later", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
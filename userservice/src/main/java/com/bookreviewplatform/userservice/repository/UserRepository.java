@@ -1,9 +1,18 @@
 package com.bookreviewplatform.userservice.repository;
 
+import com.bookreviewplatform.common.etag.CollectionVersion;
+import com.bookreviewplatform.userservice.dto.UserIdentity;
 import com.bookreviewplatform.userservice.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,14 +32,122 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
 
     /**
-     * Finds a user by their email address.
+     * Finds a user by their normalised email address.
      *
-     * <p>Email is treated as a unique identifier in the system (enforced at database level),
-     * making this method ideal for authentication, password recovery, and duplicate checks.</p>
+     * <p>Served by the unique {@code emailNormalized} index, so the lookup is
+     * case-insensitive and independent of the {@code email} column's collation.</p>
      *
-     * @param email the email address to search for (case-sensitive as per database collation)
+     * @param emailNormalized the email as returned by
+     *                        {@link com.bookreviewplatform.userservice.email.EmailNormalizer#normalize(String)}
      * @return an {@link Optional} containing the {@link UserEntity} if found,
      *         or {@link Optional#empty()} if no user exists with the given email
      */
-    Optional<UserEntity> findByEmail(String email);
-}
\ No newline at end of file
+    Optional<UserEntity> findByEmailNormalized(String emailNormalized);
+
+    /**
+     * Confirms a probable hit from the availability filter, using the unique
+     * {@code emailNormalized} index.
+     *
+     * @param emailNormalized the email as returned by
+     *                        {@link com.bookreviewplatform.userservice.email.EmailNormalizer#normalize(String)}
+     * @return whether a user has this email
+     */
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    /**
+     * Confirms a probable hit from the availability filter, using the unique
+     * username index.
+     *
+     * @param username the username
+     * @return whether a user has this username
+     */
+    boolean existsByUsername(String username);
+
+    /**
+     * Reads the emails and usernames of the next batch of users in id order,
+     * for rebuilding the availability filter without loading whole rows.
+     *
+     * @param after    last id of the previous batch, or {@code null} to start
+     * @param pageable batch size
+     * @return up to {@code pageable.getPageSize()} identities
+     */
+    @Query("select new com.bookreviewplatform.userservice.dto.UserIdentity(u.id, u.email, u.username) "
+            + "from UserEntity u where (:after is null or u.id > :after) order by u.id")
+    List<UserIdentity> findIdentityBatchAfter(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Reads the emails and usernames of users modified since {@code since}, in
+     * id order, served by the {@code lastModified} index.
+     *
+     * @param since    only users modified at or after this instant
+     * @param after    last id of the previous batch, or {@code null} to start
+     * @param pageable batch size
+     * @return up to {@code pageable.getPageSize()} identities
+     */
+    @Query("select new com.bookreviewplatform.userservice.dto.UserIdentity(u.id, u.email, u.username) "
+            + "from UserEntity u where u.lastModified >= :since and (:after is null or u.id > :after) "
+            + "order by u.id")
+    List<UserIdentity> findIdentityBatchModifiedSince(@Param("since") Instant since,
+                                                      @Param("after") UUID after,
+                                                      Pageable pageable);
+
+    /**
+     * Reads the next batch of users without a normalised email, in id order.
+     *
+     * @param after    last id of the previous batch, or {@code null} to start
+     * @param pageable batch size
+     * @return up to {@code pageable.getPageSize()} identities
+     */
+    @Query("select new com.bookreviewplatform.userservice.dto.UserIdentity(u.id, u.email, u.username) "
+            + "from UserEntity u where u.emailNormalized is null and (:after is null or u.id > :after) "
+            + "order by u.id")
+    List<UserIdentity> findIdentityBatchWithoutEmailNormalized(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Sets a user's normalised email without loading or versioning the row.
+     *
+     * @param id              the user id
+     * @param emailNormalized the normalised email
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.emailNormalized = :emailNormalized where u.id = :id")
+    int setEmailNormalized(@Param("id") UUID id, @Param("emailNormalized") String emailNormalized);
+
+    /**
+     * Computes the aggregate version of all users in one query, without loading
+     * any rows. Used to answer conditional GETs on the user list.
+     *
+     * @return count, version sum and latest modification time of all users
+     */
+    @Query("select new com.bookreviewplatform.common.etag.CollectionVersion("
+            + "count(u), sum(u.version), max(u.lastModified)) from UserEntity u")
+    CollectionVersion findCollectionVersion();
+
+    /**
+     * Replaces a user's password hash, unless it changed since it was read.
+     *
+     * @param id          the user id
+     * @param oldPassword the hash the caller verified against
+     * @param newPassword the replacement hash
+     * @return number of rows updated: 0 if the password changed in the meantime
+     */
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") UUID id,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
+
+    /**
+     * Deletes a user in a single DELETE, without loading it first.
+     *
+     * @param id the user id
+     * @return number of rows deleted: 0 if the user does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from UserEntity u where u.id = :id")
+    int deleteDirectlyById(@Param("id") UUID id);
+}
@@ -1,5 +1,7 @@
 package com.bookreviewplatform.userservice.service;
 
+import com.bookreviewplatform.common.etag.CollectionVersion;
+import com.bookreviewplatform.userservice.dto.LoginRequestDTO;
 import com.bookreviewplatform.userservice.dto.UserRequestDTO;
 import com.bookreviewplatform.userservice.payloads.StandardResponse;
 
@@ -29,34 +31,47 @@ public interface UserService {
      */
     StandardResponse getAllUsers();
 
+    /**
+     * Returns the aggregate version of all users, from which the user list's
+     * {@code ETag} is derived. Much cheaper than {@link #getAllUsers()}.
+     *
+     * @return the current {@link CollectionVersion} of all users
+     */
+    CollectionVersion getCollectionVersion();
+
     /**
      * Creates a new user based on the provided registration data.
      *
-     * <p>Validates input, checks for duplicate username/email,
-     * hashes the password, and persists the user entity.</p>
+     * <p>Validates input, hashes the password with BCrypt and inserts the user. Duplicate usernames and emails are
+     * rejected by the database's unique constraints, not by a prior lookup.</p>
      *
      * @param userRequestDTO DTO containing user registration details
      *                       (e.g., username, email, password)
      * @return {@link StandardResponse} with the created user details and success message
      * (typically returns HTTP 201 Created via controller)
+     * @throws com.bookreviewplatform.userservice.exception.DuplicateResourceException if the
+     *         username or email is already taken
      */
     StandardResponse saveUser(UserRequestDTO userRequestDTO);
 
     /**
      * Deletes a user permanently by their unique ID.
      *
+     * <p>Executed as a single DELETE; the affected-row count decides between success and 404.</p>
+     *
      * @param id the {@link UUID} of the user to delete
-     * @return {@link StandardResponse} confirming deletion or reporting error
-     * (e.g., user not found)
+     * @return {@link StandardResponse} confirming deletion
+     * @throws com.bookreviewplatform.userservice.exception.UserNotFoundException if no user exists with the given ID
      */
     StandardResponse deleteUser(UUID id);
 
     /**
      * Finds a user by their email address.
      *
-     * <p>Useful for login, password reset password, and profile lookup.</p>
+     * <p>Useful for login, password reset password, and profile lookup. Served from
+     * an in-memory cache when possible, otherwise through the normalised email index.</p>
      *
-     * @param email the email address of the user (case-sensitive)
+     * @param email the email address of the user (case-insensitive, surrounding whitespace ignored)
      * @return {@link StandardResponse} containing the user data if found,
      * or an error if no user exists with that email
      */
@@ -70,4 +85,30 @@ public interface UserService {
      * or error response if user does not exist
      */
     StandardResponse getUserById(UUID id);
+
+    /**
+     * Verifies a user's email and password.
+     *
+     * <p>Stored hashes made with an outdated work factor, or legacy plain-text
+     * passwords, are transparently rehashed after a successful login.</p>
+     *
+     * @param loginRequestDTO the email and password
+     * @return {@link StandardResponse} with the user details on success
+     * @throws com.bookreviewplatform.userservice.exception.InvalidCredentialsException if they do not match
+     */
+    StandardResponse login(LoginRequestDTO loginRequestDTO);
+
+    /**
+     * Checks whether an email and/or username are still free, for live
+     * validation of the sign-up form.
+     *
+     * <p>Answered from in-memory Bloom filters; only probable hits are confirmed
+     * with an indexed query. The answer is advisory, since another sign-up can
+     * take the value before this one is submitted.</p>
+     *
+     * @param email    the email to check, or {@code null}
+     * @param username the username to check, or {@code null}
+     * @return {@link StandardResponse} containing an {@code AvailabilityDTO}
+     */
+    StandardResponse checkAvailability(String email, String username);
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package com.bookreviewplatform.userservice.service.custom;
 
+import com.bookreviewplatform.common.etag.CollectionVersion;
+import com.bookreviewplatform.userservice.availability.AvailabilityIndex;
+import com.bookreviewplatform.userservice.cache.UserEmailCache;
+import com.bookreviewplatform.userservice.dto.AvailabilityDTO;
+import com.bookreviewplatform.userservice.dto.LoginRequestDTO;
 import com.bookreviewplatform.userservice.dto.UserDTO;
 import com.bookreviewplatform.userservice.dto.UserRequestDTO;
 import com.bookreviewplatform.userservice.entity.UserEntity;
+import com.bookreviewplatform.userservice.email.EmailNormalizer;
 import com.bookreviewplatform.userservice.exception.DuplicateResourceException;
+import com.bookreviewplatform.userservice.exception.InvalidCredentialsException;
 import com.bookreviewplatform.userservice.exception.UserNotFoundException;
+import com.bookreviewplatform.userservice.mapper.UserMapper;
+import com.bookreviewplatform.userservice.password.PasswordHasher;
 import com.bookreviewplatform.userservice.payloads.StandardResponse;
 import com.bookreviewplatform.userservice.repository.UserRepository;
 import com.bookreviewplatform.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,8 +29,8 @@ import java.util.logging.Logger;
  * Implementation of the UserService.
  * <p>
  * Behavior highlights:
- * - Validates uniqueness constraints before attempting to save.
- * - Uses ModelMapper for entity <-> DTO conversion.
+ * - Relies on the database's unique constraints instead of checking before saving.
+ * - Uses the compile-time generated UserMapper for entity -> DTO conversion.
  * - Returns a StandardResponse wrapper for consistent API responses.
  */
 @Service
@@ -30,7 +38,10 @@ import java.util.logging.Logger;
 public class UserServiceImpl implements UserService {
     private final Logger logger = Logger.getLogger(UserServiceImpl.class.getName());
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final AvailabilityIndex availabilityIndex;
+    private final UserEmailCache userEmailCache;
+    private final PasswordHasher passwordHasher;
 
     @Override
     public StandardResponse getAllUsers() {
@@ -38,106 +49,109 @@ public class UserServiceImpl implements UserService {
             logger.fine("Fetching all users from database");
             List<UserDTO> users = userRepository.findAll()
                     .stream()
-                    .map(user -> modelMapper.map(user, UserDTO.class))
+                    .map(userMapper::toDTO)
                     .toList();
 
-            logger.fine("Found " + users.size() + " users in database");
+            logger.fine(() -> "Found " + users.size() + " users in database");
             return StandardResponse.success(users);
         } catch (RuntimeException e) {
-            logger.severe("Failed to retrieve users: " + e.getMessage());
+            logger.severe(() -> "Failed to retrieve users: " + e.getMessage());
             return StandardResponse.error("Failed to retrieve users", e.getMessage());
         }
     }
 
+    @Override
+    public CollectionVersion getCollectionVersion() {
+        return userRepository.findCollectionVersion();
+    }
+
     /**
      * Create a new user.
      * <p>
-     * Pre-save checks:
-     * - If userRequestDTO.id is provided and already exists in DB -> reject (DuplicateResourceException).
-     * - If email is already used by another user -> reject (DuplicateResourceException).
-     * <p>
-     * This method is transactional to ensure atomicity of the existence checks and the save.
+     * There is no "does this email exist?" query first: the INSERT is flushed
+     * immediately and a unique-constraint violation is translated into
+     * {@link DuplicateResourceException}. That saves a round trip and, unlike a
+     * check-then-insert, is also correct for concurrent sign-ups.
      *
      * @param userRequestDTO request payload for new user
      * @return StandardResponse with created UserDTO on success, or error details on failure
+     * @throws DuplicateResourceException if the username or email is already taken (HTTP 409)
      */
     @Override
-    @Transactional
     public StandardResponse<UserDTO> saveUser(UserRequestDTO userRequestDTO) {
-        try {
-            logger.fine("Creating new user with username: " + userRequestDTO.getUsername() +
-                    " and email: " + userRequestDTO.getEmail());
-
-            // Validate email uniqueness
-            String email = userRequestDTO.getEmail();
-            if (email != null && !email.isBlank()) {
-                logger.fine("Checking email uniqueness for: " + email);
-                if (userRepository.findByEmail(email).isPresent()) {
-                    String message = "Email already in use: " + email;
-                    logger.warning(message);
-                    throw new DuplicateResourceException(message);
-                }
-            } else {
-                String message = "Email must be provided";
-                logger.warning(message);
-                return StandardResponse.error("Validation failed", message);
-            }
+        String email = userRequestDTO.getEmail();
+        String username = userRequestDTO.getUsername();
+        if (isBlank(email) || isBlank(username)) {
+            String message = "Email and username must be provided";
+            logger.warning(message);
+            return StandardResponse.error("Validation failed", message);
+        }
+        if (!PasswordHasher.isAcceptable(userRequestDTO.getPassword())) {
+            String message = "Password must be provided and at most 72 bytes long";
+            logger.warning(message);
+            return StandardResponse.error("Validation failed", message);
+        }
+        // Runs on the bounded hashing pool; saturation surfaces as 503, not as a slow request.
+        String passwordHash = passwordHasher.hash(userRequestDTO.getPassword());
 
-            // Build entity and save
+        UserEntity savedUser;
+        try {
+            logger.fine(() -> "Creating new user with username: " + username + " and email: " + email);
             UserEntity userEntity = UserEntity.builder()
-                    .username(userRequestDTO.getUsername())
-                    .password(userRequestDTO.getPassword())
-                    .email(userRequestDTO.getEmail())
+                    .username(username)
+                    .password(passwordHash)
+                    .email(email)
                     .build();
-
-            UserEntity savedUser = userRepository.save(userEntity);
-            logger.info("User created successfully with id: " + savedUser.getId());
-            return StandardResponse.success("User created successfully", modelMapper.map(savedUser, UserDTO.class));
-        } catch (DuplicateResourceException e) {
-            // Known business validation error -> return a friendly error response
-            logger.warning("Duplicate resource: " + e.getMessage());
-            return StandardResponse.error("Duplicate resource", e.getMessage());
+            savedUser = userRepository.saveAndFlush(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(e, email, username);
         } catch (Exception e) {
             // Unexpected exception
-            logger.severe("Error creating user: " + e.getMessage());
+            logger.severe(() -> "Error creating user: " + e.getMessage());
             return StandardResponse.error("Failed to create user", e.getMessage());
         }
+        availabilityIndex.add(savedUser.getEmail(), savedUser.getUsername());
+        userEmailCache.invalidate(savedUser.getEmail());
+        logger.info(() -> "User created successfully with id: " + savedUser.getId());
+        return StandardResponse.success("User created successfully", userMapper.toDTO(savedUser));
     }
 
     @Override
     public StandardResponse<Boolean> deleteUser(UUID id) {
+        int deleted;
         try {
-            logger.fine("Checking if user exists with id: " + id);
-            if (!userRepository.existsById(id)) {
-                logger.warning("User not found with id: " + id);
-                return StandardResponse.error("User not found", "User with id " + id + " does not exist");
-            }
-            logger.fine("Deleting user with id: " + id);
-            userRepository.deleteById(id);
-            logger.info("User deleted successfully with id: " + id);
-            return StandardResponse.success("User deleted successfully", true);
+            logger.fine(() -> "Deleting user with id: " + id);
+            deleted = userRepository.deleteDirectlyById(id);
         } catch (Exception e) {
-            logger.severe("Error deleting user: " + e.getMessage());
+            logger.severe(() -> "Error deleting user: " + e.getMessage());
             return StandardResponse.error("Failed to delete user", e.getMessage());
         }
+        if (deleted == 0) {
+            logger.warning(() -> "User not found with id: " + id);
+            throw new UserNotFoundException("User with id " + id + " does not exist");
+        }
+        userEmailCache.invalidateUser(id);
+        logger.info(() -> "User deleted successfully with id: " + id);
+        return StandardResponse.success("User deleted successfully", true);
     }
 
     @Override
     public StandardResponse<UserDTO> getUserByEmail(String email) {
         try {
-            logger.fine("Searching for user with email: " + email);
-            UserEntity userEntity = userRepository.findByEmail(email)
-                    .orElseThrow(() -> {
-                        logger.severe("User not found with email: " + email);
-                        return new UserNotFoundException("User not found with email: " + email);
-                    });
-            logger.fine("User found with email: " + email);
-            return StandardResponse.success("User retrieved successfully", modelMapper.map(userEntity, UserDTO.class));
+            logger.fine(() -> "Searching for user with email: " + email);
+            UserDTO user = userEmailCache.get(email, normalized -> userRepository.findByEmailNormalized(normalized)
+                    .map(userMapper::toDTO)
+                    .orElse(null));
+            if (user == null) {
+                throw new UserNotFoundException("User not found with email: " + email);
+            }
+            logger.fine(() -> "User found with email: " + email);
+            return StandardResponse.success("User retrieved successfully", user);
         } catch (UserNotFoundException e) {
-            logger.warning("User not found with email: " + email);
+            logger.warning(() -> "User not found with email: " + email);
             return StandardResponse.error("User not found", e.getMessage());
         } catch (Exception e) {
-            logger.severe("Error retrieving user: " + e.getMessage());
+            logger.severe(() -> "Error retrieving user: " + e.getMessage());
             return StandardResponse.error("Failed to retrieve user", e.getMessage());
         }
     }
@@ -145,20 +159,119 @@ public class UserServiceImpl implements UserService {
     @Override
     public StandardResponse getUserById(UUID id) {
         try {
-            logger.fine("Searching for user with id: " + id);
+            logger.fine(() -> "Searching for user with id: " + id);
             UserEntity userEntity = userRepository.findById(id)
                     .orElseThrow(() -> {
-                        logger.severe("User not found with id: " + id);
+                        logger.severe(() -> "User not found with id: " + id);
                         return new UserNotFoundException("User not found with id: " + id);
                     });
-            logger.fine("User found with id: " + id);
-            return StandardResponse.success("User retrieved successfully", modelMapper.map(userEntity, UserDTO.class));
+            logger.fine(() -> "User found with id: " + id);
+            return StandardResponse.success("User retrieved successfully", userMapper.toDTO(userEntity));
         } catch (UserNotFoundException e) {
-            logger.warning("User not found with id: " + id);
+            logger.warning(() -> "User not found with id: " + id);
             return StandardResponse.error("User not found", e.getMessage());
         } catch (Exception e) {
-            logger.severe("Error retrieving user: " + e.getMessage());
+            logger.severe(() -> "Error retrieving user: " + e.getMessage());
             return StandardResponse.error("Failed to retrieve user", e.getMessage());
         }
     }
+
+    /**
+     * Verifies a user's password.
+     * <p>
+     * Verification runs on the bounded hashing pool. Unknown emails are still
+     * checked against a dummy hash, so timing does not reveal which accounts
+     * exist. If the stored hash is plain text or uses an outdated cost, it is
+     * replaced in the background with a hash at the current cost. The swap is
+     * conditional on the old hash, so a concurrent password change wins.
+     *
+     * @param loginRequestDTO email and password
+     * @return StandardResponse with the UserDTO on success
+     * @throws InvalidCredentialsException if the email or password is wrong (HTTP 401)
+     */
+    @Override
+    public StandardResponse<UserDTO> login(LoginRequestDTO loginRequestDTO) {
+        String email = loginRequestDTO.getEmail();
+        String password = loginRequestDTO.getPassword();
+        if (isBlank(email) || !PasswordHasher.isAcceptable(password)) {
+            throw new InvalidCredentialsException();
+        }
+        UserEntity user = userRepository.findByEmailNormalized(EmailNormalizer.normalize(email)).orElse(null);
+        String storedPassword = user == null ? null : user.getPassword();
+        if (!passwordHasher.matches(password, storedPassword)) {
+            logger.warning(() -> "Failed login for email: " + email);
+            throw new InvalidCredentialsException();
+        }
+        if (passwordHasher.needsRehash(storedPassword)) {
+            rehash(user.getId(), storedPassword, password);
+        }
+        logger.fine(() -> "User logged in with id: " + user.getId());
+        return StandardResponse.success("Login successful", userMapper.toDTO(user));
+    }
+
+    @Override
+    public StandardResponse<AvailabilityDTO> checkAvailability(String email, String username) {
+        boolean checkEmail = !isBlank(email);
+        boolean checkUsername = !isBlank(username);
+        if (!checkEmail && !checkUsername) {
+            return StandardResponse.error("Validation failed", "Provide an email and/or a username");
+        }
+        try {
+            AvailabilityDTO availability = AvailabilityDTO.builder()
+                    .email(checkEmail ? email : null)
+                    .emailAvailable(checkEmail
+                            ? !(availabilityIndex.mightContainEmail(email)
+                                && userRepository.existsByEmailNormalized(EmailNormalizer.normalize(email)))
+                            : null)
+                    .username(checkUsername ? username : null)
+                    .usernameAvailable(checkUsername
+                            ? !(availabilityIndex.mightContainUsername(username)
+                                && userRepository.existsByUsername(username.trim()))
+                            : null)
+                    .build();
+            return StandardResponse.success(availability);
+        } catch (Exception e) {
+            logger.severe(() -> "Error checking availability: " + e.getMessage());
+            return StandardResponse.error("Failed to check availability", e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces an outdated password hash without delaying the login. If the
+     * hashing pool is busy, the next login tries again.
+     */
+    private void rehash(UUID id, String oldPassword, String rawPassword) {
+        passwordHasher.hashAsync(rawPassword)
+                .thenAccept(newPassword -> {
+                    if (userRepository.updatePasswordIfUnchanged(id, oldPassword, newPassword) > 0) {
+                        logger.info(() -> "Rehashed password of user " + id + " at the current cost");
+                    }
+                })
+                .exceptionally(e -> {
+                    logger.warning(() -> "Could not rehash password of user " + id + ": " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Names the field that collided, from the unique constraint in the
+     * database's error message.
+     */
+    private DuplicateResourceException duplicateOf(DataIntegrityViolationException e, String email, String username) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+        String message;
+        if (cause.contains("uk_user_email")) {
+            message = "Email already in use: " + email;
+        } else if (cause.contains("uk_user_username")) {
+            message = "Username already taken: " + username;
+        } else {
+            message = "User already exists: " + username + " / " + email;
+        }
+        logger.warning(() -> "Duplicate resource: " + message);
+        return new DuplicateResourceException(message);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
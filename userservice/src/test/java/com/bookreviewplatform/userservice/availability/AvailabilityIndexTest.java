@@ -0,0 +1,114 @@
+package com.bookreviewplatform.userservice.availability;
+
+import com.bookreviewplatform.userservice.dto.UserIdentity;
+import com.bookreviewplatform.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityIndexTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AvailabilityIndex index = new AvailabilityIndex(userRepository);
+
+    private final UserIdentity reader = new UserIdentity(new UUID(0, 1), "reader@example.com", "reader");
+    private final UserIdentity writer = new UserIdentity(new UUID(0, 2), "writer@example.com", "Zoë");
+    private final UserIdentity critic = new UserIdentity(new UUID(0, 3), "critic@example.com", "critic");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "falsePositiveRate", 0.0001);
+        ReflectionTestUtils.setField(index, "minimumCapacity", 1_000L);
+        ReflectionTestUtils.setField(index, "catchUpMargin", Duration.ofMinutes(1));
+        // Smaller than the user count, so the build has to page.
+        ReflectionTestUtils.setField(index, "batchSize", 2);
+        when(userRepository.count()).thenReturn(3L);
+        when(userRepository.findIdentityBatchAfter(isNull(), any(Pageable.class))).thenReturn(List.of(reader, writer));
+        when(userRepository.findIdentityBatchAfter(eq(writer.id()), any(Pageable.class))).thenReturn(List.of(critic));
+        when(userRepository.findIdentityBatchModifiedSince(any(), any(), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void everythingMightBeTakenBeforeTheFirstBuild() {
+        assertTrue(index.mightContainEmail("anyone@example.com"));
+        assertTrue(index.mightContainUsername("anyone"));
+    }
+
+    @Test
+    void buildCoversEveryBatchWithoutFalseNegatives() {
+        index.build();
+
+        for (UserIdentity user : List.of(reader, writer, critic)) {
+            assertTrue(index.mightContainEmail(user.email()));
+            assertTrue(index.mightContainUsername(user.username()));
+        }
+        assertFalse(index.mightContainEmail("someone-else@example.com"));
+        assertFalse(index.mightContainUsername("someone-else"));
+    }
+
+    @Test
+    void lookupsIgnoreCaseAccentsAndSurroundingSpaces() {
+        index.build();
+
+        assertTrue(index.mightContainEmail("  Reader@Example.COM "));
+        assertTrue(index.mightContainUsername("ZOE"));
+        assertTrue(index.mightContainUsername("zoë"));
+    }
+
+    @Test
+    void localSignUpIsVisibleImmediately() {
+        index.build();
+
+        index.add("new@example.com", "newcomer");
+
+        assertTrue(index.mightContainEmail("new@example.com"));
+        assertTrue(index.mightContainUsername("newcomer"));
+    }
+
+    @Test
+    void catchUpPicksUpSignUpsOnOtherInstances() {
+        index.build();
+        UserIdentity peer = new UserIdentity(new UUID(0, 4), "peer@example.com", "peer");
+        when(userRepository.findIdentityBatchModifiedSince(any(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(peer));
+
+        index.catchUp();
+
+        assertTrue(index.mightContainEmail("peer@example.com"));
+        assertTrue(index.mightContainUsername("peer"));
+    }
+
+    @Test
+    void rebuildDropsDeletedUsers() {
+        index.build();
+        when(userRepository.findIdentityBatchAfter(isNull(), any(Pageable.class))).thenReturn(List.of(reader));
+
+        index.rebuild();
+
+        assertTrue(index.mightContainEmail(reader.email()));
+        assertFalse(index.mightContainEmail(critic.email()));
+        verify(userRepository, times(2)).count();
+    }
+
+    @Test
+    void keyFoldsCaseAndAccents() {
+        assertEquals("zoe", AvailabilityIndex.key(" Zoë "));
+        assertEquals("reader@example.com", AvailabilityIndex.key("READER@example.com"));
+    }
+}
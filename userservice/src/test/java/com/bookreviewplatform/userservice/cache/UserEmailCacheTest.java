@@ -0,0 +1,70 @@
+package com.bookreviewplatform.userservice.cache;
+
+import com.bookreviewplatform.userservice.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserEmailCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserEmailCache cache = new UserEmailCache(meterRegistry, 100, Duration.ofMinutes(5));
+
+    private final UserDTO reader = UserDTO.builder().id(UUID.randomUUID()).email("Reader@Example.com").build();
+    private final List<String> loaded = new ArrayList<>();
+    private final Function<String, UserDTO> loader = key -> {
+        loaded.add(key);
+        return key.equals("reader@example.com") ? reader : null;
+    };
+
+    @Test
+    void spellingsOfTheSameEmailShareOneEntry() {
+        assertSame(reader, cache.get("Reader@Example.com", loader));
+        assertSame(reader, cache.get(" reader@example.com ", loader));
+
+        assertEquals(List.of("reader@example.com"), loaded);
+        assertEquals(1, meterRegistry.get("users.email.lookup").tag("result", "hit").timer().count());
+        assertEquals(1, meterRegistry.get("users.email.lookup").tag("result", "miss").timer().count());
+    }
+
+    @Test
+    void missesAreNotCachedSoASignUpIsFoundAtOnce() {
+        assertNull(cache.get("new@example.com", loader));
+        assertNull(cache.get("new@example.com", loader));
+
+        assertEquals(List.of("new@example.com", "new@example.com"), loaded);
+        assertEquals(2, meterRegistry.get("users.email.lookup").tag("result", "absent").timer().count());
+    }
+
+    @Test
+    void invalidateEvictsWhateverSpellingWasUsed() {
+        cache.get("reader@example.com", loader);
+
+        cache.invalidate("READER@example.com ");
+        cache.get("reader@example.com", loader);
+
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    void invalidateUserEvictsByIdWithoutKnowingTheEmail() {
+        cache.get("reader@example.com", loader);
+
+        cache.invalidateUser(UUID.randomUUID());
+        cache.get("reader@example.com", loader);
+        assertEquals(1, loaded.size());
+
+        cache.invalidateUser(reader.getId());
+        cache.get("reader@example.com", loader);
+        assertEquals(2, loaded.size());
+    }
+}
@@ -0,0 +1,33 @@
+package com.bookreviewplatform.userservice.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EmailNormalizerTest {
+
+    @Test
+    void trimsAndLowerCases() {
+        assertEquals("reader@example.com", EmailNormalizer.normalize("  Reader@Example.COM\t"));
+    }
+
+    @Test
+    void keepsNull() {
+        assertNull(EmailNormalizer.normalize(null));
+    }
+
+    @Test
+    void doesNotDependOnTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            // A Turkish lower-case of 'I' is a dotless 'ı'.
+            assertEquals("info@example.com", EmailNormalizer.normalize("INFO@EXAMPLE.COM"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
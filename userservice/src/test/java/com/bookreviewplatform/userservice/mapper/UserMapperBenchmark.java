@@ -0,0 +1,78 @@
+package com.bookreviewplatform.userservice.mapper;
+
+import com.bookreviewplatform.userservice.dto.UserDTO;
+import com.bookreviewplatform.userservice.entity.UserEntity;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the generated {@link UserMapper} against the reflective
+ * {@link ModelMapper} mapping it replaced.
+ *
+ * <p>Not a unit test, so Surefire does not pick it up. Run it after
+ * {@code mvn -pl userservice test-compile} with the test classpath, e.g. from
+ * the IDE via {@link #main(String[])}. Add {@code -prof gc} on the command
+ * line to compare allocation per mapping as well as time.</p>
+ *
+ * @author Lakshan Chamoditha Perera
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UserMapperBenchmark {
+
+    private UserEntity user;
+    private UserMapper userMapper;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        user = UserEntity.builder()
+                .id(UUID.randomUUID())
+                .username("reader")
+                .password("$2a$10$abcdefghijklmnopqrstuu5nF1YQpXz7bY0m9pGQ8Vh6p1rQeWc2")
+                .email("reader@example.com")
+                .version(3L)
+                .lastModified(Instant.now())
+                .build();
+        userMapper = new UserMapperImpl();
+        modelMapper = new ModelMapper();
+    }
+
+    @Benchmark
+    public UserDTO generatedMapper() {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO modelMapper() {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserMapperBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
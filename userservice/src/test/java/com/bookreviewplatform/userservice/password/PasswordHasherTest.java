@@ -0,0 +1,79 @@
+package com.bookreviewplatform.userservice.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    // The lowest BCrypt cost, pinned so calibration cannot pick another one.
+    private final PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), 1, 10, Duration.ofSeconds(5),
+            Duration.ofMillis(100), 4, 4);
+
+    PasswordHasherTest() {
+        hasher.calibrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashVerifiesOnlyTheSamePassword() {
+        String hash = hasher.hash("correct horse");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("correct horse", hash));
+        assertFalse(hasher.matches("battery staple", hash));
+    }
+
+    @Test
+    void samePasswordHashesDifferently() {
+        assertNotEquals(hasher.hash("correct horse"), hasher.hash("correct horse"));
+    }
+
+    @Test
+    void unknownUserNeverMatches() {
+        assertFalse(hasher.matches("dummy-password-for-unknown-users", null));
+    }
+
+    @Test
+    void hashAtTheCalibratedCostNeedsNoRehash() {
+        assertFalse(hasher.needsRehash(hasher.hash("correct horse")));
+        assertFalse(hasher.needsRehash(hasher.hashAsync("correct horse").join()));
+    }
+
+    @Test
+    void hashAtAnotherCostVerifiesAndIsUpgraded() {
+        String older = new BCryptPasswordEncoder(5).encode("correct horse");
+
+        assertTrue(hasher.matches("correct horse", older));
+        assertTrue(hasher.needsRehash(older));
+    }
+
+    @Test
+    void legacyPlainTextVerifiesAndIsUpgraded() {
+        assertTrue(hasher.matches("correct horse", "correct horse"));
+        assertFalse(hasher.matches("correct horsE", "correct horse"));
+        assertTrue(hasher.needsRehash("correct horse"));
+    }
+
+    @Test
+    void onlyPasswordsBcryptCanHashWholeAreAcceptable() {
+        assertFalse(PasswordHasher.isAcceptable(null));
+        assertFalse(PasswordHasher.isAcceptable("   "));
+        assertTrue(PasswordHasher.isAcceptable("a".repeat(72)));
+        assertFalse(PasswordHasher.isAcceptable("a".repeat(73)));
+        // 36 two-byte characters fill the 72 bytes; one more does not fit.
+        assertTrue(PasswordHasher.isAcceptable("é".repeat(36)));
+        assertFalse(PasswordHasher.isAcceptable("é".repeat(36) + "a"));
+    }
+}
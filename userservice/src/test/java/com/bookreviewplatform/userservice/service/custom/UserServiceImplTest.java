@@ -0,0 +1,145 @@
+package com.bookreviewplatform.userservice.service.custom;
+
+import com.bookreviewplatform.userservice.availability.AvailabilityIndex;
+import com.bookreviewplatform.userservice.cache.UserEmailCache;
+import com.bookreviewplatform.userservice.dto.AvailabilityDTO;
+import com.bookreviewplatform.userservice.dto.LoginRequestDTO;
+import com.bookreviewplatform.userservice.dto.UserDTO;
+import com.bookreviewplatform.userservice.dto.UserRequestDTO;
+import com.bookreviewplatform.userservice.entity.UserEntity;
+import com.bookreviewplatform.userservice.exception.InvalidCredentialsException;
+import com.bookreviewplatform.userservice.mapper.UserMapper;
+import com.bookreviewplatform.userservice.password.PasswordHasher;
+import com.bookreviewplatform.userservice.payloads.StandardResponse;
+import com.bookreviewplatform.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final AvailabilityIndex availabilityIndex = mock(AvailabilityIndex.class);
+    private final UserEmailCache userEmailCache = mock(UserEmailCache.class);
+    private final PasswordHasher passwordHasher = mock(PasswordHasher.class);
+    private final UserServiceImpl userService = new UserServiceImpl(userRepository, userMapper, availabilityIndex,
+            userEmailCache, passwordHasher);
+
+    @Test
+    void valuesTheFilterHasNeverSeenAreAvailableWithoutAQuery() {
+        when(availabilityIndex.mightContainEmail(anyString())).thenReturn(false);
+        when(availabilityIndex.mightContainUsername(anyString())).thenReturn(false);
+
+        AvailabilityDTO availability = userService.checkAvailability("new@example.com", "newcomer").getData();
+
+        assertTrue(availability.getEmailAvailable());
+        assertTrue(availability.getUsernameAvailable());
+        verify(userRepository, never()).existsByEmailNormalized(anyString());
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
+
+    @Test
+    void probableHitIsConfirmedByNormalisedEmail() {
+        when(availabilityIndex.mightContainEmail(anyString())).thenReturn(true);
+        when(userRepository.existsByEmailNormalized("reader@example.com")).thenReturn(true);
+
+        AvailabilityDTO availability = userService.checkAvailability(" Reader@Example.com ", null).getData();
+
+        assertFalse(availability.getEmailAvailable());
+        assertNull(availability.getUsernameAvailable());
+    }
+
+    @Test
+    void falsePositiveOfTheFilterIsReportedAvailable() {
+        when(availabilityIndex.mightContainUsername(anyString())).thenReturn(true);
+        when(userRepository.existsByUsername("reader")).thenReturn(false);
+
+        AvailabilityDTO availability = userService.checkAvailability(null, " reader ").getData();
+
+        assertTrue(availability.getUsernameAvailable());
+        assertNull(availability.getEmailAvailable());
+    }
+
+    @Test
+    void availabilityNeedsAnEmailOrAUsername() {
+        StandardResponse<AvailabilityDTO> response = userService.checkAvailability(" ", null);
+
+        assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void signUpUpdatesTheFilterAndTheEmailCache() {
+        UserEntity saved = UserEntity.builder().id(UUID.randomUUID()).username("reader")
+                .email("Reader@Example.com").password("hash").build();
+        when(passwordHasher.hash("secret")).thenReturn("hash");
+        when(userRepository.saveAndFlush(any(UserEntity.class))).thenReturn(saved);
+        when(userMapper.toDTO(saved)).thenReturn(UserDTO.builder().id(saved.getId()).build());
+
+        StandardResponse<UserDTO> response = userService.saveUser(UserRequestDTO.builder()
+                .username("reader").email("Reader@Example.com").password("secret").build());
+
+        assertEquals(saved.getId(), response.getData().getId());
+        verify(availabilityIndex).add("Reader@Example.com", "reader");
+        verify(userEmailCache).invalidate("Reader@Example.com");
+    }
+
+    @Test
+    void loginWithAnOutdatedHashReplacesItConditionally() {
+        UserEntity user = UserEntity.builder().id(UUID.randomUUID()).email("reader@example.com").password("old").build();
+        when(userRepository.findByEmailNormalized("reader@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "old")).thenReturn(true);
+        when(passwordHasher.needsRehash("old")).thenReturn(true);
+        when(passwordHasher.hashAsync("secret")).thenReturn(CompletableFuture.completedFuture("new"));
+
+        assertTrue(userService.login(new LoginRequestDTO(" Reader@Example.com", "secret")).isSuccess());
+
+        verify(userRepository).updatePasswordIfUnchanged(user.getId(), "old", "new");
+    }
+
+    @Test
+    void loginWithACurrentHashLeavesItAlone() {
+        UserEntity user = UserEntity.builder().id(UUID.randomUUID()).email("reader@example.com").password("current")
+                .build();
+        when(userRepository.findByEmailNormalized("reader@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "current")).thenReturn(true);
+
+        userService.login(new LoginRequestDTO("reader@example.com", "secret"));
+
+        verify(passwordHasher, never()).hashAsync(anyString());
+    }
+
+    @Test
+    void unknownEmailIsCheckedAgainstTheDummyHashAndRejected() {
+        when(userRepository.findByEmailNormalized("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.login(new LoginRequestDTO("nobody@example.com", "secret")));
+
+        verify(passwordHasher).matches("secret", null);
+    }
+
+    @Test
+    void deleteEvictsTheUserFromTheEmailCache() {
+        UUID id = UUID.randomUUID();
+        when(userRepository.deleteDirectlyById(id)).thenReturn(1);
+
+        userService.deleteUser(id);
+
+        verify(userEmailCache).invalidateUser(id);
+    }
+}